@@ -18,6 +18,7 @@
 package org.apache.nifi.attribute.expression.language;
 
 import org.antlr.runtime.tree.Tree;
+import org.apache.nifi.attribute.expression.language.compile.DirectEvaluator;
 import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
 import org.apache.nifi.expression.AttributeValueDecorator;
 
@@ -28,12 +29,23 @@ public class CompiledExpression implements Expression {
     private final Tree tree;
     private final String expression;
     private final Set<Evaluator<?>> allEvaluators;
+    private final DirectEvaluator directEvaluator;
 
     public CompiledExpression(final String expression, final Evaluator<?> rootEvaluator, final Tree tree, final Set<Evaluator<?>> allEvaluators) {
+        this(expression, rootEvaluator, tree, allEvaluators, null);
+    }
+
+    /**
+     * @param directEvaluator an optional DirectEvaluator that produces the same results as the root Evaluator. If not <code>null</code>,
+     * it is used to evaluate the Expression instead of interpreting the Evaluator tree.
+     */
+    public CompiledExpression(final String expression, final Evaluator<?> rootEvaluator, final Tree tree, final Set<Evaluator<?>> allEvaluators,
+                              final DirectEvaluator directEvaluator) {
         this.rootEvaluator = rootEvaluator;
         this.tree = tree;
         this.expression = expression;
         this.allEvaluators = allEvaluators;
+        this.directEvaluator = directEvaluator;
     }
 
     public Evaluator<?> getRootEvaluator() {
@@ -52,8 +64,21 @@ public class CompiledExpression implements Expression {
         return allEvaluators;
     }
 
+    public DirectEvaluator getDirectEvaluator() {
+        return directEvaluator;
+    }
+
     @Override
     public String evaluate(final EvaluationContext evaluationContext, final AttributeValueDecorator decorator) {
+        if (directEvaluator != null) {
+            final String value = directEvaluator.evaluate(evaluationContext);
+            if (value == null) {
+                return null;
+            }
+
+            return decorator == null ? value : decorator.decorate(value);
+        }
+
         return Query.evaluateExpression(tree, rootEvaluator, expression, evaluationContext, decorator);
     }
 }
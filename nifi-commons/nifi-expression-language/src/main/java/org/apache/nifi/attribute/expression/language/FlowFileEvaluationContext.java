@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language;
+
+import org.apache.nifi.attribute.expression.language.evaluation.EvaluatorState;
+import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.parameter.Parameter;
+import org.apache.nifi.parameter.ParameterLookup;
+import org.apache.nifi.registry.EnvironmentVariables;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An EvaluationContext that resolves values directly from a FlowFile and an optional Map of additional attributes,
+ * in the same order as {@link ValueLookup}, without copying the FlowFile's attributes or properties into intermediate Maps.
+ * Instances are reused by the thread that obtains them via {@link #acquire(FlowFile, Map, Map, ParameterLookup)} and must be
+ * closed once evaluation has completed. A context must not be retained or used after it has been closed.
+ */
+final class FlowFileEvaluationContext implements EvaluationContext, AutoCloseable {
+    private static final ThreadLocal<FlowFileEvaluationContext> THREAD_CONTEXT = ThreadLocal.withInitial(FlowFileEvaluationContext::new);
+
+    private final EnvironmentVariables environmentVariables = EnvironmentVariables.ENVIRONMENT_VARIABLES;
+    private final EvaluatorState evaluatorState = new EvaluatorState();
+
+    private FlowFile flowFile;
+    private Map<String, String> additionalAttributes;
+    private Map<String, String> stateMap;
+    private ParameterLookup parameterLookup;
+    private boolean inUse;
+
+    private FlowFileEvaluationContext() {
+    }
+
+    /**
+     * Obtains an EvaluationContext for the given FlowFile. The context belonging to the current thread is returned unless it is
+     * already in use, as happens when an evaluation triggers another evaluation on the same thread, in which case a new context is created.
+     *
+     * @param flowFile the FlowFile to obtain attributes and properties from; may be null
+     * @param additionalAttributes attributes that take precedence over those of the FlowFile; may be null
+     * @param stateMap the state values available to the Expression; may be null
+     * @param parameterLookup the Parameter Lookup
+     * @return an EvaluationContext that must be closed after use
+     */
+    static FlowFileEvaluationContext acquire(final FlowFile flowFile, final Map<String, String> additionalAttributes, final Map<String, String> stateMap,
+                                             final ParameterLookup parameterLookup) {
+        FlowFileEvaluationContext context = THREAD_CONTEXT.get();
+        if (context.inUse) {
+            context = new FlowFileEvaluationContext();
+        }
+
+        context.inUse = true;
+        context.flowFile = flowFile;
+        context.additionalAttributes = additionalAttributes == null || additionalAttributes.isEmpty() ? null : additionalAttributes;
+        context.stateMap = stateMap;
+        context.parameterLookup = parameterLookup;
+        return context;
+    }
+
+    @Override
+    public String getExpressionValue(final String name) {
+        if (name == null) {
+            return null;
+        }
+
+        if (additionalAttributes != null) {
+            final String value = additionalAttributes.get(name);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        if (flowFile != null) {
+            final String propertyValue = ValueLookup.getFlowFileProperty(flowFile, name);
+            if (propertyValue != null) {
+                return propertyValue;
+            }
+
+            final String attributeValue = flowFile.getAttribute(name);
+            if (attributeValue != null) {
+                return attributeValue;
+            }
+        }
+
+        return environmentVariables.getEnvironmentVariableValue(name);
+    }
+
+    @Override
+    public Set<String> getExpressionKeys() {
+        // Only needed for functions such as allMatchingAttributes, so the full lookup is built on demand
+        return new ValueLookup(flowFile, additionalAttributes).getKeysAddressableByMultiMatch();
+    }
+
+    @Override
+    public String getState(final String key) {
+        return stateMap.get(key);
+    }
+
+    @Override
+    public Parameter getParameter(final String parameterName) {
+        return parameterLookup.getParameter(parameterName).orElse(null);
+    }
+
+    @Override
+    public EvaluatorState getEvaluatorState() {
+        return evaluatorState;
+    }
+
+    @Override
+    public void close() {
+        flowFile = null;
+        additionalAttributes = null;
+        stateMap = null;
+        parameterLookup = null;
+        evaluatorState.clear();
+        inUse = false;
+    }
+}
@@ -57,10 +57,10 @@ public class StandardAttributeExpression implements AttributeExpression {
 
     @Override
     public String evaluate(final FlowFile flowFile, final AttributeValueDecorator decorator) throws ProcessException {
-        final ValueLookup lookup = new ValueLookup(flowFile);
-        final EvaluationContext evaluationContext = new StandardEvaluationContext(lookup, Collections.emptyMap(), parameterLookup);
-
-        final Object evaluationResult = query.evaluate(evaluationContext).getValue();
+        final Object evaluationResult;
+        try (final FlowFileEvaluationContext evaluationContext = FlowFileEvaluationContext.acquire(flowFile, null, Collections.emptyMap(), parameterLookup)) {
+            evaluationResult = query.evaluate(evaluationContext).getValue();
+        }
         if (evaluationResult == null) {
             return "";
         }
@@ -172,9 +172,10 @@ public class StandardPropertyValue implements PropertyValue {
             return this;
         }
 
-        final ValueLookup lookup = new ValueLookup(flowFile, additionalAttributes);
-        final EvaluationContext evaluationContext = new StandardEvaluationContext(lookup, stateValues, parameterLookup);
-        final String evaluated = preparedQuery.evaluateExpressions(evaluationContext, decorator);
+        final String evaluated;
+        try (final FlowFileEvaluationContext evaluationContext = FlowFileEvaluationContext.acquire(flowFile, additionalAttributes, stateValues, parameterLookup)) {
+            evaluated = preparedQuery.evaluateExpressions(evaluationContext, decorator);
+        }
 
         return new StandardPropertyValue(resourceContext, evaluated, serviceLookup, parameterLookup, new EmptyPreparedQuery(evaluated));
     }
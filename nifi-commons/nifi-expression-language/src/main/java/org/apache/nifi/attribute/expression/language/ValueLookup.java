@@ -20,6 +20,7 @@ import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.registry.VariableDescriptor;
 import org.apache.nifi.registry.EnvironmentVariables;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,6 +38,8 @@ import java.util.Set;
  */
 final class ValueLookup implements Map<String, String> {
 
+    private static final List<String> FLOWFILE_PROPERTY_NAMES = List.of("flowFileId", "fileSize", "entryDate", "lineageStartDate", "lastQueueDate", "queueDateIndex");
+
     private final List<Map<String, String>> maps = new ArrayList<>();
     private final EnvironmentVariables environmentVariables = EnvironmentVariables.ENVIRONMENT_VARIABLES;
 
@@ -59,22 +62,81 @@ final class ValueLookup implements Map<String, String> {
         }
 
         if (flowFile != null) {
-            maps.add(ValueLookup.extractFlowFileProperties(flowFile));
+            maps.add(new FlowFilePropertiesMap(flowFile));
             maps.add(flowFile.getAttributes());
         }
     }
 
     static final Map<String, String> extractFlowFileProperties(final FlowFile flowFile) {
         final Map<String, String> flowFileProps = new HashMap<>();
-        flowFileProps.put("flowFileId", String.valueOf(flowFile.getId()));
-        flowFileProps.put("fileSize", String.valueOf(flowFile.getSize()));
-        flowFileProps.put("entryDate", String.valueOf(flowFile.getEntryDate()));
-        flowFileProps.put("lineageStartDate", String.valueOf(flowFile.getLineageStartDate()));
-        flowFileProps.put("lastQueueDate", String.valueOf(flowFile.getLastQueueDate()));
-        flowFileProps.put("queueDateIndex", String.valueOf(flowFile.getQueueDateIndex()));
+        for (final String propertyName : FLOWFILE_PROPERTY_NAMES) {
+            flowFileProps.put(propertyName, getFlowFileProperty(flowFile, propertyName));
+        }
         return flowFileProps;
     }
 
+    /**
+     * Returns the value of the FlowFile property with the given name, such as <code>fileSize</code> or <code>entryDate</code>
+     *
+     * @param flowFile the FlowFile
+     * @param name the name of the property
+     * @return the value of the property, or <code>null</code> if the given name does not identify a FlowFile property
+     */
+    static String getFlowFileProperty(final FlowFile flowFile, final String name) {
+        switch (name) {
+            case "flowFileId":
+                return String.valueOf(flowFile.getId());
+            case "fileSize":
+                return String.valueOf(flowFile.getSize());
+            case "entryDate":
+                return String.valueOf(flowFile.getEntryDate());
+            case "lineageStartDate":
+                return String.valueOf(flowFile.getLineageStartDate());
+            case "lastQueueDate":
+                return String.valueOf(flowFile.getLastQueueDate());
+            case "queueDateIndex":
+                return String.valueOf(flowFile.getQueueDateIndex());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * A read-only view of the properties of a FlowFile that computes each value only when it is requested
+     */
+    private static final class FlowFilePropertiesMap extends AbstractMap<String, String> {
+        private final FlowFile flowFile;
+
+        private FlowFilePropertiesMap(final FlowFile flowFile) {
+            this.flowFile = flowFile;
+        }
+
+        @Override
+        public String get(final Object key) {
+            return key instanceof String ? getFlowFileProperty(flowFile, (String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new HashSet<>(FLOWFILE_PROPERTY_NAMES);
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return extractFlowFileProperties(flowFile).entrySet();
+        }
+    }
+
     @Override
     public int size() {
         return keySet().size();
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language.compile;
+
+import org.apache.nifi.attribute.expression.language.EvaluationContext;
+
+/**
+ * An Expression that has been compiled into a chain of direct method invocations. Unlike an
+ * {@link org.apache.nifi.attribute.expression.language.evaluation.Evaluator}, a DirectEvaluator
+ * does not wrap intermediate results in a QueryResult and is always threadsafe.
+ */
+@FunctionalInterface
+public interface DirectEvaluator {
+
+    /**
+     * Evaluates the Expression against the given context
+     *
+     * @param evaluationContext the context used to evaluate the Expression
+     * @return the String representation of the result, or <code>null</code> if the Expression evaluates to <code>null</code>
+     */
+    String evaluate(EvaluationContext evaluationContext);
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language.compile;
+
+import org.apache.nifi.attribute.expression.language.EvaluationContext;
+import org.apache.nifi.attribute.expression.language.StandardEvaluationContext;
+import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.AndEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.AppendEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ContainsEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EndsWithEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EqualsEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EqualsIgnoreCaseEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IsEmptyEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IsNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.NotEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.NotNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.OrEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.PrependEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ReplaceEmptyEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ReplaceNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.StartsWithEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ToLowerEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ToUpperEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.TrimEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.StringLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.selection.AttributeEvaluator;
+import org.apache.nifi.expression.AttributeExpression.ResultType;
+
+import java.util.Collections;
+
+/**
+ * Compiles a tree of {@link Evaluator}s, as produced by the {@link ExpressionCompiler}, into a {@link DirectEvaluator}.
+ * Only the functions most commonly used for routing and attribute manipulation are supported: attribute references with
+ * a literal name, String literals, String comparison and manipulation functions and Boolean logic. If any Evaluator in the
+ * tree is not supported, no DirectEvaluator is produced and the Expression is interpreted by walking the Evaluator tree.
+ */
+public class DirectEvaluatorCompiler {
+
+    @FunctionalInterface
+    private interface StringFunction {
+        String apply(EvaluationContext evaluationContext);
+    }
+
+    @FunctionalInterface
+    private interface BooleanFunction {
+        boolean test(EvaluationContext evaluationContext);
+    }
+
+    /**
+     * Compiles the given Evaluator
+     *
+     * @param evaluator the root Evaluator of an Expression
+     * @return a DirectEvaluator that produces the same results as the given Evaluator, or <code>null</code> if the Evaluator cannot be compiled
+     */
+    public static DirectEvaluator compile(final Evaluator<?> evaluator) {
+        if (evaluator.getResultType() == ResultType.BOOLEAN) {
+            final BooleanFunction function = compileBoolean(evaluator);
+            return function == null ? null : context -> String.valueOf(function.test(context));
+        }
+
+        final StringFunction function = compileString(evaluator);
+        return function == null ? null : function::apply;
+    }
+
+    private static StringFunction compileString(final Evaluator<?> evaluator) {
+        if (evaluator.getResultType() != ResultType.STRING) {
+            return null;
+        }
+
+        if (evaluator instanceof StringLiteralEvaluator) {
+            final String value = getLiteralValue(evaluator);
+            return context -> value;
+        }
+
+        if (evaluator instanceof AttributeEvaluator) {
+            final Evaluator<String> nameEvaluator = ((AttributeEvaluator) evaluator).getNameEvaluator();
+            if (!(nameEvaluator instanceof StringLiteralEvaluator)) {
+                return null;
+            }
+
+            final String name = getLiteralValue(nameEvaluator);
+            return context -> context.getExpressionValue(name);
+        }
+
+        final StringFunction subject = evaluator.getSubjectEvaluator() == null ? null : compileString(evaluator.getSubjectEvaluator());
+        if (subject == null) {
+            return null;
+        }
+
+        if (evaluator instanceof ToUpperEvaluator) {
+            return context -> {
+                final String value = subject.apply(context);
+                return value == null ? null : value.toUpperCase();
+            };
+        }
+        if (evaluator instanceof ToLowerEvaluator) {
+            return context -> {
+                final String value = subject.apply(context);
+                return value == null ? null : value.toLowerCase();
+            };
+        }
+        if (evaluator instanceof TrimEvaluator) {
+            return context -> {
+                final String value = subject.apply(context);
+                return value == null ? null : value.trim();
+            };
+        }
+        if (evaluator instanceof AppendEvaluator) {
+            final StringFunction append = compileString(((AppendEvaluator) evaluator).getAppendEvaluator());
+            if (append == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                final String appendValue = append.apply(context);
+                return (value == null ? "" : value) + (appendValue == null ? "" : appendValue);
+            };
+        }
+        if (evaluator instanceof PrependEvaluator) {
+            final StringFunction prepend = compileString(((PrependEvaluator) evaluator).getPrependEvaluator());
+            if (prepend == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                final String prependValue = prepend.apply(context);
+                return (prependValue == null ? "" : prependValue) + (value == null ? "" : value);
+            };
+        }
+        if (evaluator instanceof ReplaceNullEvaluator) {
+            final StringFunction replacement = compileString(((ReplaceNullEvaluator) evaluator).getResultEvaluator());
+            if (replacement == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                return value == null ? replacement.apply(context) : value;
+            };
+        }
+        if (evaluator instanceof ReplaceEmptyEvaluator) {
+            final StringFunction replacement = compileString(((ReplaceEmptyEvaluator) evaluator).getReplacementEvaluator());
+            if (replacement == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                return isEmpty(value) ? replacement.apply(context) : value;
+            };
+        }
+
+        return null;
+    }
+
+    private static BooleanFunction compileBoolean(final Evaluator<?> evaluator) {
+        if (evaluator.getResultType() != ResultType.BOOLEAN || evaluator.getSubjectEvaluator() == null) {
+            return null;
+        }
+
+        if (evaluator instanceof AndEvaluator) {
+            final BooleanFunction lhs = compileBoolean(evaluator.getSubjectEvaluator());
+            final BooleanFunction rhs = compileBoolean(((AndEvaluator) evaluator).getRhsEvaluator());
+            if (lhs == null || rhs == null) {
+                return null;
+            }
+
+            return context -> lhs.test(context) && rhs.test(context);
+        }
+        if (evaluator instanceof OrEvaluator) {
+            final BooleanFunction lhs = compileBoolean(evaluator.getSubjectEvaluator());
+            final BooleanFunction rhs = compileBoolean(((OrEvaluator) evaluator).getRhsEvaluator());
+            if (lhs == null || rhs == null) {
+                return null;
+            }
+
+            return context -> lhs.test(context) || rhs.test(context);
+        }
+        if (evaluator instanceof NotEvaluator) {
+            final BooleanFunction subject = compileBoolean(evaluator.getSubjectEvaluator());
+            return subject == null ? null : context -> !subject.test(context);
+        }
+
+        // All remaining functions operate on a String subject
+        final StringFunction subject = compileString(evaluator.getSubjectEvaluator());
+        if (subject == null) {
+            return null;
+        }
+
+        if (evaluator instanceof IsNullEvaluator) {
+            return context -> subject.apply(context) == null;
+        }
+        if (evaluator instanceof NotNullEvaluator) {
+            return context -> subject.apply(context) != null;
+        }
+        if (evaluator instanceof IsEmptyEvaluator) {
+            return context -> isEmpty(subject.apply(context));
+        }
+        if (evaluator instanceof EqualsEvaluator) {
+            final StringFunction compareTo = compileString(((EqualsEvaluator) evaluator).getCompareToEvaluator());
+            if (compareTo == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                if (value == null) {
+                    return false;
+                }
+
+                final String compareToValue = compareTo.apply(context);
+                return value.equals(compareToValue);
+            };
+        }
+        if (evaluator instanceof EqualsIgnoreCaseEvaluator) {
+            final StringFunction compareTo = compileString(((EqualsIgnoreCaseEvaluator) evaluator).getCompareToEvaluator());
+            if (compareTo == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                if (value == null) {
+                    return false;
+                }
+
+                final String compareToValue = compareTo.apply(context);
+                return value.equalsIgnoreCase(compareToValue);
+            };
+        }
+        if (evaluator instanceof StartsWithEvaluator) {
+            final StringFunction search = compileString(((StartsWithEvaluator) evaluator).getSearchEvaluator());
+            if (search == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                if (value == null) {
+                    return false;
+                }
+
+                final String searchValue = search.apply(context);
+                return searchValue != null && value.startsWith(searchValue);
+            };
+        }
+        if (evaluator instanceof EndsWithEvaluator) {
+            final StringFunction search = compileString(((EndsWithEvaluator) evaluator).getSearchEvaluator());
+            if (search == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                if (value == null) {
+                    return false;
+                }
+
+                final String searchValue = search.apply(context);
+                return searchValue != null && value.endsWith(searchValue);
+            };
+        }
+        if (evaluator instanceof ContainsEvaluator) {
+            final StringFunction search = compileString(((ContainsEvaluator) evaluator).getSearchEvaluator());
+            if (search == null) {
+                return null;
+            }
+
+            return context -> {
+                final String value = subject.apply(context);
+                if (value == null) {
+                    return false;
+                }
+
+                final String searchValue = search.apply(context);
+                return searchValue != null && value.contains(searchValue);
+            };
+        }
+
+        return null;
+    }
+
+    private static boolean isEmpty(final String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static String getLiteralValue(final Evaluator<?> literalEvaluator) {
+        return (String) literalEvaluator.evaluate(new StandardEvaluationContext(Collections.emptyMap())).getValue();
+    }
+}
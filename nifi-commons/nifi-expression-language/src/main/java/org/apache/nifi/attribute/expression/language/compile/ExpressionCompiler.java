@@ -287,7 +287,8 @@ public class ExpressionCompiler {
             final Set<Evaluator<?>> allEvaluators = new HashSet<>(evaluators);
             this.evaluators.clear();
 
-            return new CompiledExpression(expression, evaluator, tree, allEvaluators);
+            final DirectEvaluator directEvaluator = DirectEvaluatorCompiler.compile(evaluator);
+            return new CompiledExpression(expression, evaluator, tree, allEvaluators, directEvaluator);
         } catch (final AttributeExpressionLanguageParsingException e) {
             throw e;
         } catch (final Exception e) {
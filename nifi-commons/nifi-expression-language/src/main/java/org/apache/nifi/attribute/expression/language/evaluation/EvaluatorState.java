@@ -28,7 +28,8 @@ import java.util.Map;
  */
 public class EvaluatorState {
 
-    private final Map<Evaluator<?>, Object> statePerEvaluator = new HashMap<>();
+    // Most Expressions do not make use of state, so the Map is created only when state is first stored
+    private Map<Evaluator<?>, Object> statePerEvaluator;
 
     /**
      * Fetches state for the given evaluator, casting it into the given type
@@ -38,7 +39,7 @@ public class EvaluatorState {
      * @return the state for the given Evaluator, or <code>null</code> if no state has been stored
      */
     public <T> T getState(Evaluator<?> evaluator, Class<T> clazz) {
-        return clazz.cast(statePerEvaluator.get(evaluator));
+        return statePerEvaluator == null ? null : clazz.cast(statePerEvaluator.get(evaluator));
     }
 
     /**
@@ -47,7 +48,19 @@ public class EvaluatorState {
      * @param state the state to store
      */
     public void putState(Evaluator<?> evaluator, Object state) {
+        if (statePerEvaluator == null) {
+            statePerEvaluator = new HashMap<>();
+        }
         statePerEvaluator.put(evaluator, state);
     }
 
+    /**
+     * Removes all state that has been stored, so that this EvaluatorState can be reused for another evaluation
+     */
+    public void clear() {
+        if (statePerEvaluator != null) {
+            statePerEvaluator.clear();
+        }
+    }
+
 }
@@ -62,6 +62,10 @@ public class AndEvaluator extends BooleanEvaluator {
         return result;
     }
 
+    public Evaluator<Boolean> getRhsEvaluator() {
+        return rhsEvaluator;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subjectEvaluator;
@@ -43,6 +43,10 @@ public class ContainsEvaluator extends BooleanEvaluator {
         return new BooleanQueryResult(searchString == null ? false : subjectValue.contains(searchString));
     }
 
+    public Evaluator<String> getSearchEvaluator() {
+        return search;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
@@ -43,6 +43,10 @@ public class EndsWithEvaluator extends BooleanEvaluator {
         return new BooleanQueryResult(searchString == null ? false : subjectValue.endsWith(searchString));
     }
 
+    public Evaluator<String> getSearchEvaluator() {
+        return search;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
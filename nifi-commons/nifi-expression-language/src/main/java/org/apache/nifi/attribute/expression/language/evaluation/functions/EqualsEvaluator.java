@@ -81,6 +81,10 @@ public class EqualsEvaluator extends BooleanEvaluator {
         }
     }
 
+    public Evaluator<?> getCompareToEvaluator() {
+        return compareTo;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
@@ -41,6 +41,10 @@ public class PrependEvaluator extends StringEvaluator {
         return new StringQueryResult(result);
     }
 
+    public Evaluator<String> getPrependEvaluator() {
+        return prependEvaluator;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
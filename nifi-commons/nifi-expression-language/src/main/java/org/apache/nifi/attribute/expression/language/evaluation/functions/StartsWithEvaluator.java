@@ -43,6 +43,10 @@ public class StartsWithEvaluator extends BooleanEvaluator {
         return new BooleanQueryResult(searchString == null ? false : subjectValue.startsWith(searchString));
     }
 
+    public Evaluator<String> getSearchEvaluator() {
+        return search;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
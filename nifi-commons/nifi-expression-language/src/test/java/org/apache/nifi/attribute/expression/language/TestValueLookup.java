@@ -16,7 +16,9 @@
  */
 package org.apache.nifi.attribute.expression.language;
 
+import org.apache.nifi.attribute.expression.language.evaluation.literals.StringLiteralEvaluator;
 import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.parameter.ParameterLookup;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -24,6 +26,9 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestValueLookup {
@@ -83,6 +88,50 @@ public class TestValueLookup {
         assertEquals("done you are now overridden", newOverriddenLookup.get("override me"));
     }
 
+    @Test
+    public void testFlowFileEvaluationContextMatchesValueLookup() {
+        final FlowFile fakeFile = createFlowFile();
+        final Map<String, String> overrides = new HashMap<>();
+        overrides.put("fake", "the real deal");
+        overrides.put("override me", "done you are now overridden");
+
+        final ValueLookup lookup = new ValueLookup(fakeFile, overrides);
+        try (final FlowFileEvaluationContext context = FlowFileEvaluationContext.acquire(fakeFile, overrides, null, ParameterLookup.EMPTY)) {
+            for (final String name : new String[] {"fake", "override me", "filename", "flowFileId", "fileSize", "entryDate", "lineageStartDate",
+                    "lastQueueDate", "queueDateIndex", "PATH", "missing"}) {
+                assertEquals(lookup.get(name), context.getExpressionValue(name), "Unexpected value for " + name);
+            }
+
+            assertEquals(lookup.getKeysAddressableByMultiMatch(), context.getExpressionKeys());
+        }
+    }
+
+    @Test
+    public void testFlowFileEvaluationContextReuse() {
+        final FlowFile fakeFile = createFlowFile();
+        final StringLiteralEvaluator evaluator = new StringLiteralEvaluator("state");
+
+        final FlowFileEvaluationContext first;
+        try (final FlowFileEvaluationContext context = FlowFileEvaluationContext.acquire(fakeFile, null, null, ParameterLookup.EMPTY)) {
+            first = context;
+            context.getEvaluatorState().putState(evaluator, "value");
+
+            // A context that is still in use must not be handed out again on the same thread
+            try (final FlowFileEvaluationContext nested = FlowFileEvaluationContext.acquire(null, null, null, ParameterLookup.EMPTY)) {
+                assertNotSame(context, nested);
+                assertNull(nested.getExpressionValue("filename"));
+            }
+
+            assertEquals("fakefile.txt", context.getExpressionValue("filename"));
+        }
+
+        try (final FlowFileEvaluationContext context = FlowFileEvaluationContext.acquire(null, null, null, ParameterLookup.EMPTY)) {
+            assertSame(first, context);
+            assertNull(context.getExpressionValue("filename"));
+            assertNull(context.getEvaluatorState().getState(evaluator, String.class));
+        }
+    }
+
     private FlowFile createFlowFile() {
         return new FlowFile() {
             @Override
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language.compile;
+
+import org.apache.nifi.attribute.expression.language.CompiledExpression;
+import org.apache.nifi.attribute.expression.language.EvaluationContext;
+import org.apache.nifi.attribute.expression.language.StandardEvaluationContext;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestDirectEvaluatorCompiler {
+
+    private static final List<String> SUPPORTED_EXPRESSIONS = List.of(
+        "${filename}",
+        "${missing}",
+        "${'filename'}",
+        "${filename:toUpper()}",
+        "${filename:toLower():trim()}",
+        "${filename:append('.bak'):prepend('/tmp/')}",
+        "${missing:append('.bak')}",
+        "${missing:replaceNull('default')}",
+        "${blank:replaceEmpty('default')}",
+        "${filename:equals('data.csv')}",
+        "${filename:equals(${other})}",
+        "${filename:equals(${missing})}",
+        "${filename:equalsIgnoreCase('DATA.CSV')}",
+        "${filename:startsWith('data')}",
+        "${filename:endsWith('.csv')}",
+        "${filename:contains('ta.c')}",
+        "${missing:contains('x')}",
+        "${blank:isEmpty()}",
+        "${missing:isNull()}",
+        "${filename:notNull()}",
+        "${filename:endsWith('.csv'):and(${type:equals('orders')})}",
+        "${filename:endsWith('.json'):or(${type:equals('orders')}):not()}"
+    );
+
+    private static final List<String> UNSUPPORTED_EXPRESSIONS = List.of(
+        "${${pointer}}",
+        "${filename:length()}",
+        "${filename:substring(0, 2)}",
+        "${anyAttribute('filename', 'type'):equals('orders')}",
+        "${filename:matches('.*csv')}"
+    );
+
+    @Test
+    public void testSupportedExpressionsMatchInterpretedResults() {
+        final EvaluationContext context = new StandardEvaluationContext(createAttributes());
+
+        for (final String expression : SUPPORTED_EXPRESSIONS) {
+            final CompiledExpression compiled = new ExpressionCompiler().compile(expression);
+            assertNotNull(compiled.getDirectEvaluator(), "Expected " + expression + " to be compiled");
+
+            final CompiledExpression interpreted = new CompiledExpression(compiled.getExpression(), compiled.getRootEvaluator(), compiled.getTree(), compiled.getAllEvaluators());
+            assertEquals(interpreted.evaluate(context, null), compiled.evaluate(context, null), "Unexpected result for " + expression);
+        }
+    }
+
+    @Test
+    public void testUnsupportedExpressionsAreInterpreted() {
+        final EvaluationContext context = new StandardEvaluationContext(createAttributes());
+
+        for (final String expression : UNSUPPORTED_EXPRESSIONS) {
+            final CompiledExpression compiled = new ExpressionCompiler().compile(expression);
+            assertNull(compiled.getDirectEvaluator(), "Expected " + expression + " to fall back to interpretation");
+            assertNotNull(compiled.evaluate(context, null));
+        }
+    }
+
+    @Test
+    public void testDecoratorApplied() {
+        final EvaluationContext context = new StandardEvaluationContext(createAttributes());
+        final CompiledExpression compiled = new ExpressionCompiler().compile("${filename}");
+
+        assertEquals("[data.csv]", compiled.evaluate(context, value -> "[" + value + "]"));
+    }
+
+    @Test
+    @Disabled("Intended for manual performance testing; should not be run in an automated environment")
+    public void testDirectEvaluationPerformance() {
+        final EvaluationContext context = new StandardEvaluationContext(createAttributes());
+
+        for (final String expression : SUPPORTED_EXPRESSIONS) {
+            final CompiledExpression compiled = new ExpressionCompiler().compile(expression);
+            final CompiledExpression interpreted = new CompiledExpression(compiled.getExpression(), compiled.getRootEvaluator(), compiled.getTree(), compiled.getAllEvaluators());
+
+            final long interpretedNanos = time(interpreted, context);
+            final long compiledNanos = time(compiled, context);
+            System.out.printf("%s: interpreted %d ms, compiled %d ms%n", expression,
+                TimeUnit.NANOSECONDS.toMillis(interpretedNanos), TimeUnit.NANOSECONDS.toMillis(compiledNanos));
+        }
+    }
+
+    private long time(final CompiledExpression expression, final EvaluationContext context) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < 10_000_000; i++) {
+            expression.evaluate(context, null);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Map<String, String> createAttributes() {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("filename", "data.csv");
+        attributes.put("other", "data.csv");
+        attributes.put("type", "orders");
+        attributes.put("pointer", "filename");
+        attributes.put("blank", "   ");
+        return attributes;
+    }
+}
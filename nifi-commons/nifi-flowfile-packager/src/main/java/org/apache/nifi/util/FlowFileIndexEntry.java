@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util;
+
+import java.util.Map;
+
+/**
+ * Entry in the trailing index of a FlowFile Stream, v3 Indexed bundle, locating the content of a single
+ * FlowFile within the bundle.
+ */
+public class FlowFileIndexEntry {
+
+    private final long offset;
+    private final long length;
+    private final Map<String, String> attributes;
+
+    public FlowFileIndexEntry(final long offset, final long length, final Map<String, String> attributes) {
+        this.offset = offset;
+        this.length = length;
+        this.attributes = attributes;
+    }
+
+    /**
+     * @return the offset of the FlowFile content from the start of the bundle
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the number of bytes of FlowFile content
+     */
+    public long getLength() {
+        return length;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return "FlowFileIndexEntry[offset=" + offset + ", length=" + length + "]";
+    }
+}
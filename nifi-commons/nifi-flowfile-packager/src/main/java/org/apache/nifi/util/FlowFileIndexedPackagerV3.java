@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Packages FlowFiles into a FlowFile Stream, v3 Indexed bundle. Unlike {@link FlowFilePackagerV3}, the content of
+ * each FlowFile is written back to back without any framing, and the attributes are written after all of the content,
+ * in an index that records the offset and length of each FlowFile's content:
+ * </p>
+ *
+ * <pre>
+ * content[0] ... content[n-1]
+ * index:   entry count (int), then for each entry: offset (long), length (long), attribute count (int),
+ *          and for each attribute: key length (int), key (UTF-8), value length (int), value (UTF-8)
+ * trailer: index length (long), {@link #MAGIC_TRAILER}
+ * </pre>
+ *
+ * <p>
+ * Because the content is not interleaved with attributes, a bundle can be created by concatenating the content of the
+ * FlowFiles and appending the index, and a bundle can be split by referencing byte ranges of its content, without
+ * reading the content at all. The index is written by {@link #writeIndex(OutputStream)} once all FlowFiles have been
+ * added, either by {@link #packageFlowFile(InputStream, OutputStream, Map, long)}, which also writes the content, or
+ * by {@link #addFlowFile(Map, long)}, when the caller concatenates the content itself.
+ * </p>
+ *
+ * <p>
+ * Instances maintain the index of the bundle being written and cannot be reused for another bundle.
+ * </p>
+ */
+public class FlowFileIndexedPackagerV3 implements FlowFilePackager {
+
+    public static final byte[] MAGIC_TRAILER = {'N', 'i', 'F', 'i', 'F', 'I', '3'};
+
+    /**
+     * Number of bytes in the trailer at the end of each bundle: the length of the index followed by the magic trailer
+     */
+    public static final int TRAILER_LENGTH = 8 + MAGIC_TRAILER.length;
+
+    private final List<FlowFileIndexEntry> entries = new ArrayList<>();
+    private long contentLength = 0L;
+
+    @Override
+    public void packageFlowFile(final InputStream in, final OutputStream out, final Map<String, String> attributes, final long fileSize) throws IOException {
+        final long bytesCopied = copy(in, out);
+        if (bytesCopied != fileSize) {
+            throw new IOException("Expected FlowFile content of " + fileSize + " bytes but received " + bytesCopied);
+        }
+
+        addFlowFile(attributes, fileSize);
+    }
+
+    /**
+     * Adds a FlowFile to the index without writing its content. The caller is responsible for writing the content of
+     * each FlowFile to the bundle, in the order in which the FlowFiles are added, before writing the index.
+     *
+     * @param attributes the attributes of the FlowFile
+     * @param fileSize the number of bytes of content of the FlowFile
+     */
+    public void addFlowFile(final Map<String, String> attributes, final long fileSize) {
+        entries.add(new FlowFileIndexEntry(contentLength, fileSize, attributes == null ? Collections.emptyMap() : attributes));
+        contentLength += fileSize;
+    }
+
+    /**
+     * @return the number of bytes of content of all FlowFiles added so far, which is the offset at which the index is written
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * Writes the index and trailer for all FlowFiles that have been added. This must be called after the content of
+     * the last FlowFile has been written.
+     *
+     * @param out the stream to write to
+     * @throws IOException if unable to write to the stream
+     */
+    public void writeIndex(final OutputStream out) throws IOException {
+        out.write(getIndex());
+    }
+
+    /**
+     * @return the index and trailer for all FlowFiles that have been added
+     * @throws IOException if unable to encode the index
+     */
+    public byte[] getIndex() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final DataOutputStream dos = new DataOutputStream(baos);
+
+        dos.writeInt(entries.size());
+        for (final FlowFileIndexEntry entry : entries) {
+            dos.writeLong(entry.getOffset());
+            dos.writeLong(entry.getLength());
+
+            final Map<String, String> attributes = entry.getAttributes();
+            dos.writeInt(attributes.size());
+            for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+                writeString(attribute.getKey(), dos);
+                writeString(attribute.getValue() == null ? "" : attribute.getValue(), dos);
+            }
+        }
+
+        final long indexLength = dos.size();
+        dos.writeLong(indexLength);
+        dos.write(MAGIC_TRAILER);
+        dos.flush();
+
+        return baos.toByteArray();
+    }
+
+    private void writeString(final String value, final DataOutputStream out) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private long copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[65536];
+        long totalBytes = 0L;
+        int len;
+        while ((len = in.read(buffer)) > 0) {
+            out.write(buffer, 0, len);
+            totalBytes += len;
+        }
+        return totalBytes;
+    }
+}
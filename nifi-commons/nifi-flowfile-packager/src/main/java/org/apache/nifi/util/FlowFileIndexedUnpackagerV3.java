@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Reads the index of a FlowFile Stream, v3 Indexed bundle, as written by {@link FlowFileIndexedPackagerV3}. The
+ * index locates the content of each FlowFile within the bundle, so callers can reference the content in place rather
+ * than copying it out of the bundle.
+ * </p>
+ *
+ * <p>
+ * The index is found from the trailer at the end of the bundle, so reading it takes two passes over the bundle, each of
+ * which skips over the FlowFile content: {@link #readIndexOffset(InputStream, long)} reads the trailer, and
+ * {@link #readIndex(InputStream, long, long)} reads the index itself.
+ * </p>
+ */
+public class FlowFileIndexedUnpackagerV3 {
+
+    /**
+     * Reads the trailer of the bundle to determine where the index begins.
+     *
+     * @param in stream positioned at the beginning of the bundle
+     * @param bundleSize the total number of bytes in the bundle
+     * @return the offset of the index from the beginning of the bundle
+     * @throws IOException if unable to read the bundle or the bundle is not in FlowFile Stream, v3 Indexed format
+     */
+    public long readIndexOffset(final InputStream in, final long bundleSize) throws IOException {
+        if (bundleSize < FlowFileIndexedPackagerV3.TRAILER_LENGTH) {
+            throw new IOException("Not in FlowFile-v3 Indexed format: bundle of " + bundleSize + " bytes is too small to contain an index");
+        }
+
+        in.skipNBytes(bundleSize - FlowFileIndexedPackagerV3.TRAILER_LENGTH);
+
+        final DataInputStream dis = new DataInputStream(in);
+        final long indexLength = dis.readLong();
+        final byte[] trailer = new byte[FlowFileIndexedPackagerV3.MAGIC_TRAILER.length];
+        dis.readFully(trailer);
+        if (!Arrays.equals(trailer, FlowFileIndexedPackagerV3.MAGIC_TRAILER)) {
+            throw new IOException("Not in FlowFile-v3 Indexed format");
+        }
+
+        final long indexOffset = bundleSize - FlowFileIndexedPackagerV3.TRAILER_LENGTH - indexLength;
+        if (indexLength < 4 || indexOffset < 0) {
+            throw new IOException("Invalid FlowFile-v3 Indexed bundle: index length of " + indexLength + " bytes is not valid for bundle of " + bundleSize + " bytes");
+        }
+
+        return indexOffset;
+    }
+
+    /**
+     * Reads the index of the bundle.
+     *
+     * @param in stream positioned at the beginning of the bundle
+     * @param indexOffset the offset of the index, as returned by {@link #readIndexOffset(InputStream, long)}
+     * @param bundleSize the total number of bytes in the bundle
+     * @return the entries of the index, in the order in which the FlowFiles were packaged
+     * @throws IOException if unable to read the bundle or the index is not valid
+     */
+    public List<FlowFileIndexEntry> readIndex(final InputStream in, final long indexOffset, final long bundleSize) throws IOException {
+        in.skipNBytes(indexOffset);
+
+        final long indexLength = bundleSize - FlowFileIndexedPackagerV3.TRAILER_LENGTH - indexOffset;
+        final DataInputStream dis = new DataInputStream(in);
+        final int entryCount = dis.readInt();
+        if (entryCount < 0 || entryCount > indexLength) {
+            throw new IOException("Invalid FlowFile-v3 Indexed bundle: index contains " + entryCount + " entries");
+        }
+
+        final List<FlowFileIndexEntry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            final long offset = dis.readLong();
+            final long length = dis.readLong();
+            if (offset < 0 || length < 0 || length > indexOffset - offset) {
+                throw new IOException("Invalid FlowFile-v3 Indexed bundle: entry " + i + " with offset " + offset + " and length " + length
+                        + " is outside of the content of the bundle");
+            }
+
+            final int attributeCount = dis.readInt();
+            if (attributeCount < 0 || attributeCount > indexLength) {
+                throw new IOException("Invalid FlowFile-v3 Indexed bundle: entry " + i + " contains " + attributeCount + " attributes");
+            }
+
+            final Map<String, String> attributes = new HashMap<>(attributeCount * 2);
+            for (int j = 0; j < attributeCount; j++) {
+                final String key = readString(dis, indexLength);
+                final String value = readString(dis, indexLength);
+                attributes.put(key, value);
+            }
+
+            entries.add(new FlowFileIndexEntry(offset, length, attributes));
+        }
+
+        return entries;
+    }
+
+    private String readString(final DataInputStream in, final long indexLength) throws IOException {
+        final int length = in.readInt();
+        if (length < 0 || length > indexLength) {
+            throw new IOException("Invalid FlowFile-v3 Indexed bundle: attribute length of " + length + " bytes is not valid");
+        }
+
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestPackageUnpackageIndexedV3 {
+
+    @Test
+    public void testPackageUnpackage() throws IOException {
+        final FlowFileIndexedPackagerV3 packager = new FlowFileIndexedPackagerV3();
+
+        final byte[] first = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+        final byte[] second = new byte[0];
+        final byte[] third = "Goodbye".getBytes(StandardCharsets.UTF_8);
+        final Map<String, String> firstAttributes = new HashMap<>();
+        firstAttributes.put("abc", "cba");
+        firstAttributes.put("123", null);
+        final Map<String, String> secondAttributes = Map.of("filename", "empty");
+        final Map<String, String> thirdAttributes = Map.of("filename", "third");
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        packager.packageFlowFile(new ByteArrayInputStream(first), baos, firstAttributes, first.length);
+        packager.packageFlowFile(new ByteArrayInputStream(second), baos, secondAttributes, second.length);
+        packager.packageFlowFile(new ByteArrayInputStream(third), baos, thirdAttributes, third.length);
+        assertEquals(first.length + third.length, packager.getContentLength());
+        packager.writeIndex(baos);
+
+        final byte[] bundle = baos.toByteArray();
+        final FlowFileIndexedUnpackagerV3 unpackager = new FlowFileIndexedUnpackagerV3();
+        final long indexOffset = unpackager.readIndexOffset(new ByteArrayInputStream(bundle), bundle.length);
+        assertEquals(first.length + third.length, indexOffset);
+
+        final List<FlowFileIndexEntry> entries = unpackager.readIndex(new ByteArrayInputStream(bundle), indexOffset, bundle.length);
+        assertEquals(3, entries.size());
+
+        firstAttributes.put("123", ""); // null attributes are packaged as empty strings
+        assertEntry(bundle, entries.get(0), first, firstAttributes);
+        assertEntry(bundle, entries.get(1), second, secondAttributes);
+        assertEntry(bundle, entries.get(2), third, thirdAttributes);
+    }
+
+    @Test
+    public void testAddFlowFileWithConcatenatedContent() throws IOException {
+        final FlowFileIndexedPackagerV3 packager = new FlowFileIndexedPackagerV3();
+        final byte[] content = "onetwo".getBytes(StandardCharsets.UTF_8);
+        packager.addFlowFile(Map.of("filename", "one"), 3);
+        packager.addFlowFile(Map.of("filename", "two"), 3);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(content);
+        packager.writeIndex(baos);
+
+        final byte[] bundle = baos.toByteArray();
+        final FlowFileIndexedUnpackagerV3 unpackager = new FlowFileIndexedUnpackagerV3();
+        final long indexOffset = unpackager.readIndexOffset(new ByteArrayInputStream(bundle), bundle.length);
+        final List<FlowFileIndexEntry> entries = unpackager.readIndex(new ByteArrayInputStream(bundle), indexOffset, bundle.length);
+
+        assertEntry(bundle, entries.get(0), "one".getBytes(StandardCharsets.UTF_8), Map.of("filename", "one"));
+        assertEntry(bundle, entries.get(1), "two".getBytes(StandardCharsets.UTF_8), Map.of("filename", "two"));
+    }
+
+    @Test
+    public void testPackageFlowFileSizeMismatch() {
+        final FlowFileIndexedPackagerV3 packager = new FlowFileIndexedPackagerV3();
+        final byte[] data = "Hello".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> packager.packageFlowFile(new ByteArrayInputStream(data), new ByteArrayOutputStream(), Map.of(), data.length + 1));
+    }
+
+    @Test
+    public void testReadIndexOffsetInvalidTrailer() {
+        final byte[] bundle = "Not a FlowFile-v3 Indexed bundle".getBytes(StandardCharsets.UTF_8);
+        final FlowFileIndexedUnpackagerV3 unpackager = new FlowFileIndexedUnpackagerV3();
+        assertThrows(IOException.class, () -> unpackager.readIndexOffset(new ByteArrayInputStream(bundle), bundle.length));
+        assertThrows(IOException.class, () -> unpackager.readIndexOffset(new ByteArrayInputStream(new byte[4]), 4));
+    }
+
+    @Test
+    public void testReadIndexEntryOutsideContent() throws IOException {
+        final FlowFileIndexedPackagerV3 packager = new FlowFileIndexedPackagerV3();
+        final byte[] content = "abc".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        packager.packageFlowFile(new ByteArrayInputStream(content), baos, Map.of(), content.length);
+        packager.writeIndex(baos);
+
+        final byte[] bundle = baos.toByteArray();
+        final FlowFileIndexedUnpackagerV3 unpackager = new FlowFileIndexedUnpackagerV3();
+        final long indexOffset = unpackager.readIndexOffset(new ByteArrayInputStream(bundle), bundle.length);
+
+        // the first entry's offset and length follow the entry count at the start of the index
+        final int entryOffsetPosition = (int) indexOffset + Integer.BYTES;
+        final ByteBuffer buffer = ByteBuffer.wrap(bundle);
+        buffer.putLong(entryOffsetPosition, 1);
+        buffer.putLong(entryOffsetPosition + Long.BYTES, content.length);
+        assertThrows(IOException.class, () -> unpackager.readIndex(new ByteArrayInputStream(bundle), indexOffset, bundle.length));
+
+        // offset plus length overflows
+        buffer.putLong(entryOffsetPosition + Long.BYTES, Long.MAX_VALUE);
+        assertThrows(IOException.class, () -> unpackager.readIndex(new ByteArrayInputStream(bundle), indexOffset, bundle.length));
+
+        buffer.putLong(entryOffsetPosition, Long.MAX_VALUE);
+        buffer.putLong(entryOffsetPosition + Long.BYTES, 0);
+        assertThrows(IOException.class, () -> unpackager.readIndex(new ByteArrayInputStream(bundle), indexOffset, bundle.length));
+    }
+
+    private void assertEntry(final byte[] bundle, final FlowFileIndexEntry entry, final byte[] expectedContent, final Map<String, String> expectedAttributes) {
+        final byte[] content = Arrays.copyOfRange(bundle, (int) entry.getOffset(), (int) (entry.getOffset() + entry.getLength()));
+        assertArrayEquals(expectedContent, content);
+        assertEquals(expectedAttributes, entry.getAttributes());
+    }
+}
@@ -25,6 +25,7 @@ import org.antlr.runtime.CharStream;
 import org.antlr.runtime.CommonTokenStream;
 import org.antlr.runtime.tree.Tree;
 import org.apache.nifi.record.path.exception.RecordPathException;
+import org.apache.nifi.record.path.paths.DirectAccessPath;
 import org.apache.nifi.record.path.paths.RecordPathCompiler;
 import org.apache.nifi.record.path.paths.RecordPathSegment;
 import org.apache.nifi.record.path.paths.RootPath;
@@ -98,7 +99,7 @@ public interface RecordPath {
                 absolute = false;
             }
 
-            return RecordPathCompiler.compile(firstChild, rootPath, absolute);
+            return DirectAccessPath.of(RecordPathCompiler.compile(firstChild, rootPath, absolute));
         } catch (final RecordPathException e) {
             throw e;
         } catch (final Exception e) {
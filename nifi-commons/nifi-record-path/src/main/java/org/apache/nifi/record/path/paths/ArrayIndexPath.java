@@ -22,13 +22,12 @@ import java.util.stream.Stream;
 import org.apache.nifi.record.path.ArrayIndexFieldValue;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPathEvaluationContext;
-import org.apache.nifi.record.path.util.Filters;
 import org.apache.nifi.serialization.record.DataType;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.type.ArrayDataType;
 
-public class ArrayIndexPath extends RecordPathSegment {
+public class ArrayIndexPath extends RecordPathSegment implements SingularPathSegment {
     private final int index;
 
     ArrayIndexPath(final int index, final RecordPathSegment parent, final boolean absolute) {
@@ -41,18 +40,27 @@ public class ArrayIndexPath extends RecordPathSegment {
         final Stream<FieldValue> parentResult = getParentPath().evaluate(context);
 
         return parentResult
-            .filter(Filters.fieldTypeFilter(RecordFieldType.ARRAY))
-            .filter(fieldValue -> fieldValue.getValue() != null && ((Object[]) fieldValue.getValue()).length > getArrayIndex(((Object[]) fieldValue.getValue()).length))
-            .map(fieldValue -> {
-                final ArrayDataType arrayDataType = (ArrayDataType) fieldValue.getField().getDataType();
-                final DataType elementDataType = arrayDataType.getElementType();
-                final RecordField arrayField = new RecordField(fieldValue.getField().getFieldName(), elementDataType);
-                final Object[] values = (Object[]) fieldValue.getValue();
-                final int arrayIndex = getArrayIndex(values.length);
-                final RecordField elementField = new RecordField(arrayField.getFieldName(), elementDataType);
-                final FieldValue result = new ArrayIndexFieldValue(values[arrayIndex], elementField, fieldValue, arrayIndex);
-                return result;
-            });
+            .filter(this::isIndexPresent)
+            .map(this::getElement);
+    }
+
+    @Override
+    public FieldValue select(final FieldValue parent, final RecordPathEvaluationContext context) {
+        return isIndexPresent(parent) ? getElement(parent) : null;
+    }
+
+    private boolean isIndexPresent(final FieldValue fieldValue) {
+        return fieldValue.getField().getDataType().getFieldType() == RecordFieldType.ARRAY
+            && fieldValue.getValue() != null && ((Object[]) fieldValue.getValue()).length > getArrayIndex(((Object[]) fieldValue.getValue()).length);
+    }
+
+    private FieldValue getElement(final FieldValue fieldValue) {
+        final ArrayDataType arrayDataType = (ArrayDataType) fieldValue.getField().getDataType();
+        final DataType elementDataType = arrayDataType.getElementType();
+        final Object[] values = (Object[]) fieldValue.getValue();
+        final int arrayIndex = getArrayIndex(values.length);
+        final RecordField elementField = new RecordField(fieldValue.getField().getFieldName(), elementDataType);
+        return new ArrayIndexFieldValue(values[arrayIndex], elementField, fieldValue, arrayIndex);
     }
 
     private int getArrayIndex(final int arrayLength) {
@@ -29,7 +29,7 @@ import org.apache.nifi.serialization.record.type.RecordDataType;
 import java.util.Optional;
 import java.util.stream.Stream;
 
-public class ChildFieldPath extends RecordPathSegment {
+public class ChildFieldPath extends RecordPathSegment implements SingularPathSegment {
     private final String childName;
 
     ChildFieldPath(final String childName, final RecordPathSegment parent, final boolean absolute) {
@@ -77,6 +77,11 @@ public class ChildFieldPath extends RecordPathSegment {
         return new StandardFieldValue(value, field.get(), fieldValue);
     }
 
+    @Override
+    public FieldValue select(final FieldValue parent, final RecordPathEvaluationContext context) {
+        return getChild(parent);
+    }
+
     @Override
     public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
         return getParentPath().evaluate(context)
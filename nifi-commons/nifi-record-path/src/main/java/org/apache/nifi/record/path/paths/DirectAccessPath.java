@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.record.path.paths;
+
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPathEvaluationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A RecordPath that consists solely of {@link SingularPathSegment}s, starting either at the root of the Record or at the context node.
+ * Rather than chaining a Stream for each segment, the segments are applied directly one after another, and a Stream is created
+ * only for the final result. The results are identical to those of the RecordPath that this path was created from.
+ */
+public class DirectAccessPath extends RecordPathSegment {
+    private final RecordPathSegment original;
+    private final List<SingularPathSegment> segments;
+    private final boolean startsAtRoot;
+
+    private DirectAccessPath(final RecordPathSegment original, final List<SingularPathSegment> segments, final boolean startsAtRoot) {
+        super(original.getPath(), original.getParentPath(), original.isAbsolute());
+        this.original = original;
+        this.segments = segments;
+        this.startsAtRoot = startsAtRoot;
+    }
+
+    /**
+     * Creates a DirectAccessPath for the given RecordPath, if it consists solely of child field references, single array indices,
+     * single map keys and predicates
+     *
+     * @param path the compiled RecordPath
+     * @return a DirectAccessPath that is equivalent to the given path, or the given path if it cannot be evaluated directly
+     */
+    public static RecordPathSegment of(final RecordPathSegment path) {
+        final List<SingularPathSegment> segments = new ArrayList<>();
+
+        RecordPathSegment segment = path;
+        while (segment instanceof SingularPathSegment) {
+            segments.add((SingularPathSegment) segment);
+            segment = segment.getParentPath();
+        }
+
+        final boolean startsAtRoot;
+        if (segment instanceof RootPath) {
+            startsAtRoot = true;
+        } else if (segment instanceof CurrentFieldPath && segment.getParentPath() == null) {
+            startsAtRoot = false;
+        } else {
+            return path;
+        }
+
+        if (segments.isEmpty()) {
+            return path;
+        }
+
+        Collections.reverse(segments);
+        return new DirectAccessPath(path, Collections.unmodifiableList(segments), startsAtRoot);
+    }
+
+    /**
+     * @return the segments of this path, in the order in which they are applied
+     */
+    public List<SingularPathSegment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return <code>true</code> if this path starts at the root of the Record, <code>false</code> if it starts at the context node
+     */
+    public boolean isStartsAtRoot() {
+        return startsAtRoot;
+    }
+
+    @Override
+    public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
+        FieldValue fieldValue;
+        if (startsAtRoot) {
+            fieldValue = RootPath.getRootFieldValue(context.getRecord());
+        } else {
+            fieldValue = context.getContextNode();
+            if (fieldValue == null) {
+                return original.evaluate(context);
+            }
+        }
+
+        for (final SingularPathSegment segment : segments) {
+            fieldValue = segment.select(fieldValue, context);
+            if (fieldValue == null) {
+                return Stream.empty();
+            }
+        }
+
+        return Stream.of(fieldValue);
+    }
+}
@@ -23,7 +23,7 @@ import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPathEvaluationContext;
 import org.apache.nifi.record.path.filter.RecordPathFilter;
 
-public class PredicatePath extends RecordPathSegment {
+public class PredicatePath extends RecordPathSegment implements SingularPathSegment {
     private final RecordPathFilter filter;
 
     public PredicatePath(final RecordPathSegment parent, final RecordPathFilter filter, final boolean absolute) {
@@ -56,4 +56,15 @@ public class PredicatePath extends RecordPathSegment {
             }
         });
     }
+
+    @Override
+    public FieldValue select(final FieldValue parent, final RecordPathEvaluationContext context) {
+        final FieldValue previousContextNode = context.getContextNode();
+        context.setContextNode(parent);
+        try {
+            return filter.filter(context, false).findAny().isPresent() ? parent : null;
+        } finally {
+            context.setContextNode(previousContextNode);
+        }
+    }
 }
@@ -22,6 +22,7 @@ import java.util.stream.Stream;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPathEvaluationContext;
 import org.apache.nifi.record.path.StandardFieldValue;
+import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 
@@ -34,8 +35,17 @@ public class RootPath extends RecordPathSegment {
 
     @Override
     public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
-        final RecordField field = new RecordField("root", RecordFieldType.RECORD.getRecordDataType(context.getRecord().getSchema()));
-        final FieldValue fieldValue = new StandardFieldValue(context.getRecord(), field, null);
-        return Stream.of(fieldValue);
+        return Stream.of(getRootFieldValue(context.getRecord()));
+    }
+
+    /**
+     * Creates the FieldValue that represents the given Record as the root of a RecordPath
+     *
+     * @param record the Record
+     * @return a FieldValue whose value is the given Record
+     */
+    public static FieldValue getRootFieldValue(final Record record) {
+        final RecordField field = new RecordField("root", RecordFieldType.RECORD.getRecordDataType(record.getSchema()));
+        return new StandardFieldValue(record, field, null);
     }
 }
@@ -29,7 +29,7 @@ import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.type.MapDataType;
 
-public class SingularMapKeyPath extends RecordPathSegment {
+public class SingularMapKeyPath extends RecordPathSegment implements SingularPathSegment {
     private final String mapKey;
 
     SingularMapKeyPath(final String mapKey, final RecordPathSegment parent, final boolean absolute) {
@@ -43,11 +43,18 @@ public class SingularMapKeyPath extends RecordPathSegment {
 
         return parentResult
             .filter(Filters.fieldTypeFilter(RecordFieldType.MAP))
-            .map(fieldValue -> {
-                final DataType valueType = ((MapDataType) fieldValue.getField().getDataType()).getValueType();
-                final RecordField elementField = new RecordField(fieldValue.getField().getFieldName(), valueType);
-                return new MapEntryFieldValue(getMapValue(fieldValue), elementField, fieldValue, mapKey);
-            });
+            .map(this::getEntry);
+    }
+
+    @Override
+    public FieldValue select(final FieldValue parent, final RecordPathEvaluationContext context) {
+        return parent.getField().getDataType().getFieldType() == RecordFieldType.MAP ? getEntry(parent) : null;
+    }
+
+    private FieldValue getEntry(final FieldValue fieldValue) {
+        final DataType valueType = ((MapDataType) fieldValue.getField().getDataType()).getValueType();
+        final RecordField elementField = new RecordField(fieldValue.getField().getFieldName(), valueType);
+        return new MapEntryFieldValue(getMapValue(fieldValue), elementField, fieldValue, mapKey);
     }
 
     private Object getMapValue(final FieldValue fieldValue) {
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.record.path.paths;
+
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPathEvaluationContext;
+
+/**
+ * A RecordPath segment that selects at most one FieldValue from each FieldValue produced by its parent, such as
+ * a child field, a single array index, a single map key, or a predicate. Chains of such segments can be evaluated
+ * directly, one FieldValue at a time, without creating a Stream for each segment.
+ */
+public interface SingularPathSegment {
+
+    /**
+     * Selects the FieldValue that this segment produces for the given parent value
+     *
+     * @param parent the FieldValue produced by the parent segment
+     * @param context the evaluation context
+     * @return the selected FieldValue, or <code>null</code> if the segment does not select any value
+     */
+    FieldValue select(FieldValue parent, RecordPathEvaluationContext context);
+}
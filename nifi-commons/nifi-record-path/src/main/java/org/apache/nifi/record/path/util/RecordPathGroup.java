@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.record.path.util;
+
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathEvaluationContext;
+import org.apache.nifi.record.path.RecordPathResult;
+import org.apache.nifi.record.path.StandardRecordPathEvaluationContext;
+import org.apache.nifi.record.path.StandardRecordPathResult;
+import org.apache.nifi.record.path.paths.DirectAccessPath;
+import org.apache.nifi.record.path.paths.PredicatePath;
+import org.apache.nifi.record.path.paths.RootPath;
+import org.apache.nifi.record.path.paths.SingularPathSegment;
+import org.apache.nifi.serialization.record.Record;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Evaluates several RecordPaths against the same Record, evaluating the segments that the paths have in common only once.
+ * For example, given the RecordPaths <code>/customer/address/city</code> and <code>/customer/address/zip</code>, the
+ * <code>/customer/address</code> prefix is evaluated only once for each Record. Only absolute RecordPaths that are made up of
+ * child fields, single array indices, single map keys and predicates share prefixes; all other RecordPaths are evaluated independently.
+ * Predicates are never shared, as their textual representation does not fully describe their filters, so a prefix is shared only up to
+ * the first predicate.
+ * The Record must not be modified while the results of an evaluation are being consumed.
+ */
+public class RecordPathGroup {
+    private final List<RecordPath> recordPaths;
+    private final boolean[] sharesPrefix;
+    private final PrefixNode root = new PrefixNode(null);
+
+    public RecordPathGroup(final List<RecordPath> recordPaths) {
+        this.recordPaths = new ArrayList<>(recordPaths);
+        this.sharesPrefix = new boolean[recordPaths.size()];
+
+        for (int i = 0; i < recordPaths.size(); i++) {
+            final RecordPath recordPath = recordPaths.get(i);
+            if (!(recordPath instanceof DirectAccessPath) || !((DirectAccessPath) recordPath).isStartsAtRoot()) {
+                continue;
+            }
+
+            PrefixNode node = root;
+            for (final SingularPathSegment segment : ((DirectAccessPath) recordPath).getSegments()) {
+                node = node.getOrCreateChild(segment);
+            }
+            node.pathIndices.add(i);
+            sharesPrefix[i] = true;
+        }
+    }
+
+    /**
+     * @return the RecordPaths in this group, in the order in which their results are returned by {@link #evaluate(Record)}
+     */
+    public List<RecordPath> getRecordPaths() {
+        return recordPaths;
+    }
+
+    /**
+     * Evaluates all RecordPaths in the group against the given Record
+     *
+     * @param record the Record to evaluate
+     * @return a RecordPathResult for each RecordPath in the group, in the same order as the RecordPaths were provided
+     */
+    public List<RecordPathResult> evaluate(final Record record) {
+        final FieldValue[] selected = new FieldValue[recordPaths.size()];
+        if (!root.children.isEmpty()) {
+            final RecordPathEvaluationContext context = new StandardRecordPathEvaluationContext(record);
+            evaluate(root, RootPath.getRootFieldValue(record), context, selected);
+        }
+
+        final List<RecordPathResult> results = new ArrayList<>(recordPaths.size());
+        for (int i = 0; i < recordPaths.size(); i++) {
+            final RecordPath recordPath = recordPaths.get(i);
+            if (sharesPrefix[i]) {
+                final Stream<FieldValue> selectedFields = selected[i] == null ? Stream.empty() : Stream.of(selected[i]);
+                results.add(new StandardRecordPathResult(recordPath.getPath(), selectedFields));
+            } else {
+                results.add(recordPath.evaluate(record));
+            }
+        }
+
+        return results;
+    }
+
+    private void evaluate(final PrefixNode node, final FieldValue fieldValue, final RecordPathEvaluationContext context, final FieldValue[] selected) {
+        if (fieldValue == null) {
+            return;
+        }
+
+        for (final int pathIndex : node.pathIndices) {
+            selected[pathIndex] = fieldValue;
+        }
+
+        for (final PrefixNode child : node.children.values()) {
+            evaluate(child, child.segment.select(fieldValue, context), context, selected);
+        }
+    }
+
+    private static class PrefixNode {
+        private final SingularPathSegment segment;
+        private final Map<Object, PrefixNode> children = new LinkedHashMap<>();
+        private final List<Integer> pathIndices = new ArrayList<>();
+
+        private PrefixNode(final SingularPathSegment segment) {
+            this.segment = segment;
+        }
+
+        private PrefixNode getOrCreateChild(final SingularPathSegment childSegment) {
+            // A predicate prints only the last segment of each of its operands, so predicates that print the same may select different values
+            if (childSegment instanceof PredicatePath) {
+                final PrefixNode child = new PrefixNode(childSegment);
+                children.put(child, child);
+                return child;
+            }
+
+            // Segments of different types may have the same textual representation, such as an array index and a map key
+            final String key = childSegment.getClass().getName() + ":" + ((RecordPath) childSegment).getPath();
+            return children.computeIfAbsent(key, k -> new PrefixNode(childSegment));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.record.path.util;
+
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathResult;
+import org.apache.nifi.record.path.paths.DirectAccessPath;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRecordPathGroup {
+
+    @Test
+    public void testDirectAccessPathsCompiled() {
+        assertInstanceOf(DirectAccessPath.class, RecordPath.compile("/name"));
+        assertInstanceOf(DirectAccessPath.class, RecordPath.compile("/mainAccount/balance"));
+        assertInstanceOf(DirectAccessPath.class, RecordPath.compile("/accounts[1]/id"));
+        assertInstanceOf(DirectAccessPath.class, RecordPath.compile("/attributes['city']"));
+        assertInstanceOf(DirectAccessPath.class, RecordPath.compile("/accounts[0][./balance > 100]/id"));
+        assertInstanceOf(DirectAccessPath.class, RecordPath.compile("./name"));
+
+        assertFalse(RecordPath.compile("//balance") instanceof DirectAccessPath);
+        assertFalse(RecordPath.compile("/accounts[*]/id") instanceof DirectAccessPath);
+        assertFalse(RecordPath.compile("/accounts[0..1]/id") instanceof DirectAccessPath);
+        assertFalse(RecordPath.compile("substringAfter(/name, ' ')") instanceof DirectAccessPath);
+    }
+
+    @Test
+    public void testDirectAccessPathResults() {
+        final Record record = createRecord();
+
+        assertEquals(List.of("John Doe"), evaluate("/name", record));
+        assertEquals(List.of(123.45), evaluate("/mainAccount/balance", record));
+        assertEquals(List.of(2), evaluate("/accounts[1]/id", record));
+        assertEquals(List.of(2), evaluate("/accounts[-1]/id", record));
+        assertEquals(List.of(), evaluate("/accounts[5]/id", record));
+        assertEquals(List.of("New York"), evaluate("/attributes['city']", record));
+        assertEquals(List.of(1), evaluate("/accounts[0][./balance > 100]/id", record));
+        assertEquals(List.of(), evaluate("/accounts[1][./balance > 100]/id", record));
+        assertEquals(Arrays.asList((Object) null), evaluate("/missing", record));
+    }
+
+    @Test
+    public void testSharedPrefixEvaluation() {
+        final Record record = createRecord();
+        final List<RecordPath> recordPaths = List.of(
+            RecordPath.compile("/mainAccount/id"),
+            RecordPath.compile("/mainAccount/balance"),
+            RecordPath.compile("/accounts[0]/balance"),
+            RecordPath.compile("/accounts[0][./balance > 100]/id"),
+            RecordPath.compile("/accounts[*]/id"),
+            RecordPath.compile("/attributes['city']"),
+            RecordPath.compile("/attributes['state']"),
+            RecordPath.compile("/accounts[9]/id"));
+
+        final RecordPathGroup group = new RecordPathGroup(recordPaths);
+        final List<RecordPathResult> results = group.evaluate(record);
+
+        assertEquals(recordPaths.size(), results.size());
+        for (int i = 0; i < recordPaths.size(); i++) {
+            assertEquals(recordPaths.get(i).getPath(), results.get(i).getPath());
+            assertEquals(evaluate(recordPaths.get(i).getPath(), record), getValues(results.get(i)));
+        }
+    }
+
+    @Test
+    public void testPredicatesDifferingBeforeLastSegmentNotShared() {
+        final Record record = createRecord();
+        // Both predicates print as [/id = 1], but only the second one matches the second account
+        final List<RecordPath> recordPaths = List.of(
+            RecordPath.compile("/accounts[1][./id = 1]/id"),
+            RecordPath.compile("/accounts[1][/mainAccount/id = 1]/balance"));
+
+        final List<RecordPathResult> results = new RecordPathGroup(recordPaths).evaluate(record);
+
+        assertEquals(List.of(), getValues(results.get(0)));
+        assertEquals(List.of(50.0), getValues(results.get(1)));
+    }
+
+    @Test
+    public void testUpdateThroughSharedPrefix() {
+        final Record record = createRecord();
+        final RecordPathGroup group = new RecordPathGroup(List.of(RecordPath.compile("/mainAccount/id"), RecordPath.compile("/mainAccount/balance")));
+
+        final List<RecordPathResult> results = group.evaluate(record);
+        results.get(1).getSelectedFields().forEach(fieldValue -> fieldValue.updateValue(0.0D));
+
+        final Record mainAccount = (Record) record.getValue("mainAccount");
+        assertEquals(0.0D, mainAccount.getValue("balance"));
+        assertTrue(results.get(0).getSelectedFields().allMatch(fieldValue -> Integer.valueOf(1).equals(fieldValue.getValue())));
+    }
+
+    private List<Object> evaluate(final String path, final Record record) {
+        return getValues(RecordPath.compile(path).evaluate(record));
+    }
+
+    private List<Object> getValues(final RecordPathResult result) {
+        return result.getSelectedFields().map(FieldValue::getValue).collect(Collectors.toList());
+    }
+
+    private Record createRecord() {
+        final RecordSchema accountSchema = new SimpleRecordSchema(List.of(
+            new RecordField("id", RecordFieldType.INT.getDataType()),
+            new RecordField("balance", RecordFieldType.DOUBLE.getDataType())));
+        final DataType accountType = RecordFieldType.RECORD.getRecordDataType(accountSchema);
+
+        final RecordSchema schema = new SimpleRecordSchema(List.of(
+            new RecordField("name", RecordFieldType.STRING.getDataType()),
+            new RecordField("missing", RecordFieldType.STRING.getDataType()),
+            new RecordField("attributes", RecordFieldType.MAP.getMapDataType(RecordFieldType.STRING.getDataType())),
+            new RecordField("mainAccount", accountType),
+            new RecordField("accounts", RecordFieldType.ARRAY.getArrayDataType(accountType))));
+
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put("city", "New York");
+        attributes.put("state", "NY");
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("name", "John Doe");
+        values.put("attributes", attributes);
+        values.put("mainAccount", createAccount(accountSchema, 1, 123.45));
+        values.put("accounts", new Object[] {createAccount(accountSchema, 1, 123.45), createAccount(accountSchema, 2, 50.0)});
+        return new MapRecord(schema, values);
+    }
+
+    private Record createAccount(final RecordSchema accountSchema, final int id, final double balance) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", id);
+        values.put("balance", balance);
+        return new MapRecord(accountSchema, values);
+    }
+}
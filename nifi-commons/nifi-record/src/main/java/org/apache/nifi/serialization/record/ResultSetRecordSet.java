@@ -55,6 +55,9 @@ public class ResultSetRecordSet implements RecordSet, Closeable {
     private final Set<String> rsColumnNames;
     private final int defaultPrecision;
     private final int defaultScale;
+    private RecordField[] planFields;
+    private int[] planColumnIndexes;
+    private boolean[] planTimestamps;
 
     private boolean moreRows;
 
@@ -134,23 +137,66 @@ public class ResultSetRecordSet implements RecordSet, Closeable {
     }
 
     protected Record createRecord(final ResultSet rs) throws SQLException {
-        final Map<String, Object> values = new HashMap<>(schema.getFieldCount());
+        if (planFields == null) {
+            createConversionPlan(rs);
+        }
+
+        final Map<String, Object> values = new HashMap<>((int) (planFields.length / 0.75f) + 1);
 
-        for (final RecordField field : schema.getFields()) {
-            final String fieldName = field.getFieldName();
-            RecordFieldType fieldType = field.getDataType().getFieldType();
+        for (int i = 0; i < planFields.length; i++) {
+            final int columnIndex = planColumnIndexes[i];
             final Object value;
 
-            value = rsColumnNames.contains(fieldName)
-                    ? normalizeValue((fieldType == TIMESTAMP) ? rs.getTimestamp(fieldName) : rs.getObject(fieldName))
-                    : null;
+            if (columnIndex > 0) {
+                value = normalizeValue(planTimestamps[i] ? rs.getTimestamp(columnIndex) : rs.getObject(columnIndex));
+            } else if (columnIndex == 0) {
+                value = null;
+            } else {
+                // Fall back to looking the column up by label for each row if it could not be resolved to a single index up front
+                final String fieldName = planFields[i].getFieldName();
+                value = normalizeValue(planTimestamps[i] ? rs.getTimestamp(fieldName) : rs.getObject(fieldName));
+            }
 
-            values.put(fieldName, value);
+            values.put(planFields[i].getFieldName(), value);
         }
 
         return new MapRecord(schema, values);
     }
 
+    /**
+     * Resolves each field of the schema to its column index once, so that values can be read by index rather than looking up
+     * the column label for every row. An index of 0 indicates the field has no column, and -1 that the column must be looked up by label.
+     */
+    private void createConversionPlan(final ResultSet rs) throws SQLException {
+        final List<RecordField> fields = schema.getFields();
+        final RecordField[] resolvedFields = fields.toArray(new RecordField[0]);
+        final int[] columnIndexes = new int[resolvedFields.length];
+        final boolean[] timestamps = new boolean[resolvedFields.length];
+
+        final ResultSetMetaData metadata = rs.getMetaData();
+        final int numCols = metadata.getColumnCount();
+        final Map<String, Integer> labelIndexes = new HashMap<>();
+        for (int column = numCols; column >= 1; column--) {
+            // Iterate backwards so that the first column with a given label wins, as with ResultSet.getObject(String)
+            labelIndexes.put(metadata.getColumnLabel(column), column);
+        }
+
+        for (int i = 0; i < resolvedFields.length; i++) {
+            final String fieldName = resolvedFields[i].getFieldName();
+            timestamps[i] = resolvedFields[i].getDataType().getFieldType() == TIMESTAMP;
+            if (!rsColumnNames.contains(fieldName)) {
+                columnIndexes[i] = 0;
+            } else {
+                final Integer columnIndex = labelIndexes.get(fieldName);
+                columnIndexes[i] = columnIndex == null ? -1 : columnIndex;
+            }
+        }
+
+        planColumnIndexes = columnIndexes;
+        planTimestamps = timestamps;
+        planFields = resolvedFields;
+    }
+
     @SuppressWarnings("rawtypes")
     private Object normalizeValue(final Object value) throws SQLException {
         if (value == null) {
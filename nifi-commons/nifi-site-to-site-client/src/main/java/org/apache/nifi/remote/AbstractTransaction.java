@@ -19,8 +19,7 @@ package org.apache.nifi.remote;
 import org.apache.nifi.events.EventReporter;
 import org.apache.nifi.remote.codec.FlowFileCodec;
 import org.apache.nifi.remote.exception.ProtocolException;
-import org.apache.nifi.remote.io.CompressionInputStream;
-import org.apache.nifi.remote.io.CompressionOutputStream;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.protocol.CommunicationsSession;
 import org.apache.nifi.remote.protocol.DataPacket;
 import org.apache.nifi.remote.protocol.Response;
@@ -46,7 +45,7 @@ public abstract class AbstractTransaction implements Transaction {
     protected final Peer peer;
     protected final TransferDirection direction;
     private final CRC32 crc = new CRC32();
-    private final boolean compress;
+    private final CompressionConfiguration compression;
     protected final FlowFileCodec codec;
     protected final EventReporter eventReporter;
     protected final int protocolVersion;
@@ -57,14 +56,22 @@ public abstract class AbstractTransaction implements Transaction {
     private final long creationNanoTime = System.nanoTime();
     private int transfers = 0;
     private long contentBytes = 0;
+    // Decompressing stream of the last Data Packet received, which holds the codec until the next Data Packet is received
+    private InputStream receivedDataIn;
 
     public AbstractTransaction(final Peer peer, final TransferDirection direction, final boolean useCompression,
                                final FlowFileCodec codec, final EventReporter eventReporter, final int protocolVersion,
                                final int penaltyMillis, final String destinationId) {
+        this(peer, direction, useCompression ? CompressionConfiguration.DEFLATE : null, codec, eventReporter, protocolVersion, penaltyMillis, destinationId);
+    }
+
+    public AbstractTransaction(final Peer peer, final TransferDirection direction, final CompressionConfiguration compression,
+                               final FlowFileCodec codec, final EventReporter eventReporter, final int protocolVersion,
+                               final int penaltyMillis, final String destinationId) {
         this.peer = peer;
         this.state = TransactionState.TRANSACTION_STARTED;
         this.direction = direction;
-        this.compress = useCompression;
+        this.compression = compression;
         this.codec = codec;
         this.eventReporter = eventReporter;
         this.protocolVersion = protocolVersion;
@@ -75,6 +82,20 @@ public abstract class AbstractTransaction implements Transaction {
     protected void close() throws IOException {
     }
 
+    /**
+     * Called when the Transaction has completed successfully, before the Transaction is closed.
+     *
+     * @param completion the completion of the Transaction
+     */
+    protected void onComplete(final TransactionCompletion completion) {
+    }
+
+    /**
+     * Called once when the Transaction fails, however many times {@link #error()} is invoked afterwards.
+     */
+    protected void onError() {
+    }
+
     @Override
     public void send(final byte[] content, final Map<String, String> attributes) throws IOException {
         send(new StandardDataPacket(attributes, new ByteArrayInputStream(content), content.length));
@@ -82,7 +103,13 @@ public abstract class AbstractTransaction implements Transaction {
 
     @Override
     public void error() {
+        final boolean failed = this.state != TransactionState.ERROR;
         this.state = TransactionState.ERROR;
+        if (failed) {
+            onError();
+        }
+
+        closeReceivedDataIn();
         try {
             close();
         } catch (IOException e) {
@@ -115,6 +142,9 @@ public abstract class AbstractTransaction implements Transaction {
                     throw new IllegalStateException("Attempting to receive data from " + peer + " but started a SEND Transaction");
                 }
 
+                // the content of the previous Data Packet has been consumed, so its codec can be released
+                closeReceivedDataIn();
+
                 // if we already know there's no data, just return null
                 if (!dataAvailable) {
                     return null;
@@ -145,7 +175,10 @@ public abstract class AbstractTransaction implements Transaction {
 
                 logger.debug("{} Receiving data from {}", this, peer);
                 final InputStream is = peer.getCommunicationsSession().getInput().getInputStream();
-                final InputStream dataIn = compress ? new CompressionInputStream(is) : is;
+                final InputStream dataIn = compression == null ? is : compression.createInputStream(is);
+                if (compression != null) {
+                    receivedDataIn = dataIn;
+                }
                 final DataPacket packet = codec.decode(new CheckedInputStream(dataIn, crc));
 
                 if (packet == null) {
@@ -287,7 +320,9 @@ public abstract class AbstractTransaction implements Transaction {
                 if (direction == TransferDirection.RECEIVE) {
                     if (transfers == 0) {
                         state = TransactionState.TRANSACTION_COMPLETED;
-                        return new ClientTransactionCompletion(false, 0, 0L, System.nanoTime() - creationNanoTime);
+                        final TransactionCompletion completion = new ClientTransactionCompletion(false, 0, 0L, System.nanoTime() - creationNanoTime);
+                        onComplete(completion);
+                        return completion;
                     }
 
                     // Confirm that we received the data and the peer can now discard it
@@ -315,7 +350,9 @@ public abstract class AbstractTransaction implements Transaction {
                     state = TransactionState.TRANSACTION_COMPLETED;
                 }
 
-                return new ClientTransactionCompletion(backoff, transfers, contentBytes, System.nanoTime() - creationNanoTime);
+                final TransactionCompletion completion = new ClientTransactionCompletion(backoff, transfers, contentBytes, System.nanoTime() - creationNanoTime);
+                onComplete(completion);
+                return completion;
             } catch (final IOException ioe) {
                 throw new IOException("Failed to complete transaction with " + peer + " due to " + ioe, ioe);
             }
@@ -323,6 +360,7 @@ public abstract class AbstractTransaction implements Transaction {
             error();
             throw e;
         } finally {
+            closeReceivedDataIn();
             close();
         }
     }
@@ -340,10 +378,24 @@ public abstract class AbstractTransaction implements Transaction {
             error();
             throw new IOException("Failed to send 'cancel transaction' message to " + peer + " due to " + ioe, ioe);
         } finally {
+            closeReceivedDataIn();
             close();
         }
     }
 
+    private void closeReceivedDataIn() {
+        if (receivedDataIn == null) {
+            return;
+        }
+
+        try {
+            receivedDataIn.close();
+        } catch (final IOException e) {
+            logger.debug("{} Failed to release decompression resources", this, e);
+        }
+        receivedDataIn = null;
+    }
+
     @Override
     public final String toString() {
         return getClass().getSimpleName() + "[Url=" + peer.getUrl() + ", TransferDirection=" + direction + ", State=" + state + "]";
@@ -368,15 +420,15 @@ public abstract class AbstractTransaction implements Transaction {
                 logger.debug("{} Sending data to {}", this, peer);
 
                 final OutputStream os = peer.getCommunicationsSession().getOutput().getOutputStream();
-                final OutputStream dataOut = compress ? new CompressionOutputStream(os) : os;
+                final OutputStream dataOut = compression == null ? os : compression.createOutputStream(os);
                 final OutputStream out = new CheckedOutputStream(dataOut, crc);
 
                 codec.encode(dataPacket, out);
 
-                // need to close the CompressionOutputStream in order to force it write out any remaining bytes.
+                // need to close the compressing stream in order to force it write out any remaining bytes.
                 // Otherwise, do NOT close it because we don't want to close the underlying stream
-                // (CompressionOutputStream will not close the underlying stream when it's closed)
-                if (compress) {
+                // (compressing streams will not close the underlying stream when closed)
+                if (compression != null) {
                     out.close();
                 }
 
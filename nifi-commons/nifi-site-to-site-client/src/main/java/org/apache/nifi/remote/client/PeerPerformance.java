@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exponentially weighted moving averages of the Transactions completed with a single peer.
+ */
+class PeerPerformance {
+
+    // Lowest success rate used when adjusting for errors, so that the cost of a failing peer remains finite
+    private static final double MINIMUM_SUCCESS_RATE = 0.01;
+
+    private final double alpha;
+
+    private double latencyNanos = -1;
+    private double throughput = -1;
+    private double errorRate = 0;
+    private long lastUpdatedNanos;
+
+    /**
+     * @param alpha the weight, between 0 and 1, given to each new sample
+     */
+    PeerPerformance(final double alpha) {
+        this.alpha = alpha;
+    }
+
+    /**
+     * Records a successfully completed Transaction. A Transaction that transferred no data, such as a
+     * {@code TransferDirection.RECEIVE} from a peer with nothing to send, completes quickly without showing that
+     * the peer performs well, so it only counts as a Transaction without throughput.
+     *
+     * @param dataPackets the number of Data Packets transferred
+     * @param bytes the number of content bytes transferred
+     * @param durationNanos the duration of the Transaction
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     */
+    synchronized void recordTransaction(final int dataPackets, final long bytes, final long durationNanos, final long nowNanos) {
+        if (dataPackets == 0) {
+            throughput = average(throughput, 0);
+        } else {
+            final long duration = Math.max(1, durationNanos);
+            latencyNanos = average(latencyNanos, duration);
+            if (bytes > 0) {
+                throughput = average(throughput, (double) bytes * TimeUnit.SECONDS.toNanos(1) / duration);
+            }
+        }
+        errorRate = (1 - alpha) * errorRate;
+        lastUpdatedNanos = nowNanos;
+    }
+
+    /**
+     * Records a Transaction that failed.
+     *
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     */
+    synchronized void recordFailure(final long nowNanos) {
+        errorRate = (1 - alpha) * errorRate + alpha;
+        lastUpdatedNanos = nowNanos;
+    }
+
+    private double average(final double current, final double sample) {
+        return current < 0 ? sample : (1 - alpha) * current + alpha * sample;
+    }
+
+    /**
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     * @param expirationNanos the amount of time after which samples are no longer representative of the peer
+     * @return <code>true</code> if no sample has been recorded within the expiration period
+     */
+    synchronized boolean isExpired(final long nowNanos, final long expirationNanos) {
+        return nowNanos - lastUpdatedNanos > expirationNanos;
+    }
+
+    /**
+     * @return the average number of content bytes transferred per second, or a negative value if no
+     * Transaction with content or without any data has completed
+     */
+    synchronized double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * @return the average Transaction duration in nanoseconds, or a negative value if no Transaction with data has completed
+     */
+    synchronized double getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Compares the performance of two peers, preferring the throughput of content when both have completed Transactions
+     * that count towards it and at least one has transferred content, and the Transaction latency otherwise. Both measures are adjusted by the rate at which Transactions fail.
+     *
+     * @param other the performance of the peer to compare against
+     * @return <code>true</code> if this peer is expected to perform at least as well as the other peer
+     */
+    boolean isPreferredOver(final PeerPerformance other) {
+        final double successRate = getSuccessRate();
+        final double otherSuccessRate = other.getSuccessRate();
+
+        final double throughput = getThroughput();
+        final double otherThroughput = other.getThroughput();
+        if (throughput >= 0 && otherThroughput >= 0 && (throughput > 0 || otherThroughput > 0)) {
+            return throughput * successRate >= otherThroughput * otherSuccessRate;
+        }
+
+        final double latency = getLatencyNanos();
+        final double otherLatency = other.getLatencyNanos();
+        if (latency < 0 || otherLatency < 0) {
+            // A peer that has only failed or had no data is never preferred over one that has transferred data
+            return latency >= 0 || otherLatency < 0 && successRate >= otherSuccessRate;
+        }
+        return latency / successRate <= otherLatency / otherSuccessRate;
+    }
+
+    private double getSuccessRate() {
+        return Math.max(MINIMUM_SUCCESS_RATE, 1 - getErrorRate());
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PeerPerformance[latencyMillis=" + (latencyNanos < 0 ? "unknown" : TimeUnit.NANOSECONDS.toMillis((long) latencyNanos))
+                + ", bytesPerSecond=" + (throughput < 0 ? "unknown" : (long) throughput)
+                + ", errorRate=" + String.format("%.2f", errorRate) + "]";
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+/**
+ * Strategies used by the {@link PeerSelector} to choose the peer for each Transaction.
+ */
+public enum PeerSelectionStrategy {
+
+    /**
+     * Selects peers randomly, weighted by the number of FlowFiles that each peer reports as queued.
+     */
+    FLOWFILE_COUNT,
+
+    /**
+     * Draws two peers randomly, weighted by the number of FlowFiles that each peer reports as queued, and selects the one
+     * with the better transfer performance observed by this client. Performance is tracked as an exponentially weighted
+     * moving average of the latency, throughput and error rate of completed Transactions, so that a slow peer receives
+     * a smaller share of the Transactions.
+     */
+    TRANSFER_PERFORMANCE
+}
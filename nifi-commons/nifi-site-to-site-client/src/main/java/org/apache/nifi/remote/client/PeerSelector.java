@@ -40,6 +40,7 @@ import org.apache.nifi.events.EventReporter;
 import org.apache.nifi.remote.Peer;
 import org.apache.nifi.remote.PeerDescription;
 import org.apache.nifi.remote.PeerStatus;
+import org.apache.nifi.remote.TransactionCompletion;
 import org.apache.nifi.remote.TransferDirection;
 import org.apache.nifi.remote.protocol.SiteToSiteTransportProtocol;
 import org.apache.nifi.remote.util.PeerStatusCache;
@@ -53,7 +54,9 @@ import org.slf4j.LoggerFactory;
  * nodes can be penalized for an amount of time (see {@link #penalize(Peer, long)}) to avoid
  * sending/receiving data from them. Attempts are made to balance communications ("busier"
  * nodes will {@code TransferDirection.SEND} more and {@code TransferDirection.RECEIVE} fewer
- * flowfiles from this instance).
+ * flowfiles from this instance). With {@link PeerSelectionStrategy#TRANSFER_PERFORMANCE}, the transfer
+ * performance observed for each peer (see {@link #recordTransaction(PeerDescription, TransactionCompletion)})
+ * is also taken into account, so that slow or failing nodes are chosen less often.
  */
 public class PeerSelector {
     private static final Logger logger = LoggerFactory.getLogger(PeerSelector.class);
@@ -61,6 +64,13 @@ public class PeerSelector {
     // The timeout for the peer status cache
     private static final long PEER_CACHE_MILLIS = TimeUnit.MILLISECONDS.convert(1, TimeUnit.MINUTES);
 
+    // The weight given to each new sample of the peer performance moving averages
+    private static final double PERFORMANCE_SAMPLE_WEIGHT = 0.2;
+
+    // Peer performance that has not been sampled within this period is discarded, so that a peer which has been
+    // avoided because it was slow is sampled again and can recover its share of Transactions
+    private static final long PERFORMANCE_EXPIRATION_NANOS = TimeUnit.NANOSECONDS.convert(1, TimeUnit.MINUTES);
+
     // The service which saves the peer state to persistent storage
     private final PeerPersistence peerPersistence;
 
@@ -70,6 +80,12 @@ public class PeerSelector {
     // Maps the peer description to a millisecond penalty expiration
     private final ConcurrentMap<PeerDescription, Long> peerPenaltyExpirations = new ConcurrentHashMap<>();
 
+    // The strategy used to choose between the weighted peers
+    private final PeerSelectionStrategy selectionStrategy;
+
+    // Maps the peer description to the transfer performance observed for the peer
+    private final ConcurrentMap<PeerDescription, PeerPerformance> peerPerformance = new ConcurrentHashMap<>();
+
     // The most recently fetched peer statuses
     private volatile PeerStatusCache peerStatusCache;
 
@@ -82,8 +98,20 @@ public class PeerSelector {
      * @param peerPersistence    the service which persists peer state
      */
     public PeerSelector(final PeerStatusProvider peerStatusProvider, final PeerPersistence peerPersistence) {
+        this(peerStatusProvider, peerPersistence, PeerSelectionStrategy.FLOWFILE_COUNT);
+    }
+
+    /**
+     * Returns a peer selector with the provided collaborators and selection strategy.
+     *
+     * @param peerStatusProvider the service which retrieves peer state
+     * @param peerPersistence    the service which persists peer state
+     * @param selectionStrategy  the strategy used to choose between peers
+     */
+    public PeerSelector(final PeerStatusProvider peerStatusProvider, final PeerPersistence peerPersistence, final PeerSelectionStrategy selectionStrategy) {
         this.peerStatusProvider = peerStatusProvider;
         this.peerPersistence = peerPersistence;
+        this.selectionStrategy = selectionStrategy == null ? PeerSelectionStrategy.FLOWFILE_COUNT : selectionStrategy;
 
         // On instantiation, retrieve the peer status cache
         restoreInitialPeerStatusCache();
@@ -218,10 +246,11 @@ public class PeerSelector {
     }
 
     /**
-     * Resets all penalization states for the peers.
+     * Resets all penalization states and observed transfer performance for the peers.
      */
     public void clear() {
         peerPenaltyExpirations.clear();
+        peerPerformance.clear();
     }
 
     /**
@@ -279,6 +308,39 @@ public class PeerSelector {
         peerPenaltyExpirations.put(peerDescription, newExpiration);
     }
 
+    /**
+     * Records the transfer performance of a Transaction that completed successfully with the specified peer.
+     * Performance is only tracked when using {@link PeerSelectionStrategy#TRANSFER_PERFORMANCE}.
+     *
+     * @param peerDescription the peer description (identifies the peer)
+     * @param completion      the completion of the Transaction
+     */
+    public void recordTransaction(final PeerDescription peerDescription, final TransactionCompletion completion) {
+        if (selectionStrategy != PeerSelectionStrategy.TRANSFER_PERFORMANCE) {
+            return;
+        }
+
+        final PeerPerformance performance = peerPerformance.computeIfAbsent(peerDescription, description -> new PeerPerformance(PERFORMANCE_SAMPLE_WEIGHT));
+        performance.recordTransaction(completion.getDataPacketsTransferred(), completion.getBytesTransferred(), completion.getDuration(TimeUnit.NANOSECONDS), System.nanoTime());
+        logger.debug("Recorded Transaction with {}; performance is now {}", peerDescription, performance);
+    }
+
+    /**
+     * Records a failed Transaction with the specified peer. Performance is only tracked when using
+     * {@link PeerSelectionStrategy#TRANSFER_PERFORMANCE}.
+     *
+     * @param peerDescription the peer description (identifies the peer)
+     */
+    public void recordFailure(final PeerDescription peerDescription) {
+        if (selectionStrategy != PeerSelectionStrategy.TRANSFER_PERFORMANCE) {
+            return;
+        }
+
+        final PeerPerformance performance = peerPerformance.computeIfAbsent(peerDescription, description -> new PeerPerformance(PERFORMANCE_SAMPLE_WEIGHT));
+        performance.recordFailure(System.nanoTime());
+        logger.debug("Recorded failure with {}; performance is now {}", peerDescription, performance);
+    }
+
     /**
      * Allows for external callers to trigger a refresh of the internal peer status cache. Performs the refresh if the cache has expired. If the cache is still valid, skips the refresh.
      */
@@ -416,7 +478,8 @@ public class PeerSelector {
      * Returns the {@link PeerStatus} identifying the next peer to send/receive data. This uses random
      * selection of peers, weighted by the relative desirability (i.e. for {@code SEND}, peers with more
      * flowfiles are more likely to be selected, and for {@code RECEIVE}, peers with fewer flowfiles are
-     * more likely).
+     * more likely). With {@link PeerSelectionStrategy#TRANSFER_PERFORMANCE}, two distinct peers are drawn
+     * and the one with the better observed transfer performance is returned.
      *
      * @param orderedPeerStatuses the map of peers to relative weights, sorted in descending order by weight
      * @return the peer to send/receive data
@@ -432,14 +495,42 @@ public class PeerSelector {
                 .filter(e -> !isPenalized(e.getKey()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 
-        final double totalWeights = sumMapValues(unpenalizedPeers);
-        logger.debug("Determining next available peer ({} peers with total weight {})", unpenalizedPeers.keySet().size(), totalWeights);
+        final PeerStatus selectedPeer = selectWeightedPeer(unpenalizedPeers);
+        if (selectedPeer == null) {
+            logger.debug("Did not select a peer; w {}", orderedPeerStatuses.values());
+            logger.debug("All peers appear to be penalized; returning null");
+            return null;
+        }
+
+        if (selectionStrategy != PeerSelectionStrategy.TRANSFER_PERFORMANCE || unpenalizedPeers.size() < 2) {
+            return selectedPeer;
+        }
+
+        // Power of two choices: draw a second, different peer and keep whichever has performed better
+        unpenalizedPeers.remove(selectedPeer);
+        final PeerStatus alternativePeer = selectWeightedPeer(unpenalizedPeers);
+        if (alternativePeer == null) {
+            return selectedPeer;
+        }
+
+        return selectByPerformance(selectedPeer, alternativePeer);
+    }
+
+    /**
+     * Returns a peer chosen randomly, weighted by the relative desirability of each peer.
+     *
+     * @param peers the map of peers to relative weights
+     * @return the chosen peer, or {@code null} if no peer was chosen
+     */
+    private static PeerStatus selectWeightedPeer(Map<PeerStatus, Double> peers) {
+        final double totalWeights = sumMapValues(peers);
+        logger.debug("Determining next available peer ({} peers with total weight {})", peers.keySet().size(), totalWeights);
 
         final double random = Math.random() * Math.min(100, totalWeights);
         logger.debug("Generated random value {}", random);
 
         double threshold = 0.0;
-        for (Map.Entry<PeerStatus, Double> e : unpenalizedPeers.entrySet()) {
+        for (Map.Entry<PeerStatus, Double> e : peers.entrySet()) {
             logger.debug("Initial threshold was {}; added peer value {}; total {}", threshold, e.getValue(), threshold + e.getValue());
             threshold += e.getValue();
             if (random <= threshold) {
@@ -447,11 +538,43 @@ public class PeerSelector {
             }
         }
 
-        logger.debug("Did not select a peer; r {}, t {}, w {}", random, threshold, orderedPeerStatuses.values());
-        logger.debug("All peers appear to be penalized; returning null");
+        logger.debug("Did not select a peer; r {}, t {}", random, threshold);
         return null;
     }
 
+    /**
+     * Returns whichever of the two peers is expected to perform better, based on the performance observed
+     * for recent Transactions. A peer without recent observations is preferred so that it gets sampled.
+     *
+     * @param first  the first peer, which is returned if neither peer has recent observations
+     * @param second the second peer
+     * @return the preferred peer
+     */
+    PeerStatus selectByPerformance(final PeerStatus first, final PeerStatus second) {
+        final PeerPerformance firstPerformance = getCurrentPerformance(first.getPeerDescription());
+        if (firstPerformance == null) {
+            return first;
+        }
+
+        final PeerPerformance secondPerformance = getCurrentPerformance(second.getPeerDescription());
+        if (secondPerformance == null) {
+            return second;
+        }
+
+        final PeerStatus selected = firstPerformance.isPreferredOver(secondPerformance) ? first : second;
+        logger.debug("Selected {} from {} with {} and {} with {}", selected, first, firstPerformance, second, secondPerformance);
+        return selected;
+    }
+
+    private PeerPerformance getCurrentPerformance(final PeerDescription peerDescription) {
+        final PeerPerformance performance = peerPerformance.get(peerDescription);
+        if (performance != null && performance.isExpired(System.nanoTime(), PERFORMANCE_EXPIRATION_NANOS)) {
+            peerPerformance.remove(peerDescription, performance);
+            return null;
+        }
+        return performance;
+    }
+
     /**
      * Returns the cache age in milliseconds. If the cache is null or not set, returns {@code -1}.
      *
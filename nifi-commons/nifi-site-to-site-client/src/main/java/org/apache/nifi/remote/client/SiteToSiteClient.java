@@ -39,6 +39,8 @@ import org.apache.nifi.remote.exception.HandshakeException;
 import org.apache.nifi.remote.exception.PortNotRunningException;
 import org.apache.nifi.remote.exception.ProtocolException;
 import org.apache.nifi.remote.exception.UnknownPortException;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.protocol.DataPacket;
 import org.apache.nifi.remote.protocol.SiteToSiteTransportProtocol;
 import org.apache.nifi.remote.protocol.http.HttpProxy;
@@ -149,6 +151,8 @@ public interface SiteToSiteClient extends Closeable {
 
         private static final long serialVersionUID = -4954962284343090219L;
 
+        private static final long DEFAULT_PARALLEL_CHUNK_SIZE = 1024 * 1024;
+
         private Set<String> urls;
         private long timeoutNanos = TimeUnit.SECONDS.toNanos(30);
         private long penalizationNanos = TimeUnit.SECONDS.toNanos(3);
@@ -165,11 +169,17 @@ public interface SiteToSiteClient extends Closeable {
         private File peerPersistenceFile;
         private StateManager stateManager;
         private boolean useCompression;
+        private CompressionCodec compressionCodec = CompressionCodec.DEFLATE;
+        private Integer compressionLevel;
+        private byte[] compressionDictionary;
         private String portName;
         private String portIdentifier;
         private int batchCount;
         private long batchSize;
         private long batchNanos;
+        private int parallelTransactions = 1;
+        private long parallelChunkSize = DEFAULT_PARALLEL_CHUNK_SIZE;
+        private PeerSelectionStrategy peerSelectionStrategy = PeerSelectionStrategy.FLOWFILE_COUNT;
         private InetAddress localAddress;
         private SiteToSiteTransportProtocol transportProtocol = SiteToSiteTransportProtocol.RAW;
         private HttpProxy httpProxy;
@@ -196,12 +206,18 @@ public interface SiteToSiteClient extends Closeable {
             this.eventReporter = config.getEventReporter();
             this.peerPersistenceFile = config.getPeerPersistenceFile();
             this.useCompression = config.isUseCompression();
+            this.compressionCodec = config.getCompressionCodec();
+            this.compressionLevel = config.getCompressionLevel();
+            this.compressionDictionary = config.getCompressionDictionary();
             this.transportProtocol = config.getTransportProtocol();
             this.portName = config.getPortName();
             this.portIdentifier = config.getPortIdentifier();
             this.batchCount = config.getPreferredBatchCount();
             this.batchSize = config.getPreferredBatchSize();
             this.batchNanos = config.getPreferredBatchDuration(TimeUnit.NANOSECONDS);
+            this.parallelTransactions = config.getParallelTransactions();
+            this.parallelChunkSize = config.getParallelChunkSize();
+            this.peerSelectionStrategy = config.getPeerSelectionStrategy();
             this.localAddress = config.getLocalAddress();
             this.httpProxy = config.getHttpProxy();
 
@@ -534,6 +550,47 @@ public interface SiteToSiteClient extends Closeable {
             return this;
         }
 
+        /**
+         * Specifies the codec to use when compression is enabled. Codecs other
+         * than Deflate are negotiated with the remote instance, and Deflate is
+         * used when the remote instance does not support the requested codec.
+         *
+         * @param codec compression codec, defaults to Deflate
+         * @return the builder
+         */
+        public Builder compressionCodec(final CompressionCodec codec) {
+            this.compressionCodec = codec;
+            return this;
+        }
+
+        /**
+         * Specifies the compression level for the configured codec. When not
+         * specified, the default level of the codec is used.
+         *
+         * @param level compression level supported by the codec
+         * @return the builder
+         */
+        public Builder compressionLevel(final int level) {
+            this.compressionLevel = level;
+            return this;
+        }
+
+        /**
+         * Specifies a dictionary shared with the remote instance when using the
+         * Zstandard codec, which improves compression of small Data Packets.
+         * Dictionaries can be trained from sample content using
+         * {@link org.apache.nifi.remote.io.compression.CompressionDictionaryTrainer}.
+         * The dictionary is sent to the remote instance when each connection is
+         * established, and is supported only by the RAW transport protocol.
+         *
+         * @param dictionary dictionary of at most 32 KB, or <code>null</code> for none
+         * @return the builder
+         */
+        public Builder compressionDictionary(final byte[] dictionary) {
+            this.compressionDictionary = dictionary;
+            return this;
+        }
+
         /**
          * Specifies the protocol to use for site to site data transport.
          * @param transportProtocol transport protocol
@@ -612,6 +669,55 @@ public interface SiteToSiteClient extends Closeable {
             return this;
         }
 
+        /**
+         * Specifies the number of Transactions over which data sent in a single
+         * logical Transaction is striped. Each stripe uses its own pooled
+         * connection, so a single sender can use several TCP streams to one or
+         * more peers. Values less than 2 disable striping. Striping is currently
+         * supported for the RAW transport protocol when sending data.
+         *
+         * @param parallelTransactions number of parallel Transactions
+         * @return the builder
+         */
+        public Builder parallelTransactions(final int parallelTransactions) {
+            this.parallelTransactions = parallelTransactions;
+            return this;
+        }
+
+        /**
+         * Specifies the size of the chunks into which large Data Packets are split
+         * when striping over parallel Transactions. Each chunk is sent as its own
+         * Data Packet with the standard fragment attributes so that the receiving
+         * flow can reassemble the content, for example using MergeContent with
+         * the Defragment strategy. Chunks are buffered in memory, so up to one chunk
+         * per parallel Transaction is held at a time. The default is 1 MB. A value
+         * of 0 disables chunking, in which case the content stream of each Data
+         * Packet must remain readable until the Transaction is confirmed.
+         *
+         * @param bytes maximum number of bytes in each chunk
+         * @return the builder
+         */
+        public Builder parallelChunkSize(final long bytes) {
+            this.parallelChunkSize = bytes;
+            return this;
+        }
+
+        /**
+         * Specifies how the peer for each Transaction is chosen when the remote
+         * instance is a cluster. The default, {@link PeerSelectionStrategy#FLOWFILE_COUNT},
+         * uses only the number of FlowFiles queued on each node.
+         * {@link PeerSelectionStrategy#TRANSFER_PERFORMANCE} additionally tracks the
+         * latency, throughput and error rate of the Transactions made by this client,
+         * so that a slow node receives fewer Transactions.
+         *
+         * @param peerSelectionStrategy the strategy used to choose peers
+         * @return the builder
+         */
+        public Builder peerSelectionStrategy(final PeerSelectionStrategy peerSelectionStrategy) {
+            this.peerSelectionStrategy = peerSelectionStrategy;
+            return this;
+        }
+
         /**
          * @return a {@link SiteToSiteClientConfig} for the configured values
          * but does not create a SiteToSiteClient
@@ -637,6 +743,24 @@ public interface SiteToSiteClient extends Closeable {
                 throw new IllegalStateException("Must specify either Port Name or Port Identifier to build Site-to-Site client");
             }
 
+            if (compressionCodec == null) {
+                throw new IllegalStateException("Must specify Compression Codec to build Site-to-Site client");
+            }
+
+            try {
+                new CompressionConfiguration(compressionCodec, compressionLevel == null ? compressionCodec.getDefaultLevel() : compressionLevel, compressionDictionary);
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+
+            if (parallelChunkSize < 0 || parallelChunkSize > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Parallel Chunk Size must be between 0 and " + Integer.MAX_VALUE + " bytes");
+            }
+
+            if (peerSelectionStrategy == null) {
+                throw new IllegalStateException("Must specify Peer Selection Strategy to build Site-to-Site client");
+            }
+
             switch (transportProtocol){
                 case RAW:
                     return new SocketClient(buildConfig());
@@ -774,12 +898,18 @@ public interface SiteToSiteClient extends Closeable {
         private final File peerPersistenceFile;
         private final transient StateManager stateManager;
         private final boolean useCompression;
+        private final CompressionCodec compressionCodec;
+        private final Integer compressionLevel;
+        private final byte[] compressionDictionary;
         private final SiteToSiteTransportProtocol transportProtocol;
         private final String portName;
         private final String portIdentifier;
         private final int batchCount;
         private final long batchSize;
         private final long batchNanos;
+        private final int parallelTransactions;
+        private final long parallelChunkSize;
+        private final PeerSelectionStrategy peerSelectionStrategy;
         private final HttpProxy httpProxy;
         private final InetAddress localAddress;
 
@@ -800,11 +930,17 @@ public interface SiteToSiteClient extends Closeable {
             this.peerPersistenceFile = null;
             this.stateManager = null;
             this.useCompression = false;
+            this.compressionCodec = CompressionCodec.DEFLATE;
+            this.compressionLevel = null;
+            this.compressionDictionary = null;
             this.portName = null;
             this.portIdentifier = null;
             this.batchCount = 0;
             this.batchSize = 0;
             this.batchNanos = 0;
+            this.parallelTransactions = 1;
+            this.parallelChunkSize = 0;
+            this.peerSelectionStrategy = PeerSelectionStrategy.FLOWFILE_COUNT;
             this.transportProtocol = null;
             this.httpProxy = null;
             this.localAddress = null;
@@ -829,11 +965,17 @@ public interface SiteToSiteClient extends Closeable {
             this.peerPersistenceFile = builder.peerPersistenceFile;
             this.stateManager = builder.stateManager;
             this.useCompression = builder.useCompression;
+            this.compressionCodec = builder.compressionCodec;
+            this.compressionLevel = builder.compressionLevel;
+            this.compressionDictionary = builder.compressionDictionary;
             this.portName = builder.portName;
             this.portIdentifier = builder.portIdentifier;
             this.batchCount = builder.batchCount;
             this.batchSize = builder.batchSize;
             this.batchNanos = builder.batchNanos;
+            this.parallelTransactions = builder.parallelTransactions;
+            this.parallelChunkSize = builder.parallelChunkSize;
+            this.peerSelectionStrategy = builder.peerSelectionStrategy;
             this.transportProtocol = builder.getTransportProtocol();
             this.httpProxy = builder.getHttpProxy();
             this.localAddress = builder.localAddress;
@@ -844,6 +986,21 @@ public interface SiteToSiteClient extends Closeable {
             return useCompression;
         }
 
+        @Override
+        public CompressionCodec getCompressionCodec() {
+            return compressionCodec;
+        }
+
+        @Override
+        public int getCompressionLevel() {
+            return compressionLevel == null ? compressionCodec.getDefaultLevel() : compressionLevel;
+        }
+
+        @Override
+        public byte[] getCompressionDictionary() {
+            return compressionDictionary;
+        }
+
 
         @Override
         public Set<String> getUrls() {
@@ -970,6 +1127,21 @@ public interface SiteToSiteClient extends Closeable {
             return batchSize;
         }
 
+        @Override
+        public int getParallelTransactions() {
+            return parallelTransactions;
+        }
+
+        @Override
+        public long getParallelChunkSize() {
+            return parallelChunkSize;
+        }
+
+        @Override
+        public PeerSelectionStrategy getPeerSelectionStrategy() {
+            return peerSelectionStrategy;
+        }
+
         @Override
         public int getPreferredBatchCount() {
             return batchCount;
@@ -24,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import org.apache.nifi.components.state.StateManager;
 import org.apache.nifi.events.EventReporter;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
 import org.apache.nifi.remote.protocol.DataPacket;
 import org.apache.nifi.remote.protocol.SiteToSiteTransportProtocol;
 import org.apache.nifi.remote.protocol.http.HttpProxy;
@@ -116,6 +117,23 @@ public interface SiteToSiteClientConfig extends Serializable {
      */
     boolean isUseCompression();
 
+    /**
+     * @return the codec requested when compression is enabled. Codecs other than
+     * Deflate are used only when supported by the remote instance
+     */
+    CompressionCodec getCompressionCodec();
+
+    /**
+     * @return the compression level to use with the configured codec
+     */
+    int getCompressionLevel();
+
+    /**
+     * @return the dictionary shared with the remote instance for the configured
+     * codec, or <code>null</code> if no dictionary is to be used
+     */
+    byte[] getCompressionDictionary();
+
     /**
      * @return a transport protocol to use
      */
@@ -162,6 +180,24 @@ public interface SiteToSiteClientConfig extends Serializable {
      */
     int getPreferredBatchCount();
 
+    /**
+     * @return the number of Transactions, each with its own connection, over which
+     * data sent in a single logical Transaction is striped. Values less than 2
+     * indicate that striping is disabled
+     */
+    int getParallelTransactions();
+
+    /**
+     * @return the maximum number of bytes in each chunk when large Data Packets are
+     * split across parallel Transactions, or 0 if Data Packets are not split
+     */
+    long getParallelChunkSize();
+
+    /**
+     * @return the strategy used to choose the peer for each Transaction
+     */
+    PeerSelectionStrategy getPeerSelectionStrategy();
+
     /**
      * When the contents of a remote NiFi instance are fetched, that information is cached
      * so that many calls that are made in a short period of time do not overwhelm the remote
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+import org.apache.nifi.flowfile.attributes.CoreAttributes;
+import org.apache.nifi.flowfile.attributes.FragmentAttributes;
+import org.apache.nifi.remote.ClientTransactionCompletion;
+import org.apache.nifi.remote.Communicant;
+import org.apache.nifi.remote.Transaction;
+import org.apache.nifi.remote.TransactionCompletion;
+import org.apache.nifi.remote.protocol.DataPacket;
+import org.apache.nifi.remote.util.StandardDataPacket;
+import org.apache.nifi.stream.io.StreamUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * A SEND Transaction that stripes Data Packets over several underlying Transactions, each of which
+ * uses its own connection. Data Packets are written to the underlying Transactions concurrently by
+ * the provided Executor, so that a single logical Transaction is not limited to the throughput of a
+ * single TCP stream.
+ * </p>
+ *
+ * <p>
+ * When a chunk size is configured, the content of each Data Packet is read into memory before
+ * {@link #send(DataPacket)} returns, and Data Packets larger than the chunk size are split into
+ * several Data Packets carrying the standard fragment attributes so that the receiving flow can
+ * reassemble them. Fragment attributes that a Data Packet already has are preserved with the
+ * {@link FragmentAttributes#ORIGINAL_PREFIX} and restored when the chunks are defragmented. Without a chunk size, the content stream of each Data Packet is read
+ * asynchronously and must remain readable until {@link #confirm()} returns.
+ * </p>
+ *
+ * <p>
+ * The underlying Transactions are confirmed and completed independently of one another, so a failure
+ * to complete one of them after others have completed can result in partial delivery.
+ * </p>
+ */
+public class StripedTransaction implements Transaction {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripedTransaction.class);
+
+    private final List<Transaction> transactions;
+    private final BlockingQueue<Transaction> idleTransactions;
+    private final Executor executor;
+    private final int chunkSize;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final long creationNanoTime = System.nanoTime();
+    private volatile TransactionState state = TransactionState.TRANSACTION_STARTED;
+
+    /**
+     * @param transactions the SEND Transactions over which to stripe Data Packets
+     * @param executor the Executor used to write Data Packets to the underlying Transactions
+     * @param chunkSize the maximum number of bytes in each Data Packet sent, or 0 to send Data Packets unchanged
+     */
+    public StripedTransaction(final List<Transaction> transactions, final Executor executor, final int chunkSize) {
+        if (transactions.isEmpty()) {
+            throw new IllegalArgumentException("At least one Transaction is required");
+        }
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("Chunk Size must not be negative");
+        }
+
+        this.transactions = List.copyOf(transactions);
+        this.idleTransactions = new ArrayBlockingQueue<>(transactions.size(), false, transactions);
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void send(final DataPacket dataPacket) throws IOException {
+        if (state != TransactionState.TRANSACTION_STARTED && state != TransactionState.DATA_EXCHANGED) {
+            throw new IllegalStateException("Cannot send data because Transaction State is " + state);
+        }
+        checkFailure();
+
+        if (chunkSize == 0) {
+            dispatch(dataPacket);
+        } else {
+            sendChunks(dataPacket);
+        }
+        state = TransactionState.DATA_EXCHANGED;
+    }
+
+    @Override
+    public void send(final byte[] content, final Map<String, String> attributes) throws IOException {
+        send(new StandardDataPacket(attributes, new ByteArrayInputStream(content), content.length));
+    }
+
+    @Override
+    public DataPacket receive() throws IOException {
+        throw new IllegalStateException("Attempting to receive data but started a striped SEND Transaction");
+    }
+
+    @Override
+    public void confirm() throws IOException {
+        awaitIdle();
+        checkFailure();
+
+        for (final Transaction transaction : transactions) {
+            transaction.confirm();
+        }
+        state = TransactionState.TRANSACTION_CONFIRMED;
+    }
+
+    @Override
+    public TransactionCompletion complete() throws IOException {
+        boolean backoff = false;
+        int dataPacketsTransferred = 0;
+        long bytesTransferred = 0;
+
+        IOException completeException = null;
+        for (final Transaction transaction : transactions) {
+            try {
+                final TransactionCompletion completion = transaction.complete();
+                backoff |= completion.isBackoff();
+                dataPacketsTransferred += completion.getDataPacketsTransferred();
+                bytesTransferred += completion.getBytesTransferred();
+            } catch (final IOException e) {
+                if (completeException == null) {
+                    completeException = e;
+                } else {
+                    completeException.addSuppressed(e);
+                }
+            }
+        }
+
+        if (completeException != null) {
+            state = TransactionState.ERROR;
+            throw completeException;
+        }
+
+        state = TransactionState.TRANSACTION_COMPLETED;
+        return new ClientTransactionCompletion(backoff, dataPacketsTransferred, bytesTransferred, System.nanoTime() - creationNanoTime);
+    }
+
+    @Override
+    public void cancel(final String explanation) throws IOException {
+        awaitIdleQuietly();
+
+        IOException cancelException = null;
+        for (final Transaction transaction : transactions) {
+            try {
+                transaction.cancel(explanation);
+            } catch (final IOException e) {
+                if (cancelException == null) {
+                    cancelException = e;
+                } else {
+                    cancelException.addSuppressed(e);
+                }
+            }
+        }
+        state = TransactionState.TRANSACTION_CANCELED;
+
+        if (cancelException != null) {
+            throw cancelException;
+        }
+    }
+
+    @Override
+    public void error() {
+        awaitIdleQuietly();
+
+        for (final Transaction transaction : transactions) {
+            transaction.error();
+        }
+        state = TransactionState.ERROR;
+    }
+
+    @Override
+    public TransactionState getState() {
+        return state;
+    }
+
+    @Override
+    public Communicant getCommunicant() {
+        return transactions.get(0).getCommunicant();
+    }
+
+    private void sendChunks(final DataPacket dataPacket) throws IOException {
+        final long size = dataPacket.getSize();
+        final InputStream in = dataPacket.getData();
+        if (size <= chunkSize) {
+            final byte[] content = new byte[(int) size];
+            StreamUtils.fillBuffer(in, content);
+            dispatch(new StandardDataPacket(dataPacket.getAttributes(), new ByteArrayInputStream(content), size));
+            return;
+        }
+
+        final long chunkCount = (size + chunkSize - 1) / chunkSize;
+        final Map<String, String> chunkAttributes = FragmentAttributes.preserveOriginalAttributes(dataPacket.getAttributes());
+        chunkAttributes.put(FragmentAttributes.FRAGMENT_ID.key(), UUID.randomUUID().toString());
+        chunkAttributes.put(FragmentAttributes.FRAGMENT_COUNT.key(), String.valueOf(chunkCount));
+        final String filename = dataPacket.getAttributes().get(CoreAttributes.FILENAME.key());
+        if (filename != null) {
+            chunkAttributes.put(FragmentAttributes.SEGMENT_ORIGINAL_FILENAME.key(), filename);
+        }
+
+        for (long index = 1; index <= chunkCount; index++) {
+            final long offset = (index - 1) * chunkSize;
+            final byte[] chunk = new byte[(int) Math.min(chunkSize, size - offset)];
+            StreamUtils.fillBuffer(in, chunk);
+
+            final Map<String, String> attributes = new HashMap<>(chunkAttributes);
+            attributes.put(FragmentAttributes.FRAGMENT_INDEX.key(), String.valueOf(index));
+            dispatch(new StandardDataPacket(attributes, new ByteArrayInputStream(chunk), chunk.length));
+        }
+    }
+
+    private void dispatch(final DataPacket dataPacket) throws IOException {
+        final Transaction transaction = takeIdleTransaction();
+        try {
+            executor.execute(() -> {
+                try {
+                    transaction.send(dataPacket);
+                } catch (final Throwable t) {
+                    logger.debug("Failed to send Data Packet to {}", transaction.getCommunicant(), t);
+                    failure.compareAndSet(null, t);
+                } finally {
+                    idleTransactions.offer(transaction);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            idleTransactions.offer(transaction);
+            throw new IOException("Unable to send Data Packet because the Site-to-Site Client is closed", e);
+        }
+    }
+
+    private Transaction takeIdleTransaction() throws IOException {
+        Transaction transaction = null;
+        try {
+            while (transaction == null) {
+                checkFailure();
+                transaction = idleTransactions.poll(1, TimeUnit.SECONDS);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send Data Packet");
+        }
+        return transaction;
+    }
+
+    private void awaitIdle() throws InterruptedIOException {
+        final List<Transaction> drained = new ArrayList<>(transactions.size());
+        try {
+            while (drained.size() < transactions.size()) {
+                drained.add(idleTransactions.take());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Data Packets to be sent");
+        } finally {
+            idleTransactions.addAll(drained);
+        }
+    }
+
+    private void awaitIdleQuietly() {
+        try {
+            awaitIdle();
+        } catch (final InterruptedIOException e) {
+            logger.debug("Interrupted while waiting for Data Packets to be sent");
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        final Throwable t = failure.get();
+        if (t == null) {
+            return;
+        }
+
+        if (t instanceof IOException) {
+            throw new IOException("Failed to send Data Packet: " + t.getMessage(), t);
+        }
+        throw new IOException("Failed to send Data Packet", t);
+    }
+}
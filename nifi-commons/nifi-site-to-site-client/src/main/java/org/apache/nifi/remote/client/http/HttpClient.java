@@ -32,6 +32,7 @@ import org.apache.nifi.remote.Peer;
 import org.apache.nifi.remote.PeerDescription;
 import org.apache.nifi.remote.PeerStatus;
 import org.apache.nifi.remote.Transaction;
+import org.apache.nifi.remote.TransactionCompletion;
 import org.apache.nifi.remote.TransferDirection;
 import org.apache.nifi.remote.client.AbstractSiteToSiteClient;
 import org.apache.nifi.remote.client.PeerSelector;
@@ -40,6 +41,7 @@ import org.apache.nifi.remote.client.SiteToSiteClientConfig;
 import org.apache.nifi.remote.exception.HandshakeException;
 import org.apache.nifi.remote.exception.PortNotRunningException;
 import org.apache.nifi.remote.exception.UnknownPortException;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.io.http.HttpCommunicationsSession;
 import org.apache.nifi.remote.protocol.CommunicationsSession;
 import org.apache.nifi.remote.protocol.SiteToSiteTransportProtocol;
@@ -55,14 +57,19 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
 
     private final ScheduledExecutorService taskExecutor;
     private final PeerSelector peerSelector;
+    private final CompressionConfiguration compression;
     private final Set<HttpClientTransaction> activeTransactions = Collections.synchronizedSet(new HashSet<>());
 
     public HttpClient(final SiteToSiteClientConfig config) {
         super(config);
 
-        peerSelector = new PeerSelector(this, config.getPeerPersistence());
+        peerSelector = new PeerSelector(this, config.getPeerPersistence(), config.getPeerSelectionStrategy());
         peerSelector.setEventReporter(config.getEventReporter());
 
+        // Compression dictionaries are not exchanged over HTTP, so only the codec and level are requested
+        compression = config.getCompressionCodec() == null ? CompressionConfiguration.DEFLATE
+                : new CompressionConfiguration(config.getCompressionCodec(), config.getCompressionLevel(), null);
+
         taskExecutor = Executors.newScheduledThreadPool(1, new ThreadFactory() {
             private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
 
@@ -170,6 +177,7 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
             apiClient.setLocalAddress(config.getLocalAddress());
 
             apiClient.setCompress(config.isUseCompression());
+            apiClient.setCompression(compression);
             apiClient.setRequestExpirationMillis(config.getIdleConnectionExpiration(TimeUnit.MILLISECONDS));
             apiClient.setBatchCount(config.getPreferredBatchCount());
             apiClient.setBatchSize(config.getPreferredBatchSize());
@@ -198,7 +206,17 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
             // We found a valid peer to communicate with.
             final Integer transactionProtocolVersion = apiClient.getTransactionProtocolVersion();
             final HttpClientTransaction transaction = new HttpClientTransaction(transactionProtocolVersion, peer, direction,
-                    config.isUseCompression(), portId, penaltyMillis, config.getEventReporter()) {
+                    apiClient.getNegotiatedCompression(), portId, penaltyMillis, config.getEventReporter()) {
+
+                @Override
+                protected void onComplete(final TransactionCompletion completion) {
+                    peerSelector.recordTransaction(peer.getDescription(), completion);
+                }
+
+                @Override
+                protected void onError() {
+                    peerSelector.recordFailure(peer.getDescription());
+                }
 
                 @Override
                 protected void close() throws IOException {
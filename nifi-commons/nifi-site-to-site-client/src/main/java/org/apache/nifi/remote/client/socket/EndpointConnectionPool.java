@@ -48,8 +48,10 @@ import org.apache.nifi.remote.PeerDescription;
 import org.apache.nifi.remote.PeerStatus;
 import org.apache.nifi.remote.RemoteDestination;
 import org.apache.nifi.remote.RemoteResourceInitiator;
+import org.apache.nifi.remote.TransactionCompletion;
 import org.apache.nifi.remote.TransferDirection;
 import org.apache.nifi.remote.client.PeerPersistence;
+import org.apache.nifi.remote.client.PeerSelectionStrategy;
 import org.apache.nifi.remote.client.PeerSelector;
 import org.apache.nifi.remote.client.PeerStatusProvider;
 import org.apache.nifi.remote.client.SiteInfoProvider;
@@ -60,6 +62,7 @@ import org.apache.nifi.remote.exception.PortNotRunningException;
 import org.apache.nifi.remote.exception.TransmissionDisabledException;
 import org.apache.nifi.remote.exception.UnknownPortException;
 import org.apache.nifi.remote.exception.UnreachableClusterException;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.io.socket.SocketCommunicationsSession;
 import org.apache.nifi.remote.protocol.CommunicationsSession;
 import org.apache.nifi.remote.protocol.SiteToSiteTransportProtocol;
@@ -89,11 +92,20 @@ public class EndpointConnectionPool implements PeerStatusProvider {
     private final SiteInfoProvider siteInfoProvider;
     private final PeerSelector peerSelector;
     private final InetAddress localAddress;
+    private volatile CompressionConfiguration compressionConfiguration;
 
     public EndpointConnectionPool(final RemoteDestination remoteDestination, final int commsTimeoutMillis, final int idleExpirationMillis,
                                   final SSLContext sslContext, final EventReporter eventReporter,
                                   final PeerPersistence peerPersistence, final SiteInfoProvider siteInfoProvider,
                                   final InetAddress localAddress) {
+        this(remoteDestination, commsTimeoutMillis, idleExpirationMillis, sslContext, eventReporter, peerPersistence, siteInfoProvider, localAddress,
+                PeerSelectionStrategy.FLOWFILE_COUNT);
+    }
+
+    public EndpointConnectionPool(final RemoteDestination remoteDestination, final int commsTimeoutMillis, final int idleExpirationMillis,
+                                  final SSLContext sslContext, final EventReporter eventReporter,
+                                  final PeerPersistence peerPersistence, final SiteInfoProvider siteInfoProvider,
+                                  final InetAddress localAddress, final PeerSelectionStrategy peerSelectionStrategy) {
         Objects.requireNonNull(remoteDestination, "Remote Destination/Port Identifier cannot be null");
 
         this.remoteDestination = remoteDestination;
@@ -105,7 +117,7 @@ public class EndpointConnectionPool implements PeerStatusProvider {
 
         this.siteInfoProvider = siteInfoProvider;
 
-        peerSelector = new PeerSelector(this, peerPersistence);
+        peerSelector = new PeerSelector(this, peerPersistence, peerSelectionStrategy);
         peerSelector.setEventReporter(eventReporter);
 
         // Initialize a scheduled executor and run some maintenance tasks in the background to kill off old, unused
@@ -127,6 +139,20 @@ public class EndpointConnectionPool implements PeerStatusProvider {
         taskExecutor.scheduleWithFixedDelay(() -> cleanupExpiredSockets(), 5, 5, TimeUnit.SECONDS);
     }
 
+    private CompressionConfiguration getCompressionConfiguration(final SiteToSiteClientConfig config) {
+        if (config.getCompressionCodec() == null) {
+            return CompressionConfiguration.DEFLATE;
+        }
+
+        // Shared across connections so that digested compression dictionaries are created only once
+        CompressionConfiguration configuration = compressionConfiguration;
+        if (configuration == null) {
+            configuration = new CompressionConfiguration(config.getCompressionCodec(), config.getCompressionLevel(), config.getCompressionDictionary());
+            compressionConfiguration = configuration;
+        }
+        return configuration;
+    }
+
     private String getPortIdentifier(final TransferDirection transferDirection) throws IOException {
         if (remoteDestination.getIdentifier() != null) {
             return remoteDestination.getIdentifier();
@@ -230,6 +256,7 @@ public class EndpointConnectionPool implements PeerStatusProvider {
                         protocol.setPreferredBatchCount(config.getPreferredBatchCount());
                         protocol.setPreferredBatchSize(config.getPreferredBatchSize());
                         protocol.setPreferredBatchDuration(config.getPreferredBatchDuration(TimeUnit.MILLISECONDS));
+                        protocol.setCompression(getCompressionConfiguration(config));
                     }
 
                     // perform handshake
@@ -526,6 +553,25 @@ public class EndpointConnectionPool implements PeerStatusProvider {
         cleanup(connection.getSocketClientProtocol(), connection.getPeer());
     }
 
+    /**
+     * Records the performance of a Transaction completed over the given connection, for use when selecting peers.
+     *
+     * @param connection the connection that the Transaction used
+     * @param completion the completion of the Transaction
+     */
+    public void recordTransaction(final EndpointConnection connection, final TransactionCompletion completion) {
+        peerSelector.recordTransaction(connection.getPeer().getDescription(), completion);
+    }
+
+    /**
+     * Records that a Transaction over the given connection failed, for use when selecting peers.
+     *
+     * @param connection the connection that the Transaction used
+     */
+    public void recordFailure(final EndpointConnection connection) {
+        peerSelector.recordFailure(connection.getPeer().getDescription());
+    }
+
     @Override
     public String toString() {
         return "EndpointConnectionPool[Cluster URL=" + siteInfoProvider.getClusterUrls() + "]";
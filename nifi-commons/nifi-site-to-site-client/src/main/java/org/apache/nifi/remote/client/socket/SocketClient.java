@@ -23,13 +23,20 @@ import org.apache.nifi.remote.TransactionCompletion;
 import org.apache.nifi.remote.TransferDirection;
 import org.apache.nifi.remote.client.AbstractSiteToSiteClient;
 import org.apache.nifi.remote.client.SiteToSiteClientConfig;
+import org.apache.nifi.remote.client.StripedTransaction;
 import org.apache.nifi.remote.protocol.DataPacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class SocketClient extends AbstractSiteToSiteClient {
@@ -40,6 +47,9 @@ public class SocketClient extends AbstractSiteToSiteClient {
     private final boolean compress;
     private final String portName;
     private final long penalizationNanos;
+    private final int parallelTransactions;
+    private final int parallelChunkSize;
+    private final ExecutorService parallelExecutor;
     private volatile String portIdentifier;
     private volatile boolean closed = false;
 
@@ -52,13 +62,26 @@ public class SocketClient extends AbstractSiteToSiteClient {
                 commsTimeout,
                 (int) config.getIdleConnectionExpiration(TimeUnit.MILLISECONDS),
                 config.getSslContext(), config.getEventReporter(), config.getPeerPersistence(),
-                siteInfoProvider, config.getLocalAddress()
+                siteInfoProvider, config.getLocalAddress(), config.getPeerSelectionStrategy()
         );
 
         this.compress = config.isUseCompression();
         this.portIdentifier = config.getPortIdentifier();
         this.portName = config.getPortName();
         this.penalizationNanos = config.getPenalizationPeriod(TimeUnit.NANOSECONDS);
+        this.parallelTransactions = config.getParallelTransactions();
+        this.parallelChunkSize = (int) config.getParallelChunkSize();
+
+        if (parallelTransactions > 1) {
+            final AtomicInteger threadCounter = new AtomicInteger();
+            parallelExecutor = Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable, "Site-to-Site Parallel Transaction-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            parallelExecutor = null;
+        }
     }
 
     @Override
@@ -124,6 +147,42 @@ public class SocketClient extends AbstractSiteToSiteClient {
             throw new IOException("Could not find Port with name '" + portName + "' for remote NiFi instance");
         }
 
+        if (direction == TransferDirection.SEND && parallelTransactions > 1) {
+            return createStripedTransaction();
+        }
+
+        return createPooledTransaction(direction);
+    }
+
+    private Transaction createStripedTransaction() throws IOException {
+        final List<Transaction> transactions = new ArrayList<>(parallelTransactions);
+        try {
+            for (int i = 0; i < parallelTransactions; i++) {
+                final Transaction transaction = createPooledTransaction(TransferDirection.SEND);
+                if (transaction == null) {
+                    break;
+                }
+                transactions.add(transaction);
+            }
+        } catch (final IOException e) {
+            if (transactions.isEmpty()) {
+                throw e;
+            }
+            logger.debug("Created {} of {} parallel Transactions", transactions.size(), parallelTransactions, e);
+        }
+
+        if (transactions.isEmpty()) {
+            return null;
+        }
+        if (transactions.size() == 1 && parallelChunkSize == 0) {
+            return transactions.get(0);
+        }
+
+        logger.debug("Striping Transaction over {} parallel Transactions", transactions.size());
+        return new StripedTransaction(transactions, parallelExecutor, parallelChunkSize);
+    }
+
+    private Transaction createPooledTransaction(final TransferDirection direction) throws IOException {
         final EndpointConnection connectionState = pool.getEndpointConnection(direction, getConfig());
         if (connectionState == null) {
             return null;
@@ -141,6 +200,8 @@ public class SocketClient extends AbstractSiteToSiteClient {
         // Wrap the transaction in a new one that will return the EndpointConnectionState back to the pool whenever
         // the transaction is either completed or canceled.
         final AtomicReference<EndpointConnection> connectionStateRef = new AtomicReference<>(connectionState);
+        // A failed complete() is usually followed by error(), so record the failure only once
+        final AtomicBoolean failureRecorded = new AtomicBoolean(false);
         return new Transaction() {
             @Override
             public void confirm() throws IOException {
@@ -150,7 +211,12 @@ public class SocketClient extends AbstractSiteToSiteClient {
             @Override
             public TransactionCompletion complete() throws IOException {
                 try {
-                    return transaction.complete();
+                    final TransactionCompletion completion = transaction.complete();
+                    pool.recordTransaction(connectionState, completion);
+                    return completion;
+                } catch (final IOException | RuntimeException e) {
+                    recordFailure();
+                    throw e;
                 } finally {
                     final EndpointConnection state = connectionStateRef.get();
                     if (state != null) {
@@ -176,6 +242,7 @@ public class SocketClient extends AbstractSiteToSiteClient {
             @Override
             public void error() {
                 try {
+                    recordFailure();
                     transaction.error();
                 } finally {
                     final EndpointConnection state = connectionStateRef.get();
@@ -210,12 +277,21 @@ public class SocketClient extends AbstractSiteToSiteClient {
             public Communicant getCommunicant() {
                 return transaction.getCommunicant();
             }
+
+            private void recordFailure() {
+                if (failureRecorded.compareAndSet(false, true)) {
+                    pool.recordFailure(connectionState);
+                }
+            }
         };
     }
 
     @Override
     public void close() throws IOException {
         closed = true;
+        if (parallelExecutor != null) {
+            parallelExecutor.shutdown();
+        }
         pool.shutdown();
     }
 
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+import java.io.IOException;
+
+/**
+ * Compresses and decompresses independent blocks of data for {@link BlockCompressionOutputStream} and
+ * {@link BlockCompressionInputStream}. Implementations are not thread-safe and hold native resources
+ * that must be released by calling {@link #close()}.
+ */
+public interface BlockCodec extends AutoCloseable {
+
+    /**
+     * @param length number of uncompressed bytes
+     * @return the maximum number of bytes that compressing the given number of bytes can produce
+     */
+    int getMaxCompressedLength(int length);
+
+    /**
+     * @param source uncompressed bytes
+     * @param length number of uncompressed bytes to read from the source
+     * @param destination buffer for compressed bytes, at least {@link #getMaxCompressedLength(int)} bytes long
+     * @return number of compressed bytes written to the destination
+     * @throws IOException if the data cannot be compressed
+     */
+    int compress(byte[] source, int length, byte[] destination) throws IOException;
+
+    /**
+     * @param source compressed bytes
+     * @param destination buffer sized to hold exactly the uncompressed bytes
+     * @throws IOException if the data cannot be decompressed
+     */
+    void decompress(byte[] source, byte[] destination) throws IOException;
+
+    @Override
+    void close();
+}
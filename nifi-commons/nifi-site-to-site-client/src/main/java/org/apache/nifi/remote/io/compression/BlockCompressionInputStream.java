@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+import org.apache.nifi.remote.io.CompressionOutputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * InputStream that reads chunks written by {@link BlockCompressionOutputStream} and decompresses them using a
+ * {@link BlockCodec}. Closing this stream releases the codec but does not close the underlying stream.
+ */
+public class BlockCompressionInputStream extends InputStream {
+
+    private static final int MAX_CHUNK_SIZE = 16 << 20;
+
+    private final InputStream in;
+    private final BlockCodec codec;
+
+    private byte[] buffer = new byte[0];
+    private int bufferIndex = 0;
+    private boolean eos = false;
+    private boolean allDataRead = false;
+
+    private final byte[] fourByteBuffer = new byte[4];
+
+    public BlockCompressionInputStream(final InputStream in, final BlockCodec codec) {
+        this.in = in;
+        this.codec = codec;
+    }
+
+    private void bufferAndDecompress() throws IOException {
+        if (allDataRead) {
+            eos = true;
+            return;
+        }
+
+        fillBuffer(fourByteBuffer);
+        if (!Arrays.equals(CompressionOutputStream.SYNC_BYTES, fourByteBuffer)) {
+            throw new IOException("Invalid compressed stream: expected chunk to start with 'SYNC'");
+        }
+
+        final int uncompressedLength = readLength();
+        final int compressedLength = readLength();
+
+        final byte[] compressed = new byte[compressedLength];
+        fillBuffer(compressed);
+
+        buffer = new byte[uncompressedLength];
+        codec.decompress(compressed, buffer);
+        bufferIndex = 0;
+
+        final int moreDataByte = in.read();
+        if (moreDataByte < 1) {
+            allDataRead = true;
+        } else if (moreDataByte > 1) {
+            throw new IOException("Expected indicator of whether or not more data was to come (-1, 0, or 1) but got " + moreDataByte);
+        }
+    }
+
+    private int readLength() throws IOException {
+        fillBuffer(fourByteBuffer);
+        final int length = ((fourByteBuffer[0] & 0xFF) << 24)
+                | ((fourByteBuffer[1] & 0xFF) << 16)
+                | ((fourByteBuffer[2] & 0xFF) << 8)
+                | (fourByteBuffer[3] & 0xFF);
+
+        if (length < 0 || length > MAX_CHUNK_SIZE) {
+            throw new IOException("Invalid compressed stream: chunk length " + length + " is out of range");
+        }
+        return length;
+    }
+
+    private void fillBuffer(final byte[] destination) throws IOException {
+        int bytesRead = 0;
+        int len;
+        while (bytesRead < destination.length && (len = in.read(destination, bytesRead, destination.length - bytesRead)) > 0) {
+            bytesRead += len;
+        }
+
+        if (bytesRead < destination.length) {
+            throw new EOFException();
+        }
+    }
+
+    private boolean isBufferEmpty() {
+        return bufferIndex >= buffer.length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (eos) {
+            return -1;
+        }
+
+        if (isBufferEmpty()) {
+            bufferAndDecompress();
+        }
+
+        if (isBufferEmpty()) {
+            eos = true;
+            return -1;
+        }
+
+        return buffer[bufferIndex++] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (eos) {
+            return -1;
+        }
+
+        if (isBufferEmpty()) {
+            bufferAndDecompress();
+        }
+
+        if (isBufferEmpty()) {
+            eos = true;
+            return -1;
+        }
+
+        final int bytesToTransfer = Math.min(len, buffer.length - bufferIndex);
+        System.arraycopy(buffer, bufferIndex, b, off, bytesToTransfer);
+        bufferIndex += bytesToTransfer;
+
+        return bytesToTransfer;
+    }
+
+    /**
+     * Releases the codec without closing the underlying stream.
+     */
+    @Override
+    public void close() {
+        codec.close();
+    }
+}
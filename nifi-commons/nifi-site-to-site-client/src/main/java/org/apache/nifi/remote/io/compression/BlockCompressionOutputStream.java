@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+import org.apache.nifi.remote.io.CompressionOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * OutputStream that compresses buffered chunks of data using a {@link BlockCodec}. Chunks are framed in the same
+ * way as {@link CompressionOutputStream} so that the stream can be read by {@link BlockCompressionInputStream}
+ * without consuming any bytes beyond the end of the compressed data. Closing this stream releases the codec
+ * but does not close the underlying stream.
+ */
+public class BlockCompressionOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final BlockCodec codec;
+
+    private final byte[] buffer;
+    private final byte[] compressed;
+
+    private int bufferIndex = 0;
+    private boolean dataWritten = false;
+
+    public BlockCompressionOutputStream(final OutputStream outStream, final BlockCodec codec) {
+        this(outStream, codec, CompressionOutputStream.DEFAULT_BUFFER_SIZE);
+    }
+
+    public BlockCompressionOutputStream(final OutputStream outStream, final BlockCodec codec, final int bufferSize) {
+        if (bufferSize < CompressionOutputStream.MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + CompressionOutputStream.MIN_BUFFER_SIZE);
+        }
+
+        this.out = outStream;
+        this.codec = codec;
+        buffer = new byte[bufferSize];
+        compressed = new byte[codec.getMaxCompressedLength(bufferSize)];
+    }
+
+    private void compressAndWrite() throws IOException {
+        if (bufferIndex <= 0) {
+            return;
+        }
+
+        final int compressedBytes = codec.compress(buffer, bufferIndex, compressed);
+
+        // Write '1' before each chunk after the first to indicate that more data follows; close writes '0'
+        if (dataWritten) {
+            out.write(1);
+        }
+        out.write(CompressionOutputStream.SYNC_BYTES);
+        dataWritten = true;
+
+        writeInt(bufferIndex);
+        writeInt(compressedBytes);
+        out.write(compressed, 0, compressedBytes);
+
+        bufferIndex = 0;
+    }
+
+    private void writeInt(final int val) throws IOException {
+        out.write(val >>> 24);
+        out.write(val >>> 16);
+        out.write(val >>> 8);
+        out.write(val);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        buffer[bufferIndex++] = (byte) (b & 0xFF);
+        if (bufferIndex >= buffer.length) {
+            compressAndWrite();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int bytesLeft = len;
+        while (bytesLeft > 0) {
+            final int bytesThisIteration = Math.min(bytesLeft, buffer.length - bufferIndex);
+            System.arraycopy(b, off + len - bytesLeft, buffer, bufferIndex, bytesThisIteration);
+            bufferIndex += bytesThisIteration;
+
+            bytesLeft -= bytesThisIteration;
+            if (bufferIndex >= buffer.length) {
+                compressAndWrite();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        compressAndWrite();
+        super.flush();
+    }
+
+    /**
+     * Writes remaining buffered data and the end of stream indicator, and releases the codec
+     * without closing the underlying stream.
+     *
+     * @throws IOException for any issues writing to the underlying stream
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            compressAndWrite();
+            out.write(0);
+            out.flush();
+        } finally {
+            codec.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+/**
+ * Compression codecs available for Site-to-Site data transfer. {@link #DEFLATE} is supported by all
+ * versions of the protocol, while the remaining codecs must be negotiated with the remote instance.
+ */
+public enum CompressionCodec {
+
+    /**
+     * Deflate compression, as used by all versions of Site-to-Site
+     */
+    DEFLATE(0, 9, 9, 1),
+
+    /**
+     * Zstandard compression, supporting negative levels for faster compression and shared dictionaries
+     */
+    ZSTD(-7, 22, 9, 3),
+
+    /**
+     * LZ4 block compression, where level 0 selects the fast compressor and higher levels select the high compressor
+     */
+    LZ4(0, 17, 9, 0);
+
+    private final int minimumLevel;
+    private final int maximumLevel;
+    private final int maximumServerLevel;
+    private final int defaultLevel;
+
+    CompressionCodec(final int minimumLevel, final int maximumLevel, final int maximumServerLevel, final int defaultLevel) {
+        this.minimumLevel = minimumLevel;
+        this.maximumLevel = maximumLevel;
+        this.maximumServerLevel = maximumServerLevel;
+        this.defaultLevel = defaultLevel;
+    }
+
+    public int getMinimumLevel() {
+        return minimumLevel;
+    }
+
+    public int getMaximumLevel() {
+        return maximumLevel;
+    }
+
+    /**
+     * @return the highest level that a server uses when a client requests a higher one, limiting the processing
+     * time and memory that a client can cause the server to spend compressing data
+     */
+    public int getMaximumServerLevel() {
+        return maximumServerLevel;
+    }
+
+    public int getDefaultLevel() {
+        return defaultLevel;
+    }
+
+    public boolean isLevelSupported(final int level) {
+        return level >= minimumLevel && level <= maximumLevel;
+    }
+
+    public boolean isDictionarySupported() {
+        return this == ZSTD;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import org.apache.nifi.remote.io.CompressionInputStream;
+import org.apache.nifi.remote.io.CompressionOutputStream;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.zip.Deflater;
+
+/**
+ * Compression settings negotiated for a Site-to-Site connection, providing the streams used to compress
+ * and decompress each Data Packet. Instances are thread-safe and can be shared across Transactions.
+ */
+public class CompressionConfiguration {
+
+    /**
+     * Maximum size of a shared dictionary, limited so that the encoded dictionary fits in a handshake property
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * Deflate compression at the default level, as used by versions of Site-to-Site without codec negotiation
+     */
+    public static final CompressionConfiguration DEFLATE = new CompressionConfiguration(CompressionCodec.DEFLATE, CompressionCodec.DEFLATE.getDefaultLevel(), null);
+
+    private final CompressionCodec codec;
+    private final int level;
+    private final byte[] dictionary;
+
+    private volatile ZstdDictCompress zstdDictCompress;
+    private volatile ZstdDictDecompress zstdDictDecompress;
+
+    /**
+     * @param codec the compression codec
+     * @param level the compression level, which must be supported by the codec
+     * @param dictionary shared dictionary, or <code>null</code> if none is to be used
+     */
+    public CompressionConfiguration(final CompressionCodec codec, final int level, final byte[] dictionary) {
+        if (!codec.isLevelSupported(level)) {
+            throw new IllegalArgumentException("Compression Level " + level + " is not supported for " + codec + "; must be between "
+                    + codec.getMinimumLevel() + " and " + codec.getMaximumLevel());
+        }
+        if (dictionary != null && !codec.isDictionarySupported()) {
+            throw new IllegalArgumentException("Compression Dictionary is not supported for " + codec);
+        }
+        if (dictionary != null && dictionary.length > MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Compression Dictionary must not be larger than " + MAX_DICTIONARY_SIZE + " bytes");
+        }
+
+        this.codec = codec;
+        this.level = level;
+        this.dictionary = dictionary;
+    }
+
+    public CompressionCodec getCodec() {
+        return codec;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public byte[] getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return the dictionary encoded as Base64 for transmission in handshake properties, or <code>null</code> if there is no dictionary
+     */
+    public String getEncodedDictionary() {
+        return dictionary == null ? null : Base64.getEncoder().encodeToString(dictionary);
+    }
+
+    /**
+     * @param encodedDictionary dictionary encoded as Base64
+     * @return the decoded dictionary
+     * @throws IllegalArgumentException if the dictionary is not valid Base64
+     */
+    public static byte[] decodeDictionary(final String encodedDictionary) {
+        return Base64.getDecoder().decode(encodedDictionary);
+    }
+
+    /**
+     * Creates a stream that compresses data written to it. Closing the returned stream writes any remaining data but
+     * does not close the given stream.
+     *
+     * @param out the stream to write compressed data to
+     * @return a compressing stream
+     */
+    public OutputStream createOutputStream(final OutputStream out) {
+        switch (codec) {
+            case ZSTD:
+                return new BlockCompressionOutputStream(out, createZstdBlockCodec());
+            case LZ4:
+                return new BlockCompressionOutputStream(out, new Lz4BlockCodec(level));
+            case DEFLATE:
+            default:
+                return new CompressionOutputStream(out, CompressionOutputStream.DEFAULT_BUFFER_SIZE, level, Deflater.DEFAULT_STRATEGY);
+        }
+    }
+
+    /**
+     * Creates a stream that decompresses data read from the given stream. Closing the returned stream releases
+     * resources but does not close the given stream.
+     *
+     * @param in the stream to read compressed data from
+     * @return a decompressing stream
+     */
+    public InputStream createInputStream(final InputStream in) {
+        switch (codec) {
+            case ZSTD:
+                return new BlockCompressionInputStream(in, createZstdBlockCodec());
+            case LZ4:
+                return new BlockCompressionInputStream(in, new Lz4BlockCodec(level));
+            case DEFLATE:
+            default:
+                return new CompressionInputStream(in);
+        }
+    }
+
+    private BlockCodec createZstdBlockCodec() {
+        if (dictionary == null) {
+            return new ZstdBlockCodec(level, null, null);
+        }
+
+        // Digested dictionaries are expensive to create, so they are created once and shared by all streams
+        if (zstdDictCompress == null) {
+            synchronized (this) {
+                if (zstdDictCompress == null) {
+                    zstdDictDecompress = new ZstdDictDecompress(dictionary);
+                    zstdDictCompress = new ZstdDictCompress(dictionary, level);
+                }
+            }
+        }
+        return new ZstdBlockCodec(level, zstdDictCompress, zstdDictDecompress);
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionConfiguration[codec=" + codec + ", level=" + level + ", dictionary=" + (dictionary == null ? 0 : dictionary.length) + " bytes]";
+    }
+}
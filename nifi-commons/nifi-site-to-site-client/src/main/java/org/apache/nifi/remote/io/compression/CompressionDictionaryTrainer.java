@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+
+/**
+ * Trains a Zstandard dictionary from sample content, such as representative FlowFiles, for use with
+ * {@link CompressionCodec#ZSTD}. A shared dictionary substantially improves the compression ratio of small
+ * Data Packets, which otherwise provide too little data for the compressor to find repeated sequences.
+ */
+public class CompressionDictionaryTrainer {
+
+    private static final int DEFAULT_SAMPLE_BUFFER_SIZE = 10 * 1024 * 1024;
+
+    private final ZstdDictTrainer trainer;
+
+    /**
+     * Creates a trainer producing dictionaries of {@link CompressionConfiguration#MAX_DICTIONARY_SIZE} bytes
+     */
+    public CompressionDictionaryTrainer() {
+        this(DEFAULT_SAMPLE_BUFFER_SIZE, CompressionConfiguration.MAX_DICTIONARY_SIZE);
+    }
+
+    /**
+     * @param sampleBufferSize maximum total number of sample bytes to retain for training
+     * @param dictionarySize maximum size of the trained dictionary
+     */
+    public CompressionDictionaryTrainer(final int sampleBufferSize, final int dictionarySize) {
+        if (dictionarySize > CompressionConfiguration.MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Dictionary Size must not be larger than " + CompressionConfiguration.MAX_DICTIONARY_SIZE + " bytes");
+        }
+        this.trainer = new ZstdDictTrainer(sampleBufferSize, dictionarySize);
+    }
+
+    /**
+     * @param sample sample content
+     * @return <code>true</code> if the sample was added, or <code>false</code> if the sample buffer is full
+     */
+    public boolean addSample(final byte[] sample) {
+        return trainer.addSample(sample);
+    }
+
+    /**
+     * @return the trained dictionary
+     * @throws IllegalStateException if a dictionary cannot be trained from the samples provided
+     */
+    public byte[] train() {
+        try {
+            return trainer.trainSamples();
+        } catch (final RuntimeException e) {
+            throw new IllegalStateException("Failed to train Compression Dictionary from samples", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.IOException;
+
+/**
+ * LZ4 {@link BlockCodec} using the fast compressor for level 0 and the high compressor for higher levels
+ */
+class Lz4BlockCodec implements BlockCodec {
+
+    private static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+
+    Lz4BlockCodec(final int level) {
+        this.compressor = level == 0 ? FACTORY.fastCompressor() : FACTORY.highCompressor(level);
+        this.decompressor = FACTORY.safeDecompressor();
+    }
+
+    @Override
+    public int getMaxCompressedLength(final int length) {
+        return compressor.maxCompressedLength(length);
+    }
+
+    @Override
+    public int compress(final byte[] source, final int length, final byte[] destination) throws IOException {
+        try {
+            return compressor.compress(source, 0, length, destination, 0, destination.length);
+        } catch (final LZ4Exception e) {
+            throw new IOException("LZ4 compression failed", e);
+        }
+    }
+
+    @Override
+    public void decompress(final byte[] source, final byte[] destination) throws IOException {
+        final int decompressed;
+        try {
+            decompressed = decompressor.decompress(source, 0, source.length, destination, 0, destination.length);
+        } catch (final LZ4Exception e) {
+            throw new IOException("LZ4 decompression failed", e);
+        }
+        if (decompressed != destination.length) {
+            throw new IOException("LZ4 decompression produced " + decompressed + " bytes but expected " + destination.length);
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdException;
+
+import java.io.IOException;
+
+/**
+ * Zstandard {@link BlockCodec} with optional shared dictionary. Compression and decompression contexts are created on
+ * first use so that a codec used in only one direction does not allocate native resources for the other.
+ */
+class ZstdBlockCodec implements BlockCodec {
+
+    private final int level;
+    private final ZstdDictCompress compressDictionary;
+    private final ZstdDictDecompress decompressDictionary;
+
+    private ZstdCompressCtx compressContext;
+    private ZstdDecompressCtx decompressContext;
+
+    ZstdBlockCodec(final int level, final ZstdDictCompress compressDictionary, final ZstdDictDecompress decompressDictionary) {
+        this.level = level;
+        this.compressDictionary = compressDictionary;
+        this.decompressDictionary = decompressDictionary;
+    }
+
+    @Override
+    public int getMaxCompressedLength(final int length) {
+        return (int) Zstd.compressBound(length);
+    }
+
+    @Override
+    public int compress(final byte[] source, final int length, final byte[] destination) throws IOException {
+        if (compressContext == null) {
+            compressContext = new ZstdCompressCtx();
+            if (compressDictionary == null) {
+                compressContext.setLevel(level);
+            } else {
+                compressContext.loadDict(compressDictionary);
+            }
+        }
+
+        try {
+            return compressContext.compressByteArray(destination, 0, destination.length, source, 0, length);
+        } catch (final ZstdException e) {
+            throw new IOException("Zstandard compression failed", e);
+        }
+    }
+
+    @Override
+    public void decompress(final byte[] source, final byte[] destination) throws IOException {
+        if (decompressContext == null) {
+            decompressContext = new ZstdDecompressCtx();
+            if (decompressDictionary != null) {
+                decompressContext.loadDict(decompressDictionary);
+            }
+        }
+
+        final int decompressed;
+        try {
+            decompressed = decompressContext.decompressByteArray(destination, 0, destination.length, source, 0, source.length);
+        } catch (final ZstdException e) {
+            throw new IOException("Zstandard decompression failed", e);
+        }
+        if (decompressed != destination.length) {
+            throw new IOException("Zstandard decompression produced " + decompressed + " bytes but expected " + destination.length);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (compressContext != null) {
+            compressContext.close();
+        }
+        if (decompressContext != null) {
+            decompressContext.close();
+        }
+    }
+}
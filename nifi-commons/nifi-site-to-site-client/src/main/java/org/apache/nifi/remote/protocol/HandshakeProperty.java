@@ -55,5 +55,22 @@ public enum HandshakeProperty {
      * client when pulling data. This property was introduced in version 5 of
      * the protocol. Value is in milliseconds.
      */
-    BATCH_DURATION;
+    BATCH_DURATION,
+    /**
+     * The name of the compression codec to use when GZIP is true. This property
+     * was introduced in version 7 of the protocol; earlier versions always use
+     * Deflate compression.
+     */
+    COMPRESSION_CODEC,
+    /**
+     * The compression level to use with the negotiated compression codec. This
+     * property was introduced in version 7 of the protocol.
+     */
+    COMPRESSION_LEVEL,
+    /**
+     * Base64-encoded dictionary shared by both sides for use with the negotiated
+     * compression codec. This property was introduced in version 7 of the
+     * protocol.
+     */
+    COMPRESSION_DICTIONARY;
 }
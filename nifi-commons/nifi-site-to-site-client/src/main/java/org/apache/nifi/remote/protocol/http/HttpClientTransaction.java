@@ -22,6 +22,7 @@ import org.apache.nifi.remote.AbstractTransaction;
 import org.apache.nifi.remote.Peer;
 import org.apache.nifi.remote.TransferDirection;
 import org.apache.nifi.remote.codec.StandardFlowFileCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.io.http.HttpCommunicationsSession;
 import org.apache.nifi.remote.protocol.Response;
 import org.apache.nifi.remote.protocol.ResponseCode;
@@ -44,6 +45,11 @@ public class HttpClientTransaction extends AbstractTransaction {
         super(peer, direction, useCompression, new StandardFlowFileCodec(), eventReporter, protocolVersion, penaltyMillis, portId);
     }
 
+    public HttpClientTransaction(final int protocolVersion, final Peer peer, final TransferDirection direction,
+                                 final CompressionConfiguration compression, final String portId, final int penaltyMillis, final EventReporter eventReporter) throws IOException {
+        super(peer, direction, compression, new StandardFlowFileCodec(), eventReporter, protocolVersion, penaltyMillis, portId);
+    }
+
     public void initialize(SiteToSiteRestApiClient apiUtil, String transactionUrl) throws IOException {
         this.transactionUrl = transactionUrl;
         this.apiClient = apiUtil;
@@ -39,6 +39,8 @@ import org.apache.nifi.remote.codec.FlowFileCodec;
 import org.apache.nifi.remote.codec.StandardFlowFileCodec;
 import org.apache.nifi.remote.exception.HandshakeException;
 import org.apache.nifi.remote.exception.ProtocolException;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.protocol.ClientProtocol;
 import org.apache.nifi.remote.protocol.CommunicationsSession;
 import org.apache.nifi.remote.protocol.HandshakeProperty;
@@ -51,10 +53,13 @@ import org.slf4j.LoggerFactory;
 public class SocketClientProtocol implements ClientProtocol {
 
     // Version 6 added to support Zero-Leader Clustering, which was introduced in NiFi 1.0.0
-    private final VersionNegotiator versionNegotiator = new StandardVersionNegotiator(6, 5, 4, 3, 2, 1);
+    // Version 7 added to support negotiation of compression codecs other than Deflate
+    private final VersionNegotiator versionNegotiator = new StandardVersionNegotiator(7, 6, 5, 4, 3, 2, 1);
 
     private RemoteDestination destination;
     private boolean useCompression = false;
+    private CompressionConfiguration requestedCompression = CompressionConfiguration.DEFLATE;
+    private CompressionConfiguration negotiatedCompression;
 
     private String commsIdentifier;
     private boolean handshakeComplete = false;
@@ -95,10 +100,21 @@ public class SocketClientProtocol implements ClientProtocol {
         this.useCompression = destination.isUseCompression();
     }
 
+    public void setCompression(final CompressionConfiguration compression) {
+        this.requestedCompression = compression;
+    }
+
     public void setTimeout(final int timeoutMillis) {
         this.timeoutMillis = timeoutMillis;
     }
 
+    /**
+     * @return the compression negotiated during the handshake, or <code>null</code> if compression is disabled
+     */
+    public CompressionConfiguration getNegotiatedCompression() {
+        return negotiatedCompression;
+    }
+
     @Override
     public void handshake(final Peer peer) throws IOException {
         handshake(peer, destination.getIdentifier());
@@ -120,6 +136,18 @@ public class SocketClientProtocol implements ClientProtocol {
 
         properties.put(HandshakeProperty.REQUEST_EXPIRATION_MILLIS, String.valueOf(timeoutMillis));
 
+        final boolean codecNegotiable = useCompression && versionNegotiator.getVersion() >= 7;
+        if (codecNegotiable) {
+            properties.put(HandshakeProperty.COMPRESSION_CODEC, requestedCompression.getCodec().name());
+            properties.put(HandshakeProperty.COMPRESSION_LEVEL, String.valueOf(requestedCompression.getLevel()));
+            if (requestedCompression.getDictionary() != null) {
+                properties.put(HandshakeProperty.COMPRESSION_DICTIONARY, requestedCompression.getEncodedDictionary());
+            }
+        } else if (useCompression && requestedCompression.getCodec() != CompressionCodec.DEFLATE) {
+            logger.debug("{} using Deflate compression with {} because protocol version {} does not support {}",
+                    this, peer, versionNegotiator.getVersion(), requestedCompression.getCodec());
+        }
+
         if (versionNegotiator.getVersion() >= 5) {
             if (batchCount > 0) {
                 properties.put(HandshakeProperty.BATCH_COUNT, String.valueOf(batchCount));
@@ -170,6 +198,9 @@ public class SocketClientProtocol implements ClientProtocol {
                 break;
             case PROPERTIES_OK:
                 readyForFileTransfer = true;
+                if (useCompression) {
+                    negotiatedCompression = codecNegotiable ? requestedCompression : CompressionConfiguration.DEFLATE;
+                }
                 break;
             default:
                 logger.error("{} received unexpected response {} from {} when negotiating Codec", this, handshakeResponse, peer);
@@ -268,7 +299,7 @@ public class SocketClientProtocol implements ClientProtocol {
         }
 
         return new SocketClientTransaction(versionNegotiator.getVersion(), destination.getIdentifier(), peer, codec,
-                direction, useCompression, (int) destination.getYieldPeriod(TimeUnit.MILLISECONDS), eventReporter);
+                direction, negotiatedCompression, (int) destination.getYieldPeriod(TimeUnit.MILLISECONDS), eventReporter);
     }
 
     @Override
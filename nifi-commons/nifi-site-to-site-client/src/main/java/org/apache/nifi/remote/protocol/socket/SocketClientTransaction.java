@@ -22,6 +22,7 @@ import org.apache.nifi.remote.Peer;
 import org.apache.nifi.remote.TransferDirection;
 import org.apache.nifi.remote.codec.FlowFileCodec;
 import org.apache.nifi.remote.exception.ProtocolException;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.protocol.RequestType;
 import org.apache.nifi.remote.protocol.Response;
 import org.apache.nifi.remote.protocol.ResponseCode;
@@ -38,7 +39,12 @@ public class SocketClientTransaction extends AbstractTransaction {
 
     SocketClientTransaction(final int protocolVersion, final String destinationId, final Peer peer, final FlowFileCodec codec,
             final TransferDirection direction, final boolean useCompression, final int penaltyMillis, final EventReporter eventReporter) throws IOException {
-        super(peer, direction, useCompression, codec, eventReporter, protocolVersion, penaltyMillis, destinationId);
+        this(protocolVersion, destinationId, peer, codec, direction, useCompression ? CompressionConfiguration.DEFLATE : null, penaltyMillis, eventReporter);
+    }
+
+    SocketClientTransaction(final int protocolVersion, final String destinationId, final Peer peer, final FlowFileCodec codec, final TransferDirection direction,
+            final CompressionConfiguration compression, final int penaltyMillis, final EventReporter eventReporter) throws IOException {
+        super(peer, direction, compression, codec, eventReporter, protocolVersion, penaltyMillis, destinationId);
         this.dis = new DataInputStream(peer.getCommunicationsSession().getInput().getInputStream());
         this.dos = new DataOutputStream(peer.getCommunicationsSession().getOutput().getOutputStream());
 
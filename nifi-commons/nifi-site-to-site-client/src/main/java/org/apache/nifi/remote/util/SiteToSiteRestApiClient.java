@@ -108,6 +108,8 @@ import org.apache.nifi.remote.exception.HandshakeException;
 import org.apache.nifi.remote.exception.PortNotRunningException;
 import org.apache.nifi.remote.exception.ProtocolException;
 import org.apache.nifi.remote.exception.UnknownPortException;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.io.http.HttpCommunicationsSession;
 import org.apache.nifi.remote.io.http.HttpInput;
 import org.apache.nifi.remote.io.http.HttpOutput;
@@ -129,6 +131,8 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_BATCH_COUNT;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_BATCH_DURATION;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_BATCH_SIZE;
+import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_COMPRESSION_CODEC;
+import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_COMPRESSION_LEVEL;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_REQUEST_EXPIRATION;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_USE_COMPRESSION;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.LOCATION_HEADER_NAME;
@@ -161,6 +165,8 @@ public class SiteToSiteRestApiClient implements Closeable {
     private CloseableHttpAsyncClient httpAsyncClient;
 
     private boolean compress = false;
+    private CompressionConfiguration requestedCompression = CompressionConfiguration.DEFLATE;
+    private CompressionConfiguration negotiatedCompression;
     private InetAddress localAddress = null;
     private long requestExpirationMillis = 0;
     private int serverTransactionTtl = 0;
@@ -492,6 +498,15 @@ public class SiteToSiteRestApiClient implements Closeable {
                     throw new ProtocolException("Server didn't return " + HttpHeaders.SERVER_SIDE_TRANSACTION_TTL);
                 }
                 serverTransactionTtl = Integer.parseInt(serverTransactionTtlHeader.getValue());
+
+                // Servers that do not support codec negotiation ignore the requested codec and use Deflate
+                final Header compressionCodecHeader = response.getFirstHeader(HANDSHAKE_PROPERTY_COMPRESSION_CODEC);
+                if (compressionCodecHeader != null && requestedCompression.getCodec().name().equals(compressionCodecHeader.getValue())) {
+                    negotiatedCompression = requestedCompression;
+                } else {
+                    negotiatedCompression = CompressionConfiguration.DEFLATE;
+                }
+                logger.debug("Negotiated compression {}", negotiatedCompression);
                 break;
 
             default:
@@ -1091,6 +1106,13 @@ public class SiteToSiteRestApiClient implements Closeable {
     private void setHandshakeProperties(final HttpRequestBase httpRequest) {
         if (compress) {
             httpRequest.setHeader(HANDSHAKE_PROPERTY_USE_COMPRESSION, "true");
+
+            // Request the codec until the server has confirmed or declined it when initiating the transaction
+            final CompressionConfiguration compression = negotiatedCompression == null ? requestedCompression : negotiatedCompression;
+            if (compression.getCodec() != CompressionCodec.DEFLATE) {
+                httpRequest.setHeader(HANDSHAKE_PROPERTY_COMPRESSION_CODEC, compression.getCodec().name());
+                httpRequest.setHeader(HANDSHAKE_PROPERTY_COMPRESSION_LEVEL, String.valueOf(compression.getLevel()));
+            }
         }
 
         if (requestExpirationMillis > 0) {
@@ -1391,6 +1413,26 @@ public class SiteToSiteRestApiClient implements Closeable {
         this.compress = compress;
     }
 
+    /**
+     * @param compression the compression to request when compression is enabled; dictionaries are not supported
+     */
+    public void setCompression(final CompressionConfiguration compression) {
+        if (compression.getDictionary() != null) {
+            throw new IllegalArgumentException("Compression Dictionary is not supported for HTTP Site-to-Site");
+        }
+        this.requestedCompression = compression;
+    }
+
+    /**
+     * @return the compression negotiated when initiating the transaction, or <code>null</code> if compression is disabled
+     */
+    public CompressionConfiguration getNegotiatedCompression() {
+        if (!compress) {
+            return null;
+        }
+        return negotiatedCompression == null ? CompressionConfiguration.DEFLATE : negotiatedCompression;
+    }
+
     public void setLocalAddress(final InetAddress localAddress) {
         this.localAddress = localAddress;
     }
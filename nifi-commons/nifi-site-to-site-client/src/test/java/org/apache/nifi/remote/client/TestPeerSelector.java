@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+import org.apache.nifi.remote.ClientTransactionCompletion;
+import org.apache.nifi.remote.PeerDescription;
+import org.apache.nifi.remote.PeerStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class TestPeerSelector {
+
+    private static final PeerStatus FIRST = new PeerStatus(new PeerDescription("first", 8081, false), 10, true);
+    private static final PeerStatus SECOND = new PeerStatus(new PeerDescription("second", 8081, false), 10, true);
+
+    private PeerSelector createPeerSelector(final PeerSelectionStrategy strategy) {
+        return new PeerSelector(mock(PeerStatusProvider.class), null, strategy);
+    }
+
+    private void recordTransaction(final PeerSelector peerSelector, final PeerStatus peerStatus, final long bytes, final long durationMillis) {
+        recordTransaction(peerSelector, peerStatus, 1, bytes, durationMillis);
+    }
+
+    private void recordTransaction(final PeerSelector peerSelector, final PeerStatus peerStatus, final int dataPackets, final long bytes, final long durationMillis) {
+        peerSelector.recordTransaction(peerStatus.getPeerDescription(),
+                new ClientTransactionCompletion(false, dataPackets, bytes, TimeUnit.MILLISECONDS.toNanos(durationMillis)));
+    }
+
+    @Test
+    public void testSelectByPerformanceWithoutSamples() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        assertSame(FIRST, peerSelector.selectByPerformance(FIRST, SECOND));
+    }
+
+    @Test
+    public void testSelectByPerformancePrefersUnsampledPeer() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        recordTransaction(peerSelector, FIRST, 0, 10);
+        assertSame(SECOND, peerSelector.selectByPerformance(FIRST, SECOND));
+    }
+
+    @Test
+    public void testSelectByPerformanceLatency() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        recordTransaction(peerSelector, FIRST, 0, 500);
+        recordTransaction(peerSelector, SECOND, 0, 20);
+
+        assertSame(SECOND, peerSelector.selectByPerformance(FIRST, SECOND));
+        assertSame(SECOND, peerSelector.selectByPerformance(SECOND, FIRST));
+    }
+
+    @Test
+    public void testSelectByPerformanceThroughput() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        // The first peer has the lower latency but transfers far less content per second
+        recordTransaction(peerSelector, FIRST, 1024, 100);
+        recordTransaction(peerSelector, SECOND, 10 * 1024 * 1024, 200);
+
+        assertSame(SECOND, peerSelector.selectByPerformance(FIRST, SECOND));
+    }
+
+    @Test
+    public void testSelectByPerformanceFailures() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        recordTransaction(peerSelector, FIRST, 0, 20);
+        recordTransaction(peerSelector, SECOND, 0, 30);
+        for (int i = 0; i < 5; i++) {
+            peerSelector.recordFailure(FIRST.getPeerDescription());
+        }
+
+        assertSame(SECOND, peerSelector.selectByPerformance(FIRST, SECOND));
+    }
+
+    @Test
+    public void testSelectByPerformanceOnlyFailures() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        peerSelector.recordFailure(FIRST.getPeerDescription());
+        recordTransaction(peerSelector, SECOND, 0, 1000);
+
+        assertSame(SECOND, peerSelector.selectByPerformance(FIRST, SECOND));
+    }
+
+    @Test
+    public void testSelectByPerformanceReceiveFromEmptyPeer() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        // Pulling from the first peer finds nothing to receive, which completes far sooner than pulling data from the second
+        for (int i = 0; i < 5; i++) {
+            recordTransaction(peerSelector, FIRST, 0, 0, 2);
+            recordTransaction(peerSelector, SECOND, 100, 1024 * 1024, 500);
+        }
+
+        assertSame(SECOND, peerSelector.selectByPerformance(FIRST, SECOND));
+        assertSame(SECOND, peerSelector.selectByPerformance(SECOND, FIRST));
+    }
+
+    @Test
+    public void testSelectByPerformanceReceiveFromEmptyPeerWithContentlessData() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        recordTransaction(peerSelector, FIRST, 0, 0, 2);
+        recordTransaction(peerSelector, SECOND, 100, 0, 500);
+
+        assertSame(SECOND, peerSelector.selectByPerformance(FIRST, SECOND));
+    }
+
+    @Test
+    public void testPenalizeDoesNotRecordFailure() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.TRANSFER_PERFORMANCE);
+        peerSelector.penalize(FIRST.getPeerDescription(), 0);
+        recordTransaction(peerSelector, SECOND, 0, 1000);
+
+        assertSame(FIRST, peerSelector.selectByPerformance(FIRST, SECOND));
+    }
+
+    @Test
+    public void testFlowFileCountIgnoresPerformance() {
+        final PeerSelector peerSelector = createPeerSelector(PeerSelectionStrategy.FLOWFILE_COUNT);
+        recordTransaction(peerSelector, FIRST, 0, 500);
+        recordTransaction(peerSelector, SECOND, 0, 20);
+
+        assertSame(FIRST, peerSelector.selectByPerformance(FIRST, SECOND));
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+import org.apache.nifi.flowfile.attributes.CoreAttributes;
+import org.apache.nifi.flowfile.attributes.FragmentAttributes;
+import org.apache.nifi.remote.ClientTransactionCompletion;
+import org.apache.nifi.remote.Communicant;
+import org.apache.nifi.remote.Transaction;
+import org.apache.nifi.remote.TransactionCompletion;
+import org.apache.nifi.remote.protocol.DataPacket;
+import org.apache.nifi.remote.util.StandardDataPacket;
+import org.apache.nifi.stream.io.StreamUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestStripedTransaction {
+
+    private static final String FILENAME = "file.txt";
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    public void setExecutorService() {
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void shutdownExecutorService() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testSendChunks() throws IOException {
+        final RecordingTransaction firstTransaction = new RecordingTransaction();
+        final RecordingTransaction secondTransaction = new RecordingTransaction();
+        final StripedTransaction transaction = new StripedTransaction(List.of(firstTransaction, secondTransaction), executorService, 4);
+
+        transaction.send(CONTENT, Map.of(CoreAttributes.FILENAME.key(), FILENAME));
+        transaction.confirm();
+        final TransactionCompletion completion = transaction.complete();
+
+        assertEquals(Transaction.TransactionState.TRANSACTION_COMPLETED, transaction.getState());
+        assertEquals(3, completion.getDataPacketsTransferred());
+        assertEquals(CONTENT.length, completion.getBytesTransferred());
+        assertTrue(firstTransaction.completed);
+        assertTrue(secondTransaction.completed);
+
+        final List<RecordedPacket> packets = new ArrayList<>(firstTransaction.packets);
+        packets.addAll(secondTransaction.packets);
+        packets.sort(Comparator.comparing(packet -> packet.attributes.get(FragmentAttributes.FRAGMENT_INDEX.key())));
+        assertEquals(3, packets.size());
+
+        final String fragmentId = packets.get(0).attributes.get(FragmentAttributes.FRAGMENT_ID.key());
+        final ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+        for (int i = 0; i < packets.size(); i++) {
+            final Map<String, String> attributes = packets.get(i).attributes;
+            assertEquals(fragmentId, attributes.get(FragmentAttributes.FRAGMENT_ID.key()));
+            assertEquals(String.valueOf(i + 1), attributes.get(FragmentAttributes.FRAGMENT_INDEX.key()));
+            assertEquals("3", attributes.get(FragmentAttributes.FRAGMENT_COUNT.key()));
+            assertEquals(FILENAME, attributes.get(FragmentAttributes.SEGMENT_ORIGINAL_FILENAME.key()));
+            reassembled.write(packets.get(i).content);
+        }
+        assertArrayEquals(CONTENT, reassembled.toByteArray());
+    }
+
+    @Test
+    public void testSendChunksOfFragment() throws IOException {
+        final RecordingTransaction firstTransaction = new RecordingTransaction();
+        final RecordingTransaction secondTransaction = new RecordingTransaction();
+        final StripedTransaction transaction = new StripedTransaction(List.of(firstTransaction, secondTransaction), executorService, 4);
+
+        final Map<String, String> fragmentAttributes = Map.of(
+                CoreAttributes.FILENAME.key(), FILENAME,
+                FragmentAttributes.FRAGMENT_ID.key(), "parent",
+                FragmentAttributes.FRAGMENT_INDEX.key(), "2",
+                FragmentAttributes.FRAGMENT_COUNT.key(), "5");
+        transaction.send(CONTENT, fragmentAttributes);
+        transaction.confirm();
+        transaction.complete();
+
+        final List<RecordedPacket> packets = new ArrayList<>(firstTransaction.packets);
+        packets.addAll(secondTransaction.packets);
+        assertEquals(3, packets.size());
+
+        final Map<String, String> commonAttributes = new HashMap<>(packets.get(0).attributes);
+        for (final RecordedPacket packet : packets) {
+            final Map<String, String> attributes = packet.attributes;
+            assertNotEquals("parent", attributes.get(FragmentAttributes.FRAGMENT_ID.key()));
+            assertEquals("3", attributes.get(FragmentAttributes.FRAGMENT_COUNT.key()));
+            assertEquals("parent", attributes.get(FragmentAttributes.ORIGINAL_PREFIX + FragmentAttributes.FRAGMENT_ID.key()));
+            assertEquals("2", attributes.get(FragmentAttributes.ORIGINAL_PREFIX + FragmentAttributes.FRAGMENT_INDEX.key()));
+            assertEquals("5", attributes.get(FragmentAttributes.ORIGINAL_PREFIX + FragmentAttributes.FRAGMENT_COUNT.key()));
+            commonAttributes.entrySet().retainAll(attributes.entrySet());
+        }
+
+        // Defragmenting keeps the attributes common to all chunks before restoring the original fragment attributes
+        FragmentAttributes.restoreOriginalAttributes(commonAttributes);
+        assertEquals(fragmentAttributes, commonAttributes);
+    }
+
+    @Test
+    public void testSendWithoutChunks() throws IOException {
+        final RecordingTransaction firstTransaction = new RecordingTransaction();
+        final RecordingTransaction secondTransaction = new RecordingTransaction();
+        final StripedTransaction transaction = new StripedTransaction(List.of(firstTransaction, secondTransaction), executorService, 0);
+
+        final Map<String, String> attributes = Map.of(CoreAttributes.FILENAME.key(), FILENAME);
+        for (int i = 0; i < 4; i++) {
+            transaction.send(new StandardDataPacket(attributes, new ByteArrayInputStream(CONTENT), CONTENT.length));
+        }
+        transaction.confirm();
+
+        final List<RecordedPacket> packets = new ArrayList<>(firstTransaction.packets);
+        packets.addAll(secondTransaction.packets);
+        assertEquals(4, packets.size());
+        for (final RecordedPacket packet : packets) {
+            assertEquals(attributes, packet.attributes);
+            assertArrayEquals(CONTENT, packet.content);
+        }
+        assertTrue(firstTransaction.confirmed);
+        assertTrue(secondTransaction.confirmed);
+    }
+
+    @Test
+    public void testSendFailed() throws IOException {
+        final RecordingTransaction failedTransaction = new RecordingTransaction();
+        failedTransaction.sendFailure = new IOException("Connection reset");
+        final StripedTransaction transaction = new StripedTransaction(List.of(failedTransaction), executorService, CONTENT.length);
+
+        transaction.send(CONTENT, Collections.emptyMap());
+
+        assertThrows(IOException.class, transaction::confirm);
+        assertFalse(failedTransaction.confirmed);
+
+        transaction.error();
+        assertEquals(Transaction.TransactionState.ERROR, transaction.getState());
+        assertTrue(failedTransaction.failed);
+    }
+
+    private static class RecordedPacket {
+        private final Map<String, String> attributes;
+        private final byte[] content;
+
+        private RecordedPacket(final Map<String, String> attributes, final byte[] content) {
+            this.attributes = attributes;
+            this.content = content;
+        }
+    }
+
+    private static class RecordingTransaction implements Transaction {
+        private final List<RecordedPacket> packets = Collections.synchronizedList(new ArrayList<>());
+        private volatile IOException sendFailure;
+        private volatile boolean confirmed;
+        private volatile boolean completed;
+        private volatile boolean failed;
+        private long bytesTransferred;
+
+        @Override
+        public void send(final DataPacket dataPacket) throws IOException {
+            if (sendFailure != null) {
+                throw sendFailure;
+            }
+            final byte[] content = new byte[(int) dataPacket.getSize()];
+            StreamUtils.fillBuffer(dataPacket.getData(), content);
+            packets.add(new RecordedPacket(dataPacket.getAttributes(), content));
+            bytesTransferred += content.length;
+        }
+
+        @Override
+        public void send(final byte[] content, final Map<String, String> attributes) throws IOException {
+            send(new StandardDataPacket(attributes, new ByteArrayInputStream(content), content.length));
+        }
+
+        @Override
+        public DataPacket receive() {
+            return null;
+        }
+
+        @Override
+        public void confirm() {
+            confirmed = true;
+        }
+
+        @Override
+        public TransactionCompletion complete() {
+            completed = true;
+            return new ClientTransactionCompletion(false, packets.size(), bytesTransferred, 0);
+        }
+
+        @Override
+        public void cancel(final String explanation) {
+        }
+
+        @Override
+        public void error() {
+            failed = true;
+        }
+
+        @Override
+        public TransactionState getState() {
+            return TransactionState.TRANSACTION_STARTED;
+        }
+
+        @Override
+        public Communicant getCommunicant() {
+            return null;
+        }
+    }
+}
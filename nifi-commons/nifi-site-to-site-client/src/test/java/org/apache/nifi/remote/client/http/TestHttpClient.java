@@ -26,11 +26,14 @@ import org.apache.nifi.remote.client.SiteToSiteClient;
 import org.apache.nifi.remote.codec.StandardFlowFileCodec;
 import org.apache.nifi.remote.io.CompressionInputStream;
 import org.apache.nifi.remote.io.CompressionOutputStream;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.protocol.DataPacket;
 import org.apache.nifi.remote.protocol.ResponseCode;
 import org.apache.nifi.remote.protocol.SiteToSiteTransportProtocol;
 import org.apache.nifi.remote.protocol.http.HttpHeaders;
 import org.apache.nifi.remote.protocol.http.HttpProxy;
+import org.apache.nifi.remote.util.SiteToSiteRestApiClient;
 import org.apache.nifi.remote.util.StandardDataPacket;
 import org.apache.nifi.stream.io.StreamUtils;
 import org.apache.nifi.web.api.dto.ControllerDTO;
@@ -88,14 +91,17 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_COMPRESSION_CODEC;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.LOCATION_HEADER_NAME;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.LOCATION_URI_INTENT_NAME;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.LOCATION_URI_INTENT_VALUE;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.PROTOCOL_VERSION;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.SERVER_SIDE_TRANSACTION_TTL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -201,6 +207,20 @@ public class TestHttpClient {
 
     }
 
+    public static class PortTransactionsCompressionCodecServlet extends PortTransactionsServlet {
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            // Servers supporting codec negotiation confirm the requested codec
+            final String compressionCodec = req.getHeader(HANDSHAKE_PROPERTY_COMPRESSION_CODEC);
+            if (!isEmpty(compressionCodec) && Boolean.parseBoolean(req.getHeader(HttpHeaders.HANDSHAKE_PROPERTY_USE_COMPRESSION))) {
+                resp.setHeader(HANDSHAKE_PROPERTY_COMPRESSION_CODEC, compressionCodec);
+            }
+            super.doPost(req, resp);
+        }
+
+    }
+
     public static class PortTransactionsAccessDeniedServlet extends HttpServlet {
 
         @Override
@@ -473,6 +493,8 @@ public class TestHttpClient {
         servletHandler.addServletWithMapping(InputPortTransactionServlet.class, "/data-transfer/input-ports/input-running-id/transactions/transaction-id");
         servletHandler.addServletWithMapping(FlowFilesServlet.class, "/data-transfer/input-ports/input-running-id/transactions/transaction-id/flow-files");
 
+        servletHandler.addServletWithMapping(PortTransactionsCompressionCodecServlet.class, "/data-transfer/input-ports/input-codec-id/transactions");
+
         servletHandler.addServletWithMapping(PortTransactionsServlet.class, "/data-transfer/input-ports/input-timeout-id/transactions");
         servletHandler.addServletWithMapping(InputPortTransactionServlet.class, "/data-transfer/input-ports/input-timeout-id/transactions/transaction-id");
         servletHandler.addServletWithMapping(FlowFilesTimeoutServlet.class, "/data-transfer/input-ports/input-timeout-id/transactions/transaction-id/flow-files");
@@ -966,6 +988,31 @@ public class TestHttpClient {
 
     }
 
+    private CompressionConfiguration initiateCompressedTransaction(final String portId) throws IOException {
+        final CompressionConfiguration compression = new CompressionConfiguration(CompressionCodec.ZSTD, 3, null);
+        try (SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(null, null, eventReporter)) {
+            apiClient.setBaseUrl("http://localhost:" + httpConnector.getLocalPort() + "/nifi-api");
+            apiClient.setCompress(true);
+            apiClient.setCompression(compression);
+
+            apiClient.initiateTransaction(TransferDirection.SEND, portId);
+            return apiClient.getNegotiatedCompression();
+        }
+    }
+
+    @Test
+    public void testInitiateTransactionNegotiatesCompressionCodec() throws Exception {
+        final CompressionConfiguration negotiated = initiateCompressedTransaction("input-codec-id");
+        assertEquals(CompressionCodec.ZSTD, negotiated.getCodec());
+        assertEquals(3, negotiated.getLevel());
+    }
+
+    @Test
+    public void testInitiateTransactionWithoutCompressionCodecEcho() throws Exception {
+        // Servers without codec negotiation ignore the requested codec and use Deflate
+        assertSame(CompressionConfiguration.DEFLATE, initiateCompressedTransaction("input-running-id"));
+    }
+
     @Test
     public void testSendSlowClientSuccess() throws Exception {
 
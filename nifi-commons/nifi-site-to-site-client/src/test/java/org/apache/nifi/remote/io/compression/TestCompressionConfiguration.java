@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io.compression;
+
+import org.apache.nifi.stream.io.StreamUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestCompressionConfiguration {
+
+    private static final byte[] CONTENT = createContent();
+
+    private static byte[] createContent() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("Site-to-Site Data Packet ").append(i).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testRoundTripDeflate() throws IOException {
+        assertRoundTrip(CompressionConfiguration.DEFLATE);
+    }
+
+    @Test
+    public void testRoundTripZstd() throws IOException {
+        assertRoundTrip(new CompressionConfiguration(CompressionCodec.ZSTD, CompressionCodec.ZSTD.getDefaultLevel(), null));
+    }
+
+    @Test
+    public void testRoundTripZstdDictionary() throws IOException {
+        final byte[] dictionary = "Site-to-Site Data Packet ".getBytes(StandardCharsets.UTF_8);
+        assertRoundTrip(new CompressionConfiguration(CompressionCodec.ZSTD, 1, dictionary));
+    }
+
+    @Test
+    public void testRoundTripLz4() throws IOException {
+        assertRoundTrip(new CompressionConfiguration(CompressionCodec.LZ4, CompressionCodec.LZ4.getDefaultLevel(), null));
+        assertRoundTrip(new CompressionConfiguration(CompressionCodec.LZ4, 9, null));
+    }
+
+    @Test
+    public void testLevelNotSupported() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressionConfiguration(CompressionCodec.DEFLATE, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> new CompressionConfiguration(CompressionCodec.ZSTD, 23, null));
+        assertThrows(IllegalArgumentException.class, () -> new CompressionConfiguration(CompressionCodec.LZ4, -1, null));
+    }
+
+    @Test
+    public void testDictionaryNotSupported() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressionConfiguration(CompressionCodec.DEFLATE, 1, new byte[16]));
+        assertThrows(IllegalArgumentException.class, () -> new CompressionConfiguration(CompressionCodec.LZ4, 0, new byte[16]));
+    }
+
+    @Test
+    public void testDictionaryTooLarge() {
+        final byte[] dictionary = new byte[CompressionConfiguration.MAX_DICTIONARY_SIZE + 1];
+        assertThrows(IllegalArgumentException.class, () -> new CompressionConfiguration(CompressionCodec.ZSTD, 3, dictionary));
+    }
+
+    @Test
+    public void testEncodedDictionary() {
+        final byte[] dictionary = "dictionary".getBytes(StandardCharsets.UTF_8);
+        final CompressionConfiguration configuration = new CompressionConfiguration(CompressionCodec.ZSTD, 3, dictionary);
+        assertArrayEquals(dictionary, CompressionConfiguration.decodeDictionary(configuration.getEncodedDictionary()));
+        assertNull(CompressionConfiguration.DEFLATE.getEncodedDictionary());
+    }
+
+    private void assertRoundTrip(final CompressionConfiguration configuration) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (final OutputStream out = configuration.createOutputStream(compressed)) {
+            out.write(CONTENT);
+        }
+        // Trailing bytes must be left in the underlying stream for the next Data Packet
+        compressed.write(7);
+
+        final ByteArrayInputStream source = new ByteArrayInputStream(compressed.toByteArray());
+        final ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (final InputStream in = configuration.createInputStream(source)) {
+            StreamUtils.copy(in, decompressed);
+        }
+
+        assertArrayEquals(CONTENT, decompressed.toByteArray());
+        assertEquals(7, source.read());
+    }
+}
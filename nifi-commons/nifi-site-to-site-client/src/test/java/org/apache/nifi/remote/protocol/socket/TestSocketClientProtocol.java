@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.protocol.socket;
+
+import org.apache.nifi.remote.Peer;
+import org.apache.nifi.remote.PeerDescription;
+import org.apache.nifi.remote.RemoteDestination;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
+import org.apache.nifi.remote.io.socket.SocketCommunicationsSession;
+import org.apache.nifi.remote.io.socket.SocketInput;
+import org.apache.nifi.remote.io.socket.SocketOutput;
+import org.apache.nifi.remote.protocol.HandshakeProperty;
+import org.apache.nifi.remote.protocol.ResponseCode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestSocketClientProtocol {
+
+    private static final String DESTINATION_ID = "destination-id";
+
+    private static final String PEER_URL = "nifi://peer-host:8081";
+
+    private final CompressionConfiguration zstdCompression = new CompressionConfiguration(CompressionCodec.ZSTD, 5, null);
+
+    private Peer createPeer(final ByteArrayOutputStream sentByClient) throws IOException {
+        final ByteArrayOutputStream serverResponseBos = new ByteArrayOutputStream();
+        ResponseCode.PROPERTIES_OK.writeResponse(new DataOutputStream(serverResponseBos));
+
+        final SocketCommunicationsSession commsSession = mock(SocketCommunicationsSession.class);
+        final SocketInput socketIn = mock(SocketInput.class);
+        final SocketOutput socketOut = mock(SocketOutput.class);
+        when(commsSession.getInput()).thenReturn(socketIn);
+        when(commsSession.getOutput()).thenReturn(socketOut);
+        when(socketIn.getInputStream()).thenReturn(new ByteArrayInputStream(serverResponseBos.toByteArray()));
+        when(socketOut.getOutputStream()).thenReturn(sentByClient);
+
+        return new Peer(new PeerDescription("peer-host", 8081, false), commsSession, PEER_URL, PEER_URL);
+    }
+
+    private SocketClientProtocol createProtocol(final int protocolVersion) {
+        final SocketClientProtocol protocol = new SocketClientProtocol();
+        protocol.getVersionNegotiator().setVersion(protocolVersion);
+        protocol.setDestination(new RemoteDestination() {
+            @Override
+            public String getIdentifier() {
+                return DESTINATION_ID;
+            }
+
+            @Override
+            public String getName() {
+                return DESTINATION_ID;
+            }
+
+            @Override
+            public long getYieldPeriod(final TimeUnit timeUnit) {
+                return 0;
+            }
+
+            @Override
+            public boolean isUseCompression() {
+                return true;
+            }
+        });
+        protocol.setCompression(zstdCompression);
+        return protocol;
+    }
+
+    private Map<String, String> readHandshakeProperties(final ByteArrayOutputStream sentByClient) throws IOException {
+        final DataInputStream dis = new DataInputStream(new ByteArrayInputStream(sentByClient.toByteArray()));
+        dis.readUTF(); // communications identifier
+        dis.readUTF(); // transit URI prefix
+
+        final Map<String, String> properties = new HashMap<>();
+        final int propertyCount = dis.readInt();
+        for (int i = 0; i < propertyCount; i++) {
+            properties.put(dis.readUTF(), dis.readUTF());
+        }
+        return properties;
+    }
+
+    @Test
+    public void testHandshakeNegotiatesCodec() throws IOException {
+        final ByteArrayOutputStream sentByClient = new ByteArrayOutputStream();
+        final SocketClientProtocol protocol = createProtocol(7);
+
+        protocol.handshake(createPeer(sentByClient));
+
+        final Map<String, String> properties = readHandshakeProperties(sentByClient);
+        assertEquals("true", properties.get(HandshakeProperty.GZIP.name()));
+        assertEquals(CompressionCodec.ZSTD.name(), properties.get(HandshakeProperty.COMPRESSION_CODEC.name()));
+        assertEquals("5", properties.get(HandshakeProperty.COMPRESSION_LEVEL.name()));
+        assertSame(zstdCompression, protocol.getNegotiatedCompression());
+    }
+
+    @Test
+    public void testHandshakeFallsBackToDeflate() throws IOException {
+        final ByteArrayOutputStream sentByClient = new ByteArrayOutputStream();
+        final SocketClientProtocol protocol = createProtocol(6);
+
+        protocol.handshake(createPeer(sentByClient));
+
+        // A version 6 peer rejects unknown handshake properties, so the codec must not be requested
+        final Map<String, String> properties = readHandshakeProperties(sentByClient);
+        assertEquals("true", properties.get(HandshakeProperty.GZIP.name()));
+        assertFalse(properties.containsKey(HandshakeProperty.COMPRESSION_CODEC.name()));
+        assertFalse(properties.containsKey(HandshakeProperty.COMPRESSION_LEVEL.name()));
+        assertSame(CompressionConfiguration.DEFLATE, protocol.getNegotiatedCompression());
+    }
+}
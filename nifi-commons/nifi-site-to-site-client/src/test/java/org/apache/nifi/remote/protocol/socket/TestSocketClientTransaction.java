@@ -23,6 +23,8 @@ import org.apache.nifi.remote.Transaction;
 import org.apache.nifi.remote.TransferDirection;
 import org.apache.nifi.remote.codec.FlowFileCodec;
 import org.apache.nifi.remote.codec.StandardFlowFileCodec;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.io.socket.SocketCommunicationsSession;
 import org.apache.nifi.remote.io.socket.SocketInput;
 import org.apache.nifi.remote.io.socket.SocketOutput;
@@ -38,7 +40,11 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.createDataPacket;
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.execReceiveOneFlowFile;
@@ -61,6 +67,11 @@ public class TestSocketClientTransaction {
     private FlowFileCodec codec = new StandardFlowFileCodec();
 
     private SocketClientTransaction getClientTransaction(ByteArrayInputStream bis, ByteArrayOutputStream bos, TransferDirection direction) throws IOException {
+        return getClientTransaction(bis, bos, direction, null, 5);
+    }
+
+    private SocketClientTransaction getClientTransaction(ByteArrayInputStream bis, ByteArrayOutputStream bos, TransferDirection direction,
+                                                         CompressionConfiguration compression, int protocolVersion) throws IOException {
         PeerDescription description = null;
         String peerUrl = "";
         SocketCommunicationsSession commsSession = mock(SocketCommunicationsSession.class);
@@ -74,12 +85,10 @@ public class TestSocketClientTransaction {
 
         String clusterUrl = "";
         Peer peer = new Peer(description, commsSession, peerUrl, clusterUrl);
-        boolean useCompression = false;
         int penaltyMillis = 1000;
         EventReporter eventReporter = null;
-        int protocolVersion = 5;
         String destinationId = "destinationId";
-        return new SocketClientTransaction(protocolVersion, destinationId, peer, codec, direction, useCompression, penaltyMillis, eventReporter);
+        return new SocketClientTransaction(protocolVersion, destinationId, peer, codec, direction, compression, penaltyMillis, eventReporter);
     }
 
     @Test
@@ -163,6 +172,45 @@ public class TestSocketClientTransaction {
         assertEquals(-1, sentByClient.read());
     }
 
+    @Test
+    public void testReceiveTwoFlowFilesWithZstd() throws IOException {
+        final CompressionConfiguration serverCompression = new CompressionConfiguration(CompressionCodec.ZSTD, 3, null);
+
+        ByteArrayOutputStream serverResponseBos = new ByteArrayOutputStream();
+        DataOutputStream serverResponse = new DataOutputStream(serverResponseBos);
+        ResponseCode.MORE_DATA.writeResponse(serverResponse);
+        try (OutputStream compressed = serverCompression.createOutputStream(serverResponse)) {
+            codec.encode(createDataPacket("contents on server 1"), compressed);
+        }
+        ResponseCode.CONTINUE_TRANSACTION.writeResponse(serverResponse);
+        try (OutputStream compressed = serverCompression.createOutputStream(serverResponse)) {
+            codec.encode(createDataPacket("contents on server 2"), compressed);
+        }
+        ResponseCode.FINISH_TRANSACTION.writeResponse(serverResponse);
+        ResponseCode.CONFIRM_TRANSACTION.writeResponse(serverResponse, "Checksum has been verified at server.");
+
+        ByteArrayInputStream bis = new ByteArrayInputStream(serverResponseBos.toByteArray());
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+        final TrackingCompressionConfiguration compression = new TrackingCompressionConfiguration(CompressionCodec.ZSTD, 3);
+        SocketClientTransaction transaction = getClientTransaction(bis, bos, TransferDirection.RECEIVE, compression, 7);
+
+        execReceiveTwoFlowFiles(transaction);
+
+        // Each decompressing stream holds a native Zstandard context until it is closed
+        assertEquals(2, compression.created.get());
+        assertEquals(2, compression.closed.get());
+
+        DataInputStream sentByClient = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        assertEquals(RequestType.RECEIVE_FLOWFILES, RequestType.readRequestType(sentByClient));
+        Response confirmResponse = Response.read(sentByClient);
+        assertEquals(ResponseCode.CONFIRM_TRANSACTION, confirmResponse.getCode());
+        assertEquals("2969091230", confirmResponse.getMessage(), "Checksum should be calculated on decompressed data at client");
+        Response completeResponse = Response.read(sentByClient);
+        assertEquals(ResponseCode.TRANSACTION_FINISHED, completeResponse.getCode());
+        assertEquals(-1, sentByClient.read());
+    }
+
     @Test
     public void testReceiveWithInvalidChecksum() throws IOException {
 
@@ -331,4 +379,24 @@ public class TestSocketClientTransaction {
         assertEquals(-1, sentByClient.read());
     }
 
+    private static class TrackingCompressionConfiguration extends CompressionConfiguration {
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+
+        TrackingCompressionConfiguration(final CompressionCodec codec, final int level) {
+            super(codec, level, null);
+        }
+
+        @Override
+        public InputStream createInputStream(final InputStream in) {
+            created.incrementAndGet();
+            return new FilterInputStream(super.createInputStream(in)) {
+                @Override
+                public void close() throws IOException {
+                    closed.incrementAndGet();
+                    super.close();
+                }
+            };
+        }
+    }
 }
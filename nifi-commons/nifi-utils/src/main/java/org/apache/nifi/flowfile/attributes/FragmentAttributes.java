@@ -49,6 +49,13 @@ public enum FragmentAttributes implements FlowFileAttributeKey {
      */
     SEGMENT_ORIGINAL_FILENAME("segment.original.filename");
 
+    /**
+     * Prefix of the attributes that hold the fragment attributes a FlowFile already had before it was split again.
+     */
+    public static final String ORIGINAL_PREFIX = "original.";
+
+    private static final FragmentAttributes[] SPLIT_ATTRIBUTES = {FRAGMENT_ID, FRAGMENT_INDEX, FRAGMENT_COUNT, SEGMENT_ORIGINAL_FILENAME};
+
     private final String key;
 
     FragmentAttributes(final String key) {
@@ -70,4 +77,50 @@ public enum FragmentAttributes implements FlowFileAttributeKey {
         return processSession.putAllAttributes(originalFlowFile, attributesToOriginal);
     }
 
+    /**
+     * Copies the attributes of a FlowFile that is about to be split, preserving any fragment attributes it already has
+     * under the {@link #ORIGINAL_PREFIX} so that they can be restored by {@link #restoreOriginalAttributes(Map)} once
+     * the splits are reassembled. Only one level of nesting is preserved.
+     *
+     * @param attributes the attributes of the FlowFile being split
+     * @return a modifiable copy of the attributes, including the preserved fragment attributes
+     */
+    public static Map<String, String> preserveOriginalAttributes(final Map<String, String> attributes) {
+        final Map<String, String> preserved = new HashMap<>(attributes);
+        boolean fragment = false;
+        for (final FragmentAttributes attribute : SPLIT_ATTRIBUTES) {
+            fragment |= attributes.containsKey(attribute.key());
+        }
+
+        if (fragment) {
+            for (final FragmentAttributes attribute : SPLIT_ATTRIBUTES) {
+                final String value = attributes.get(attribute.key());
+                // An empty value records that the attribute was absent, so that the split value is removed on restore
+                preserved.put(ORIGINAL_PREFIX + attribute.key(), value == null ? "" : value);
+            }
+        }
+        return preserved;
+    }
+
+    /**
+     * Replaces the fragment attributes of reassembled content with those preserved by {@link #preserveOriginalAttributes(Map)},
+     * removing the preserved copies. Attributes are left unchanged if no fragment attributes were preserved.
+     *
+     * @param attributes the modifiable attributes of the reassembled content
+     */
+    public static void restoreOriginalAttributes(final Map<String, String> attributes) {
+        for (final FragmentAttributes attribute : SPLIT_ATTRIBUTES) {
+            final String original = attributes.remove(ORIGINAL_PREFIX + attribute.key());
+            if (original == null) {
+                continue;
+            }
+
+            if (original.isEmpty()) {
+                attributes.remove(attribute.key());
+            } else {
+                attributes.put(attribute.key(), original);
+            }
+        }
+    }
+
 }
@@ -26,6 +26,8 @@ public enum StandardFlowFileMediaType implements FlowFileMediaType {
 
     VERSION_3("application/flowfile-v3"),
 
+    VERSION_3_INDEXED("application/flowfile-v3-indexed"),
+
     VERSION_UNSPECIFIED("application/flowfile");
 
     private String mediaType;
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.stream.io.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Utility for locating delimiter bytes within a byte array. Rather than
+ * comparing one byte at a time, the scan reads eight bytes at a time as a
+ * single <code>long</code> and uses the SWAR (SIMD Within A Register)
+ * "has zero byte" technique to test all eight bytes at once, falling back to
+ * per-byte comparison only for the tail of the range.
+ * <p>
+ * NOTE: All operations are stateless and thread-safe.
+ * </p>
+ */
+public final class DelimiterScanner {
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long LOW_BITS = 0x0101010101010101L;
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private static final long CR_PATTERN = pattern((byte) '\r');
+
+    private static final long LF_PATTERN = pattern((byte) '\n');
+
+    private DelimiterScanner() {
+    }
+
+    /**
+     * Returns the index of the first occurrence of <code>value</code> within
+     * <code>buffer</code> between <code>fromIndex</code> (inclusive) and
+     * <code>toIndex</code> (exclusive), or <code>-1</code> if not found.
+     */
+    public static int indexOf(final byte[] buffer, final int fromIndex, final int toIndex, final byte value) {
+        final long valuePattern = pattern(value);
+        int i = fromIndex;
+        for (; i + Long.BYTES <= toIndex; i += Long.BYTES) {
+            final long mask = zeroBytes((long) LONG_VIEW.get(buffer, i) ^ valuePattern);
+            if (mask != 0) {
+                return i + firstMarkedByte(mask);
+            }
+        }
+        for (; i < toIndex; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of either '\r' or '\n' within
+     * <code>buffer</code> between <code>fromIndex</code> (inclusive) and
+     * <code>toIndex</code> (exclusive), or <code>-1</code> if not found.
+     */
+    public static int indexOfLineTerminator(final byte[] buffer, final int fromIndex, final int toIndex) {
+        int i = fromIndex;
+        for (; i + Long.BYTES <= toIndex; i += Long.BYTES) {
+            final long word = (long) LONG_VIEW.get(buffer, i);
+            final long mask = zeroBytes(word ^ CR_PATTERN) | zeroBytes(word ^ LF_PATTERN);
+            if (mask != 0) {
+                return i + firstMarkedByte(mask);
+            }
+        }
+        for (; i < toIndex; i++) {
+            if (buffer[i] == '\r' || buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first complete occurrence of
+     * <code>sequence</code> within <code>buffer</code> between
+     * <code>fromIndex</code> (inclusive) and <code>toIndex</code> (exclusive),
+     * or <code>-1</code> if not found. Candidate positions are located by
+     * scanning for the first byte of the sequence.
+     */
+    public static int indexOf(final byte[] buffer, final int fromIndex, final int toIndex, final byte[] sequence) {
+        if (sequence.length == 0) {
+            throw new IllegalArgumentException("'sequence' must not be empty");
+        }
+        final int lastStart = toIndex - sequence.length;
+        int candidate = fromIndex;
+        while (candidate <= lastStart) {
+            candidate = indexOf(buffer, candidate, lastStart + 1, sequence[0]);
+            if (candidate < 0) {
+                return -1;
+            }
+            if (matches(buffer, candidate, sequence)) {
+                return candidate;
+            }
+            candidate++;
+        }
+        return -1;
+    }
+
+    private static boolean matches(final byte[] buffer, final int start, final byte[] sequence) {
+        for (int i = 1; i < sequence.length; i++) {
+            if (buffer[start + i] != sequence[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long pattern(final byte value) {
+        return (value & 0xFFL) * LOW_BITS;
+    }
+
+    /*
+     * Sets the high bit of every byte that was zero. Bytes above a zero byte
+     * may also be flagged due to borrow propagation, but the lowest flagged
+     * byte is always exact, which is all the callers rely on.
+     */
+    private static long zeroBytes(final long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+
+    private static int firstMarkedByte(final long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+}
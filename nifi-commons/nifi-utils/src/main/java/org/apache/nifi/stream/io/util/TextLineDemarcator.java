@@ -95,6 +95,18 @@ public class TextLineDemarcator extends AbstractDemarcator {
                 byte byteVal;
                 int i;
                 for (i = this.index; i < this.availableBytesLength; i++) {
+                    if (previousByteVal != CR) {
+                        // skip over bytes that can not terminate a line a word at a time
+                        int terminatorIndex = DelimiterScanner.indexOfLineTerminator(this.buffer, i, this.availableBytesLength);
+                        if (terminatorIndex != i) {
+                            previousByteVal = 0;
+                            if (terminatorIndex < 0) {
+                                i = this.availableBytesLength;
+                                break;
+                            }
+                            i = terminatorIndex;
+                        }
+                    }
                     byteVal = this.buffer[i];
 
                     if (byteVal == LF) {
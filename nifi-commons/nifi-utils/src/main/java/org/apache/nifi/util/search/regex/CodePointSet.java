@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util.search.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable set of Unicode code points, stored as a sorted array of non-overlapping, non-adjacent inclusive ranges.
+ */
+final class CodePointSet {
+    static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    static final CodePointSet EMPTY = new CodePointSet(new int[0]);
+    static final CodePointSet DIGITS = range('0', '9');
+    static final CodePointSet WORD = of(range('a', 'z'), range('A', 'Z'), range('0', '9'), single('_'));
+    static final CodePointSet WHITESPACE = of(single(' '), range('\t', '\r'));
+    static final CodePointSet LINE_TERMINATORS = of(single('\n'), single('\r'), single('\u0085'), single('\u2028'), single('\u2029'));
+    static final CodePointSet ANY_EXCEPT_LINE_TERMINATORS = LINE_TERMINATORS.complement();
+
+    // pairs of inclusive [start, end] ranges
+    private final int[] ranges;
+
+    private CodePointSet(final int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    static CodePointSet single(final int codePoint) {
+        return new CodePointSet(new int[] {codePoint, codePoint});
+    }
+
+    static CodePointSet range(final int start, final int end) {
+        return new CodePointSet(new int[] {start, end});
+    }
+
+    static CodePointSet of(final CodePointSet... sets) {
+        CodePointSet result = EMPTY;
+        for (final CodePointSet set : sets) {
+            result = result.union(set);
+        }
+        return result;
+    }
+
+    boolean contains(final int codePoint) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (codePoint < ranges[mid * 2]) {
+                high = mid - 1;
+            } else if (codePoint > ranges[mid * 2 + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the only code point in this set, or <code>-1</code> if this set does not contain exactly one code point
+     */
+    int getSingleCodePoint() {
+        return ranges.length == 2 && ranges[0] == ranges[1] ? ranges[0] : -1;
+    }
+
+    boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    CodePointSet union(final CodePointSet other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+
+        final List<int[]> all = new ArrayList<>(ranges.length / 2 + other.ranges.length / 2);
+        addRanges(ranges, all);
+        addRanges(other.ranges, all);
+        all.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        final int[] merged = new int[all.size() * 2];
+        int count = 0;
+        for (final int[] range : all) {
+            if (count > 0 && range[0] <= merged[count - 1] + 1) {
+                merged[count - 1] = Math.max(merged[count - 1], range[1]);
+            } else {
+                merged[count++] = range[0];
+                merged[count++] = range[1];
+            }
+        }
+
+        return new CodePointSet(Arrays.copyOf(merged, count));
+    }
+
+    CodePointSet complement() {
+        final int[] complement = new int[ranges.length + 2];
+        int count = 0;
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                complement[count++] = next;
+                complement[count++] = ranges[i] - 1;
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= MAX_CODE_POINT) {
+            complement[count++] = next;
+            complement[count++] = MAX_CODE_POINT;
+        }
+
+        return new CodePointSet(Arrays.copyOf(complement, count));
+    }
+
+    /**
+     * Adds the other case of every US-ASCII letter in this set, which is how {@link java.util.regex.Pattern#CASE_INSENSITIVE} matches
+     * when {@link java.util.regex.Pattern#UNICODE_CASE} is not specified.
+     */
+    CodePointSet caseInsensitive() {
+        CodePointSet result = this;
+        for (int i = 0; i < ranges.length; i += 2) {
+            final int lowerStart = Math.max(ranges[i], 'a');
+            final int lowerEnd = Math.min(ranges[i + 1], 'z');
+            if (lowerStart <= lowerEnd) {
+                result = result.union(range(lowerStart - 'a' + 'A', lowerEnd - 'a' + 'A'));
+            }
+
+            final int upperStart = Math.max(ranges[i], 'A');
+            final int upperEnd = Math.min(ranges[i + 1], 'Z');
+            if (upperStart <= upperEnd) {
+                result = result.union(range(upperStart - 'A' + 'a', upperEnd - 'A' + 'a'));
+            }
+        }
+        return result;
+    }
+
+    private static void addRanges(final int[] ranges, final List<int[]> destination) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            destination.add(new int[] {ranges[i], ranges[i + 1]});
+        }
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util.search.regex;
+
+import org.apache.nifi.util.search.regex.RegexParser.ParsedPattern;
+import org.apache.nifi.util.search.regex.RegexParser.UnsupportedPatternException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Evaluates many regular expressions against the same input in a single pass. The patterns are compiled into one combined
+ * NFA, which is lazily converted into a DFA as input is scanned, so that the cost of matching a line is proportional to the
+ * length of the line rather than to the number of patterns multiplied by the length of the line.
+ * </p>
+ *
+ * <p>
+ * The results are identical to those of {@link Matcher#matches()} or {@link Matcher#find()},
+ * depending on the {@link MatchMode}. Patterns that use constructs a finite automaton cannot evaluate, such as back-references
+ * or lookaround, are transparently evaluated using {@link Pattern} instead, as is any input that contains surrogate characters.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread-safe. The DFA states are shared by all threads and are bounded in number; once the limit
+ * is reached, additional states are computed as needed without being cached.
+ * </p>
+ */
+public final class MultiPatternMatcher {
+    private static final int MAX_CACHED_STATES = 10_000;
+    private static final int ASCII_SIZE = 128;
+
+    public enum MatchMode {
+        /**
+         * A pattern matches if it matches the entire input, as with {@link Matcher#matches()}
+         */
+        FULL_MATCH,
+
+        /**
+         * A pattern matches if it matches any part of the input, as with {@link Matcher#find()}
+         */
+        FIND
+    }
+
+    private final List<String> regexes;
+    private final Pattern[] patterns;
+    private final MatchMode matchMode;
+    private final int[] fallbackIndices;
+    private final int automatonPatternCount;
+
+    private final Nfa nfa;
+    private final int[] unanchoredStarts;
+    private final DfaState initialState;
+    private final ConcurrentMap<StateKey, DfaState> states = new ConcurrentHashMap<>();
+
+    private MultiPatternMatcher(final List<String> regexes, final Pattern[] patterns, final List<ParsedPattern> parsedPatterns, final MatchMode matchMode) {
+        this.regexes = Collections.unmodifiableList(new ArrayList<>(regexes));
+        this.patterns = patterns;
+        this.matchMode = matchMode;
+
+        this.nfa = Nfa.build(parsedPatterns, matchMode == MatchMode.FIND);
+
+        final List<Integer> fallbacks = new ArrayList<>();
+        for (int i = 0; i < parsedPatterns.size(); i++) {
+            if (parsedPatterns.get(i) == null) {
+                fallbacks.add(i);
+            }
+        }
+        this.fallbackIndices = fallbacks.stream().mapToInt(Integer::intValue).toArray();
+        this.automatonPatternCount = patterns.length - fallbackIndices.length;
+
+        this.unanchoredStarts = nfa.getStartStates(false);
+        final int[] allStarts = nfa.getStartStates(true);
+        this.initialState = getState(nfa.closure(allStarts, allStarts.length, new boolean[nfa.getStateCount()]));
+    }
+
+    /**
+     * Compiles the given regular expressions, using the syntax of {@link Pattern}, into a single matcher.
+     *
+     * @param regexes the regular expressions
+     * @param caseInsensitive whether or not the patterns should be compiled with {@link Pattern#CASE_INSENSITIVE}
+     * @param matchMode whether each pattern must match the entire input or any part of it
+     * @return a matcher for the given patterns
+     * @throws java.util.regex.PatternSyntaxException if any of the regular expressions is not valid
+     */
+    public static MultiPatternMatcher compile(final List<String> regexes, final boolean caseInsensitive, final MatchMode matchMode) {
+        final Pattern[] patterns = new Pattern[regexes.size()];
+        final List<ParsedPattern> parsedPatterns = new ArrayList<>(regexes.size());
+        for (int i = 0; i < regexes.size(); i++) {
+            final String regex = regexes.get(i);
+            patterns[i] = caseInsensitive ? Pattern.compile(regex, Pattern.CASE_INSENSITIVE) : Pattern.compile(regex);
+
+            ParsedPattern parsedPattern;
+            try {
+                parsedPattern = RegexParser.parse(regex, caseInsensitive);
+            } catch (final UnsupportedPatternException e) {
+                parsedPattern = null;
+            }
+            parsedPatterns.add(parsedPattern);
+        }
+
+        return new MultiPatternMatcher(regexes, patterns, parsedPatterns, matchMode);
+    }
+
+    /**
+     * @return the regular expressions, in the order in which they were provided
+     */
+    public List<String> getRegexes() {
+        return regexes;
+    }
+
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    /**
+     * @return the number of patterns that could not be compiled into the automaton and are evaluated using {@link Pattern}
+     */
+    public int getFallbackPatternCount() {
+        return fallbackIndices.length;
+    }
+
+    public MatchMode getMatchMode() {
+        return matchMode;
+    }
+
+    /**
+     * Determines which of the patterns match the given input.
+     *
+     * @param input the input to match against
+     * @return a BitSet in which bit <code>i</code> is set if and only if the pattern at index <code>i</code> matches
+     */
+    public BitSet match(final CharSequence input) {
+        final BitSet matched = new BitSet(patterns.length);
+        if (automatonPatternCount > 0 && !runAutomaton(input, matched)) {
+            return matchWithPatterns(input, matched, null);
+        }
+
+        return matchWithPatterns(input, matched, fallbackIndices);
+    }
+
+    private BitSet matchWithPatterns(final CharSequence input, final BitSet matched, final int[] indices) {
+        if (indices == null) {
+            matched.clear();
+            for (int i = 0; i < patterns.length; i++) {
+                if (matches(i, input)) {
+                    matched.set(i);
+                }
+            }
+        } else {
+            for (final int index : indices) {
+                if (matches(index, input)) {
+                    matched.set(index);
+                }
+            }
+        }
+
+        return matched;
+    }
+
+    private boolean matches(final int patternIndex, final CharSequence input) {
+        final Matcher matcher = patterns[patternIndex].matcher(input);
+        return matchMode == MatchMode.FULL_MATCH ? matcher.matches() : matcher.find();
+    }
+
+    /**
+     * Runs the automaton over the input, setting the bits of all patterns that are evaluated by the automaton and match.
+     *
+     * @return <code>false</code> if the input cannot be evaluated by the automaton, <code>true</code> otherwise
+     */
+    private boolean runAutomaton(final CharSequence input, final BitSet matched) {
+        final int length = input.length();
+        DfaState state = initialState;
+
+        if (matchMode == MatchMode.FULL_MATCH) {
+            for (int i = 0; i < length && !state.isDead(); i++) {
+                final char c = input.charAt(i);
+                if (Character.isSurrogate(c)) {
+                    return false;
+                }
+                state = nextState(state, c);
+            }
+
+            if (state.accepts != null) {
+                matched.or(state.accepts);
+            }
+            return true;
+        }
+
+        for (int i = 0; ; i++) {
+            if (state.accepts != null) {
+                matched.or(state.accepts);
+                if (matched.cardinality() == automatonPatternCount) {
+                    return true;
+                }
+            }
+            if (state.endAccepts != null && isEndPosition(input, i, length)) {
+                matched.or(state.endAccepts);
+            }
+            if (i == length) {
+                return true;
+            }
+
+            final char c = input.charAt(i);
+            if (Character.isSurrogate(c)) {
+                return false;
+            }
+            state = nextState(state, c);
+        }
+    }
+
+    /**
+     * Determines whether or not the given position is one at which <code>$</code> matches, which is the end of the input or the
+     * position of a line terminator that ends the input.
+     */
+    private static boolean isEndPosition(final CharSequence input, final int index, final int length) {
+        if (index == length) {
+            return true;
+        }
+        if (index == length - 2) {
+            return input.charAt(index) == '\r' && input.charAt(index + 1) == '\n';
+        }
+        if (index == length - 1) {
+            final char c = input.charAt(index);
+            if (c == '\n') {
+                return index == 0 || input.charAt(index - 1) != '\r';
+            }
+            return c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+        return false;
+    }
+
+    private DfaState nextState(final DfaState state, final char c) {
+        if (!state.cached) {
+            return computeNextState(state, c);
+        }
+
+        DfaState next;
+        if (c < ASCII_SIZE) {
+            next = state.asciiTransitions[c];
+        } else {
+            next = state.otherTransitions.get(c);
+        }
+        if (next != null) {
+            return next;
+        }
+
+        next = computeNextState(state, c);
+        if (next.cached) {
+            if (c < ASCII_SIZE) {
+                state.asciiTransitions[c] = next;
+            } else {
+                state.otherTransitions.put(c, next);
+            }
+        }
+        return next;
+    }
+
+    private DfaState computeNextState(final DfaState state, final char c) {
+        final int[] current = state.nfaStates;
+        final int extra = matchMode == MatchMode.FIND ? unanchoredStarts.length : 0;
+        final int[] moved = new int[current.length + extra];
+        int count = 0;
+        for (final int nfaState : current) {
+            if (nfa.getType(nfaState) == Nfa.CHARACTER && nfa.getCharacters(nfaState).contains(c)) {
+                moved[count++] = nfa.getNext(nfaState);
+            }
+        }
+        if (extra > 0) {
+            System.arraycopy(unanchoredStarts, 0, moved, count, extra);
+            count += extra;
+        }
+
+        return getState(nfa.closure(moved, count, new boolean[nfa.getStateCount()]));
+    }
+
+    private DfaState getState(final int[] nfaStates) {
+        final StateKey key = new StateKey(nfaStates);
+        final DfaState existing = states.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (states.size() >= MAX_CACHED_STATES) {
+            return new DfaState(nfaStates, nfa, patterns.length, false);
+        }
+
+        final DfaState created = new DfaState(nfaStates, nfa, patterns.length, true);
+        final DfaState raced = states.putIfAbsent(key, created);
+        return raced == null ? created : raced;
+    }
+
+    private static final class DfaState {
+        private final int[] nfaStates;
+        private final BitSet accepts;
+        private final BitSet endAccepts;
+        private final boolean cached;
+        private final DfaState[] asciiTransitions;
+        private final ConcurrentMap<Character, DfaState> otherTransitions;
+
+        DfaState(final int[] nfaStates, final Nfa nfa, final int patternCount, final boolean cached) {
+            this.nfaStates = nfaStates;
+            this.cached = cached;
+
+            BitSet accepted = null;
+            BitSet endAccepted = null;
+            for (final int nfaState : nfaStates) {
+                if (nfa.getType(nfaState) != Nfa.ACCEPT) {
+                    continue;
+                }
+
+                if (nfa.isEndAnchored(nfaState)) {
+                    if (endAccepted == null) {
+                        endAccepted = new BitSet(patternCount);
+                    }
+                    endAccepted.set(nfa.getPatternIndex(nfaState));
+                } else {
+                    if (accepted == null) {
+                        accepted = new BitSet(patternCount);
+                    }
+                    accepted.set(nfa.getPatternIndex(nfaState));
+                }
+            }
+            this.accepts = accepted;
+            this.endAccepts = endAccepted;
+
+            this.asciiTransitions = cached ? new DfaState[ASCII_SIZE] : null;
+            this.otherTransitions = cached ? new ConcurrentHashMap<>(4) : null;
+        }
+
+        boolean isDead() {
+            return nfaStates.length == 0;
+        }
+    }
+
+    private static final class StateKey {
+        private final int[] nfaStates;
+        private final int hashCode;
+
+        StateKey(final int[] nfaStates) {
+            this.nfaStates = nfaStates;
+            this.hashCode = Arrays.hashCode(nfaStates);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof StateKey)) {
+                return false;
+            }
+            return Arrays.equals(nfaStates, ((StateKey) obj).nfaStates);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util.search.regex;
+
+import org.apache.nifi.util.search.regex.RegexParser.Alternation;
+import org.apache.nifi.util.search.regex.RegexParser.CharacterClass;
+import org.apache.nifi.util.search.regex.RegexParser.Concatenation;
+import org.apache.nifi.util.search.regex.RegexParser.Node;
+import org.apache.nifi.util.search.regex.RegexParser.ParsedPattern;
+import org.apache.nifi.util.search.regex.RegexParser.Repetition;
+import org.apache.nifi.util.search.regex.RegexParser.UnsupportedPatternException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A Thompson NFA combining any number of patterns. Each pattern has its own start state and its own accepting state, so that
+ * a single simulation reports every pattern that matches. States are either character states, which consume a single
+ * character belonging to a {@link CodePointSet}, split states, which are epsilon transitions to two other states, or
+ * accepting states.
+ */
+final class Nfa {
+    static final byte CHARACTER = 0;
+    static final byte SPLIT = 1;
+    static final byte ACCEPT = 2;
+
+    private static final int MAX_STATES_PER_PATTERN = 20_000;
+    private static final int NONE = -1;
+
+    private byte[] types = new byte[64];
+    private CodePointSet[] characters = new CodePointSet[64];
+    private int[] out1 = new int[64];
+    private int[] out2 = new int[64];
+    private int stateCount = 0;
+
+    private final int[] anchoredStarts;
+    private final int[] unanchoredStarts;
+    private int anchoredCount = 0;
+    private int unanchoredCount = 0;
+
+    private Nfa(final int patternCount) {
+        anchoredStarts = new int[patternCount];
+        unanchoredStarts = new int[patternCount];
+    }
+
+    /**
+     * Builds an NFA from the given patterns. An element of the given list may be <code>null</code>, in which case that pattern is
+     * not part of the NFA. If a pattern would require too many states, its element in the list is set to <code>null</code>.
+     *
+     * @param patterns the parsed patterns, indexed by pattern index
+     * @param endAnchorSignificant whether end anchors must be honored or may be ignored, as is the case when the entire input must match
+     * @return the NFA
+     */
+    static Nfa build(final List<ParsedPattern> patterns, final boolean endAnchorSignificant) {
+        final Nfa nfa = new Nfa(patterns.size());
+        for (int i = 0; i < patterns.size(); i++) {
+            final ParsedPattern pattern = patterns.get(i);
+            if (pattern == null) {
+                continue;
+            }
+
+            final int checkpoint = nfa.stateCount;
+            try {
+                final int accept = nfa.addState(ACCEPT, null, i, (endAnchorSignificant && pattern.isAnchoredEnd()) ? 1 : 0);
+                final int start = nfa.compile(pattern.getRoot(), accept, checkpoint);
+                if (pattern.isAnchoredStart()) {
+                    nfa.anchoredStarts[nfa.anchoredCount++] = start;
+                } else {
+                    nfa.unanchoredStarts[nfa.unanchoredCount++] = start;
+                }
+            } catch (final UnsupportedPatternException e) {
+                nfa.stateCount = checkpoint;
+                patterns.set(i, null);
+            }
+        }
+
+        return nfa;
+    }
+
+    private int compile(final Node node, final int next, final int checkpoint) throws UnsupportedPatternException {
+        if (stateCount - checkpoint > MAX_STATES_PER_PATTERN) {
+            throw new UnsupportedPatternException("Pattern requires too many states");
+        }
+
+        if (node instanceof CharacterClass) {
+            return addState(CHARACTER, ((CharacterClass) node).characters, next, NONE);
+        }
+
+        if (node instanceof Concatenation) {
+            final List<Node> elements = ((Concatenation) node).elements;
+            int start = next;
+            for (int i = elements.size() - 1; i >= 0; i--) {
+                start = compile(elements.get(i), start, checkpoint);
+            }
+            return start;
+        }
+
+        if (node instanceof Alternation) {
+            final List<Node> alternatives = ((Alternation) node).alternatives;
+            int start = compile(alternatives.get(alternatives.size() - 1), next, checkpoint);
+            for (int i = alternatives.size() - 2; i >= 0; i--) {
+                start = addState(SPLIT, null, compile(alternatives.get(i), next, checkpoint), start);
+            }
+            return start;
+        }
+
+        if (node instanceof Repetition) {
+            final Repetition repetition = (Repetition) node;
+            int start;
+            if (repetition.max < 0) {
+                final int loop = addState(SPLIT, null, NONE, next);
+                // compile the body before storing, as adding its states may replace the out1 array
+                final int body = compile(repetition.node, loop, checkpoint);
+                out1[loop] = body;
+                start = loop;
+            } else {
+                start = next;
+                for (int i = repetition.min; i < repetition.max; i++) {
+                    start = addState(SPLIT, null, compile(repetition.node, start, checkpoint), next);
+                }
+            }
+
+            for (int i = 0; i < repetition.min; i++) {
+                start = compile(repetition.node, start, checkpoint);
+            }
+            return start;
+        }
+
+        throw new UnsupportedPatternException("Unsupported construct " + node.getClass().getSimpleName());
+    }
+
+    private int addState(final byte type, final CodePointSet set, final int first, final int second) {
+        if (stateCount == types.length) {
+            final int capacity = stateCount * 2;
+            types = Arrays.copyOf(types, capacity);
+            characters = Arrays.copyOf(characters, capacity);
+            out1 = Arrays.copyOf(out1, capacity);
+            out2 = Arrays.copyOf(out2, capacity);
+        }
+
+        types[stateCount] = type;
+        characters[stateCount] = set;
+        out1[stateCount] = first;
+        out2[stateCount] = second;
+        return stateCount++;
+    }
+
+    int getStateCount() {
+        return stateCount;
+    }
+
+    byte getType(final int state) {
+        return types[state];
+    }
+
+    CodePointSet getCharacters(final int state) {
+        return characters[state];
+    }
+
+    /**
+     * @return for a character state, the state that follows once the character is consumed
+     */
+    int getNext(final int state) {
+        return out1[state];
+    }
+
+    /**
+     * @return for an accepting state, the index of the pattern that is matched
+     */
+    int getPatternIndex(final int state) {
+        return out1[state];
+    }
+
+    /**
+     * @return for an accepting state, whether the pattern only matches at the end of the input or before a final line terminator
+     */
+    boolean isEndAnchored(final int state) {
+        return out2[state] == 1;
+    }
+
+    int[] getStartStates(final boolean includeAnchored) {
+        final int[] unanchored = Arrays.copyOf(unanchoredStarts, unanchoredCount);
+        if (!includeAnchored) {
+            return unanchored;
+        }
+
+        final int[] starts = Arrays.copyOf(unanchored, unanchoredCount + anchoredCount);
+        System.arraycopy(anchoredStarts, 0, starts, unanchoredCount, anchoredCount);
+        return starts;
+    }
+
+    /**
+     * Computes the epsilon closure of the given states, adding to the given seen array and returning only character and accepting
+     * states, in ascending order.
+     */
+    int[] closure(final int[] seeds, final int seedCount, final boolean[] seen) {
+        final int[] stack = new int[stateCount];
+        int stackSize = 0;
+        for (int i = 0; i < seedCount; i++) {
+            final int seed = seeds[i];
+            if (seed >= 0 && !seen[seed]) {
+                seen[seed] = true;
+                stack[stackSize++] = seed;
+            }
+        }
+
+        int[] result = new int[Math.max(8, seedCount)];
+        int resultSize = 0;
+        while (stackSize > 0) {
+            final int state = stack[--stackSize];
+            if (types[state] == SPLIT) {
+                final int first = out1[state];
+                if (!seen[first]) {
+                    seen[first] = true;
+                    stack[stackSize++] = first;
+                }
+                final int second = out2[state];
+                if (!seen[second]) {
+                    seen[second] = true;
+                    stack[stackSize++] = second;
+                }
+            } else {
+                if (resultSize == result.length) {
+                    result = Arrays.copyOf(result, resultSize * 2);
+                }
+                result[resultSize++] = state;
+            }
+        }
+
+        final int[] sorted = Arrays.copyOf(result, resultSize);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util.search.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the regular subset of the {@link java.util.regex.Pattern} syntax into a tree of {@link Node}s. Any construct whose
+ * semantics cannot be expressed by a finite automaton (back-references, lookaround, atomic groups, possessive quantifiers),
+ * or whose exact Java semantics are not reproduced here, results in an {@link UnsupportedPatternException} so that
+ * the caller can fall back to {@link java.util.regex.Pattern}. The pattern is expected to have already been validated by
+ * {@link java.util.regex.Pattern#compile(String, int)}.
+ */
+final class RegexParser {
+    private static final int MAX_REPETITION = 100;
+
+    private final String pattern;
+    private final boolean caseInsensitive;
+    private int position = 0;
+
+    private RegexParser(final String pattern, final boolean caseInsensitive) {
+        this.pattern = pattern;
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    static ParsedPattern parse(final String pattern, final boolean caseInsensitive) throws UnsupportedPatternException {
+        final RegexParser parser = new RegexParser(pattern, caseInsensitive);
+        Node root = parser.parseAlternation();
+        if (parser.position < pattern.length()) {
+            throw new UnsupportedPatternException("Unexpected character at index " + parser.position);
+        }
+
+        boolean anchoredStart = false;
+        boolean anchoredEnd = false;
+        final List<Node> elements = new ArrayList<>();
+        if (root instanceof Concatenation) {
+            elements.addAll(((Concatenation) root).elements);
+        } else {
+            elements.add(root);
+        }
+
+        if (!elements.isEmpty() && elements.get(0) instanceof StartAnchor) {
+            anchoredStart = true;
+            elements.remove(0);
+        }
+        if (!elements.isEmpty() && elements.get(elements.size() - 1) instanceof EndAnchor) {
+            anchoredEnd = true;
+            elements.remove(elements.size() - 1);
+        }
+
+        root = new Concatenation(elements);
+        if (containsAnchor(root)) {
+            throw new UnsupportedPatternException("Anchors are only supported at the beginning and end of the pattern");
+        }
+
+        return new ParsedPattern(root, anchoredStart, anchoredEnd);
+    }
+
+    private static boolean containsAnchor(final Node node) {
+        if (node instanceof StartAnchor || node instanceof EndAnchor) {
+            return true;
+        }
+        if (node instanceof Concatenation) {
+            return ((Concatenation) node).elements.stream().anyMatch(RegexParser::containsAnchor);
+        }
+        if (node instanceof Alternation) {
+            return ((Alternation) node).alternatives.stream().anyMatch(RegexParser::containsAnchor);
+        }
+        if (node instanceof Repetition) {
+            return containsAnchor(((Repetition) node).node);
+        }
+        return false;
+    }
+
+    private Node parseAlternation() throws UnsupportedPatternException {
+        final List<Node> alternatives = new ArrayList<>();
+        alternatives.add(parseConcatenation());
+        while (position < pattern.length() && pattern.charAt(position) == '|') {
+            position++;
+            alternatives.add(parseConcatenation());
+        }
+
+        return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+    }
+
+    private Node parseConcatenation() throws UnsupportedPatternException {
+        final List<Node> elements = new ArrayList<>();
+        while (position < pattern.length()) {
+            final char c = pattern.charAt(position);
+            if (c == '|' || c == ')') {
+                break;
+            }
+
+            final Node atom = parseAtom();
+            elements.add(parseQuantifier(atom));
+        }
+
+        return elements.size() == 1 ? elements.get(0) : new Concatenation(elements);
+    }
+
+    private Node parseAtom() throws UnsupportedPatternException {
+        final char c = pattern.charAt(position++);
+        switch (c) {
+            case '^':
+                return new StartAnchor();
+            case '$':
+                return new EndAnchor();
+            case '.':
+                return new CharacterClass(CodePointSet.ANY_EXCEPT_LINE_TERMINATORS);
+            case '[':
+                return new CharacterClass(parseCharacterClass());
+            case '(':
+                return parseGroup();
+            case '\\':
+                return new CharacterClass(parseEscape(false));
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw new UnsupportedPatternException("Dangling quantifier at index " + (position - 1));
+            default:
+                return new CharacterClass(literal(c));
+        }
+    }
+
+    private Node parseGroup() throws UnsupportedPatternException {
+        if (position < pattern.length() && pattern.charAt(position) == '?') {
+            position++;
+            if (position < pattern.length() && pattern.charAt(position) == ':') {
+                position++;
+            } else if (position + 1 < pattern.length() && pattern.charAt(position) == '<' && Character.isLetter(pattern.charAt(position + 1))) {
+                final int end = pattern.indexOf('>', position);
+                if (end < 0) {
+                    throw new UnsupportedPatternException("Unterminated group name");
+                }
+                position = end + 1;
+            } else {
+                throw new UnsupportedPatternException("Special group construct at index " + (position - 2));
+            }
+        }
+
+        final Node node = parseAlternation();
+        if (position >= pattern.length() || pattern.charAt(position) != ')') {
+            throw new UnsupportedPatternException("Unclosed group");
+        }
+        position++;
+        return node;
+    }
+
+    private Node parseQuantifier(final Node atom) throws UnsupportedPatternException {
+        if (position >= pattern.length()) {
+            return atom;
+        }
+
+        final int min;
+        final int max;
+        final char c = pattern.charAt(position);
+        switch (c) {
+            case '*':
+                min = 0;
+                max = -1;
+                position++;
+                break;
+            case '+':
+                min = 1;
+                max = -1;
+                position++;
+                break;
+            case '?':
+                min = 0;
+                max = 1;
+                position++;
+                break;
+            case '{': {
+                final int end = pattern.indexOf('}', position);
+                if (end < 0) {
+                    throw new UnsupportedPatternException("Unterminated repetition");
+                }
+                final String counts = pattern.substring(position + 1, end);
+                final int comma = counts.indexOf(',');
+                try {
+                    if (comma < 0) {
+                        min = Integer.parseInt(counts);
+                        max = min;
+                    } else {
+                        min = Integer.parseInt(counts.substring(0, comma));
+                        max = comma == counts.length() - 1 ? -1 : Integer.parseInt(counts.substring(comma + 1));
+                    }
+                } catch (final NumberFormatException e) {
+                    throw new UnsupportedPatternException("Invalid repetition " + counts);
+                }
+                if (min > MAX_REPETITION || max > MAX_REPETITION || (max >= 0 && max < min)) {
+                    throw new UnsupportedPatternException("Repetition " + counts + " is not supported");
+                }
+                position = end + 1;
+                break;
+            }
+            default:
+                return atom;
+        }
+
+        if (atom instanceof StartAnchor || atom instanceof EndAnchor) {
+            throw new UnsupportedPatternException("Quantified anchor");
+        }
+
+        if (position < pattern.length()) {
+            final char modifier = pattern.charAt(position);
+            if (modifier == '?') {
+                // Reluctant quantifiers accept the same language; only the chosen match differs
+                position++;
+            } else if (modifier == '+') {
+                throw new UnsupportedPatternException("Possessive quantifiers are not supported");
+            }
+        }
+        if (position < pattern.length() && "*+?{".indexOf(pattern.charAt(position)) >= 0) {
+            throw new UnsupportedPatternException("Nested quantifier at index " + position);
+        }
+
+        return new Repetition(atom, min, max);
+    }
+
+    private CodePointSet parseCharacterClass() throws UnsupportedPatternException {
+        boolean negated = false;
+        if (position < pattern.length() && pattern.charAt(position) == '^') {
+            negated = true;
+            position++;
+        }
+        if (position < pattern.length() && pattern.charAt(position) == ']') {
+            throw new UnsupportedPatternException("Character class beginning with ']'");
+        }
+
+        CodePointSet set = CodePointSet.EMPTY;
+        while (true) {
+            if (position >= pattern.length()) {
+                throw new UnsupportedPatternException("Unclosed character class");
+            }
+
+            final char c = pattern.charAt(position);
+            if (c == ']') {
+                position++;
+                break;
+            }
+            if (c == '[' || pattern.startsWith("&&", position)) {
+                throw new UnsupportedPatternException("Character class unions and intersections are not supported");
+            }
+
+            position++;
+            final CodePointSet atom;
+            final int atomChar;
+            if (c == '\\') {
+                atom = parseEscape(true);
+                atomChar = singleCharacter(atom);
+            } else if (Character.isSurrogate(c)) {
+                throw new UnsupportedPatternException("Surrogate characters are not supported");
+            } else {
+                atomChar = c;
+                atom = CodePointSet.single(c);
+            }
+
+            if (position + 1 < pattern.length() && pattern.charAt(position) == '-' && pattern.charAt(position + 1) != ']') {
+                if (atomChar < 0) {
+                    throw new UnsupportedPatternException("Range beginning with a predefined character class");
+                }
+
+                position++;
+                final char endChar = pattern.charAt(position++);
+                final int rangeEnd;
+                if (endChar == '\\') {
+                    rangeEnd = singleCharacter(parseEscape(true));
+                } else if (endChar == '[') {
+                    throw new UnsupportedPatternException("Character class unions are not supported");
+                } else if (Character.isSurrogate(endChar)) {
+                    throw new UnsupportedPatternException("Surrogate characters are not supported");
+                } else {
+                    rangeEnd = endChar;
+                }
+                if (rangeEnd < atomChar) {
+                    throw new UnsupportedPatternException("Illegal character range");
+                }
+                if (position + 1 < pattern.length() && pattern.charAt(position) == '-' && pattern.charAt(position + 1) != ']') {
+                    throw new UnsupportedPatternException("Ambiguous character range");
+                }
+
+                set = set.union(CodePointSet.range(atomChar, rangeEnd));
+            } else {
+                set = set.union(atom);
+            }
+        }
+
+        if (caseInsensitive) {
+            set = set.caseInsensitive();
+        }
+        return negated ? set.complement() : set;
+    }
+
+    private static int singleCharacter(final CodePointSet set) {
+        return set.getSingleCodePoint();
+    }
+
+    /**
+     * Parses the escape sequence following a backslash, returning the characters it matches. Case-insensitivity is applied to
+     * literal characters here, except when inside a character class, where it is applied to the class as a whole.
+     */
+    private CodePointSet parseEscape(final boolean inCharacterClass) throws UnsupportedPatternException {
+        if (position >= pattern.length()) {
+            throw new UnsupportedPatternException("Trailing backslash");
+        }
+
+        final char c = pattern.charAt(position++);
+        switch (c) {
+            case 'd':
+                return CodePointSet.DIGITS;
+            case 'D':
+                return CodePointSet.DIGITS.complement();
+            case 'w':
+                return CodePointSet.WORD;
+            case 'W':
+                return CodePointSet.WORD.complement();
+            case 's':
+                return CodePointSet.WHITESPACE;
+            case 'S':
+                return CodePointSet.WHITESPACE.complement();
+            case 't':
+                return escapedLiteral('\t', inCharacterClass);
+            case 'n':
+                return escapedLiteral('\n', inCharacterClass);
+            case 'r':
+                return escapedLiteral('\r', inCharacterClass);
+            case 'f':
+                return escapedLiteral('\f', inCharacterClass);
+            case 'a':
+                return escapedLiteral('\u0007', inCharacterClass);
+            case 'e':
+                return escapedLiteral('\u001B', inCharacterClass);
+            case 'x':
+                if (position < pattern.length() && pattern.charAt(position) == '{') {
+                    throw new UnsupportedPatternException("Code point escapes are not supported");
+                }
+                return escapedLiteral(parseHex(2), inCharacterClass);
+            case 'u':
+                return escapedLiteral(parseHex(4), inCharacterClass);
+            default:
+                if (c < 128 && !Character.isLetterOrDigit(c)) {
+                    return escapedLiteral(c, inCharacterClass);
+                }
+                throw new UnsupportedPatternException("Escape sequence \\" + c + " is not supported");
+        }
+    }
+
+    private CodePointSet escapedLiteral(final int c, final boolean inCharacterClass) throws UnsupportedPatternException {
+        if (inCharacterClass) {
+            if (Character.isSurrogate((char) c)) {
+                throw new UnsupportedPatternException("Surrogate characters are not supported");
+            }
+            return CodePointSet.single(c);
+        }
+        return literal(c);
+    }
+
+    private CodePointSet literal(final int c) throws UnsupportedPatternException {
+        if (Character.isSurrogate((char) c)) {
+            throw new UnsupportedPatternException("Surrogate characters are not supported");
+        }
+
+        final CodePointSet set = CodePointSet.single(c);
+        return caseInsensitive ? set.caseInsensitive() : set;
+    }
+
+    private int parseHex(final int digits) throws UnsupportedPatternException {
+        if (position + digits > pattern.length()) {
+            throw new UnsupportedPatternException("Incomplete hexadecimal escape");
+        }
+
+        try {
+            final int value = Integer.parseInt(pattern.substring(position, position + digits), 16);
+            position += digits;
+            return value;
+        } catch (final NumberFormatException e) {
+            throw new UnsupportedPatternException("Invalid hexadecimal escape");
+        }
+    }
+
+    static final class ParsedPattern {
+        private final Node root;
+        private final boolean anchoredStart;
+        private final boolean anchoredEnd;
+
+        private ParsedPattern(final Node root, final boolean anchoredStart, final boolean anchoredEnd) {
+            this.root = root;
+            this.anchoredStart = anchoredStart;
+            this.anchoredEnd = anchoredEnd;
+        }
+
+        Node getRoot() {
+            return root;
+        }
+
+        boolean isAnchoredStart() {
+            return anchoredStart;
+        }
+
+        boolean isAnchoredEnd() {
+            return anchoredEnd;
+        }
+    }
+
+    interface Node {
+    }
+
+    static final class CharacterClass implements Node {
+        final CodePointSet characters;
+
+        CharacterClass(final CodePointSet characters) {
+            this.characters = characters;
+        }
+    }
+
+    static final class Concatenation implements Node {
+        final List<Node> elements;
+
+        Concatenation(final List<Node> elements) {
+            this.elements = elements;
+        }
+    }
+
+    static final class Alternation implements Node {
+        final List<Node> alternatives;
+
+        Alternation(final List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+    }
+
+    static final class Repetition implements Node {
+        final Node node;
+        final int min;
+        // negative when unbounded
+        final int max;
+
+        Repetition(final Node node, final int min, final int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    static final class StartAnchor implements Node {
+    }
+
+    static final class EndAnchor implements Node {
+    }
+
+    static final class UnsupportedPatternException extends Exception {
+        UnsupportedPatternException(final String message) {
+            super(message);
+        }
+    }
+}
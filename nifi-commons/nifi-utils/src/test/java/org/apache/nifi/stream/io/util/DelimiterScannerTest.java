@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.stream.io.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DelimiterScannerTest {
+
+    @Test
+    public void indexOfByteAtEveryPosition() {
+        final byte[] data = new byte[37];
+        Arrays.fill(data, (byte) 'a');
+        assertEquals(-1, DelimiterScanner.indexOf(data, 0, data.length, (byte) 'b'));
+
+        for (int position = 0; position < data.length; position++) {
+            data[position] = (byte) 'b';
+            assertEquals(position, DelimiterScanner.indexOf(data, 0, data.length, (byte) 'b'));
+            assertEquals(-1, DelimiterScanner.indexOf(data, 0, position, (byte) 'b'));
+            assertEquals(-1, DelimiterScanner.indexOf(data, position + 1, data.length, (byte) 'b'));
+            data[position] = (byte) 'a';
+        }
+    }
+
+    @Test
+    public void indexOfHighBitBytes() {
+        final byte[] data = new byte[20];
+        Arrays.fill(data, (byte) 0x81);
+        data[13] = (byte) 0x80;
+        assertEquals(13, DelimiterScanner.indexOf(data, 0, data.length, (byte) 0x80));
+        assertEquals(0, DelimiterScanner.indexOf(data, 0, data.length, (byte) 0x81));
+        assertEquals(-1, DelimiterScanner.indexOf(data, 0, data.length, (byte) 0x01));
+    }
+
+    @Test
+    public void indexOfLineTerminator() {
+        final byte[] data = "abcdefghij\rklmnopqrstuv\nwxyz".getBytes(StandardCharsets.UTF_8);
+        assertEquals(10, DelimiterScanner.indexOfLineTerminator(data, 0, data.length));
+        assertEquals(23, DelimiterScanner.indexOfLineTerminator(data, 11, data.length));
+        assertEquals(-1, DelimiterScanner.indexOfLineTerminator(data, 24, data.length));
+        assertEquals(-1, DelimiterScanner.indexOfLineTerminator(data, 0, 10));
+    }
+
+    @Test
+    public void indexOfSequence() {
+        final byte[] data = "xxAxABxABCxxxxxxxxxxABC".getBytes(StandardCharsets.UTF_8);
+        final byte[] sequence = "ABC".getBytes(StandardCharsets.UTF_8);
+        assertEquals(7, DelimiterScanner.indexOf(data, 0, data.length, sequence));
+        assertEquals(20, DelimiterScanner.indexOf(data, 8, data.length, sequence));
+        assertEquals(-1, DelimiterScanner.indexOf(data, 0, 8, sequence));
+        assertEquals(-1, DelimiterScanner.indexOf(data, 21, data.length, sequence));
+    }
+
+    @Test
+    public void indexOfEmptySequence() {
+        assertThrows(IllegalArgumentException.class, () -> DelimiterScanner.indexOf(new byte[8], 0, 8, new byte[0]));
+    }
+}
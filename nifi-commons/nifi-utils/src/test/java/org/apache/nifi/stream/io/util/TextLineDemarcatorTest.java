@@ -339,6 +339,25 @@ public class TextLineDemarcatorTest {
         }
     }
 
+    @Test
+    public void mixedLineTerminatorsAcrossBufferBoundaries() throws IOException {
+        final String data = "first line\r\nsecond\rthird line is longer than a word\n\n\r\r\nx\r\nlast line without terminator";
+        final long[][] expected = {{0, 12, 2}, {12, 7, 1}, {19, 33, 1}, {52, 1, 1}, {53, 1, 1}, {54, 2, 2}, {56, 3, 2}, {59, 28, 0}};
+
+        for (int bufferSize = 1; bufferSize <= data.length() + 1; bufferSize++) {
+            try (final TextLineDemarcator demarcator = new TextLineDemarcator(stringToIs(data), bufferSize)) {
+                for (final long[] line : expected) {
+                    final OffsetInfo offsetInfo = demarcator.nextOffsetInfo();
+                    assertNotNull(offsetInfo, "Buffer size " + bufferSize);
+                    assertEquals(line[0], offsetInfo.getStartOffset(), "Buffer size " + bufferSize);
+                    assertEquals(line[1], offsetInfo.getLength(), "Buffer size " + bufferSize);
+                    assertEquals(line[2], offsetInfo.getCrlfLength(), "Buffer size " + bufferSize);
+                }
+                assertNull(demarcator.nextOffsetInfo(), "Buffer size " + bufferSize);
+            }
+        }
+    }
+
     private InputStream stringToIs(String data) {
         return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
     }
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util.search.regex;
+
+import org.apache.nifi.util.search.regex.MultiPatternMatcher.MatchMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestMultiPatternMatcher {
+
+    private static final List<String> PATTERNS = Arrays.asList(
+        "abc",
+        "a.c",
+        "^abc",
+        "abc$",
+        "^$",
+        "",
+        "a*b+c?",
+        "(ab|cd)+",
+        "(?:x|y){2,3}z",
+        "[a-c]+\\d{2}",
+        "[^a-c\\s]+",
+        "\\w+@\\w+\\.com",
+        "\\s*\\S+\\s*",
+        "(?<word>[A-Z][a-z]+) \\d+",
+        "a{3}|b{0,2}c",
+        "x*?y+?",
+        "\\x41\\u0042C",
+        "[\\w-]+\\.(txt|csv)",
+        "\\$\\d+\\.\\d{2}",
+        "ERROR|WARN(ING)?"
+    );
+
+    private static final List<String> INPUTS = Arrays.asList(
+        "",
+        "abc",
+        "ABC",
+        "xabcx",
+        "abc\n",
+        "abc\r\n",
+        "abc\n\n",
+        "\n",
+        "\r\n",
+        "\r",
+        "a\u0085",
+        "aaabbbccc",
+        "ababcd",
+        "xyxz",
+        "xyxyxyz",
+        "bc12 ab",
+        "john@example.com",
+        "  word  ",
+        "Hello 42",
+        "hello 42",
+        "aaa",
+        "bbc",
+        "yyy",
+        "ABCDEF",
+        "my-file.csv",
+        "price: $12.50",
+        "2024-01-01 WARNING disk almost full",
+        "café au lait"
+    );
+
+    @Test
+    public void testFindMatchesJavaRegex() {
+        verifyMatchesJavaRegex(PATTERNS, false, MatchMode.FIND);
+        verifyMatchesJavaRegex(PATTERNS, true, MatchMode.FIND);
+    }
+
+    @Test
+    public void testFullMatchMatchesJavaRegex() {
+        verifyMatchesJavaRegex(PATTERNS, false, MatchMode.FULL_MATCH);
+        verifyMatchesJavaRegex(PATTERNS, true, MatchMode.FULL_MATCH);
+    }
+
+    @Test
+    public void testSupportedPatternsDoNotFallBack() {
+        final MultiPatternMatcher matcher = MultiPatternMatcher.compile(PATTERNS, false, MatchMode.FIND);
+        assertEquals(PATTERNS.size(), matcher.getPatternCount());
+        assertEquals(0, matcher.getFallbackPatternCount());
+    }
+
+    @Test
+    public void testUnsupportedPatternsFallBack() {
+        final List<String> patterns = Arrays.asList("(a)\\1", "\\bword\\b", "(?i)abc", "a(?=b)", "a*+b", "plain");
+        final MultiPatternMatcher matcher = MultiPatternMatcher.compile(patterns, false, MatchMode.FIND);
+        assertEquals(5, matcher.getFallbackPatternCount());
+
+        final List<String> inputs = Arrays.asList("aa", "a word here", "ABC", "ab", "aaab", "plain text", "nothing");
+        verifyMatchesJavaRegex(patterns, false, MatchMode.FIND, inputs);
+    }
+
+    @Test
+    public void testSurrogatesEvaluatedWithJavaRegex() {
+        final List<String> patterns = Arrays.asList(".", "^.$", "[^a]", "a.b");
+        final List<String> inputs = Arrays.asList("😀", "a😀b", "\uDE00", "x\uD83Dy");
+        verifyMatchesJavaRegex(patterns, false, MatchMode.FIND, inputs);
+        verifyMatchesJavaRegex(patterns, false, MatchMode.FULL_MATCH, inputs);
+    }
+
+    @Test
+    public void testManyPatterns() {
+        final List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            patterns.add("code=" + i + "[a-z]*");
+            patterns.add("id-" + i + "-\\d+");
+        }
+
+        final MultiPatternMatcher matcher = MultiPatternMatcher.compile(patterns, false, MatchMode.FIND);
+        final BitSet matched = matcher.match("request id-250-17 failed with code=499x");
+        assertTrue(matched.get(patterns.indexOf("id-250-\\d+")));
+        assertTrue(matched.get(patterns.indexOf("code=499[a-z]*")));
+        assertTrue(matched.get(patterns.indexOf("code=49[a-z]*")));
+        assertTrue(matched.get(patterns.indexOf("code=4[a-z]*")));
+        assertFalse(matched.get(patterns.indexOf("id-25-\\d+")));
+    }
+
+    @Test
+    public void testStateCacheLimitExceeded() {
+        // (a|b)*a(a|b){14} requires an exponential number of DFA states
+        final List<String> patterns = Arrays.asList("(a|b)*a(a|b){14}", "b{14}");
+        final Random random = new Random(1L);
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            input.append(random.nextBoolean() ? 'a' : 'b');
+        }
+
+        final List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            inputs.add(input.substring(i * 1000, i * 1000 + 1000));
+        }
+        verifyMatchesJavaRegex(patterns, false, MatchMode.FIND, inputs);
+        verifyMatchesJavaRegex(patterns, false, MatchMode.FULL_MATCH, inputs);
+    }
+
+    @Test
+    public void testRepetitionBodyGrowsStateArrays() {
+        // the repeated bodies add enough states to grow the NFA state arrays while the loop state is being compiled
+        final List<String> patterns = Arrays.asList("(ab{70})*", "(a{100}b{100})+", "x(y{100}|z)*w");
+        final MultiPatternMatcher matcher = MultiPatternMatcher.compile(patterns, false, MatchMode.FULL_MATCH);
+        assertEquals(0, matcher.getFallbackPatternCount());
+
+        final List<String> inputs = Arrays.asList(
+            "",
+            "a" + "b".repeat(70),
+            "a" + "b".repeat(70) + "a" + "b".repeat(70),
+            "a" + "b".repeat(69),
+            "a".repeat(100) + "b".repeat(100),
+            "a".repeat(100) + "b".repeat(100) + "a".repeat(100) + "b".repeat(100),
+            "a".repeat(100) + "b".repeat(99),
+            "x" + "y".repeat(100) + "zw",
+            "xw",
+            "x" + "y".repeat(99) + "w"
+        );
+        verifyMatchesJavaRegex(patterns, false, MatchMode.FULL_MATCH, inputs);
+        verifyMatchesJavaRegex(patterns, false, MatchMode.FIND, inputs);
+    }
+
+    private void verifyMatchesJavaRegex(final List<String> patterns, final boolean caseInsensitive, final MatchMode matchMode) {
+        verifyMatchesJavaRegex(patterns, caseInsensitive, matchMode, INPUTS);
+    }
+
+    private void verifyMatchesJavaRegex(final List<String> patterns, final boolean caseInsensitive, final MatchMode matchMode, final List<String> inputs) {
+        final MultiPatternMatcher matcher = MultiPatternMatcher.compile(patterns, caseInsensitive, matchMode);
+
+        for (final String input : inputs) {
+            final BitSet matched = matcher.match(input);
+
+            for (int i = 0; i < patterns.size(); i++) {
+                final Pattern pattern = Pattern.compile(patterns.get(i), caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
+                final boolean expected = matchMode == MatchMode.FIND ? pattern.matcher(input).find() : pattern.matcher(input).matches();
+                assertEquals(expected, matched.get(i), "Pattern /" + patterns.get(i) + "/ with input [" + input + "]");
+            }
+        }
+    }
+}
@@ -45,15 +45,15 @@ public class SharedSessionState {
         this.processor = processor;
     }
 
-    void addProvenanceEvents(final Collection<ProvenanceEventRecord> events) {
+    synchronized void addProvenanceEvents(final Collection<ProvenanceEventRecord> events) {
         this.events.addAll(events);
     }
 
-    void clearProvenanceEvents() {
+    synchronized void clearProvenanceEvents() {
         this.events.clear();
     }
 
-    public List<ProvenanceEventRecord> getProvenanceEvents() {
+    public synchronized List<ProvenanceEventRecord> getProvenanceEvents() {
         return new ArrayList<>(this.events);
     }
 
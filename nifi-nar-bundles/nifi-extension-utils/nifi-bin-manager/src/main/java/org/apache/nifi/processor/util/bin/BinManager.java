@@ -22,24 +22,32 @@ import org.apache.nifi.processor.ProcessSessionFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * This class is thread safe
+ * This class is thread safe. Rather than guarding all bins with a single lock, the bins of each group are guarded
+ * by one of a fixed number of locks, chosen by the group identifier, so that FlowFiles for different groups can be
+ * binned concurrently.
  *
  */
 public class BinManager {
 
+    private static final int LOCK_STRIPES = 64;
+
+    // ConcurrentHashMap does not allow null keys, so this key is used for the group whose identifier is null
+    private static final Object NULL_GROUP = new Object();
+
     private final AtomicLong minSizeBytes = new AtomicLong(0L);
     private final AtomicLong maxSizeBytes = new AtomicLong(Long.MAX_VALUE);
     private final AtomicInteger minEntries = new AtomicInteger(0);
@@ -47,18 +55,22 @@ public class BinManager {
     private final AtomicReference<String> fileCountAttribute = new AtomicReference<>(null);
 
     private final AtomicInteger maxBinAgeSeconds = new AtomicInteger(Integer.MAX_VALUE);
-    private final Map<String, List<Bin>> groupBinMap = new HashMap<>();
-    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
-    private final Lock rLock = rwLock.readLock();
-    private final Lock wLock = rwLock.writeLock();
+    private final ConcurrentMap<Object, List<Bin>> groupBinMap = new ConcurrentHashMap<>(); // each List is guarded by the lock for its group
+    private final Lock[] groupLocks = new Lock[LOCK_STRIPES];
 
-    private int binCount = 0;   // guarded by read/write lock
+    private final AtomicInteger binCount = new AtomicInteger(0);
 
     public BinManager() {
+        for (int i = 0; i < groupLocks.length; i++) {
+            groupLocks[i] = new ReentrantLock();
+        }
     }
 
     public void purge() {
-        wLock.lock();
+        for (final Lock lock : groupLocks) {
+            lock.lock();
+        }
+
         try {
             for (final List<Bin> binList : groupBinMap.values()) {
                 for (final Bin bin : binList) {
@@ -66,9 +78,11 @@ public class BinManager {
                 }
             }
             groupBinMap.clear();
-            binCount = 0;
+            binCount.set(0);
         } finally {
-            wLock.unlock();
+            for (final Lock lock : groupLocks) {
+                lock.unlock();
+            }
         }
     }
 
@@ -89,12 +103,7 @@ public class BinManager {
     }
 
     public int getBinCount() {
-        rLock.lock();
-        try {
-            return binCount;
-        } finally {
-            rLock.unlock();
-        }
+        return binCount.get();
     }
 
     public void setMinimumSize(final long numBytes) {
@@ -125,34 +134,28 @@ public class BinManager {
         if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
             return false;
         }
-        wLock.lock();
+
+        final Object groupKey = getGroupKey(groupIdentifier);
+        final Lock lock = getLock(groupKey);
+        lock.lock();
         try {
-            final List<Bin> currentBins = groupBinMap.get(groupIdentifier);
-            if (currentBins == null) { // this is a new group we need to register
-                final List<Bin> bins = new ArrayList<>();
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                bins.add(bin);
-                groupBinMap.put(groupIdentifier, bins);
-                binCount++;
-                return bin.offer(flowFile, session);
-            } else {
-                for (final Bin bin : currentBins) {
-                    final boolean accepted = bin.offer(flowFile, session);
-                    if (accepted) {
-                        return true;
-                    }
+            final List<Bin> currentBins = groupBinMap.computeIfAbsent(groupKey, key -> new ArrayList<>());
+            for (final Bin bin : currentBins) {
+                final boolean accepted = bin.offer(flowFile, session);
+                if (accepted) {
+                    return true;
                 }
-
-                //if we've reached this point then we couldn't fit it into any existing bins - gotta make a new one
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                currentBins.add(bin);
-                binCount++;
-                return bin.offer(flowFile, session);
             }
+
+            //if we've reached this point then the groupIdentifier was a brand new one,
+            // or we couldn't fit it into any existing bins - gotta make a new one
+            final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
+                maxEntries.get(), fileCountAttribute.get());
+            currentBins.add(bin);
+            binCount.incrementAndGet();
+            return bin.offer(flowFile, session);
         } finally {
-            wLock.unlock();
+            lock.unlock();
         }
     }
 
@@ -171,7 +174,9 @@ public class BinManager {
         final long currentMaxSizeBytes = maxSizeBytes.get();
         final Set<FlowFile> unbinned = new HashSet<>();
 
-        wLock.lock();
+        final Object groupKey = getGroupKey(groupIdentifier);
+        final Lock lock = getLock(groupKey);
+        lock.lock();
         try {
             flowFileLoop: for (final FlowFile flowFile : flowFiles) {
                 if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
@@ -179,7 +184,7 @@ public class BinManager {
                     continue;
                 }
 
-                final List<Bin> currentBins = groupBinMap.computeIfAbsent(groupIdentifier, k -> new ArrayList<>());
+                final List<Bin> currentBins = groupBinMap.computeIfAbsent(groupKey, k -> new ArrayList<>());
                 for (final Bin bin : currentBins) {
                     final boolean accepted = bin.offer(flowFile, session);
                     if (accepted) {
@@ -192,7 +197,7 @@ public class BinManager {
                 final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
                     maxEntries.get(), fileCountAttribute.get());
                 currentBins.add(bin);
-                binCount++;
+                binCount.incrementAndGet();
                 final boolean added = bin.offer(flowFile, session);
                 if (!added) {
                     unbinned.add(flowFile);
@@ -200,7 +205,7 @@ public class BinManager {
 
             }
         } finally {
-            wLock.unlock();
+            lock.unlock();
         }
 
         return unbinned;
@@ -214,52 +219,68 @@ public class BinManager {
      * @return bins that are considered full
      */
     public Collection<Bin> removeReadyBins(boolean relaxFullnessConstraint) {
-        final Map<String, List<Bin>> newGroupMap = new HashMap<>();
         final List<Bin> readyBins = new ArrayList<>();
 
-        wLock.lock();
-        try {
-            for (final Map.Entry<String, List<Bin>> group : groupBinMap.entrySet()) {
-                final List<Bin> remainingBins = new ArrayList<>();
-                for (final Bin bin : group.getValue()) {
+        for (final Object groupKey : groupBinMap.keySet()) {
+            final Lock lock = getLock(groupKey);
+            lock.lock();
+            try {
+                final List<Bin> bins = groupBinMap.get(groupKey);
+                if (bins == null) {
+                    continue;
+                }
+
+                final Iterator<Bin> binItr = bins.iterator();
+                while (binItr.hasNext()) {
+                    final Bin bin = binItr.next();
                     if (relaxFullnessConstraint && bin.isFullEnough()) {
                         bin.setEvictionReason(bin.determineFullness());
-                        readyBins.add(bin);
                     } else if (!relaxFullnessConstraint && bin.isFull()) { //strict check
                         bin.setEvictionReason(bin.determineFullness());
-                        readyBins.add(bin);
                     } else if (relaxFullnessConstraint && bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS)) {
                         bin.setEvictionReason(EvictionReason.TIMEOUT);
-                        readyBins.add(bin);
                     } else { //it isn't time yet...
-                        remainingBins.add(bin);
+                        continue;
                     }
+
+                    readyBins.add(bin);
+                    binItr.remove();
+                    binCount.decrementAndGet();
                 }
-                if (!remainingBins.isEmpty()) {
-                    newGroupMap.put(group.getKey(), remainingBins);
+
+                if (bins.isEmpty()) {
+                    groupBinMap.remove(groupKey);
                 }
+            } finally {
+                lock.unlock();
             }
-            groupBinMap.clear();
-            groupBinMap.putAll(newGroupMap);
-            binCount -= readyBins.size();
-        } finally {
-            wLock.unlock();
         }
+
         return readyBins;
     }
 
     public Bin removeOldestBin() {
-        wLock.lock();
-        try {
+        while (true) {
             Bin oldestBin = null;
-            String oldestBinGroup = null;
+            Object oldestBinGroup = null;
+
+            for (final Object groupKey : groupBinMap.keySet()) {
+                final Lock lock = getLock(groupKey);
+                lock.lock();
+                try {
+                    final List<Bin> bins = groupBinMap.get(groupKey);
+                    if (bins == null) {
+                        continue;
+                    }
 
-            for (final Map.Entry<String, List<Bin>> group : groupBinMap.entrySet()) {
-                for (final Bin bin : group.getValue()) {
-                    if (oldestBin == null || bin.isOlderThan(oldestBin)) {
-                        oldestBin = bin;
-                        oldestBinGroup = group.getKey();
+                    for (final Bin bin : bins) {
+                        if (oldestBin == null || bin.isOlderThan(oldestBin)) {
+                            oldestBin = bin;
+                            oldestBinGroup = groupKey;
+                        }
                     }
+                } finally {
+                    lock.unlock();
                 }
             }
 
@@ -267,15 +288,22 @@ public class BinManager {
                 return null;
             }
 
-            binCount--;
-            final List<Bin> bins = groupBinMap.get(oldestBinGroup);
-            bins.remove(oldestBin);
-            if (bins.isEmpty()) {
-                groupBinMap.remove(oldestBinGroup);
+            final Lock lock = getLock(oldestBinGroup);
+            lock.lock();
+            try {
+                final List<Bin> bins = groupBinMap.get(oldestBinGroup);
+
+                // Another thread may have removed the bin after we found it, in which case we look for the oldest bin again
+                if (bins != null && bins.remove(oldestBin)) {
+                    binCount.decrementAndGet();
+                    if (bins.isEmpty()) {
+                        groupBinMap.remove(oldestBinGroup);
+                    }
+                    return oldestBin;
+                }
+            } finally {
+                lock.unlock();
             }
-            return oldestBin;
-        } finally {
-            wLock.unlock();
         }
     }
 
@@ -283,19 +311,33 @@ public class BinManager {
      * @return true if any current bins are older than the allowable max
      */
     public boolean containsOldBins() {
-        rLock.lock();
-        try {
-            for (final List<Bin> bins : groupBinMap.values()) {
+        for (final Object groupKey : groupBinMap.keySet()) {
+            final Lock lock = getLock(groupKey);
+            lock.lock();
+            try {
+                final List<Bin> bins = groupBinMap.get(groupKey);
+                if (bins == null) {
+                    continue;
+                }
+
                 for (final Bin bin : bins) {
                     if (bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS)) {
                         return true;
                     }
                 }
+            } finally {
+                lock.unlock();
             }
-        } finally {
-            rLock.unlock();
         }
         return false;
     }
 
+    private static Object getGroupKey(final String groupIdentifier) {
+        return groupIdentifier == null ? NULL_GROUP : groupIdentifier;
+    }
+
+    private Lock getLock(final Object groupKey) {
+        final int hash = groupKey.hashCode();
+        return groupLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
 }
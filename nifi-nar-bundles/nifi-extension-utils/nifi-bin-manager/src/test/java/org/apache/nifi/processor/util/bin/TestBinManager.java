@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processor.util.bin;
+
+import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.processor.ProcessSession;
+import org.apache.nifi.processor.ProcessSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class TestBinManager {
+    private static final int THREADS = 8;
+    private static final int FLOW_FILES_PER_THREAD = 500;
+    private static final int GROUPS = 5;
+    private static final int MAX_ENTRIES = 10;
+    private static final long MAX_SIZE = 1000;
+    private static final int MAX_BINS = 8;
+
+    private ProcessSession session;
+    private ProcessSessionFactory sessionFactory;
+    private BinManager binManager;
+
+    @BeforeEach
+    public void setup() {
+        // stub only mocks do not record invocations, which are made concurrently
+        session = mock(ProcessSession.class, withSettings().stubOnly());
+        sessionFactory = mock(ProcessSessionFactory.class, withSettings().stubOnly());
+        when(sessionFactory.createSession()).thenReturn(session);
+        binManager = new BinManager();
+    }
+
+    @Test
+    public void testConcurrentOfferAndRemove() throws Exception {
+        binManager.setMaximumEntries(MAX_ENTRIES);
+        binManager.setMaximumSize(MAX_SIZE);
+
+        // create FlowFiles up front as stubbing is not intended to be done concurrently
+        final FlowFile[] flowFiles = new FlowFile[THREADS * FLOW_FILES_PER_THREAD];
+        for (int id = 0; id < flowFiles.length; id++) {
+            flowFiles[id] = createFlowFile(id);
+        }
+
+        final Queue<Bin> removedBins = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean offering = new AtomicBoolean(true);
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            final List<Future<?>> offerFutures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int firstId = thread * FLOW_FILES_PER_THREAD;
+                offerFutures.add(executor.submit(() -> {
+                    start.await();
+                    for (int id = firstId; id < firstId + FLOW_FILES_PER_THREAD; id++) {
+                        assertTrue(binManager.offer(getGroup(id), flowFiles[id], session, sessionFactory));
+
+                        // evict the oldest bins when there are too many, as BinFiles does
+                        while (binManager.getBinCount() > MAX_BINS) {
+                            final Bin oldestBin = binManager.removeOldestBin();
+                            if (oldestBin != null) {
+                                removedBins.add(oldestBin);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            final Future<?> removeFuture = executor.submit(() -> {
+                start.await();
+                while (offering.get()) {
+                    removedBins.addAll(binManager.removeReadyBins(false));
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (final Future<?> future : offerFutures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            offering.set(false);
+            removeFuture.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(binManager.getBinCount() <= MAX_BINS, "Bin Count " + binManager.getBinCount());
+
+        // without minimum requirements every remaining bin is full enough
+        removedBins.addAll(binManager.removeReadyBins(true));
+        assertEquals(0, binManager.getBinCount());
+
+        final Set<Long> binnedIds = new HashSet<>();
+        for (final Bin bin : removedBins) {
+            final List<FlowFile> contents = bin.getContents();
+            assertTrue(contents.size() <= MAX_ENTRIES, "Bin Entries " + contents.size());
+            assertTrue(contents.stream().mapToLong(FlowFile::getSize).sum() <= MAX_SIZE, "Bin Size exceeded");
+
+            final String group = getGroup(contents.get(0).getId());
+            for (final FlowFile flowFile : contents) {
+                assertEquals(group, getGroup(flowFile.getId()));
+                assertTrue(binnedIds.add(flowFile.getId()), "FlowFile binned more than once " + flowFile.getId());
+            }
+        }
+        assertEquals(THREADS * FLOW_FILES_PER_THREAD, binnedIds.size());
+    }
+
+    @Test
+    public void testConcurrentRemoveOldestBin() throws Exception {
+        binManager.setMaximumEntries(1);
+        final int binCount = 200;
+        for (int id = 0; id < binCount; id++) {
+            binManager.offer(getGroup(id), createFlowFile(id), session, sessionFactory);
+        }
+        assertEquals(binCount, binManager.getBinCount());
+
+        final Queue<Bin> removedBins = new ConcurrentLinkedQueue<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Bin bin;
+                    while ((bin = binManager.removeOldestBin()) != null) {
+                        removedBins.add(bin);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, binManager.getBinCount());
+        assertEquals(binCount, removedBins.size());
+        final Set<Long> removedIds = new HashSet<>();
+        for (final Bin bin : removedBins) {
+            assertTrue(removedIds.add(bin.getContents().get(0).getId()));
+        }
+    }
+
+    @Test
+    public void testRemoveOldestBin() {
+        binManager.setMaximumEntries(1);
+        for (int id = 0; id < 10; id++) {
+            binManager.offer(getGroup(id), createFlowFile(id), session, sessionFactory);
+        }
+
+        for (int id = 0; id < 10; id++) {
+            final Collection<FlowFile> contents = binManager.removeOldestBin().getContents();
+            assertEquals(id, contents.iterator().next().getId());
+        }
+        assertNull(binManager.removeOldestBin());
+    }
+
+    private static String getGroup(final long id) {
+        final int group = (int) (id % GROUPS);
+        // include the group without identifier
+        return group == 0 ? null : "group-" + group;
+    }
+
+    private static FlowFile createFlowFile(final long id) {
+        final FlowFile flowFile = mock(FlowFile.class, withSettings().stubOnly());
+        when(flowFile.getId()).thenReturn(id);
+        when(flowFile.getSize()).thenReturn(id % 200);
+        return flowFile;
+    }
+}
@@ -40,8 +40,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -119,7 +121,10 @@ public abstract class AbstractListenEventProcessor<E extends Event> extends Abst
     protected volatile BlockingQueue<E> errorEvents = new LinkedBlockingQueue<>();
 
     private static final long TRACKING_LOG_INTERVAL = 60000;
+    private static final long DROPPED_EVENTS_INTERVAL = 1000;
     private final AtomicLong nextTrackingLog = new AtomicLong();
+    private final AtomicLong nextDroppedEvents = new AtomicLong();
+    private final Map<String, Long> reportedDroppedEvents = new ConcurrentHashMap<>();
     private int eventsCapacity;
 
     @Override
@@ -174,6 +179,7 @@ public abstract class AbstractListenEventProcessor<E extends Event> extends Abst
         final int specifiedPort = context.getProperty(PORT).evaluateAttributeExpressions().asInteger();
         eventsCapacity = context.getProperty(MAX_MESSAGE_QUEUE_SIZE).asInteger();
         events = new TrackingLinkedBlockingQueue<>(eventsCapacity);
+        reportedDroppedEvents.clear();
         final String interfaceName = context.getProperty(NETWORK_INTF_NAME).evaluateAttributeExpressions().getValue();
         final InetAddress interfaceAddress = NetworkUtils.getInterfaceAddress(interfaceName);
 
@@ -238,6 +244,7 @@ public abstract class AbstractListenEventProcessor<E extends Event> extends Abst
      */
     protected E getMessage(final boolean longPoll, final boolean pollErrorQueue, final ProcessSession session) {
         processTrackingLog();
+        processDroppedEvents(session);
         E event = null;
         if (pollErrorQueue) {
             event = errorEvents.poll();
@@ -269,6 +276,26 @@ public abstract class AbstractListenEventProcessor<E extends Event> extends Abst
         return POLL_TIMEOUT_MS;
     }
 
+    private void processDroppedEvents(final ProcessSession session) {
+        final long now = Instant.now().toEpochMilli();
+        final long nextDroppedEventsScheduled = nextDroppedEvents.get();
+        if (now > nextDroppedEventsScheduled && nextDroppedEvents.compareAndSet(nextDroppedEventsScheduled, now + DROPPED_EVENTS_INTERVAL)) {
+            final ChannelDispatcher currentDispatcher = dispatcher;
+            if (currentDispatcher == null) {
+                return;
+            }
+
+            // dispatchers report cumulative counts so adjust counters with the difference since the last report
+            for (final Map.Entry<String, Long> droppedEvents : currentDispatcher.getDroppedEvents().entrySet()) {
+                final Long reported = reportedDroppedEvents.put(droppedEvents.getKey(), droppedEvents.getValue());
+                final long dropped = droppedEvents.getValue() - (reported == null ? 0 : reported);
+                if (dropped > 0) {
+                    session.adjustCounter(droppedEvents.getKey(), dropped, false);
+                }
+            }
+        }
+    }
+
     private void processTrackingLog() {
         final long now = Instant.now().toEpochMilli();
         if (now > nextTrackingLog.get()) {
@@ -134,6 +134,15 @@ public class ListenerProperties {
             .defaultValue("2")
             .required(true)
             .build();
+    public static final PropertyDescriptor RECEIVE_SOCKETS = new PropertyDescriptor.Builder()
+            .name("Receive Sockets")
+            .description("The number of UDP sockets to bind to the listening port, each read from a separate thread. When greater than 1, " +
+                    "sockets are bound using SO_REUSEPORT and the Operating System distributes incoming datagrams across sockets based on " +
+                    "the sender address. Each socket has its own socket buffer, as configured by <Max Size of Socket Buffer>.")
+            .addValidator(StandardValidators.createLongValidator(1, 64, true))
+            .defaultValue("1")
+            .required(true)
+            .build();
     public static final PropertyDescriptor MAX_BATCH_SIZE = new PropertyDescriptor.Builder()
             .name("Max Batch Size")
             .description(
@@ -144,6 +153,16 @@ public class ListenerProperties {
             .defaultValue("1")
             .required(true)
             .build();
+    public static final PropertyDescriptor RECEIVE_BATCH_SIZE = new PropertyDescriptor.Builder()
+            .name("Receive Batch Size")
+            .description("The maximum size of delimited messages from a TCP connection to combine into a single event as data is received. " +
+                    "When set to 0 B, each message is queued as a separate event. When greater than 0 B, complete messages read from a connection " +
+                    "are copied once into a combined event with the <Message Delimiter> between messages, reducing the number of queued events " +
+                    "and copies of received data. The <Max Batch Size> and <Max Size of Message Queue> then apply to combined events instead of messages.")
+            .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
+            .defaultValue("0 B")
+            .required(true)
+            .build();
     public static final PropertyDescriptor MESSAGE_DELIMITER = new PropertyDescriptor.Builder()
             .name("Message Delimiter")
             .displayName("Batching Message Delimiter")
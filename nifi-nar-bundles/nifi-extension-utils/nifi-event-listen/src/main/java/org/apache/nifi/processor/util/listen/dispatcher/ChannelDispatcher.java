@@ -18,6 +18,8 @@ package org.apache.nifi.processor.util.listen.dispatcher;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * Dispatches handlers for a given channel.
@@ -44,6 +46,13 @@ public interface ChannelDispatcher extends Runnable {
      */
     int getPort();
 
+    /**
+     * @return the cumulative number of received events dropped by the dispatcher, keyed by counter name
+     */
+    default Map<String, Long> getDroppedEvents() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Closes all listeners and stops all handler threads.
      */
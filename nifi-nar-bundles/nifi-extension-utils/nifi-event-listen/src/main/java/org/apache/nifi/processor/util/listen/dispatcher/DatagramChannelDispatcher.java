@@ -23,6 +23,7 @@ import org.apache.nifi.processor.util.listen.event.EventFactory;
 import org.apache.nifi.processor.util.listen.event.EventFactoryUtil;
 import org.apache.nifi.processor.util.listen.event.EventQueue;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -32,25 +33,46 @@ import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Reads from the Datagram channel into an available buffer. If data is read then the buffer is queued for
  * processing, otherwise the buffer is returned to the buffer pool.
+ * <p>
+ * When configured with more than one receive socket, each socket is bound to the same port using SO_REUSEPORT
+ * and read from a separate thread, allowing the Operating System to distribute incoming datagrams across sockets.
+ * </p>
  */
 public class DatagramChannelDispatcher<E extends Event<DatagramChannel>> implements ChannelDispatcher {
 
+    private static final String DROPPED_COUNTER_FORMAT = "Datagrams Dropped [Receive Socket %d]";
+
+    private static final List<Path> SOCKET_TABLES = List.of(Paths.get("/proc/net/udp"), Paths.get("/proc/net/udp6"));
+
+    private static final long UNKNOWN_INODE = -1;
+
     private final EventFactory<E> eventFactory;
     private final ByteBufferSource bufferSource;
     private final EventQueue<E> events;
     private final ComponentLog logger;
     private final String sendingHost;
     private final Integer sendingPort;
+    private final int receiveSockets;
 
-    private Selector selector;
-    private DatagramChannel datagramChannel;
+    private final List<DatagramReceiver> receivers = new ArrayList<>();
     private volatile boolean stopped = false;
 
     public DatagramChannelDispatcher(final EventFactory<E> eventFactory,
@@ -66,108 +88,254 @@ public class DatagramChannelDispatcher<E extends Event<DatagramChannel>> impleme
                                      final ComponentLog logger,
                                      final String sendingHost,
                                      final Integer sendingPort) {
+        this(eventFactory, bufferSource, events, logger, sendingHost, sendingPort, 1);
+    }
+
+    public DatagramChannelDispatcher(final EventFactory<E> eventFactory,
+                                     final ByteBufferSource bufferSource,
+                                     final BlockingQueue<E> events,
+                                     final ComponentLog logger,
+                                     final String sendingHost,
+                                     final Integer sendingPort,
+                                     final int receiveSockets) {
+        if (receiveSockets < 1) {
+            throw new IllegalArgumentException("At least one receive socket is required");
+        }
         this.eventFactory = eventFactory;
         this.bufferSource = bufferSource;
         this.logger = logger;
         this.sendingHost = sendingHost;
         this.sendingPort = sendingPort;
+        this.receiveSockets = receiveSockets;
         this.events = new EventQueue<>(events, logger);
     }
 
     @Override
     public void open(final InetAddress nicAddress, final int port, final int maxBufferSize) throws IOException {
         stopped = false;
-        datagramChannel = DatagramChannel.open();
-        datagramChannel.configureBlocking(false);
-
-        if (maxBufferSize > 0) {
-            datagramChannel.setOption(StandardSocketOptions.SO_RCVBUF, maxBufferSize);
-            final int actualReceiveBufSize = datagramChannel.getOption(StandardSocketOptions.SO_RCVBUF);
-            if (actualReceiveBufSize < maxBufferSize) {
-                logger.warn("Attempted to set Socket Buffer Size to " + maxBufferSize + " bytes but could only set to "
-                        + actualReceiveBufSize + "bytes. You may want to consider changing the Operating System's "
-                        + "maximum receive buffer");
+        int boundPort = port;
+        final Set<Long> assignedInodes = new HashSet<>();
+        try {
+            for (int i = 0; i < receiveSockets; i++) {
+                final DatagramChannel datagramChannel = openChannel(nicAddress, boundPort, maxBufferSize);
+                boundPort = datagramChannel.socket().getLocalPort();
+
+                // the socket created by this bind is the only entry for the port that has not already been assigned
+                final Set<Long> inodes = new HashSet<>(readSocketDrops(boundPort).keySet());
+                inodes.removeAll(assignedInodes);
+                final long inode = inodes.size() == 1 ? inodes.iterator().next() : UNKNOWN_INODE;
+                assignedInodes.addAll(inodes);
+
+                final Selector selector = Selector.open();
+                receivers.add(new DatagramReceiver(i, datagramChannel, selector, inode));
+                datagramChannel.register(selector, SelectionKey.OP_READ);
             }
+        } catch (final IOException e) {
+            close();
+            throw e;
         }
+    }
 
-        // we don't have to worry about nicAddress being null here because InetSocketAddress already handles it
-        datagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
-        datagramChannel.socket().bind(new InetSocketAddress(nicAddress, port));
+    private DatagramChannel openChannel(final InetAddress nicAddress, final int port, final int maxBufferSize) throws IOException {
+        final DatagramChannel datagramChannel = DatagramChannel.open();
+        try {
+            datagramChannel.configureBlocking(false);
 
-        // if a sending host and port were provided then connect to that specific address to only receive
-        // datagrams from that host/port, otherwise we can receive datagrams from any host/port
-        if (sendingHost != null && sendingPort != null) {
-            datagramChannel.connect(new InetSocketAddress(sendingHost, sendingPort));
-        }
+            if (maxBufferSize > 0) {
+                datagramChannel.setOption(StandardSocketOptions.SO_RCVBUF, maxBufferSize);
+                final int actualReceiveBufSize = datagramChannel.getOption(StandardSocketOptions.SO_RCVBUF);
+                if (actualReceiveBufSize < maxBufferSize) {
+                    logger.warn("Attempted to set Socket Buffer Size to " + maxBufferSize + " bytes but could only set to "
+                            + actualReceiveBufSize + "bytes. You may want to consider changing the Operating System's "
+                            + "maximum receive buffer");
+                }
+            }
 
-        selector = Selector.open();
-        datagramChannel.register(selector, SelectionKey.OP_READ);
+            if (receiveSockets > 1) {
+                if (!datagramChannel.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT)) {
+                    throw new IOException("Multiple receive sockets require SO_REUSEPORT which is not supported on this platform");
+                }
+                datagramChannel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            }
+
+            // we don't have to worry about nicAddress being null here because InetSocketAddress already handles it
+            datagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            datagramChannel.socket().bind(new InetSocketAddress(nicAddress, port));
+
+            // if a sending host and port were provided then connect to that specific address to only receive
+            // datagrams from that host/port, otherwise we can receive datagrams from any host/port
+            if (sendingHost != null && sendingPort != null) {
+                datagramChannel.connect(new InetSocketAddress(sendingHost, sendingPort));
+            }
+        } catch (final IOException e) {
+            IOUtils.closeQuietly(datagramChannel);
+            throw e;
+        }
+        return datagramChannel;
     }
 
     @Override
     public void run() {
-        final ByteBuffer buffer = bufferSource.acquire();
-        while (!stopped) {
-            try {
-                int selected = selector.select();
-                // if stopped the selector could already be closed which would result in a ClosedSelectorException
-                if (selected > 0 && !stopped) {
-                    Iterator<SelectionKey> selectorKeys = selector.selectedKeys().iterator();
-                    // if stopped we don't want to modify the keys because close() may still be in progress
-                    while (selectorKeys.hasNext() && !stopped) {
-                        SelectionKey key = selectorKeys.next();
-                        selectorKeys.remove();
-                        if (!key.isValid()) {
-                            continue;
-                        }
-                        DatagramChannel channel = (DatagramChannel) key.channel();
-                        SocketAddress socketAddress;
-                        buffer.clear();
-                        while (!stopped && (socketAddress = channel.receive(buffer)) != null) {
-                            String sender = "";
-                            if (socketAddress instanceof InetSocketAddress) {
-                                sender = ((InetSocketAddress) socketAddress).getAddress().toString();
-                            }
-
-                            // create a byte array from the buffer
-                            buffer.flip();
-                            byte bytes[] = new byte[buffer.limit()];
-                            buffer.get(bytes, 0, buffer.limit());
+        final List<Thread> receiverThreads = new ArrayList<>();
+        final String threadName = Thread.currentThread().getName();
+        for (int i = 1; i < receivers.size(); i++) {
+            final Thread receiverThread = new Thread(receivers.get(i));
+            receiverThread.setName(threadName + " Receive Socket " + i);
+            receiverThread.setDaemon(true);
+            receiverThread.start();
+            receiverThreads.add(receiverThread);
+        }
 
-                            final Map<String,String> metadata = EventFactoryUtil.createMapWithSender(sender);
-                            final E event = eventFactory.create(bytes, metadata, null);
-                            events.offer(event);
+        if (!receivers.isEmpty()) {
+            receivers.get(0).run();
+        }
 
-                            buffer.clear();
-                        }
-                    }
-                }
-            } catch (InterruptedException e) {
-                stopped = true;
+        for (final Thread receiverThread : receiverThreads) {
+            try {
+                receiverThread.join();
+            } catch (final InterruptedException e) {
                 Thread.currentThread().interrupt();
-            } catch (IOException e) {
-                logger.error("Error reading from DatagramChannel", e);
+                break;
             }
         }
-
-        if (buffer != null) {
-            bufferSource.release(buffer);
-        }
     }
 
     @Override
     public int getPort() {
-        return datagramChannel == null ? 0 : datagramChannel.socket().getLocalPort();
+        return receivers.isEmpty() ? 0 : receivers.get(0).channel.socket().getLocalPort();
+    }
+
+    /**
+     * Returns the number of datagrams dropped for each receive socket, including datagrams dropped by the Operating System
+     * when the socket buffer was full and datagrams dropped when the internal queue was full.
+     *
+     * @return Map of counter name to the number of datagrams dropped since the sockets were opened
+     */
+    @Override
+    public Map<String, Long> getDroppedEvents() {
+        if (receivers.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<Long, Long> socketDrops = readSocketDrops(getPort());
+        final Map<String, Long> droppedEvents = new LinkedHashMap<>();
+        for (final DatagramReceiver receiver : receivers) {
+            final long socketDropped = socketDrops.getOrDefault(receiver.inode, 0L);
+            droppedEvents.put(String.format(DROPPED_COUNTER_FORMAT, receiver.index), socketDropped + receiver.queueDropped.get());
+        }
+        return droppedEvents;
     }
 
     @Override
     public void close() {
         stopped = true;
-        if (selector != null) {
-            selector.wakeup();
+        for (final DatagramReceiver receiver : receivers) {
+            receiver.selector.wakeup();
+            IOUtils.closeQuietly(receiver.selector);
+            IOUtils.closeQuietly(receiver.channel);
+        }
+    }
+
+    /**
+     * Reads the number of datagrams dropped by the Operating System for each UDP socket bound to the given port, keyed by
+     * socket inode. Returns an empty Map when the socket tables are not available, as on platforms other than Linux.
+     */
+    private Map<Long, Long> readSocketDrops(final int port) {
+        final Map<Long, Long> socketDrops = new HashMap<>();
+        for (final Path socketTable : SOCKET_TABLES) {
+            if (!Files.isReadable(socketTable)) {
+                continue;
+            }
+
+            try (final BufferedReader reader = Files.newBufferedReader(socketTable)) {
+                // skip header line
+                String line = reader.readLine();
+                while ((line = reader.readLine()) != null) {
+                    final String[] fields = line.trim().split("\\s+");
+                    if (fields.length < 13) {
+                        continue;
+                    }
+
+                    final String localAddress = fields[1];
+                    final int localPort = Integer.parseInt(localAddress.substring(localAddress.indexOf(':') + 1), 16);
+                    if (localPort == port) {
+                        socketDrops.put(Long.parseLong(fields[9]), Long.parseLong(fields[12]));
+                    }
+                }
+            } catch (final IOException | RuntimeException e) {
+                logger.debug("Failed to read dropped datagrams from {}", socketTable, e);
+            }
+        }
+        return socketDrops;
+    }
+
+    private class DatagramReceiver implements Runnable {
+        private final int index;
+        private final DatagramChannel channel;
+        private final Selector selector;
+        private final long inode;
+        private final AtomicLong queueDropped = new AtomicLong();
+
+        private DatagramReceiver(final int index, final DatagramChannel channel, final Selector selector, final long inode) {
+            this.index = index;
+            this.channel = channel;
+            this.selector = selector;
+            this.inode = inode;
+        }
+
+        @Override
+        public void run() {
+            final ByteBuffer buffer = bufferSource.acquire();
+            while (!stopped) {
+                try {
+                    int selected = selector.select();
+                    // if stopped the selector could already be closed which would result in a ClosedSelectorException
+                    if (selected > 0 && !stopped) {
+                        Iterator<SelectionKey> selectorKeys = selector.selectedKeys().iterator();
+                        // if stopped we don't want to modify the keys because close() may still be in progress
+                        while (selectorKeys.hasNext() && !stopped) {
+                            SelectionKey key = selectorKeys.next();
+                            selectorKeys.remove();
+                            if (!key.isValid()) {
+                                continue;
+                            }
+                            DatagramChannel channel = (DatagramChannel) key.channel();
+                            SocketAddress socketAddress;
+                            buffer.clear();
+                            // drain all datagrams available on the socket before selecting again
+                            while (!stopped && (socketAddress = channel.receive(buffer)) != null) {
+                                String sender = "";
+                                if (socketAddress instanceof InetSocketAddress) {
+                                    sender = ((InetSocketAddress) socketAddress).getAddress().toString();
+                                }
+
+                                // create a byte array from the buffer
+                                buffer.flip();
+                                byte bytes[] = new byte[buffer.limit()];
+                                buffer.get(bytes, 0, buffer.limit());
+
+                                final Map<String, String> metadata = EventFactoryUtil.createMapWithSender(sender);
+                                final E event = eventFactory.create(bytes, metadata, null);
+                                if (!events.offer(event)) {
+                                    queueDropped.incrementAndGet();
+                                }
+
+                                buffer.clear();
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    stopped = true;
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    logger.error("Error reading from DatagramChannel", e);
+                }
+            }
+
+            if (buffer != null) {
+                bufferSource.release(buffer);
+            }
         }
-        IOUtils.closeQuietly(selector);
-        IOUtils.closeQuietly(datagramChannel);
     }
 
 }
@@ -53,13 +53,15 @@ public class EventQueue<E extends Event> {
      * is dropped an error is logged.
      *
      * @param event the event to offer
+     * @return true if the event was queued, false if the event was dropped
      * @throws InterruptedException if interrupted while waiting to offer
      */
-    public void offer(final E event) throws InterruptedException {
+    public boolean offer(final E event) throws InterruptedException {
         boolean queued = events.offer(event, offerWaitMs, TimeUnit.MILLISECONDS);
         if (!queued) {
             logger.error("Internal queue at maximum capacity, could not queue event");
         }
+        return queued;
     }
 
 }
@@ -22,6 +22,7 @@ import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.PropertyValue;
 import org.apache.nifi.event.transport.EventSender;
+import org.apache.nifi.event.transport.LoadBalancingEventSender;
 import org.apache.nifi.event.transport.netty.NettyEventSenderFactory;
 import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.flowfile.FlowFile;
@@ -54,7 +55,9 @@ public abstract class AbstractPutEventProcessor<T> extends AbstractSessionFactor
 
     public static final PropertyDescriptor HOSTNAME = new PropertyDescriptor.Builder()
             .name("Hostname")
-            .description("Destination hostname or IP address")
+            .description("Destination hostname or IP address. Multiple comma-separated hostnames distribute sending across destinations using "
+                    + "round-robin selection. Destinations that fail are skipped for 30 seconds before being attempted again. FlowFiles are sent to "
+                    + "another destination only when connecting fails, otherwise they are routed to failure.")
             .addValidator(StandardValidators.NON_EMPTY_VALIDATOR)
             .defaultValue("localhost")
             .required(true)
@@ -245,7 +248,17 @@ public abstract class AbstractPutEventProcessor<T> extends AbstractSessionFactor
     }
 
     protected EventSender<T> getEventSender(final ProcessContext context) {
-        final String hostname = context.getProperty(HOSTNAME).evaluateAttributeExpressions().getValue();
+        final String hostnames = context.getProperty(HOSTNAME).evaluateAttributeExpressions().getValue();
+        final List<EventSender<T>> eventSenders = new ArrayList<>();
+        for (final String hostname : hostnames.split(",")) {
+            if (!hostname.isBlank()) {
+                eventSenders.add(getEventSender(context, hostname.trim()));
+            }
+        }
+        return eventSenders.size() == 1 ? eventSenders.get(0) : new LoadBalancingEventSender<>(eventSenders);
+    }
+
+    private EventSender<T> getEventSender(final ProcessContext context, final String hostname) {
         final int port = context.getProperty(PORT).evaluateAttributeExpressions().asInteger();
         final String protocol = getProtocol(context);
         final boolean singleEventPerConnection = context.getProperty(CONNECTION_PER_FLOWFILE).getValue() != null ? context.getProperty(CONNECTION_PER_FLOWFILE).asBoolean() : false;
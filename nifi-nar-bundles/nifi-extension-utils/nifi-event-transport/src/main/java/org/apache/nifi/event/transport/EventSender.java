@@ -16,6 +16,8 @@
  */
 package org.apache.nifi.event.transport;
 
+import java.util.List;
+
 /**
  * Event Sender
  *
@@ -28,4 +30,15 @@ public interface EventSender<T> extends AutoCloseable {
      * @param event Event
      */
     void sendEvent(T event);
+
+    /**
+     * Send Events and return after all Events have been sent
+     *
+     * @param events Events
+     */
+    default void sendEvents(final List<T> events) {
+        for (final T event : events) {
+            sendEvent(event);
+        }
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Event Sender distributing Events across multiple Event Senders using round-robin selection. Event Senders that fail
+ * are marked unavailable and skipped until the retry interval has elapsed, after which they are selected again to
+ * check whether the destination has recovered. Unavailable Event Senders are attempted when all available Event Senders fail.
+ * <p>
+ * Events are sent to another Event Sender only when the failed Event Sender could not connect to its destination. Events
+ * such as streams can be consumed by a write that fails after it started, so any other failure is thrown to the caller.
+ *
+ * @param <T> Event Type
+ */
+public class LoadBalancingEventSender<T> implements EventSender<T> {
+    public static final Duration DEFAULT_RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    private static final long AVAILABLE = 0;
+
+    private final List<EventSender<T>> eventSenders;
+
+    private final AtomicLongArray unavailableUntil;
+
+    private final long retryIntervalMillis;
+
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    /**
+     * Load Balancing Event Sender with default retry interval
+     *
+     * @param eventSenders Event Senders for each destination
+     */
+    public LoadBalancingEventSender(final List<EventSender<T>> eventSenders) {
+        this(eventSenders, DEFAULT_RETRY_INTERVAL);
+    }
+
+    /**
+     * Load Balancing Event Sender
+     *
+     * @param eventSenders Event Senders for each destination
+     * @param retryInterval Duration to skip an Event Sender after a failure
+     */
+    public LoadBalancingEventSender(final List<EventSender<T>> eventSenders, final Duration retryInterval) {
+        Objects.requireNonNull(eventSenders, "Event Senders required");
+        if (eventSenders.isEmpty()) {
+            throw new IllegalArgumentException("At least one Event Sender required");
+        }
+        this.eventSenders = new ArrayList<>(eventSenders);
+        this.unavailableUntil = new AtomicLongArray(eventSenders.size());
+        this.retryIntervalMillis = Objects.requireNonNull(retryInterval, "Retry Interval required").toMillis();
+    }
+
+    /**
+     * Send Event using the next available Event Sender
+     *
+     * @param event Event
+     */
+    @Override
+    public void sendEvent(final T event) {
+        send(eventSender -> eventSender.sendEvent(event));
+    }
+
+    /**
+     * Send Events using the next available Event Sender
+     *
+     * @param events Events
+     */
+    @Override
+    public void sendEvents(final List<T> events) {
+        send(eventSender -> eventSender.sendEvents(events));
+    }
+
+    /**
+     * Close all Event Senders
+     *
+     * @throws Exception Thrown on failure to close one or more Event Senders
+     */
+    @Override
+    public void close() throws Exception {
+        Exception closeException = null;
+        for (final EventSender<T> eventSender : eventSenders) {
+            try {
+                eventSender.close();
+            } catch (final Exception e) {
+                if (closeException == null) {
+                    closeException = e;
+                } else {
+                    closeException.addSuppressed(e);
+                }
+            }
+        }
+
+        if (closeException != null) {
+            throw closeException;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Load Balancing Event Sender %s", eventSenders);
+    }
+
+    private void send(final Consumer<EventSender<T>> operation) {
+        final int size = eventSenders.size();
+        final int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+        final long now = System.currentTimeMillis();
+        final boolean[] availableSenders = new boolean[size];
+        for (int index = 0; index < size; index++) {
+            availableSenders[index] = now >= unavailableUntil.get(index);
+        }
+
+        EventException lastException = null;
+        // attempt available Event Senders first and then Event Senders marked unavailable
+        for (final boolean attemptAvailable : new boolean[]{true, false}) {
+            for (int i = 0; i < size; i++) {
+                final int index = (start + i) % size;
+                if (availableSenders[index] != attemptAvailable) {
+                    continue;
+                }
+
+                try {
+                    operation.accept(eventSenders.get(index));
+                    unavailableUntil.set(index, AVAILABLE);
+                    return;
+                } catch (final EventConnectionException e) {
+                    unavailableUntil.set(index, System.currentTimeMillis() + retryIntervalMillis);
+                    lastException = e;
+                } catch (final EventException e) {
+                    unavailableUntil.set(index, System.currentTimeMillis() + retryIntervalMillis);
+                    throw e;
+                }
+            }
+        }
+
+        throw lastException;
+    }
+}
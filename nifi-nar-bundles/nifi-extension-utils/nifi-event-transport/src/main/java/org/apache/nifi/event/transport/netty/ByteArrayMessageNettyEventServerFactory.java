@@ -24,6 +24,7 @@ import org.apache.nifi.event.transport.message.ByteArrayMessage;
 import org.apache.nifi.event.transport.netty.channel.ByteArrayMessageChannelHandler;
 import org.apache.nifi.event.transport.netty.channel.FilteringByteArrayMessageChannelHandler;
 import org.apache.nifi.event.transport.netty.codec.DatagramByteArrayMessageDecoder;
+import org.apache.nifi.event.transport.netty.codec.DelimitedBatchDecoder;
 import org.apache.nifi.event.transport.netty.channel.LogExceptionChannelHandler;
 import org.apache.nifi.event.transport.netty.codec.SocketByteArrayMessageDecoder;
 import org.apache.nifi.logging.ComponentLog;
@@ -38,6 +39,8 @@ import java.util.concurrent.BlockingQueue;
 public class ByteArrayMessageNettyEventServerFactory extends NettyEventServerFactory {
     private static final boolean STRIP_DELIMITER = true;
 
+    private static final int BATCHING_DISABLED = 0;
+
     /**
      * Netty Event Server Factory with configurable delimiter and queue of Byte Array Messages
      *
@@ -80,6 +83,31 @@ public class ByteArrayMessageNettyEventServerFactory extends NettyEventServerFac
                                                    final int maxFrameLength,
                                                    final BlockingQueue<ByteArrayMessage> messages,
                                                    final FilteringStrategy filteringStrategy) {
+        this(log, address, port, protocol, delimiter, maxFrameLength, messages, filteringStrategy, BATCHING_DISABLED);
+    }
+
+    /**
+     * Netty Event Server Factory with configurable delimiter and queue of Byte Array Messages containing batches of delimited TCP messages
+     *
+     * @param log Component Log
+     * @param address Listen Address
+     * @param port Listen Port Number
+     * @param protocol Channel Protocol
+     * @param delimiter Message Delimiter
+     * @param maxFrameLength Maximum Frame Length for delimited TCP messages
+     * @param messages Blocking Queue for events received
+     * @param filteringStrategy Message Filtering Strategy
+     * @param maxBatchLength Maximum length of delimited TCP messages combined into one Byte Array Message or 0 to queue each message separately
+     */
+    public ByteArrayMessageNettyEventServerFactory(final ComponentLog log,
+                                                   final InetAddress address,
+                                                   final int port,
+                                                   final TransportProtocol protocol,
+                                                   final byte[] delimiter,
+                                                   final int maxFrameLength,
+                                                   final BlockingQueue<ByteArrayMessage> messages,
+                                                   final FilteringStrategy filteringStrategy,
+                                                   final int maxBatchLength) {
         super(address, port, protocol);
         final LogExceptionChannelHandler logExceptionChannelHandler = new LogExceptionChannelHandler(log);
 
@@ -96,6 +124,14 @@ public class ByteArrayMessageNettyEventServerFactory extends NettyEventServerFac
                     byteArrayMessageChannelHandler,
                     logExceptionChannelHandler
             ));
+        } else if (maxBatchLength > BATCHING_DISABLED) {
+            final boolean skipEmptyFrames = FilteringStrategy.EMPTY == filteringStrategy;
+            setHandlerSupplier(() -> Arrays.asList(
+                    new DelimitedBatchDecoder(delimiter, maxFrameLength, maxBatchLength, skipEmptyFrames),
+                    new SocketByteArrayMessageDecoder(),
+                    byteArrayMessageChannelHandler,
+                    logExceptionChannelHandler
+            ));
         } else {
             setHandlerSupplier(() -> Arrays.asList(
                     new DelimiterBasedFrameDecoder(maxFrameLength, STRIP_DELIMITER, Unpooled.wrappedBuffer(delimiter)),
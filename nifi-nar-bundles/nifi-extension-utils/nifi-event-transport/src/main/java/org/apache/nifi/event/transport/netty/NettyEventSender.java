@@ -21,6 +21,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.util.concurrent.Future;
+import org.apache.nifi.event.transport.EventConnectionException;
 import org.apache.nifi.event.transport.EventException;
 import org.apache.nifi.event.transport.EventSender;
 import org.apache.nifi.event.transport.configuration.ShutdownQuietPeriod;
@@ -28,6 +29,8 @@ import org.apache.nifi.event.transport.configuration.ShutdownTimeout;
 
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -87,17 +90,59 @@ class NettyEventSender<T> implements EventSender<T> {
      */
     @Override
     public void sendEvent(final T event) {
+        final Channel channel = acquireChannel();
         try {
-            final Future<Channel> futureChannel = channelPool.acquire().sync();
-            final Channel channel = futureChannel.get();
-            try {
-                final ChannelFuture channelFuture = channel.writeAndFlush(event);
+            final ChannelFuture channelFuture = channel.writeAndFlush(event);
+            channelFuture.syncUninterruptibly();
+        } catch (final Exception e) {
+            throw new EventException(getChannelMessage("Send Failed"), e);
+        } finally {
+            releaseChannel(channel);
+        }
+    }
+
+    /**
+     * Send Events using one Channel acquired from Channel Pool and flush after writing all Events, allowing the
+     * Channel to combine buffered Events in gathering writes
+     *
+     * @param events Events
+     */
+    @Override
+    public void sendEvents(final List<T> events) {
+        if (singleEventPerConnection) {
+            boolean eventsSent = false;
+            for (final T event : events) {
+                try {
+                    sendEvent(event);
+                } catch (final EventConnectionException e) {
+                    if (eventsSent) {
+                        // previous Events were written so the remaining Events must not be sent elsewhere
+                        throw new EventException(getChannelMessage("Send Failed"), e.getCause());
+                    }
+                    throw e;
+                }
+                eventsSent = true;
+            }
+            return;
+        }
+
+        final Channel channel = acquireChannel();
+        try {
+            final List<ChannelFuture> channelFutures = new ArrayList<>(events.size());
+            for (final T event : events) {
+                channelFutures.add(channel.write(event));
+            }
+            channel.flush();
+
+            for (final ChannelFuture channelFuture : channelFutures) {
                 channelFuture.syncUninterruptibly();
-            } finally {
-                releaseChannel(channel);
             }
         } catch (final Exception e) {
+            // close Channel after partial writes so that subsequent Events are not sent following incomplete Events
+            channel.close();
             throw new EventException(getChannelMessage("Send Failed"), e);
+        } finally {
+            releaseChannel(channel);
         }
     }
 
@@ -127,6 +172,15 @@ class NettyEventSender<T> implements EventSender<T> {
         return String.format("%s Remote Address [%s]", message, remoteAddress);
     }
 
+    private Channel acquireChannel() {
+        try {
+            final Future<Channel> futureChannel = channelPool.acquire().sync();
+            return futureChannel.get();
+        } catch (final Exception e) {
+            throw new EventConnectionException(getChannelMessage("Connection Failed"), e);
+        }
+    }
+
     private void releaseChannel(final Channel channel) {
         if (singleEventPerConnection) {
             channel.close();
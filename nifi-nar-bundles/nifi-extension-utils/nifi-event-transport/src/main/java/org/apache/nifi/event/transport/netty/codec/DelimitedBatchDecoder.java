@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport.netty.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decoder for delimited frames that combines all complete frames available from a Socket Channel into one byte array,
+ * retaining the delimiter between frames and removing the delimiter after the last frame. Combining frames as bytes
+ * are received requires a single copy of each frame and a single decoded message for each batch of frames.
+ */
+public class DelimitedBatchDecoder extends ByteToMessageDecoder {
+    private static final int INITIAL_FRAMES = 64;
+
+    private final byte[] delimiter;
+
+    private final int maxFrameLength;
+
+    private final int maxBatchLength;
+
+    private final boolean skipEmptyFrames;
+
+    private int[] frameStarts = new int[INITIAL_FRAMES];
+
+    private int[] frameLengths = new int[INITIAL_FRAMES];
+
+    private boolean discarding;
+
+    /**
+     * Delimited Batch Decoder with delimiter and limits
+     *
+     * @param delimiter Frame Delimiter
+     * @param maxFrameLength Maximum length of a single frame excluding the delimiter
+     * @param maxBatchLength Maximum length of combined frames, exceeded only when a single frame is longer
+     * @param skipEmptyFrames Skip empty frames between consecutive delimiters
+     */
+    public DelimitedBatchDecoder(final byte[] delimiter, final int maxFrameLength, final int maxBatchLength, final boolean skipEmptyFrames) {
+        if (delimiter.length == 0) {
+            throw new IllegalArgumentException("Delimiter required");
+        }
+        this.delimiter = delimiter.clone();
+        this.maxFrameLength = maxFrameLength;
+        this.maxBatchLength = maxBatchLength;
+        this.skipEmptyFrames = skipEmptyFrames;
+    }
+
+    /**
+     * Decode complete frames from buffer to a byte array containing one or more delimited frames
+     *
+     * @param channelHandlerContext Channel Handler Context
+     * @param buffer Buffer of bytes received
+     * @param decoded Decoded byte arrays
+     */
+    @Override
+    protected void decode(final ChannelHandlerContext channelHandlerContext, final ByteBuf buffer, final List<Object> decoded) {
+        if (discarding) {
+            final int delimiterIndex = indexOfDelimiter(buffer, buffer.readerIndex());
+            if (delimiterIndex < 0) {
+                buffer.skipBytes(buffer.readableBytes());
+                return;
+            }
+            buffer.readerIndex(delimiterIndex + delimiter.length);
+            discarding = false;
+        }
+
+        int frames = 0;
+        int batchLength = 0;
+        int position = buffer.readerIndex();
+        int delimiterIndex;
+        while ((delimiterIndex = indexOfDelimiter(buffer, position)) >= 0) {
+            final int frameLength = delimiterIndex - position;
+            if (frameLength > maxFrameLength) {
+                addBatch(buffer, frames, batchLength, decoded);
+                buffer.readerIndex(delimiterIndex + delimiter.length);
+                throw new TooLongFrameException(String.format("Frame length [%d] exceeds maximum [%d]", frameLength, maxFrameLength));
+            }
+
+            if (frameLength > 0 || !skipEmptyFrames) {
+                final int frameBatchLength = frames == 0 ? frameLength : batchLength + delimiter.length + frameLength;
+                if (frames > 0 && frameBatchLength > maxBatchLength) {
+                    break;
+                }
+                addFrame(frames, position, frameLength);
+                frames++;
+                batchLength = frameBatchLength;
+            }
+            position = delimiterIndex + delimiter.length;
+        }
+
+        addBatch(buffer, frames, batchLength, decoded);
+        buffer.readerIndex(Math.max(buffer.readerIndex(), position));
+
+        final int pendingLength = buffer.readableBytes();
+        if (pendingLength > maxFrameLength && indexOfDelimiter(buffer, buffer.readerIndex()) < 0) {
+            buffer.skipBytes(pendingLength);
+            discarding = true;
+            throw new TooLongFrameException(String.format("Pending frame length [%d] exceeds maximum [%d]: discarding until next delimiter", pendingLength, maxFrameLength));
+        }
+    }
+
+    private void addFrame(final int frame, final int start, final int length) {
+        if (frame == frameStarts.length) {
+            frameStarts = Arrays.copyOf(frameStarts, frame * 2);
+            frameLengths = Arrays.copyOf(frameLengths, frame * 2);
+        }
+        frameStarts[frame] = start;
+        frameLengths[frame] = length;
+    }
+
+    private void addBatch(final ByteBuf buffer, final int frames, final int batchLength, final List<Object> decoded) {
+        if (frames == 0) {
+            return;
+        }
+
+        final byte[] batch = new byte[batchLength];
+        int batchIndex = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            if (frame > 0) {
+                System.arraycopy(delimiter, 0, batch, batchIndex, delimiter.length);
+                batchIndex += delimiter.length;
+            }
+            final int frameLength = frameLengths[frame];
+            buffer.getBytes(frameStarts[frame], batch, batchIndex, frameLength);
+            batchIndex += frameLength;
+        }
+
+        // Consume bytes through the delimiter following the last frame in the batch
+        buffer.readerIndex(frameStarts[frames - 1] + frameLengths[frames - 1] + delimiter.length);
+        decoded.add(batch);
+    }
+
+    private int indexOfDelimiter(final ByteBuf buffer, final int fromIndex) {
+        final int lastStart = buffer.writerIndex() - delimiter.length;
+        int index = fromIndex;
+        while (index <= lastStart) {
+            final int firstIndex = buffer.indexOf(index, lastStart + 1, delimiter[0]);
+            if (firstIndex < 0) {
+                return -1;
+            }
+            if (isDelimiterAt(buffer, firstIndex)) {
+                return firstIndex;
+            }
+            index = firstIndex + 1;
+        }
+        return -1;
+    }
+
+    private boolean isDelimiterAt(final ByteBuf buffer, final int index) {
+        for (int i = 1; i < delimiter.length; i++) {
+            if (buffer.getByte(index + i) != delimiter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class LoadBalancingEventSenderTest {
+    private static final String EVENT = String.class.getSimpleName();
+
+    private static final Duration RETRY_INTERVAL = Duration.ofMinutes(1);
+
+    @Mock
+    private EventSender<String> firstEventSender;
+
+    @Mock
+    private EventSender<String> secondEventSender;
+
+    @Mock
+    private EventSender<InputStream> firstStreamEventSender;
+
+    @Mock
+    private EventSender<InputStream> secondStreamEventSender;
+
+    @Test
+    public void testSendEventRoundRobin() {
+        final LoadBalancingEventSender<String> sender = new LoadBalancingEventSender<>(Arrays.asList(firstEventSender, secondEventSender), RETRY_INTERVAL);
+
+        sender.sendEvent(EVENT);
+        sender.sendEvent(EVENT);
+        sender.sendEvent(EVENT);
+
+        verify(firstEventSender, times(2)).sendEvent(EVENT);
+        verify(secondEventSender).sendEvent(EVENT);
+    }
+
+    @Test
+    public void testSendEventsSkipsFailedEventSender() {
+        final List<String> events = Collections.singletonList(EVENT);
+        doThrow(new EventConnectionException(EVENT, null)).when(firstEventSender).sendEvents(events);
+        final LoadBalancingEventSender<String> sender = new LoadBalancingEventSender<>(Arrays.asList(firstEventSender, secondEventSender), RETRY_INTERVAL);
+
+        sender.sendEvents(events);
+        sender.sendEvents(events);
+        sender.sendEvents(events);
+
+        verify(firstEventSender).sendEvents(events);
+        verify(secondEventSender, times(3)).sendEvents(events);
+    }
+
+    @Test
+    public void testSendEventAllEventSendersFailed() {
+        doThrow(new EventConnectionException(EVENT, null)).when(firstEventSender).sendEvent(EVENT);
+        doThrow(new EventConnectionException(EVENT, null)).when(secondEventSender).sendEvent(EVENT);
+        final LoadBalancingEventSender<String> sender = new LoadBalancingEventSender<>(Arrays.asList(firstEventSender, secondEventSender), RETRY_INTERVAL);
+
+        assertThrows(EventException.class, () -> sender.sendEvent(EVENT));
+        verify(firstEventSender).sendEvent(EVENT);
+        verify(secondEventSender).sendEvent(EVENT);
+
+        // unavailable Event Senders are attempted when no Event Senders are available
+        assertThrows(EventException.class, () -> sender.sendEvent(EVENT));
+        verify(firstEventSender, times(2)).sendEvent(EVENT);
+        verify(secondEventSender, times(2)).sendEvent(EVENT);
+    }
+
+    @Test
+    public void testSendEventsPartialWriteFailedNotSentToNextEventSender() {
+        final InputStream event = new ByteArrayInputStream(EVENT.getBytes(StandardCharsets.UTF_8));
+        final List<InputStream> events = Collections.singletonList(event);
+        doAnswer(invocation -> {
+            final List<InputStream> sendEvents = invocation.getArgument(0);
+            sendEvents.get(0).read(new byte[2]);
+            throw new EventException(EVENT);
+        }).when(firstStreamEventSender).sendEvents(events);
+        final LoadBalancingEventSender<InputStream> sender = new LoadBalancingEventSender<>(Arrays.asList(firstStreamEventSender, secondStreamEventSender), RETRY_INTERVAL);
+
+        // Events partially consumed must not be sent to another Event Sender
+        assertThrows(EventException.class, () -> sender.sendEvents(events));
+        verify(secondStreamEventSender, never()).sendEvents(any());
+        assertEquals(EVENT.length() - 2, event.available());
+
+        // Event Sender with partial write is marked unavailable
+        sender.sendEvents(events);
+        sender.sendEvents(events);
+        verify(firstStreamEventSender).sendEvents(events);
+        verify(secondStreamEventSender, times(2)).sendEvents(events);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        final LoadBalancingEventSender<String> sender = new LoadBalancingEventSender<>(Arrays.asList(firstEventSender, secondEventSender), RETRY_INTERVAL);
+
+        sender.close();
+
+        verify(firstEventSender).close();
+        verify(secondEventSender).close();
+        verify(firstEventSender, never()).sendEvent(EVENT);
+    }
+}
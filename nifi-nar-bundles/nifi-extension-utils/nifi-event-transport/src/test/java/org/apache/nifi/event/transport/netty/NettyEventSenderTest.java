@@ -16,6 +16,8 @@
  */
 package org.apache.nifi.event.transport.netty;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.util.concurrent.Future;
@@ -26,12 +28,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class NettyEventSenderTest {
@@ -46,6 +52,15 @@ public class NettyEventSenderTest {
     @Mock
     private Future<?> shutdownFuture;
 
+    @Mock
+    private Future<Channel> channelFuture;
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private ChannelFuture writeFuture;
+
     @Test
     public void testClose() {
         final SocketAddress socketAddress = InetSocketAddress.createUnresolved(LOCALHOST, 0);
@@ -56,4 +71,23 @@ public class NettyEventSenderTest {
         verify(channelPool).close();
         verify(group).shutdownGracefully(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS));
     }
+
+    @Test
+    public void testSendEventsSingleFlush() throws Exception {
+        final SocketAddress socketAddress = InetSocketAddress.createUnresolved(LOCALHOST, 0);
+        final NettyEventSender<String> sender = new NettyEventSender<>(group, channelPool, socketAddress, false);
+        final List<String> events = Arrays.asList(LOCALHOST, LOCALHOST, LOCALHOST);
+
+        when(channelPool.acquire()).thenReturn(channelFuture);
+        when(channelFuture.sync()).thenReturn(channelFuture);
+        when(channelFuture.get()).thenReturn(channel);
+        when(channel.write(LOCALHOST)).thenReturn(writeFuture);
+
+        sender.sendEvents(events);
+
+        verify(channel, times(events.size())).write(LOCALHOST);
+        verify(channel).flush();
+        verify(writeFuture, times(events.size())).syncUninterruptibly();
+        verify(channelPool).release(channel);
+    }
 }
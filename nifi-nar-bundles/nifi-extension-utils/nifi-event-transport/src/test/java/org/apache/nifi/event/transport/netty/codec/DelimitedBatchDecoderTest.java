@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport.netty.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DelimitedBatchDecoderTest {
+    private static final byte[] DELIMITER = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final int MAX_FRAME_LENGTH = 8;
+
+    private static final int MAX_BATCH_LENGTH = 16;
+
+    @Test
+    void testDecodeBatchRetainsPartialFrame() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new DelimitedBatchDecoder(DELIMITER, MAX_FRAME_LENGTH, MAX_BATCH_LENGTH, false));
+
+        channel.writeInbound(getBuffer("one\ntwo\n\nthr"));
+        assertBatchEquals("one\ntwo\n", channel.readInbound());
+        assertNull(channel.readInbound());
+
+        channel.writeInbound(getBuffer("ee\n"));
+        assertBatchEquals("three", channel.readInbound());
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    void testDecodeBatchSkipEmptyFrames() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new DelimitedBatchDecoder(DELIMITER, MAX_FRAME_LENGTH, MAX_BATCH_LENGTH, true));
+
+        channel.writeInbound(getBuffer("\none\n\n\ntwo\n\n"));
+        assertBatchEquals("one\ntwo", channel.readInbound());
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    void testDecodeMaxBatchLength() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new DelimitedBatchDecoder(DELIMITER, MAX_FRAME_LENGTH, MAX_BATCH_LENGTH, false));
+
+        channel.writeInbound(getBuffer("first\nsecond\nthird\nfourth\n"));
+        assertBatchEquals("first\nsecond", channel.readInbound());
+        assertBatchEquals("third\nfourth", channel.readInbound());
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    void testDecodeFrameTooLong() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new DelimitedBatchDecoder(DELIMITER, MAX_FRAME_LENGTH, MAX_BATCH_LENGTH, false));
+
+        assertThrows(TooLongFrameException.class, () -> channel.writeInbound(getBuffer("one\nexceeded-length\ntwo\n")));
+        assertBatchEquals("one", channel.readInbound());
+
+        channel.writeInbound(getBuffer("three\n"));
+        assertBatchEquals("two\nthree", channel.readInbound());
+    }
+
+    @Test
+    void testDecodePendingFrameTooLong() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new DelimitedBatchDecoder(DELIMITER, MAX_FRAME_LENGTH, MAX_BATCH_LENGTH, false));
+
+        assertThrows(TooLongFrameException.class, () -> channel.writeInbound(getBuffer("exceeded-length")));
+        assertNull(channel.readInbound());
+
+        channel.writeInbound(getBuffer("-discarded\none\n"));
+        assertBatchEquals("one", channel.readInbound());
+    }
+
+    private static ByteBuf getBuffer(final String value) {
+        return Unpooled.wrappedBuffer(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertBatchEquals(final String expected, final Object batch) {
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), (byte[]) batch);
+    }
+}
@@ -35,6 +35,7 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.InputStreamCallback;
+import org.apache.nifi.remote.client.PeerSelectionStrategy;
 import org.apache.nifi.remote.client.SiteToSiteClient;
 import org.apache.nifi.remote.client.SiteToSiteClientConfig;
 import org.apache.nifi.remote.exception.PortNotRunningException;
@@ -74,6 +75,9 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
 
     private static final String CATEGORY = "Site to Site";
 
+    // System property for opting in to a Peer Selection Strategy other than the default
+    static final String PEER_SELECTION_STRATEGY_PROPERTY = "nifi.remote.peer.selection.strategy";
+
     private static final Logger logger = LoggerFactory.getLogger(StandardRemoteGroupPort.class);
     private final RemoteProcessGroup remoteGroup;
     private final AtomicBoolean useCompression = new AtomicBoolean(false);
@@ -171,6 +175,7 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
                 .nodePenalizationPeriod(penalizationMillis, TimeUnit.MILLISECONDS)
                 .timeout(remoteGroup.getCommunicationsTimeout(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS)
                 .transportProtocol(remoteGroup.getTransportProtocol())
+                .peerSelectionStrategy(getPeerSelectionStrategy())
                 .httpProxy(new HttpProxy(remoteGroup.getProxyHost(), remoteGroup.getProxyPort(), remoteGroup.getProxyUser(), remoteGroup.getProxyPassword()))
                 .localAddress(remoteGroup.getLocalAddress());
 
@@ -192,6 +197,20 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
         clientRef.set(clientBuilder.build());
     }
 
+    private PeerSelectionStrategy getPeerSelectionStrategy() {
+        final String strategy = System.getProperty(PEER_SELECTION_STRATEGY_PROPERTY);
+        if (strategy == null || strategy.isBlank()) {
+            return PeerSelectionStrategy.FLOWFILE_COUNT;
+        }
+
+        try {
+            return PeerSelectionStrategy.valueOf(strategy.trim());
+        } catch (final IllegalArgumentException e) {
+            logger.warn("{} Ignoring unknown Peer Selection Strategy [{}] configured by {}", this, strategy, PEER_SELECTION_STRATEGY_PROPERTY);
+            return PeerSelectionStrategy.FLOWFILE_COUNT;
+        }
+    }
+
     @Override
     public void onTrigger(final ProcessContext context, final ProcessSession session) {
         if (!remoteGroup.isTransmitting()) {
@@ -33,8 +33,8 @@ import org.apache.nifi.remote.cluster.NodeInformant;
 import org.apache.nifi.remote.codec.FlowFileCodec;
 import org.apache.nifi.remote.exception.HandshakeException;
 import org.apache.nifi.remote.exception.ProtocolException;
-import org.apache.nifi.remote.io.CompressionInputStream;
-import org.apache.nifi.remote.io.CompressionOutputStream;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 import org.apache.nifi.remote.util.StandardDataPacket;
 import org.apache.nifi.util.FormatUtils;
 import org.apache.nifi.util.StopWatch;
@@ -87,6 +87,9 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
 
     protected void validateHandshakeRequest(HandshakeProperties confirmed, final Peer peer, final Map<String, String> properties) throws HandshakeException {
         Boolean useGzip = null;
+        CompressionCodec compressionCodec = CompressionCodec.DEFLATE;
+        Integer compressionLevel = null;
+        byte[] compressionDictionary = null;
         for (final Map.Entry<String, String> entry : properties.entrySet()) {
             final String propertyName = entry.getKey();
             final String value = entry.getValue();
@@ -117,11 +120,20 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
                     case BATCH_DURATION:
                         confirmed.setBatchDurationNanos(TimeUnit.MILLISECONDS.toNanos(Long.parseLong(value)));
                         break;
+                    case COMPRESSION_CODEC:
+                        compressionCodec = CompressionCodec.valueOf(value);
+                        break;
+                    case COMPRESSION_LEVEL:
+                        compressionLevel = Integer.parseInt(value);
+                        break;
+                    case COMPRESSION_DICTIONARY:
+                        compressionDictionary = CompressionConfiguration.decodeDictionary(value);
+                        break;
                     case PORT_IDENTIFIER: {
                         checkPortStatus(peer, value);
                     }
                 }
-            } catch (final NumberFormatException nfe) {
+            } catch (final IllegalArgumentException iae) {
                 throw new HandshakeException(ResponseCode.ILLEGAL_PROPERTY_VALUE, "Received invalid value for property '" + property + "'; invalid value: " + value);
             }
         }
@@ -131,6 +143,21 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
             throw new HandshakeException(ResponseCode.MISSING_PROPERTY, "Missing Property " + HandshakeProperty.GZIP.name());
         }
 
+        if (useGzip) {
+            int level = compressionLevel == null ? compressionCodec.getDefaultLevel() : compressionLevel;
+            if (compressionCodec.isLevelSupported(level) && level > compressionCodec.getMaximumServerLevel()) {
+                logger.debug("{} Reducing requested {} Compression Level {} to {} for {}", this, compressionCodec, level, compressionCodec.getMaximumServerLevel(), peer);
+                level = compressionCodec.getMaximumServerLevel();
+            }
+
+            try {
+                confirmed.setCompression(new CompressionConfiguration(compressionCodec, level, compressionDictionary));
+            } catch (final IllegalArgumentException e) {
+                throw new HandshakeException(ResponseCode.ILLEGAL_PROPERTY_VALUE, "Received invalid compression settings: " + e.getMessage());
+            }
+            logger.debug("{} Negotiated {} with {}", this, confirmed.getCompression(), peer);
+        }
+
     }
 
     protected void checkPortStatus(final Peer peer, String portId) throws HandshakeException {
@@ -245,8 +272,8 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
         String calculatedCRC = "";
         OutputStream os = new DataOutputStream(commsSession.getOutput().getOutputStream());
         while (continueTransaction) {
-            final boolean useGzip = handshakeProperties.isUseGzip();
-            final OutputStream flowFileOutputStream = useGzip ? new CompressionOutputStream(os) : os;
+            final CompressionConfiguration compression = handshakeProperties.getCompression();
+            final OutputStream flowFileOutputStream = compression == null ? os : compression.createOutputStream(os);
             logger.debug("{} Sending {} to {}", new Object[]{this, flowFile, peer});
 
             final CheckedOutputStream checkedOutputStream = new CheckedOutputStream(flowFileOutputStream, crc);
@@ -264,10 +291,10 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
 
             final long transmissionMillis = transferWatch.getElapsed(TimeUnit.MILLISECONDS);
 
-            // need to close the CompressionOutputStream in order to force it write out any remaining bytes.
+            // need to close the compressing stream in order to force it write out any remaining bytes.
             // Otherwise, do NOT close it because we don't want to close the underlying stream
-            // (CompressionOutputStream will not close the underlying stream when it's closed)
-            if (useGzip) {
+            // (compressing streams will not close the underlying stream when closed)
+            if (compression != null) {
                 checkedOutputStream.close();
             }
 
@@ -436,7 +463,8 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
         boolean continueTransaction = true;
         while (continueTransaction) {
             final long startNanos = System.nanoTime();
-            final InputStream flowFileInputStream = handshakeProperties.isUseGzip() ? new CompressionInputStream(dis) : dis;
+            final CompressionConfiguration compression = handshakeProperties.getCompression();
+            final InputStream flowFileInputStream = compression == null ? dis : compression.createInputStream(dis);
             final CheckedInputStream checkedInputStream = new CheckedInputStream(flowFileInputStream, crc);
 
             final DataPacket dataPacket = codec.decode(checkedInputStream);
@@ -453,8 +481,8 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
 
             flowFile = session.putAllAttributes(flowFile, dataPacket.getAttributes());
 
-            if (handshakeProperties.isUseGzip()) {
-                // Close CompressionInputStream to free acquired memory, without closing underlying stream.
+            if (compression != null) {
+                // Close decompressing stream to free acquired memory, without closing underlying stream.
                 checkedInputStream.close();
             }
 
@@ -17,12 +17,14 @@
 package org.apache.nifi.remote.protocol;
 
 import org.apache.nifi.remote.exception.HandshakeException;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
 
 public class HandshakeProperties {
 
     private String commsIdentifier;
     private String transitUriPrefix = null;
     private boolean useGzip;
+    private CompressionConfiguration compression = CompressionConfiguration.DEFLATE;
     private long expirationMillis;
     private int batchCount = 0;
     private long batchBytes = 0L;
@@ -52,6 +54,17 @@ public class HandshakeProperties {
         this.useGzip = useGzip;
     }
 
+    /**
+     * @return the negotiated compression, or <code>null</code> if compression is not used
+     */
+    public CompressionConfiguration getCompression() {
+        return useGzip ? compression : null;
+    }
+
+    public void setCompression(CompressionConfiguration compression) {
+        this.compression = compression;
+    }
+
     public long getExpirationMillis() {
         return expirationMillis;
     }
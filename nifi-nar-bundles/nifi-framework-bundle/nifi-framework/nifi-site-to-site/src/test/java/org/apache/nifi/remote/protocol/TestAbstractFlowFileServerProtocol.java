@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.protocol;
+
+import org.apache.nifi.remote.exception.HandshakeException;
+import org.apache.nifi.remote.io.compression.CompressionCodec;
+import org.apache.nifi.remote.io.compression.CompressionConfiguration;
+import org.apache.nifi.remote.protocol.socket.SocketFlowFileServerProtocol;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestAbstractFlowFileServerProtocol {
+
+    private static final byte[] DICTIONARY = "dictionary".getBytes(StandardCharsets.UTF_8);
+
+    private CompressionConfiguration validate(final Map<String, String> properties) throws HandshakeException {
+        final HandshakeProperties confirmed = new HandshakeProperties();
+        new SocketFlowFileServerProtocol().validateHandshakeRequest(confirmed, null, properties);
+        return confirmed.getCompression();
+    }
+
+    private CompressionConfiguration validateCompression(final String codec, final String level) throws HandshakeException {
+        return validate(createProperties(codec, level));
+    }
+
+    private Map<String, String> createProperties(final String codec, final String level) {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(HandshakeProperty.GZIP.name(), "true");
+        properties.put(HandshakeProperty.COMPRESSION_CODEC.name(), codec);
+        properties.put(HandshakeProperty.COMPRESSION_LEVEL.name(), level);
+        return properties;
+    }
+
+    private void assertIllegalPropertyValue(final Map<String, String> properties) {
+        final HandshakeException e = assertThrows(HandshakeException.class, () -> validate(properties));
+        assertEquals(ResponseCode.ILLEGAL_PROPERTY_VALUE, e.getResponseCode());
+    }
+
+    @Test
+    public void testValidateHandshakeRequestDefaultsToDeflate() throws HandshakeException {
+        final CompressionConfiguration compression = validate(Map.of(HandshakeProperty.GZIP.name(), "true"));
+        assertEquals(CompressionCodec.DEFLATE, compression.getCodec());
+        assertEquals(CompressionCodec.DEFLATE.getDefaultLevel(), compression.getLevel());
+    }
+
+    @Test
+    public void testValidateHandshakeRequestWithoutCompression() throws HandshakeException {
+        final Map<String, String> properties = createProperties(CompressionCodec.ZSTD.name(), "3");
+        properties.put(HandshakeProperty.GZIP.name(), "false");
+        assertNull(validate(properties));
+    }
+
+    @Test
+    public void testValidateHandshakeRequestZstdDictionary() throws HandshakeException {
+        final Map<String, String> properties = createProperties(CompressionCodec.ZSTD.name(), "3");
+        properties.put(HandshakeProperty.COMPRESSION_DICTIONARY.name(), Base64.getEncoder().encodeToString(DICTIONARY));
+
+        final CompressionConfiguration compression = validate(properties);
+        assertEquals(CompressionCodec.ZSTD, compression.getCodec());
+        assertEquals(3, compression.getLevel());
+        assertArrayEquals(DICTIONARY, compression.getDictionary());
+    }
+
+    @Test
+    public void testValidateHandshakeRequestUnknownCodec() {
+        assertIllegalPropertyValue(createProperties("SNAPPY", "1"));
+    }
+
+    @Test
+    public void testValidateHandshakeRequestInvalidLevel() {
+        assertIllegalPropertyValue(createProperties(CompressionCodec.LZ4.name(), "fast"));
+        assertIllegalPropertyValue(createProperties(CompressionCodec.ZSTD.name(), "23"));
+        assertIllegalPropertyValue(createProperties(CompressionCodec.DEFLATE.name(), "-1"));
+    }
+
+    @Test
+    public void testValidateHandshakeRequestInvalidDictionary() {
+        final Map<String, String> unsupported = createProperties(CompressionCodec.LZ4.name(), "0");
+        unsupported.put(HandshakeProperty.COMPRESSION_DICTIONARY.name(), Base64.getEncoder().encodeToString(DICTIONARY));
+        assertIllegalPropertyValue(unsupported);
+
+        final Map<String, String> notEncoded = createProperties(CompressionCodec.ZSTD.name(), "3");
+        notEncoded.put(HandshakeProperty.COMPRESSION_DICTIONARY.name(), "not base64!");
+        assertIllegalPropertyValue(notEncoded);
+
+        final Map<String, String> tooLarge = createProperties(CompressionCodec.ZSTD.name(), "3");
+        tooLarge.put(HandshakeProperty.COMPRESSION_DICTIONARY.name(),
+                Base64.getEncoder().encodeToString(new byte[CompressionConfiguration.MAX_DICTIONARY_SIZE + 1]));
+        assertIllegalPropertyValue(tooLarge);
+    }
+
+    @Test
+    public void testValidateHandshakeRequestClampsZstdLevel() throws HandshakeException {
+        final CompressionConfiguration compression = validateCompression(CompressionCodec.ZSTD.name(), "22");
+        assertEquals(CompressionCodec.ZSTD, compression.getCodec());
+        assertEquals(CompressionCodec.ZSTD.getMaximumServerLevel(), compression.getLevel());
+    }
+
+    @Test
+    public void testValidateHandshakeRequestClampsLz4Level() throws HandshakeException {
+        final CompressionConfiguration compression = validateCompression(CompressionCodec.LZ4.name(), "17");
+        assertEquals(CompressionCodec.LZ4, compression.getCodec());
+        assertEquals(CompressionCodec.LZ4.getMaximumServerLevel(), compression.getLevel());
+    }
+
+    @Test
+    public void testValidateHandshakeRequestKeepsAllowedLevel() throws HandshakeException {
+        final CompressionConfiguration compression = validateCompression(CompressionCodec.ZSTD.name(), "-5");
+        assertEquals(-5, compression.getLevel());
+    }
+}
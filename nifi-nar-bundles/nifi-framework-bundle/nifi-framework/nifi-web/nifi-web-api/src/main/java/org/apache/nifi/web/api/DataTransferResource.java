@@ -89,6 +89,8 @@ import static org.apache.nifi.remote.protocol.HandshakeProperty.REQUEST_EXPIRATI
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_BATCH_COUNT;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_BATCH_DURATION;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_BATCH_SIZE;
+import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_COMPRESSION_CODEC;
+import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_COMPRESSION_LEVEL;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_REQUEST_EXPIRATION;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.HANDSHAKE_PROPERTY_USE_COMPRESSION;
 
@@ -214,7 +216,14 @@ public class DataTransferResource extends ApplicationResource {
             entity.setResponseCode(ResponseCode.PROPERTIES_OK.getCode());
             entity.setMessage("Handshake properties are valid, and port is running. A transaction is created:" + transactionId);
 
-            return responseCreator.locationResponse(uriInfo, portType, portId, transactionId, entity, transportProtocolVersion, transactionManager);
+            final Response response = responseCreator.locationResponse(uriInfo, portType, portId, transactionId, entity, transportProtocolVersion, transactionManager);
+
+            // Confirm the requested compression codec so that the client does not fall back to Deflate
+            final String compressionCodec = req.getHeader(HANDSHAKE_PROPERTY_COMPRESSION_CODEC);
+            if (!isEmpty(compressionCodec) && Boolean.parseBoolean(req.getHeader(HANDSHAKE_PROPERTY_USE_COMPRESSION))) {
+                return Response.fromResponse(response).header(HANDSHAKE_PROPERTY_COMPRESSION_CODEC, compressionCodec).build();
+            }
+            return response;
 
         } catch (HandshakeException e) {
             transactionManager.cancelTransaction(transactionId);
@@ -346,6 +355,8 @@ public class DataTransferResource extends ApplicationResource {
         final String batchCount = req.getHeader(HANDSHAKE_PROPERTY_BATCH_COUNT);
         final String batchSize = req.getHeader(HANDSHAKE_PROPERTY_BATCH_SIZE);
         final String batchDuration = req.getHeader(HANDSHAKE_PROPERTY_BATCH_DURATION);
+        final String compressionCodec = req.getHeader(HANDSHAKE_PROPERTY_COMPRESSION_CODEC);
+        final String compressionLevel = req.getHeader(HANDSHAKE_PROPERTY_COMPRESSION_LEVEL);
 
         commSession.putHandshakeParam(HandshakeProperty.PORT_IDENTIFIER, portId);
         commSession.putHandshakeParam(HandshakeProperty.GZIP, String.valueOf(useCompression));
@@ -362,6 +373,12 @@ public class DataTransferResource extends ApplicationResource {
         if (!isEmpty(batchDuration)) {
             commSession.putHandshakeParam(BATCH_DURATION, batchDuration);
         }
+        if (!isEmpty(compressionCodec)) {
+            commSession.putHandshakeParam(HandshakeProperty.COMPRESSION_CODEC, compressionCodec);
+        }
+        if (!isEmpty(compressionLevel)) {
+            commSession.putHandshakeParam(HandshakeProperty.COMPRESSION_LEVEL, compressionLevel);
+        }
 
         if (peerDescription.isSecure()) {
             final NiFiUser nifiUser = NiFiUserUtils.getNiFiUser();
@@ -50,6 +50,7 @@ import static org.apache.nifi.web.util.WebUtils.PROXY_HOST_HTTP_HEADER;
 import static org.apache.nifi.web.util.WebUtils.PROXY_PORT_HTTP_HEADER;
 import static org.apache.nifi.web.util.WebUtils.PROXY_SCHEME_HTTP_HEADER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -188,6 +189,50 @@ public class TestDataTransferResource {
         assertEquals(locationUriStr, response.getMetadata().getFirst(HttpHeaders.LOCATION_HEADER_NAME).toString());
     }
 
+    private Response createCompressedTransaction(final String compressionCodec) throws Exception {
+        final HttpServletRequest req = createCommonHttpServletRequest();
+        doReturn("true").when(req).getHeader(eq(HttpHeaders.HANDSHAKE_PROPERTY_USE_COMPRESSION));
+        doReturn(compressionCodec).when(req).getHeader(eq(HttpHeaders.HANDSHAKE_PROPERTY_COMPRESSION_CODEC));
+
+        final DataTransferResource resource = getDataTransferResource();
+
+        final String locationUriStr = "http://localhost:8080/nifi-api/data-transfer/input-ports/port-id/transactions/transaction-id";
+        final UriInfo uriInfo = mockUriInfo(locationUriStr);
+        final Field uriInfoField = resource.getClass().getSuperclass().getSuperclass()
+                .getDeclaredField("uriInfo");
+        uriInfoField.setAccessible(true);
+        uriInfoField.set(resource, uriInfo);
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getServerPort()).thenReturn(8080);
+        when(request.getScheme()).thenReturn("http");
+        when(request.getHeader(eq("Host"))).thenReturn("localhost");
+
+        final Field httpServletRequestField = resource.getClass().getSuperclass().getSuperclass()
+                .getDeclaredField("httpServletRequest");
+        httpServletRequestField.setAccessible(true);
+        httpServletRequestField.set(resource, request);
+
+        final Response response = resource.createPortTransaction("input-ports", "port-id", req, null, uriInfo, null);
+        assertEquals(201, response.getStatus());
+        return response;
+    }
+
+    @Test
+    public void testCreateTransactionConfirmsCompressionCodec() throws Exception {
+        final Response response = createCompressedTransaction("ZSTD");
+
+        assertEquals("ZSTD", response.getHeaderString(HttpHeaders.HANDSHAKE_PROPERTY_COMPRESSION_CODEC));
+    }
+
+    @Test
+    public void testCreateTransactionWithoutCompressionCodec() throws Exception {
+        final Response response = createCompressedTransaction(null);
+
+        // Clients fall back to Deflate when the codec is not confirmed
+        assertNull(response.getHeaderString(HttpHeaders.HANDSHAKE_PROPERTY_COMPRESSION_CODEC));
+    }
+
     @Test
     public void testCreateTransactionThroughReverseProxy() throws Exception {
         final HttpServletRequest req = createCommonHttpServletRequest();
@@ -42,6 +42,9 @@ import org.apache.nifi.util.StopWatch;
 import org.apache.nifi.util.db.JdbcCommon;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
@@ -58,6 +61,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -159,6 +167,32 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
             .defaultValue(INITIAL_LOAD_STRATEGY_ALL_ROWS.getValue())
             .build();
 
+    public static final PropertyDescriptor PARTITION_COUNT = new PropertyDescriptor.Builder()
+            .name("qdbt-partition-count")
+            .displayName("Parallel Partitions")
+            .description("The number of ranges the rows to be fetched are split into, each of which is queried concurrently on its own database connection. The ranges "
+                    + "are computed from the minimum and maximum values of the Partition Column. Each range produces its own FlowFiles, and the maximum values are "
+                    + "only updated once all ranges have been fetched successfully; if any range fails, the FlowFiles from all ranges are discarded. The Database "
+                    + "Connection Pooling Service must allow at least this many connections. If the value is one, rows are fetched with a single query.")
+            .defaultValue("1")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.ENVIRONMENT)
+            .build();
+
+    public static final PropertyDescriptor PARTITION_COLUMN = new PropertyDescriptor.Builder()
+            .name("qdbt-partition-column")
+            .displayName("Partition Column")
+            .description("The name of a numeric column used to split the rows to be fetched into ranges when Parallel Partitions is greater than one. If not set, the "
+                    + "first Maximum-value Column is used, which must then be numeric. Rows with a null value in this column are fetched with the first range. "
+                    + "Columns with evenly distributed values, such as a sequence-generated key, give the most evenly sized ranges.")
+            .required(false)
+            .addValidator(StandardValidators.NON_EMPTY_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.ENVIRONMENT)
+            .build();
+
+    private volatile ExecutorService partitionExecutor;
+
     @Override
     public Set<Relationship> getRelationships() {
         return relationships;
@@ -196,18 +230,57 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
                     .build());
         }
 
+        final Integer partitionCount = validationContext.getProperty(PARTITION_COUNT).evaluateAttributeExpressions().asInteger();
+        if (partitionCount != null && partitionCount > 1) {
+            if (!validationContext.getProperty(PARTITION_COLUMN).isSet() && !maxValueColumnNames) {
+                results.add(new ValidationResult.Builder().valid(false)
+                        .subject(PARTITION_COUNT.getDisplayName())
+                        .explanation(String.format("either '%s' or '%s' must be configured to fetch in parallel", PARTITION_COLUMN.getDisplayName(), MAX_VALUE_COLUMN_NAMES.getDisplayName()))
+                        .build());
+            }
+            for (final PropertyDescriptor unsupported : Arrays.asList(OUTPUT_BATCH_SIZE, MAX_FRAGMENTS)) {
+                final Integer value = validationContext.getProperty(unsupported).evaluateAttributeExpressions().asInteger();
+                if (value != null && value > 0) {
+                    results.add(new ValidationResult.Builder().valid(false)
+                            .subject(unsupported.getDisplayName())
+                            .explanation(String.format("'%s' cannot be used when '%s' is greater than one", unsupported.getDisplayName(), PARTITION_COUNT.getDisplayName()))
+                            .build());
+                }
+            }
+        }
+
         return results;
     }
 
     @OnScheduled
     public void setup(final ProcessContext context) {
         maxValueProperties = getDefaultMaxValueProperties(context, null);
+
+        final int partitionCount = context.getProperty(PARTITION_COUNT).evaluateAttributeExpressions().asInteger();
+        if (partitionCount > 1) {
+            partitionExecutor = Executors.newFixedThreadPool(partitionCount, new ThreadFactory() {
+                private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread t = defaultFactory.newThread(r);
+                    t.setName(getClass().getSimpleName() + " " + getIdentifier() + " Partition Fetch");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
     }
 
     @OnStopped
     public void stop() {
         // Reset the column type map in case properties change
         setupComplete.set(false);
+
+        if (partitionExecutor != null) {
+            partitionExecutor.shutdownNow();
+            partitionExecutor = null;
+        }
     }
 
     @Override
@@ -310,6 +383,18 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
         }
 
         final String selectQuery = getQuery(dbAdapter, tableName, sqlQuery, columnNames, maxValueColumnNameList, customWhereClause, statePropertyMap);
+
+        final ExecutorService executor = partitionExecutor;
+        if (executor != null) {
+            String partitionColumn = context.getProperty(PARTITION_COLUMN).evaluateAttributeExpressions().getValue();
+            if (partitionColumn == null) {
+                partitionColumn = maxValueColumnNameList.get(0);
+            }
+            fetchPartitioned(context, sessionFactory, session, executor, dbAdapter, tableName, sqlQuery, columnNames, maxValueColumnNameList, customWhereClause,
+                    statePropertyMap, partitionColumn);
+            return;
+        }
+
         final StopWatch stopWatch = new StopWatch(true);
         final String fragmentIdentifier = UUID.randomUUID().toString();
 
@@ -482,6 +567,16 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
             query = getWrappedQuery(dbAdapter, sqlQuery, tableName);
         }
 
+        final List<String> whereClauses = getWhereClauses(dbAdapter, tableName, maxValColumnNames, customWhereClause, stateMap);
+        if (!whereClauses.isEmpty()) {
+            query.append(" WHERE ");
+            query.append(StringUtils.join(whereClauses, " AND "));
+        }
+
+        return query.toString();
+    }
+
+    private List<String> getWhereClauses(DatabaseAdapter dbAdapter, String tableName, List<String> maxValColumnNames, String customWhereClause, Map<String, String> stateMap) {
         List<String> whereClauses = new ArrayList<>();
         // Check state map for last max values
         if (stateMap != null && !stateMap.isEmpty() && maxValColumnNames != null) {
@@ -511,12 +606,262 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
             whereClauses.add("(" + customWhereClause + ")");
         }
 
-        if (!whereClauses.isEmpty()) {
+        return whereClauses;
+    }
+
+    /**
+     * Fetches the rows selected by the current maximum values as a set of ranges of the partition column, each queried concurrently with its own
+     * connection and process session. The FlowFiles of all ranges are migrated to the given session, which transfers them and updates the maximum
+     * values in a single commit, so that FlowFiles are transferred and the maximum values are updated only if every range succeeds.
+     */
+    private void fetchPartitioned(final ProcessContext context, final ProcessSessionFactory sessionFactory, final ProcessSession session, final ExecutorService executor,
+                                  final DatabaseAdapter dbAdapter, final String tableName, final String sqlQuery, final String columnNames, final List<String> maxValueColumnNameList,
+                                  final String customWhereClause, final Map<String, String> statePropertyMap, final String partitionColumn) {
+        final ComponentLog logger = getLogger();
+        final DBCPService dbcpService = context.getProperty(DBCP_SERVICE).asControllerService(DBCPService.class);
+        final int partitionCount = context.getProperty(PARTITION_COUNT).evaluateAttributeExpressions().asInteger();
+        final Integer maxRowsPerFlowFile = context.getProperty(MAX_ROWS_PER_FLOW_FILE).evaluateAttributeExpressions().asInteger();
+        final List<String> whereClauses = getWhereClauses(dbAdapter, tableName, maxValueColumnNameList, customWhereClause, statePropertyMap);
+
+        final String boundsColumns = "MIN(" + partitionColumn + "), MAX(" + partitionColumn + ")";
+        final StringBuilder boundsQuery = StringUtils.isEmpty(sqlQuery)
+                ? new StringBuilder(dbAdapter.getSelectStatement(tableName, boundsColumns, null, null, null, null))
+                : new StringBuilder("SELECT " + boundsColumns + " FROM (" + sqlQuery + ") " + dbAdapter.getTableAliasClause(tableName));
+        appendWhereClauses(boundsQuery, whereClauses, null);
+
+        final List<String> partitionClauses;
+        try (final Connection con = dbcpService.getConnection(Collections.emptyMap());
+             final Statement st = con.createStatement()) {
+            configureConnection(context, con, st);
+            try (final ResultSet resultSet = st.executeQuery(boundsQuery.toString())) {
+                final BigDecimal minValue = resultSet.next() ? resultSet.getBigDecimal(1) : null;
+                final BigDecimal maxValue = minValue == null ? null : resultSet.getBigDecimal(2);
+                partitionClauses = getPartitionClauses(partitionColumn, minValue, maxValue, partitionCount);
+            }
+        } catch (final SQLException e) {
+            logger.error("Unable to determine the range of Partition Column {} with query {}", partitionColumn, boundsQuery, e);
+            context.yield();
+            session.commitAsync();
+            return;
+        }
+
+        final String fragmentIdentifier = UUID.randomUUID().toString();
+        final StopWatch stopWatch = new StopWatch(true);
+        final MaxValueResultSetRowCollector maxValCollector = new MaxValueResultSetRowCollector(tableName, statePropertyMap, dbAdapter);
+        final List<Future<PartitionResult>> futures = new ArrayList<>(partitionClauses.size());
+        for (final String partitionClause : partitionClauses) {
+            final StringBuilder partitionQuery = StringUtils.isEmpty(sqlQuery)
+                    ? new StringBuilder(dbAdapter.getSelectStatement(tableName, columnNames, null, null, null, null))
+                    : getWrappedQuery(dbAdapter, sqlQuery, tableName);
+            appendWhereClauses(partitionQuery, whereClauses, partitionClause);
+            futures.add(executor.submit(() -> fetchPartition(context, sessionFactory.createSession(), dbcpService, tableName, partitionQuery.toString(),
+                    maxRowsPerFlowFile, maxValCollector, stopWatch)));
+        }
+
+        final List<PartitionResult> partitionResults = new ArrayList<>(futures.size());
+        Exception failure = null;
+        for (final Future<PartitionResult> future : futures) {
+            try {
+                partitionResults.add(future.get());
+            } catch (final ExecutionException e) {
+                failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            }
+        }
+
+        if (failure != null) {
+            logger.error("Unable to fetch all ranges of Partition Column {} from {}; no FlowFiles will be transferred", partitionColumn, tableName, failure);
+            rollbackPartitionSessions(partitionResults);
+            context.yield();
+            session.commitAsync();
+            return;
+        }
+
+        final int fragmentCount = partitionResults.stream().mapToInt(partitionResult -> partitionResult.flowFiles.size()).sum();
+        if (fragmentCount == 0) {
+            context.yield();
+        }
+
+        maxValCollector.applyStateChanges();
+
+        try {
+            int fragmentIndex = 0;
+            for (final PartitionResult partitionResult : partitionResults) {
+                partitionResult.session.migrate(session, partitionResult.flowFiles);
+
+                for (FlowFile flowFile : partitionResult.flowFiles) {
+                    final Map<String, String> attributesToAdd = new HashMap<>();
+                    for (Map.Entry<String, String> entry : statePropertyMap.entrySet()) {
+                        // Get just the column name from the key
+                        String key = entry.getKey();
+                        String colName = key.substring(key.lastIndexOf(NAMESPACE_DELIMITER) + NAMESPACE_DELIMITER.length());
+                        attributesToAdd.put("maxvalue." + colName, entry.getValue());
+                    }
+                    attributesToAdd.put(FRAGMENT_ID, fragmentIdentifier);
+                    attributesToAdd.put(FRAGMENT_INDEX, String.valueOf(fragmentIndex++));
+                    attributesToAdd.put(FRAGMENT_COUNT, String.valueOf(fragmentCount));
+                    flowFile = session.putAllAttributes(flowFile, attributesToAdd);
+                    session.transfer(flowFile, REL_SUCCESS);
+                }
+            }
+
+            session.setState(statePropertyMap, Scope.CLUSTER);
+        } catch (final IOException | RuntimeException e) {
+            logger.error("Unable to transfer the FlowFiles of all ranges of Partition Column {} from {}; no FlowFiles will be transferred "
+                    + "and maximum observed values will not be recorded", partitionColumn, tableName, e);
+            session.rollback();
+            rollbackPartitionSessions(partitionResults);
+            context.yield();
+            return;
+        }
+
+        // The partition sessions hold only their counters once their FlowFiles have been migrated
+        session.commitAsync(() -> partitionResults.forEach(partitionResult -> partitionResult.session.commitAsync()),
+                commitFailure -> rollbackPartitionSessions(partitionResults));
+    }
+
+    private static void rollbackPartitionSessions(final List<PartitionResult> partitionResults) {
+        for (final PartitionResult partitionResult : partitionResults) {
+            partitionResult.session.rollback();
+        }
+    }
+
+    private PartitionResult fetchPartition(final ProcessContext context, final ProcessSession partitionSession, final DBCPService dbcpService, final String tableName,
+                                           final String partitionQuery, final int maxRowsPerFlowFile, final MaxValueResultSetRowCollector maxValCollector,
+                                           final StopWatch stopWatch) throws SQLException {
+        final ComponentLog logger = getLogger();
+        final SqlWriter sqlWriter = configureSqlWriter(partitionSession, context);
+        final List<FlowFile> flowFiles = new ArrayList<>();
+
+        try (final Connection con = dbcpService.getConnection(Collections.emptyMap());
+             final Statement st = con.createStatement()) {
+            configureConnection(context, con, st);
+            final String jdbcURL = getJdbcUrl(con);
+
+            logger.debug("Executing query {}", partitionQuery);
+            try (final ResultSet resultSet = st.executeQuery(partitionQuery)) {
+                while (true) {
+                    final AtomicLong nrOfRows = new AtomicLong(0L);
+                    FlowFile fileToProcess = partitionSession.create();
+                    fileToProcess = partitionSession.write(fileToProcess, out -> {
+                        try {
+                            nrOfRows.set(sqlWriter.writeResultSet(resultSet, out, logger, maxValCollector));
+                        } catch (Exception e) {
+                            throw new ProcessException("Error during database query or conversion of records.", e);
+                        }
+                    });
+
+                    if (nrOfRows.get() == 0) {
+                        partitionSession.remove(fileToProcess);
+                        break;
+                    }
+
+                    final Map<String, String> attributesToAdd = new HashMap<>();
+                    attributesToAdd.put(RESULT_ROW_COUNT, String.valueOf(nrOfRows.get()));
+                    attributesToAdd.put(RESULT_TABLENAME, tableName);
+                    attributesToAdd.putAll(sqlWriter.getAttributesToAdd());
+                    fileToProcess = partitionSession.putAllAttributes(fileToProcess, attributesToAdd);
+                    sqlWriter.updateCounters(partitionSession);
+
+                    partitionSession.getProvenanceReporter().receive(fileToProcess, jdbcURL, stopWatch.getElapsed(TimeUnit.MILLISECONDS));
+                    flowFiles.add(fileToProcess);
+
+                    // Without splitting the rows into multiple FlowFiles, the result set has been entirely fetched
+                    if (maxRowsPerFlowFile == 0 || nrOfRows.get() < maxRowsPerFlowFile) {
+                        break;
+                    }
+                }
+            }
+        } catch (final SQLException | RuntimeException e) {
+            partitionSession.rollback();
+            throw e;
+        }
+
+        return new PartitionResult(partitionSession, flowFiles);
+    }
+
+    private void configureConnection(final ProcessContext context, final Connection con, final Statement st) throws SQLException {
+        final Integer fetchSize = context.getProperty(FETCH_SIZE).evaluateAttributeExpressions().asInteger();
+        if (fetchSize != null && fetchSize > 0) {
+            try {
+                st.setFetchSize(fetchSize);
+            } catch (SQLException se) {
+                // Not all drivers support this, just log the error (at debug level) and move on
+                getLogger().debug("Cannot set fetch size to {} due to {}", fetchSize, se.getLocalizedMessage(), se);
+            }
+        }
+
+        if (context.getProperty(TRANS_ISOLATION_LEVEL).isSet()) {
+            con.setTransactionIsolation(context.getProperty(TRANS_ISOLATION_LEVEL).asInteger());
+        }
+
+        st.setQueryTimeout(context.getProperty(QUERY_TIMEOUT).evaluateAttributeExpressions().asTimePeriod(TimeUnit.SECONDS).intValue()); // timeout in seconds
+    }
+
+    private static String getJdbcUrl(final Connection con) {
+        try {
+            final DatabaseMetaData databaseMetaData = con.getMetaData();
+            if (databaseMetaData != null) {
+                return databaseMetaData.getURL();
+            }
+        } catch (SQLException se) {
+            // Ignore and use default JDBC URL. This shouldn't happen unless the driver doesn't implement getMetaData() properly
+        }
+        return "DBCPService";
+    }
+
+    private static void appendWhereClauses(final StringBuilder query, final List<String> whereClauses, final String partitionClause) {
+        final List<String> clauses = new ArrayList<>(whereClauses);
+        if (partitionClause != null) {
+            clauses.add(partitionClause);
+        }
+        if (!clauses.isEmpty()) {
             query.append(" WHERE ");
-            query.append(StringUtils.join(whereClauses, " AND "));
+            query.append(StringUtils.join(clauses, " AND "));
         }
+    }
 
-        return query.toString();
+    /**
+     * Splits the values of the partition column between the given bounds into ranges of equal width. The first range is unbounded below and also
+     * includes null values, and the last range is unbounded above, so that every row matched by the other conditions belongs to exactly one range.
+     */
+    static List<String> getPartitionClauses(final String partitionColumn, final BigDecimal minValue, final BigDecimal maxValue, final int partitionCount) {
+        if (minValue == null || maxValue == null) {
+            return Collections.singletonList(null);
+        }
+
+        final BigInteger lowerBound = minValue.setScale(0, RoundingMode.FLOOR).toBigIntegerExact();
+        final BigInteger width = maxValue.setScale(0, RoundingMode.FLOOR).toBigIntegerExact().subtract(lowerBound).add(BigInteger.ONE);
+        final int ranges = width.compareTo(BigInteger.valueOf(partitionCount)) < 0 ? width.intValue() : partitionCount;
+        if (ranges <= 1) {
+            return Collections.singletonList(null);
+        }
+
+        final List<String> clauses = new ArrayList<>(ranges);
+        for (int i = 0; i < ranges; i++) {
+            final String lower = i == 0 ? null : lowerBound.add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(ranges))).toString();
+            final String upper = i == ranges - 1 ? null : lowerBound.add(width.multiply(BigInteger.valueOf(i + 1)).divide(BigInteger.valueOf(ranges))).toString();
+            if (lower == null) {
+                clauses.add("(" + partitionColumn + " < " + upper + " OR " + partitionColumn + " IS NULL)");
+            } else if (upper == null) {
+                clauses.add(partitionColumn + " >= " + lower);
+            } else {
+                clauses.add(partitionColumn + " >= " + lower + " AND " + partitionColumn + " < " + upper);
+            }
+        }
+        return clauses;
+    }
+
+    private static class PartitionResult {
+        private final ProcessSession session;
+        private final List<FlowFile> flowFiles;
+
+        private PartitionResult(final ProcessSession session, final List<FlowFile> flowFiles) {
+            this.session = session;
+            this.flowFiles = flowFiles;
+        }
     }
 
     public class MaxValueResultSetRowCollector implements JdbcCommon.ResultSetRowCallback {
@@ -535,8 +880,9 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
             this.tableName = tableName;
         }
 
+        // Synchronized as the ranges of a parallel fetch share a single collector
         @Override
-        public void processRow(ResultSet resultSet) throws IOException {
+        public synchronized void processRow(ResultSet resultSet) throws IOException {
             if (resultSet == null) {
                 return;
             }
@@ -572,7 +918,7 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
         }
 
         @Override
-        public void applyStateChanges() {
+        public synchronized void applyStateChanges() {
             this.originalState.putAll(this.newColMap);
         }
     }
@@ -17,6 +17,8 @@
 
 package org.apache.nifi.processors.standard;
 
+import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.flowfile.FlowFile;
@@ -28,6 +30,7 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.StreamCallback;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
 import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.RecordReader;
@@ -41,10 +44,15 @@ import org.apache.nifi.serialization.record.RecordSchema;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class AbstractRecordProcessor extends AbstractProcessor {
@@ -72,6 +80,27 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         .required(true)
         .build();
 
+    static final PropertyDescriptor PROCESSING_THREADS = new PropertyDescriptor.Builder()
+        .name("Record Processing Threads")
+        .description("The number of threads to use for processing the Records of a single FlowFile. When greater than 1, Records are read in order, "
+            + "processed in batches by a shared pool of threads, and written in their original order. Reading and writing remain sequential, "
+            + "so this is most useful when processing each Record is expensive relative to parsing it.")
+        .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .defaultValue("1")
+        .required(true)
+        .build();
+
+    static final PropertyDescriptor PROCESSING_BATCH_SIZE = new PropertyDescriptor.Builder()
+        .name("Record Processing Batch Size")
+        .description("The number of Records handed to a processing thread at a time when 'Record Processing Threads' is greater than 1. "
+            + "Larger batches reduce coordination overhead at the cost of holding more Records in memory.")
+        .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .defaultValue("1000")
+        .required(true)
+        .build();
+
     static final Relationship REL_SUCCESS = new Relationship.Builder()
         .name("success")
         .description("FlowFiles that are successfully transformed will be routed to this relationship")
@@ -82,9 +111,11 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
             + "the unchanged FlowFile will be routed to this relationship")
         .build();
 
-    private static final List<PropertyDescriptor> properties = List.of(RECORD_READER, RECORD_WRITER);
+    private static final List<PropertyDescriptor> properties = List.of(RECORD_READER, RECORD_WRITER, PROCESSING_THREADS, PROCESSING_BATCH_SIZE);
     private static final Set<Relationship> relationships = Set.of(REL_SUCCESS, REL_FAILURE);
 
+    private volatile ForkJoinPool processingPool;
+
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         return properties;
@@ -102,6 +133,21 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         config.renameProperty("include-zero-record-flowfiles", INCLUDE_ZERO_RECORD_FLOWFILES.getName());
     }
 
+    @OnScheduled
+    public void createProcessingPool(final ProcessContext context) {
+        final int processingThreads = context.getProperty(PROCESSING_THREADS).asInteger();
+        processingPool = processingThreads > 1 ? new ForkJoinPool(processingThreads) : null;
+    }
+
+    @OnStopped
+    public void shutdownProcessingPool() {
+        final ForkJoinPool pool = processingPool;
+        processingPool = null;
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
     @Override
     public void onTrigger(final ProcessContext context, final ProcessSession session) throws ProcessException {
         FlowFile flowFile = session.get();
@@ -112,6 +158,8 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         final RecordReaderFactory readerFactory = context.getProperty(RECORD_READER).asControllerService(RecordReaderFactory.class);
         final RecordSetWriterFactory writerFactory = context.getProperty(RECORD_WRITER).asControllerService(RecordSetWriterFactory.class);
         final boolean includeZeroRecordFlowFiles = context.getProperty(INCLUDE_ZERO_RECORD_FLOWFILES).isSet()? context.getProperty(INCLUDE_ZERO_RECORD_FLOWFILES).asBoolean():true;
+        final ForkJoinPool pool = processingPool;
+        final int batchSize = context.getProperty(PROCESSING_BATCH_SIZE).asInteger();
 
         final Map<String, String> attributes = new HashMap<>();
         final AtomicInteger recordCount = new AtomicInteger();
@@ -152,11 +200,15 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
 
                             writer.write(firstRecord);
 
-                            Record record;
-                            long count = 1L;
-                            while ((record = reader.nextRecord()) != null) {
-                                final Record processed = AbstractRecordProcessor.this.process(record, original, context, ++count);
-                                writer.write(processed);
+                            if (pool == null) {
+                                Record record;
+                                long count = 1L;
+                                while ((record = reader.nextRecord()) != null) {
+                                    final Record processed = AbstractRecordProcessor.this.process(record, original, context, ++count);
+                                    writer.write(processed);
+                                }
+                            } else {
+                                processInParallel(pool, batchSize, reader, writer, original, context);
                             }
 
                             final WriteResult writeResult = writer.finishRecordSet();
@@ -199,5 +251,74 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         getLogger().info("Successfully converted {} records for {}", count, flowFile);
     }
 
+    /**
+     * Reads the remaining Records from the given reader, processes them in batches using the given pool and writes the results
+     * in the order that the Records were read. At most two batches per pool thread are held in memory at any time.
+     */
+    private void processInParallel(final ForkJoinPool pool, final int batchSize, final RecordReader reader, final RecordSetWriter writer,
+                                   final FlowFile flowFile, final ProcessContext context) throws IOException, MalformedRecordException {
+        final int maxPendingBatches = pool.getParallelism() * 2;
+        final Deque<ForkJoinTask<List<Record>>> pendingBatches = new ArrayDeque<>(maxPendingBatches);
+
+        try {
+            // The first Record has already been processed and written, so the next Record has index 2
+            long nextIndex = 2L;
+            List<Record> batch = new ArrayList<>(batchSize);
+
+            Record record;
+            while ((record = reader.nextRecord()) != null) {
+                batch.add(record);
+                if (batch.size() < batchSize) {
+                    continue;
+                }
+
+                pendingBatches.addLast(submitBatch(pool, batch, nextIndex, flowFile, context));
+                nextIndex += batch.size();
+                batch = new ArrayList<>(batchSize);
+
+                if (pendingBatches.size() >= maxPendingBatches) {
+                    writeBatch(pendingBatches.removeFirst().join(), writer);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                pendingBatches.addLast(submitBatch(pool, batch, nextIndex, flowFile, context));
+            }
+
+            while (!pendingBatches.isEmpty()) {
+                writeBatch(pendingBatches.removeFirst().join(), writer);
+            }
+        } finally {
+            pendingBatches.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private ForkJoinTask<List<Record>> submitBatch(final ForkJoinPool pool, final List<Record> batch, final long firstIndex, final FlowFile flowFile, final ProcessContext context) {
+        return pool.submit(() -> {
+            final List<Record> processed = new ArrayList<>(batch.size());
+            long index = firstIndex;
+            for (final Record record : batch) {
+                processed.add(process(record, flowFile, context, index++));
+            }
+            return processed;
+        });
+    }
+
+    private void writeBatch(final List<Record> records, final RecordSetWriter writer) throws IOException {
+        for (final Record record : records) {
+            writer.write(record);
+        }
+    }
+
+    /**
+     * Processes a single Record. When 'Record Processing Threads' is greater than 1, this method may be invoked concurrently
+     * for Records of the same FlowFile, so implementations must not rely on Records being processed sequentially.
+     *
+     * @param record the Record to process
+     * @param flowFile the FlowFile that the Record was read from
+     * @param context the process context
+     * @param count the 1-based index of the Record within the FlowFile
+     * @return the processed Record
+     */
     protected abstract Record process(Record record, FlowFile flowFile, ProcessContext context, long count);
 }
@@ -20,13 +20,16 @@ import com.aayushatharva.brotli4j.Brotli4jLoader;
 import com.aayushatharva.brotli4j.decoder.BrotliInputStream;
 import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
 import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.github.luben.zstd.ZstdOutputStream;
 import lzma.sdk.lzma.Decoder;
 import lzma.streams.LzmaInputStream;
 import lzma.streams.LzmaOutputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
 import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
 import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
 import org.apache.nifi.annotation.behavior.InputRequirement;
@@ -42,18 +45,24 @@ import org.apache.nifi.annotation.documentation.MultiProcessorUseCase;
 import org.apache.nifi.annotation.documentation.ProcessorConfiguration;
 import org.apache.nifi.annotation.documentation.Tags;
 import org.apache.nifi.annotation.documentation.UseCase;
+import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.PropertyValue;
 import org.apache.nifi.components.ValidationContext;
 import org.apache.nifi.components.ValidationResult;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.flowfile.attributes.CoreAttributes;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.processor.AbstractProcessor;
+import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.StreamCallback;
+import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.util.ParallelBlockCompressionOutputStream;
 import org.apache.nifi.stream.io.GZIPOutputStream;
 import org.apache.nifi.util.StopWatch;
 import org.tukaani.xz.LZMA2Options;
@@ -76,6 +85,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.Deflater;
@@ -178,6 +190,31 @@ public class CompressContent extends AbstractProcessor {
         .dependsOn(MODE, MODE_COMPRESS)
         .build();
 
+    public static final PropertyDescriptor COMPRESSION_THREADS = new PropertyDescriptor.Builder()
+        .name("Compression Threads")
+        .description("The number of threads that are used to compress the content of each FlowFile. If greater than 1, the content is split into blocks that "
+            + "are compressed concurrently and written out in order as a single stream that can be decompressed by any standard decompressor. For gzip and deflate, "
+            + "each block is primed with the end of the preceding block, in the same way as pigz; for zstd, the native multi-threaded compression of the "
+            + "Zstandard library is used; for bzip2, xz-lzma2 and lz4-framed, each block is written as a separate concatenated stream. "
+            + "Other formats always use a single thread. The threads are shared by all concurrent tasks of this processor.")
+        .required(true)
+        .defaultValue("1")
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .dependsOn(COMPRESSION_FORMAT, COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_GZIP, COMPRESSION_FORMAT_DEFLATE, COMPRESSION_FORMAT_BZIP2,
+                   COMPRESSION_FORMAT_XZ_LZMA2, COMPRESSION_FORMAT_LZ4_FRAMED, COMPRESSION_FORMAT_ZSTD)
+        .dependsOn(MODE, MODE_COMPRESS)
+        .build();
+
+    public static final PropertyDescriptor COMPRESSION_BLOCK_SIZE = new PropertyDescriptor.Builder()
+        .name("Compression Block Size")
+        .description("When more than one Compression Thread is used, the amount of uncompressed content that is compressed as a single block. "
+            + "Larger blocks compress slightly better, while the memory used is approximately twice the number of threads multiplied by the block size.")
+        .required(true)
+        .defaultValue("1 MB")
+        .addValidator(StandardValidators.createDataSizeBoundsValidator(64 * 1024, 256 * 1024 * 1024))
+        .dependsOn(COMPRESSION_THREADS)
+        .build();
+
     public static final PropertyDescriptor UPDATE_FILENAME = new PropertyDescriptor.Builder()
         .name("Update Filename")
         .description("If true, will remove the filename extension when decompressing data (only if the extension indicates the appropriate "
@@ -199,6 +236,8 @@ public class CompressContent extends AbstractProcessor {
     private final List<PropertyDescriptor> properties = List.of(MODE,
         COMPRESSION_FORMAT,
         COMPRESSION_LEVEL,
+        COMPRESSION_THREADS,
+        COMPRESSION_BLOCK_SIZE,
         UPDATE_FILENAME);
 
     private final Set<Relationship> relationships = Set.of(REL_SUCCESS,
@@ -219,6 +258,8 @@ public class CompressContent extends AbstractProcessor {
         Map.entry("application/zstd", COMPRESSION_FORMAT_ZSTD),
         Map.entry("application/x-brotli", COMPRESSION_FORMAT_BROTLI));
 
+    private volatile ExecutorService compressionExecutor;
+
 
     @Override
     public Set<Relationship> getRelationships() {
@@ -248,6 +289,32 @@ public class CompressContent extends AbstractProcessor {
         return validationResults;
     }
 
+    @OnScheduled
+    public void setupCompressionExecutor(final ProcessContext context) {
+        final PropertyValue compressionThreads = context.getProperty(COMPRESSION_THREADS);
+        if (MODE_COMPRESS.equalsIgnoreCase(context.getProperty(MODE).getValue()) && compressionThreads.isSet() && compressionThreads.asInteger() > 1) {
+            compressionExecutor = Executors.newFixedThreadPool(compressionThreads.asInteger(), new ThreadFactory() {
+                private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread t = defaultFactory.newThread(r);
+                    t.setName("CompressContent " + getIdentifier() + " Compression Task");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+    }
+
+    @OnStopped
+    public void shutdownCompressionExecutor() {
+        if (compressionExecutor != null) {
+            compressionExecutor.shutdownNow();
+            compressionExecutor = null;
+        }
+    }
+
     @Override
     public void onTrigger(final ProcessContext context, final ProcessSession session) {
         FlowFile flowFile = session.get();
@@ -278,6 +345,10 @@ public class CompressContent extends AbstractProcessor {
         }
 
         final String compressionFormat = compressionFormatValue;
+        final ExecutorService executor = compressionExecutor;
+        final int compressionThreads = executor == null ? 1 : context.getProperty(COMPRESSION_THREADS).asInteger();
+        final int blockSize = executor == null ? 0 : context.getProperty(COMPRESSION_BLOCK_SIZE).asDataSize(DataUnit.B).intValue();
+        final int maxPendingBlocks = compressionThreads * 2;
         final AtomicReference<String> mimeTypeRef = new AtomicReference<>(null);
         final StopWatch stopWatch = new StopWatch(true);
 
@@ -313,13 +384,21 @@ public class CompressContent extends AbstractProcessor {
                             switch (compressionFormat.toLowerCase()) {
                                 case COMPRESSION_FORMAT_GZIP: {
                                     int compressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger();
-                                    compressionOut = new GZIPOutputStream(bufferedOut, compressionLevel);
+                                    if (executor == null) {
+                                        compressionOut = new GZIPOutputStream(bufferedOut, compressionLevel);
+                                    } else {
+                                        compressionOut = ParallelBlockCompressionOutputStream.gzip(bufferedOut, compressionLevel, executor, blockSize, maxPendingBlocks);
+                                    }
                                     mimeTypeRef.set("application/gzip");
                                     break;
                                 }
                                 case COMPRESSION_FORMAT_DEFLATE: {
                                     final int compressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger();
-                                    compressionOut = new DeflaterOutputStream(bufferedOut, new Deflater(compressionLevel));
+                                    if (executor == null) {
+                                        compressionOut = new DeflaterOutputStream(bufferedOut, new Deflater(compressionLevel));
+                                    } else {
+                                        compressionOut = ParallelBlockCompressionOutputStream.zlib(bufferedOut, compressionLevel, executor, blockSize, maxPendingBlocks);
+                                    }
                                     mimeTypeRef.set("application/gzip");
                                     break;
                                 }
@@ -329,7 +408,12 @@ public class CompressContent extends AbstractProcessor {
                                     break;
                                 case COMPRESSION_FORMAT_XZ_LZMA2:
                                     final int xzCompressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger();
-                                    compressionOut = new XZOutputStream(bufferedOut, new LZMA2Options(xzCompressionLevel));
+                                    if (executor == null) {
+                                        compressionOut = new XZOutputStream(bufferedOut, new LZMA2Options(xzCompressionLevel));
+                                    } else {
+                                        compressionOut = ParallelBlockCompressionOutputStream.concatenated(bufferedOut,
+                                            out -> new XZOutputStream(out, new LZMA2Options(xzCompressionLevel)), executor, blockSize, maxPendingBlocks);
+                                    }
                                     mimeTypeRef.set("application/x-xz");
                                     break;
                                 case COMPRESSION_FORMAT_SNAPPY:
@@ -346,11 +430,24 @@ public class CompressContent extends AbstractProcessor {
                                     break;
                                 case COMPRESSION_FORMAT_LZ4_FRAMED:
                                     mimeTypeRef.set("application/x-lz4-framed");
-                                    compressionOut = new CompressorStreamFactory().createCompressorOutputStream(compressionFormat.toLowerCase(), bufferedOut);
+                                    if (executor == null) {
+                                        compressionOut = new CompressorStreamFactory().createCompressorOutputStream(compressionFormat.toLowerCase(), bufferedOut);
+                                    } else {
+                                        compressionOut = ParallelBlockCompressionOutputStream.concatenated(bufferedOut, FramedLZ4CompressorOutputStream::new,
+                                            executor, blockSize, maxPendingBlocks);
+                                    }
                                     break;
                                 case COMPRESSION_FORMAT_ZSTD:
                                     final int zstdcompressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger() * 2;
-                                    compressionOut = new ZstdCompressorOutputStream(bufferedOut, zstdcompressionLevel);
+                                    if (executor == null) {
+                                        compressionOut = new ZstdCompressorOutputStream(bufferedOut, zstdcompressionLevel);
+                                    } else {
+                                        // Zstandard compresses a single frame using its own worker threads
+                                        final ZstdOutputStream zstdOut = new ZstdOutputStream(bufferedOut, zstdcompressionLevel);
+                                        zstdOut.setWorkers(compressionThreads);
+                                        zstdOut.setJobSize(blockSize);
+                                        compressionOut = zstdOut;
+                                    }
                                     mimeTypeRef.set("application/zstd");
                                     break;
                                 case COMPRESSION_FORMAT_BROTLI: {
@@ -364,7 +461,12 @@ public class CompressContent extends AbstractProcessor {
                                 case COMPRESSION_FORMAT_BZIP2:
                                 default:
                                     mimeTypeRef.set("application/x-bzip2");
-                                    compressionOut = new CompressorStreamFactory().createCompressorOutputStream(compressionFormat.toLowerCase(), bufferedOut);
+                                    if (executor == null) {
+                                        compressionOut = new CompressorStreamFactory().createCompressorOutputStream(compressionFormat.toLowerCase(), bufferedOut);
+                                    } else {
+                                        compressionOut = ParallelBlockCompressionOutputStream.concatenated(bufferedOut, BZip2CompressorOutputStream::new,
+                                            executor, blockSize, maxPendingBlocks);
+                                    }
                                     break;
                             }
                         } else {
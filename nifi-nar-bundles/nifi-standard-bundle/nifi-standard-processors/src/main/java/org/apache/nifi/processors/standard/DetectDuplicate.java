@@ -22,7 +22,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -111,6 +114,17 @@ public class DetectDuplicate extends AbstractProcessor {
             .defaultValue("true")
             .build();
 
+    public static final PropertyDescriptor BATCH_SIZE = new PropertyDescriptor.Builder()
+            .name("batch-size")
+            .displayName("Batch Size")
+            .description("The maximum number of FlowFiles to process in a single execution. The Cache Entry Identifiers of all FlowFiles in a batch "
+                    + "are checked against the cache using a single bulk request when supported by the Distributed Cache Service. FlowFiles in the same "
+                    + "batch that share a Cache Entry Identifier are treated as duplicates of the first such FlowFile.")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .defaultValue("1")
+            .build();
+
     public static final Relationship REL_DUPLICATE = new Relationship.Builder()
             .name("duplicate")
             .description("If a FlowFile has been detected to be a duplicate, it will be routed to this relationship")
@@ -145,6 +159,7 @@ public class DetectDuplicate extends AbstractProcessor {
         descriptors.add(AGE_OFF_DURATION);
         descriptors.add(DISTRIBUTED_CACHE_SERVICE);
         descriptors.add(CACHE_IDENTIFIER);
+        descriptors.add(BATCH_SIZE);
         return descriptors;
     }
 
@@ -155,68 +170,139 @@ public class DetectDuplicate extends AbstractProcessor {
 
     @Override
     public void onTrigger(final ProcessContext context, final ProcessSession session) throws ProcessException {
-        FlowFile flowFile = session.get();
-        if (flowFile == null) {
+        final List<FlowFile> flowFiles = session.get(context.getProperty(BATCH_SIZE).asInteger());
+        if (flowFiles.isEmpty()) {
             return;
         }
 
         final ComponentLog logger = getLogger();
-        final String cacheKey = context.getProperty(CACHE_ENTRY_IDENTIFIER).evaluateAttributeExpressions(flowFile).getValue();
-        if (StringUtils.isBlank(cacheKey)) {
-            logger.error("FlowFile {} has no attribute for given Cache Entry Identifier", new Object[]{flowFile});
-            flowFile = session.penalize(flowFile);
-            session.transfer(flowFile, REL_FAILURE);
+        final long now = System.currentTimeMillis();
+
+        // FlowFiles grouped by Cache Entry Identifier, with the value to cache taken from the first FlowFile of each group
+        final Map<String, List<FlowFile>> flowFilesByKey = new LinkedHashMap<>();
+        final Map<String, CacheValue> cacheValues = new LinkedHashMap<>();
+        for (FlowFile flowFile : flowFiles) {
+            final String cacheKey = context.getProperty(CACHE_ENTRY_IDENTIFIER).evaluateAttributeExpressions(flowFile).getValue();
+            if (StringUtils.isBlank(cacheKey)) {
+                logger.error("FlowFile {} has no attribute for given Cache Entry Identifier", new Object[]{flowFile});
+                flowFile = session.penalize(flowFile);
+                session.transfer(flowFile, REL_FAILURE);
+                continue;
+            }
+
+            final List<FlowFile> keyFlowFiles = flowFilesByKey.computeIfAbsent(cacheKey, key -> new ArrayList<>());
+            if (keyFlowFiles.isEmpty()) {
+                final String flowFileDescription = context.getProperty(FLOWFILE_DESCRIPTION).evaluateAttributeExpressions(flowFile).getValue();
+                cacheValues.put(cacheKey, new CacheValue(flowFileDescription, now));
+            }
+            keyFlowFiles.add(flowFile);
+        }
+
+        if (flowFilesByKey.isEmpty()) {
             return;
         }
+
         final DistributedMapCacheClient cache = context.getProperty(DISTRIBUTED_CACHE_SERVICE).asControllerService(DistributedMapCacheClient.class);
         final Long durationMS = context.getProperty(AGE_OFF_DURATION).asTimePeriod(TimeUnit.MILLISECONDS);
-        final long now = System.currentTimeMillis();
+        final boolean shouldCacheIdentifier = context.getProperty(CACHE_IDENTIFIER).asBoolean();
 
+        // Original Cache Values for Cache Entry Identifiers determined to be duplicates
+        final Map<String, CacheValue> duplicates = new LinkedHashMap<>();
         try {
-            final String flowFileDescription = context.getProperty(FLOWFILE_DESCRIPTION).evaluateAttributeExpressions(flowFile).getValue();
-            final CacheValue cacheValue = new CacheValue(flowFileDescription, now);
-            final CacheValue originalCacheValue;
+            final Map<String, CacheValue> originalCacheValues = getOriginalCacheValues(cache, cacheValues, shouldCacheIdentifier);
+
+            for (final Map.Entry<String, CacheValue> entry : cacheValues.entrySet()) {
+                final String cacheKey = entry.getKey();
+                final CacheValue cacheValue = entry.getValue();
+                final CacheValue originalCacheValue = originalCacheValues.get(cacheKey);
+
+                boolean duplicate = originalCacheValue != null;
+                if (duplicate && durationMS != null && (now >= originalCacheValue.getEntryTimeMS() + durationMS)) {
+                    boolean status = cache.remove(cacheKey, keySerializer);
+                    logger.debug("Removal of expired cached entry with key {} returned {}", new Object[]{cacheKey, status});
+
+                    // both should typically result in duplicate being false...but, better safe than sorry
+                    if (shouldCacheIdentifier) {
+                        duplicate = !cache.putIfAbsent(cacheKey, cacheValue, keySerializer, valueSerializer);
+                    } else {
+                        duplicate = cache.containsKey(cacheKey, keySerializer);
+                    }
+                }
 
-            final boolean shouldCacheIdentifier = context.getProperty(CACHE_IDENTIFIER).asBoolean();
-            if (shouldCacheIdentifier) {
-                originalCacheValue = cache.getAndPutIfAbsent(cacheKey, cacheValue, keySerializer, valueSerializer, valueDeserializer);
-            } else {
-                originalCacheValue = cache.get(cacheKey, keySerializer, valueDeserializer);
+                if (duplicate) {
+                    duplicates.put(cacheKey, originalCacheValue);
+                }
             }
+        } catch (final IOException e) {
+            for (final List<FlowFile> keyFlowFiles : flowFilesByKey.values()) {
+                for (FlowFile flowFile : keyFlowFiles) {
+                    flowFile = session.penalize(flowFile);
+                    session.transfer(flowFile, REL_FAILURE);
+                    logger.error("Unable to communicate with cache when processing {} due to {}", new Object[]{flowFile, e});
+                }
+            }
+            return;
+        }
 
-            boolean duplicate = originalCacheValue != null;
-            if (duplicate && durationMS != null && (now >= originalCacheValue.getEntryTimeMS() + durationMS)) {
-                boolean status = cache.remove(cacheKey, keySerializer);
-                logger.debug("Removal of expired cached entry with key {} returned {}", new Object[]{cacheKey, status});
+        for (final Map.Entry<String, List<FlowFile>> entry : flowFilesByKey.entrySet()) {
+            final String cacheKey = entry.getKey();
+            final Iterator<FlowFile> keyFlowFiles = entry.getValue().iterator();
 
-                // both should typically result in duplicate being false...but, better safe than sorry
-                if (shouldCacheIdentifier) {
-                    duplicate = !cache.putIfAbsent(cacheKey, cacheValue, keySerializer, valueSerializer);
+            final CacheValue originalCacheValue = duplicates.get(cacheKey);
+            if (originalCacheValue == null) {
+                routeNonDuplicate(session, keyFlowFiles.next());
+            }
+
+            // Remaining FlowFiles in the batch duplicate the original value, or the value cached for the first FlowFile
+            final CacheValue batchCacheValue = (originalCacheValue == null && shouldCacheIdentifier) ? cacheValues.get(cacheKey) : originalCacheValue;
+            while (keyFlowFiles.hasNext()) {
+                final FlowFile flowFile = keyFlowFiles.next();
+                if (batchCacheValue == null) {
+                    routeNonDuplicate(session, flowFile);
                 } else {
-                    duplicate = cache.containsKey(cacheKey, keySerializer);
+                    routeDuplicate(session, flowFile, batchCacheValue);
                 }
             }
+        }
+    }
 
-            if (duplicate) {
-                session.getProvenanceReporter().route(flowFile, REL_DUPLICATE, "Duplicate of: " + ORIGINAL_DESCRIPTION_ATTRIBUTE_NAME);
-                String originalFlowFileDescription = originalCacheValue.getDescription();
-                flowFile = session.putAttribute(flowFile, ORIGINAL_DESCRIPTION_ATTRIBUTE_NAME, originalFlowFileDescription);
-                session.transfer(flowFile, REL_DUPLICATE);
-                logger.info("Found {} to be a duplicate of FlowFile with description {}", new Object[]{flowFile, originalFlowFileDescription});
-                session.adjustCounter("Duplicates Detected", 1L, false);
+    private Map<String, CacheValue> getOriginalCacheValues(final DistributedMapCacheClient cache, final Map<String, CacheValue> cacheValues,
+                                                           final boolean shouldCacheIdentifier) throws IOException {
+        if (cacheValues.size() == 1) {
+            final Map.Entry<String, CacheValue> entry = cacheValues.entrySet().iterator().next();
+            final String cacheKey = entry.getKey();
+            final CacheValue originalCacheValue;
+            if (shouldCacheIdentifier) {
+                originalCacheValue = cache.getAndPutIfAbsent(cacheKey, entry.getValue(), keySerializer, valueSerializer, valueDeserializer);
             } else {
-                session.getProvenanceReporter().route(flowFile, REL_NON_DUPLICATE);
-                session.transfer(flowFile, REL_NON_DUPLICATE);
-                logger.info("Could not find a duplicate entry in cache for {}; routing to non-duplicate", new Object[]{flowFile});
-                session.adjustCounter("Non-Duplicate Files Processed", 1L, false);
+                originalCacheValue = cache.get(cacheKey, keySerializer, valueDeserializer);
             }
-        } catch (final IOException e) {
-            flowFile = session.penalize(flowFile);
-            session.transfer(flowFile, REL_FAILURE);
-            logger.error("Unable to communicate with cache when processing {} due to {}", new Object[]{flowFile, e});
+            return Collections.singletonMap(cacheKey, originalCacheValue);
+        }
+
+        if (shouldCacheIdentifier) {
+            return cache.getAndPutAllIfAbsent(cacheValues, keySerializer, valueSerializer, valueDeserializer);
+        } else {
+            return cache.subMap(cacheValues.keySet(), keySerializer, valueDeserializer);
         }
     }
 
+    private void routeDuplicate(final ProcessSession session, FlowFile flowFile, final CacheValue originalCacheValue) {
+        session.getProvenanceReporter().route(flowFile, REL_DUPLICATE, "Duplicate of: " + ORIGINAL_DESCRIPTION_ATTRIBUTE_NAME);
+        String originalFlowFileDescription = originalCacheValue.getDescription();
+        flowFile = session.putAttribute(flowFile, ORIGINAL_DESCRIPTION_ATTRIBUTE_NAME, originalFlowFileDescription);
+        session.transfer(flowFile, REL_DUPLICATE);
+        getLogger().info("Found {} to be a duplicate of FlowFile with description {}", new Object[]{flowFile, originalFlowFileDescription});
+        session.adjustCounter("Duplicates Detected", 1L, false);
+    }
+
+    private void routeNonDuplicate(final ProcessSession session, final FlowFile flowFile) {
+        session.getProvenanceReporter().route(flowFile, REL_NON_DUPLICATE);
+        session.transfer(flowFile, REL_NON_DUPLICATE);
+        getLogger().info("Could not find a duplicate entry in cache for {}; routing to non-duplicate", new Object[]{flowFile});
+        session.adjustCounter("Non-Duplicate Files Processed", 1L, false);
+    }
+
     private static class CacheValue {
 
         private final String description;
@@ -27,11 +27,14 @@ import org.apache.nifi.annotation.behavior.WritesAttribute;
 import org.apache.nifi.annotation.behavior.WritesAttributes;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.expression.AttributeExpression;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.ProcessSession;
+import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processors.standard.sql.RecordSqlWriter;
@@ -44,6 +47,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import static org.apache.nifi.util.db.JdbcProperties.DEFAULT_PRECISION;
 import static org.apache.nifi.util.db.JdbcProperties.DEFAULT_SCALE;
@@ -152,6 +158,30 @@ public class ExecuteSQLRecord extends AbstractExecuteSQL {
             .required(true)
             .build();
 
+    public static final PropertyDescriptor PIPELINE_BUFFER_SIZE = new PropertyDescriptor.Builder()
+            .name("esqlrecord-pipeline-buffer-size")
+            .displayName("Record Pipeline Buffer Size")
+            .description("The number of records that may be read from the result set ahead of the Record Writer. When greater than zero, rows are fetched from the "
+                    + "database and converted to records on a separate thread while the Record Writer serializes previously read records, which can improve "
+                    + "throughput when both are CPU-intensive. Up to this many records are held in memory in addition to those held by the Record Writer. "
+                    + "If zero, rows are read and written on the same thread.")
+            .defaultValue("0")
+            .required(true)
+            .addValidator(StandardValidators.NON_NEGATIVE_INTEGER_VALIDATOR)
+            .build();
+
+    public static final PropertyDescriptor FETCH_BUFFER_SIZE = new PropertyDescriptor.Builder()
+            .name("esqlrecord-fetch-buffer-size")
+            .displayName("Adaptive Fetch Buffer Size")
+            .description("The approximate amount of row data to fetch from the database in each round trip. If set, the width of the first rows of each result set "
+                    + "is measured and the fetch size is adjusted so that each fetch returns about this much data, replacing the Fetch Size for the remaining rows. "
+                    + "As with the Fetch Size, this is a hint to the database driver and may not be honored.")
+            .required(false)
+            .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
+            .build();
+
+    private volatile ExecutorService pipelineExecutor;
+
     public ExecuteSQLRecord() {
         final Set<Relationship> r = new HashSet<>();
         r.add(REL_SUCCESS);
@@ -172,10 +202,37 @@ public class ExecuteSQLRecord extends AbstractExecuteSQL {
         pds.add(MAX_ROWS_PER_FLOW_FILE);
         pds.add(OUTPUT_BATCH_SIZE);
         pds.add(FETCH_SIZE);
+        pds.add(FETCH_BUFFER_SIZE);
+        pds.add(PIPELINE_BUFFER_SIZE);
         pds.add(AUTO_COMMIT);
         propDescriptors = Collections.unmodifiableList(pds);
     }
 
+    @OnScheduled
+    public void setupPipelineExecutor(final ProcessContext context) {
+        if (context.getProperty(PIPELINE_BUFFER_SIZE).asInteger() > 0) {
+            pipelineExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread t = defaultFactory.newThread(r);
+                    t.setName("ExecuteSQLRecord " + getIdentifier() + " Result Set Reader");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+    }
+
+    @OnStopped
+    public void shutdownPipelineExecutor() {
+        if (pipelineExecutor != null) {
+            pipelineExecutor.shutdownNow();
+            pipelineExecutor = null;
+        }
+    }
+
     @Override
     protected SqlWriter configureSqlWriter(ProcessSession session, ProcessContext context, FlowFile fileToProcess) {
         final Integer maxRowsPerFlowFile = context.getProperty(MAX_ROWS_PER_FLOW_FILE).evaluateAttributeExpressions(fileToProcess).asInteger();
@@ -191,7 +248,11 @@ public class ExecuteSQLRecord extends AbstractExecuteSQL {
                 .build();
         final RecordSetWriterFactory recordSetWriterFactory = context.getProperty(RECORD_WRITER_FACTORY).asControllerService(RecordSetWriterFactory.class);
 
-        return new RecordSqlWriter(recordSetWriterFactory, options, maxRowsPerFlowFile, fileToProcess == null ? Collections.emptyMap() : fileToProcess.getAttributes());
+        final int pipelineBufferSize = context.getProperty(PIPELINE_BUFFER_SIZE).asInteger();
+        final Double fetchBufferBytes = context.getProperty(FETCH_BUFFER_SIZE).asDataSize(DataUnit.B);
+
+        return new RecordSqlWriter(recordSetWriterFactory, options, maxRowsPerFlowFile, fileToProcess == null ? Collections.emptyMap() : fileToProcess.getAttributes(),
+                pipelineBufferSize, pipelineExecutor, fetchBufferBytes == null ? 0 : fetchBufferBytes.longValue());
     }
 
     @Override
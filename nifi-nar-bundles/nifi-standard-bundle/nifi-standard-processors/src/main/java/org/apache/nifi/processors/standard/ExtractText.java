@@ -41,13 +41,17 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.io.InputStreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.stream.io.StreamUtils;
+import org.apache.nifi.util.search.regex.MultiPatternMatcher;
+import org.apache.nifi.util.search.regex.MultiPatternMatcher.MatchMode;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,6 +60,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static io.krakens.grok.api.GrokUtils.getNameGroups;
 
@@ -262,6 +267,7 @@ public class ExtractText extends AbstractProcessor {
 
     private final BlockingQueue<byte[]> bufferQueue = new LinkedBlockingQueue<>();
     private final AtomicReference<Map<String, Pattern>> compiledPattersMapRef = new AtomicReference<>();
+    private final AtomicReference<MultiPatternMatcher> prefilterRef = new AtomicReference<>();
 
 
     @Override
@@ -350,18 +356,19 @@ public class ExtractText extends AbstractProcessor {
 
     @OnScheduled
     public final void onScheduled(final ProcessContext context) throws IOException {
-        final Map<String, Pattern> compiledPatternsMap = new HashMap<>();
+        final Map<String, Pattern> compiledPatternsMap = new LinkedHashMap<>();
 
+        final int flags = getCompileFlags(context);
         for (final Map.Entry<PropertyDescriptor, String> entry : context.getProperties().entrySet()) {
             if (!entry.getKey().isDynamic()) {
                 continue;
             }
 
-            final int flags = getCompileFlags(context);
             final Pattern pattern = Pattern.compile(entry.getValue(), flags);
             compiledPatternsMap.put(entry.getKey().getName(), pattern);
         }
         compiledPattersMapRef.set(compiledPatternsMap);
+        prefilterRef.set(createPrefilter(compiledPatternsMap, flags));
 
         for (int i = 0; i < context.getMaxConcurrentTasks(); i++) {
             final int maxBufferSize = context.getProperty(MAX_BUFFER_SIZE).asDataSize(DataUnit.B).intValue();
@@ -370,6 +377,23 @@ public class ExtractText extends AbstractProcessor {
         }
     }
 
+    /**
+     * Creates a matcher that determines in a single pass over the content which of the patterns can match, so that the
+     * capture groups only need to be extracted for those patterns. The prefilter is only used if none of the flags other than
+     * case-insensitivity are enabled and all of the patterns can be evaluated without falling back to java.util.regex.
+     */
+    private MultiPatternMatcher createPrefilter(final Map<String, Pattern> compiledPatternsMap, final int flags) {
+        if ((flags & ~Pattern.CASE_INSENSITIVE) != 0 || compiledPatternsMap.isEmpty()) {
+            return null;
+        }
+
+        final List<String> regexes = compiledPatternsMap.values().stream()
+            .map(Pattern::pattern)
+            .collect(Collectors.toList());
+        final MultiPatternMatcher prefilter = MultiPatternMatcher.compile(regexes, (flags & Pattern.CASE_INSENSITIVE) != 0, MatchMode.FIND);
+        return prefilter.getFallbackPatternCount() == 0 ? prefilter : null;
+    }
+
     @OnStopped
     public void onStopped() {
         bufferQueue.clear();
@@ -411,12 +435,20 @@ public class ExtractText extends AbstractProcessor {
         final Map<String, String> regexResults = new HashMap<>();
 
         final Map<String, Pattern> patternMap = compiledPattersMapRef.get();
+        final MultiPatternMatcher prefilter = prefilterRef.get();
+        final BitSet candidatePatterns = prefilter == null ? null : prefilter.match(contentString);
 
         final int startGroupIdx = context.getProperty(INCLUDE_CAPTURE_GROUP_ZERO).asBoolean() ? 0 : 1;
         final boolean useNamedGroups = context.getProperty(ENABLE_NAMED_GROUPS).isSet()
             ? context.getProperty(ENABLE_NAMED_GROUPS).asBoolean() : false;
 
+        int patternIndex = -1;
         for (final Map.Entry<String, Pattern> entry : patternMap.entrySet()) {
+            patternIndex++;
+            if (candidatePatterns != null && !candidatePatterns.get(patternIndex)) {
+                continue;
+            }
+
             final String baseKey = entry.getKey();
             final String patternString = entry.getValue().toString();
             final String[] namedGroups = getNameGroups(patternString).toArray(new String[0]);
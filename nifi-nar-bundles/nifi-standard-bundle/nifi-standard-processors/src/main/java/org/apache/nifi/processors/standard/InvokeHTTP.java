@@ -21,8 +21,11 @@ import com.burgstaller.okhttp.CachingAuthenticatorDecorator;
 import com.burgstaller.okhttp.digest.CachingAuthenticator;
 import com.burgstaller.okhttp.digest.DigestAuthenticator;
 import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.ConnectionPool;
 import okhttp3.Credentials;
+import okhttp3.Dispatcher;
 import okhttp3.Handshake;
 import okhttp3.Headers;
 import okhttp3.JavaNetCookieJar;
@@ -52,6 +55,7 @@ import org.apache.nifi.annotation.behavior.WritesAttributes;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
 import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.ValidationContext;
@@ -64,10 +68,11 @@ import org.apache.nifi.flowfile.attributes.CoreAttributes;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.migration.PropertyConfiguration;
 import org.apache.nifi.oauth2.OAuth2AccessTokenProvider;
-import org.apache.nifi.processor.AbstractProcessor;
+import org.apache.nifi.processor.AbstractSessionFactoryProcessor;
 import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.ProcessSession;
+import org.apache.nifi.processor.ProcessSessionFactory;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
@@ -120,6 +125,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
@@ -159,7 +166,7 @@ import static org.apache.commons.lang3.StringUtils.trimToEmpty;
                                 + " where the <NAME> will be the form data name, will be used to fill out the multipart form parts."
                                 + "  If send message body is false, the flowfile will not be sent, but any other form data will be.")
 })
-public class InvokeHTTP extends AbstractProcessor {
+public class InvokeHTTP extends AbstractSessionFactoryProcessor {
     public final static String STATUS_CODE = "invokehttp.status.code";
     public final static String STATUS_MESSAGE = "invokehttp.status.message";
     public final static String RESPONSE_BODY = "invokehttp.response.body";
@@ -473,6 +480,25 @@ public class InvokeHTTP extends AbstractProcessor {
             .addValidator(StandardValidators.BOOLEAN_VALIDATOR)
             .build();
 
+    public static final PropertyDescriptor REQUEST_CONCURRENCY = new PropertyDescriptor.Builder()
+            .name("Request Concurrency")
+            .description("Maximum number of HTTP requests in flight for incoming FlowFiles across all concurrent tasks. With a value of 1, each concurrent task"
+                    + " sends a request and waits for the response. With a higher value, requests are sent asynchronously and each FlowFile is committed"
+                    + " in a separate session when the response arrives, so that processor threads are not held while waiting for responses.")
+            .required(true)
+            .defaultValue("1")
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .build();
+
+    public static final PropertyDescriptor REQUEST_CONCURRENCY_PER_HOST = new PropertyDescriptor.Builder()
+            .name("Request Concurrency Per Host")
+            .description("Maximum number of asynchronous HTTP requests in flight to a single host when Request Concurrency is greater than 1."
+                    + " Additional requests for the host wait until a request completes. Requests over HTTP/2 are multiplexed on a shared connection.")
+            .required(true)
+            .defaultValue("100")
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .build();
+
     private static final ProxySpec[] PROXY_SPECS = {ProxySpec.HTTP_AUTH, ProxySpec.SOCKS};
 
     private static final PropertyDescriptor PROXY_CONFIGURATION_SERVICE = ProxyConfiguration.createProxyConfigPropertyDescriptor(true, PROXY_SPECS);
@@ -487,6 +513,8 @@ public class InvokeHTTP extends AbstractProcessor {
             SOCKET_WRITE_TIMEOUT,
             SOCKET_IDLE_TIMEOUT,
             SOCKET_IDLE_CONNECTIONS,
+            REQUEST_CONCURRENCY,
+            REQUEST_CONCURRENCY_PER_HOST,
             PROXY_CONFIGURATION_SERVICE,
             REQUEST_OAUTH2_ACCESS_TOKEN_PROVIDER,
             REQUEST_USERNAME,
@@ -552,6 +580,8 @@ public class InvokeHTTP extends AbstractProcessor {
 
     private static final String MULTIPLE_HEADER_DELIMITER = ", ";
 
+    private static final long REQUEST_PERMIT_TIMEOUT_MILLIS = 100;
+
     private volatile Set<String> dynamicPropertyNames = new HashSet<>();
 
     private volatile Pattern requestHeaderAttributesPattern = null;
@@ -562,6 +592,8 @@ public class InvokeHTTP extends AbstractProcessor {
 
     private final AtomicReference<OkHttpClient> okHttpClientAtomicReference = new AtomicReference<>();
 
+    private volatile Semaphore requestPermits;
+
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         return PROPERTIES;
@@ -777,9 +809,47 @@ public class InvokeHTTP extends AbstractProcessor {
 
         chunkedTransferEncoding = context.getProperty(REQUEST_CHUNKED_TRANSFER_ENCODING_ENABLED).asBoolean();
 
+        final int requestConcurrency = context.getProperty(REQUEST_CONCURRENCY).asInteger();
+        if (requestConcurrency > 1) {
+            // Virtual threads avoid dedicating a platform thread to each request in flight
+            final Dispatcher dispatcher = new Dispatcher(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(getIdentifier() + "-request-", 0).factory()));
+            dispatcher.setMaxRequests(requestConcurrency);
+            dispatcher.setMaxRequestsPerHost(context.getProperty(REQUEST_CONCURRENCY_PER_HOST).asInteger());
+            okHttpClientBuilder.dispatcher(dispatcher);
+            requestPermits = new Semaphore(requestConcurrency);
+        } else {
+            requestPermits = null;
+        }
+
         okHttpClientAtomicReference.set(okHttpClientBuilder.build());
     }
 
+    @OnStopped
+    public void completeRequests(final ProcessContext context) {
+        final Semaphore permits = requestPermits;
+        final OkHttpClient okHttpClient = okHttpClientAtomicReference.get();
+        if (permits == null || okHttpClient == null) {
+            return;
+        }
+
+        final int requestConcurrency = context.getProperty(REQUEST_CONCURRENCY).asInteger();
+        final long timeout = context.getProperty(SOCKET_CONNECT_TIMEOUT).asTimePeriod(TimeUnit.MILLISECONDS)
+                + context.getProperty(SOCKET_WRITE_TIMEOUT).asTimePeriod(TimeUnit.MILLISECONDS)
+                + context.getProperty(SOCKET_READ_TIMEOUT).asTimePeriod(TimeUnit.MILLISECONDS);
+        try {
+            if (permits.tryAcquire(requestConcurrency, timeout, TimeUnit.MILLISECONDS)) {
+                permits.release(requestConcurrency);
+            } else {
+                getLogger().warn("Canceling {} requests not completed after {} ms", requestConcurrency - permits.availablePermits(), timeout);
+                okHttpClient.dispatcher().cancelAll();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            okHttpClient.dispatcher().cancelAll();
+        }
+        okHttpClient.dispatcher().executorService().shutdown();
+    }
+
     @OnScheduled
     public void initOauth2AccessTokenProvider(final ProcessContext context) {
         if (context.getProperty(REQUEST_OAUTH2_ACCESS_TOKEN_PROVIDER).isSet()) {
@@ -810,6 +880,22 @@ public class InvokeHTTP extends AbstractProcessor {
     }
 
     @Override
+    public void onTrigger(final ProcessContext context, final ProcessSessionFactory sessionFactory) throws ProcessException {
+        final Semaphore permits = requestPermits;
+        if (permits == null || !context.hasIncomingConnection()) {
+            final ProcessSession session = sessionFactory.createSession();
+            try {
+                onTrigger(context, session);
+                session.commitAsync();
+            } catch (final Throwable t) {
+                session.rollback(true);
+                throw t;
+            }
+        } else {
+            enqueueRequests(context, sessionFactory, permits);
+        }
+    }
+
     public void onTrigger(ProcessContext context, ProcessSession session) throws ProcessException {
         OkHttpClient okHttpClient = okHttpClientAtomicReference.get();
 
@@ -832,171 +918,258 @@ public class InvokeHTTP extends AbstractProcessor {
             }
         }
 
-        final int maxAttributeSize = context.getProperty(RESPONSE_BODY_ATTRIBUTE_SIZE).asInteger();
-        final ComponentLog logger = getLogger();
-        final UUID txId = UUID.randomUUID();
-
-        FlowFile responseFlowFile = null;
+        final RequestExchange exchange = new RequestExchange(requestFlowFile);
         try {
-            final String urlProperty = trimToEmpty(context.getProperty(HTTP_URL).evaluateAttributeExpressions(requestFlowFile).getValue());
-            final URL url = URI.create(urlProperty).toURL();
+            final Request httpRequest = prepareRequest(context, session, exchange);
+            try (Response responseHttp = okHttpClient.newCall(httpRequest).execute()) {
+                processResponse(context, session, exchange, responseHttp);
+            }
+        } catch (final Exception e) {
+            processFailure(context, session, exchange, e);
+        }
+    }
 
-            Request httpRequest = configureRequest(context, session, requestFlowFile, url);
-            logRequest(logger, httpRequest);
+    private void enqueueRequests(final ProcessContext context, final ProcessSessionFactory sessionFactory, final Semaphore permits) {
+        // Wait briefly for a request to complete when all permits are in use to avoid spinning the processor thread
+        try {
+            if (!permits.tryAcquire(REQUEST_PERMIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
 
-            if (httpRequest.body() != null) {
-                session.getProvenanceReporter().send(requestFlowFile, url.toExternalForm(), true);
+        final OkHttpClient okHttpClient = okHttpClientAtomicReference.get();
+        do {
+            final ProcessSession session = sessionFactory.createSession();
+            final FlowFile requestFlowFile = session.get();
+            if (requestFlowFile == null) {
+                permits.release();
+                session.commitAsync();
+                return;
             }
 
-            final long startNanos = System.nanoTime();
+            enqueueRequest(context, okHttpClient, session, new RequestExchange(requestFlowFile), permits);
+        } while (isScheduled() && permits.tryAcquire());
+    }
 
-            try (Response responseHttp = okHttpClient.newCall(httpRequest).execute()) {
-                logResponse(logger, url, responseHttp);
-
-                // store the status code and message
-                int statusCode = responseHttp.code();
-                String statusMessage = responseHttp.message();
-
-                // Create a map of the status attributes that are always written to the request and response FlowFiles
-                Map<String, String> statusAttributes = new HashMap<>();
-                statusAttributes.put(STATUS_CODE, String.valueOf(statusCode));
-                statusAttributes.put(STATUS_MESSAGE, statusMessage);
-                statusAttributes.put(REQUEST_URL, url.toExternalForm());
-                statusAttributes.put(REQUEST_DURATION, Long.toString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
-                statusAttributes.put(RESPONSE_URL, responseHttp.request().url().toString());
-                statusAttributes.put(TRANSACTION_ID, txId.toString());
-
-                if (requestFlowFile != null) {
-                    requestFlowFile = session.putAllAttributes(requestFlowFile, statusAttributes);
+    private void enqueueRequest(final ProcessContext context, final OkHttpClient okHttpClient, final ProcessSession session,
+                                final RequestExchange exchange, final Semaphore permits) {
+        final Request httpRequest;
+        try {
+            httpRequest = prepareRequest(context, session, exchange);
+        } catch (final Exception e) {
+            completeRequest(session, exchange, permits, () -> processFailure(context, session, exchange, e));
+            return;
+        }
+
+        // Each request owns a separate session which is accessed only by the thread that handles the current stage of the call
+        okHttpClient.newCall(httpRequest).enqueue(new Callback() {
+            @Override
+            public void onResponse(final Call call, final Response responseHttp) {
+                completeRequest(session, exchange, permits, () -> {
+                    try (responseHttp) {
+                        processResponse(context, session, exchange, responseHttp);
+                    } catch (final Exception e) {
+                        processFailure(context, session, exchange, e);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                if (call.isCanceled()) {
+                    // Canceled when stopping the processor so return the FlowFile to the queue
+                    session.rollback();
+                    permits.release();
+                } else {
+                    completeRequest(session, exchange, permits, () -> processFailure(context, session, exchange, e));
                 }
+            }
+        });
+    }
 
-                // If the property to add the response headers to the request flowfile is true then add them
-                if (context.getProperty(RESPONSE_HEADER_REQUEST_ATTRIBUTES_ENABLED).asBoolean() && requestFlowFile != null) {
-                    // write the response headers as attributes
-                    // this will overwrite any existing flowfile attributes
-                    requestFlowFile = session.putAllAttributes(requestFlowFile, convertAttributesFromHeaders(responseHttp));
+    private void completeRequest(final ProcessSession session, final RequestExchange exchange, final Semaphore permits, final Runnable processing) {
+        try {
+            processing.run();
+            session.commitAsync();
+        } catch (final Throwable t) {
+            getLogger().error("Request Processing failed: {}", exchange.requestFlowFile, t);
+            session.rollback(true);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Request prepareRequest(final ProcessContext context, final ProcessSession session, final RequestExchange exchange) throws IOException {
+        final String urlProperty = trimToEmpty(context.getProperty(HTTP_URL).evaluateAttributeExpressions(exchange.requestFlowFile).getValue());
+        exchange.url = URI.create(urlProperty).toURL();
+
+        final Request httpRequest = configureRequest(context, session, exchange.requestFlowFile, exchange.url);
+        logRequest(getLogger(), httpRequest);
+
+        if (httpRequest.body() != null) {
+            session.getProvenanceReporter().send(exchange.requestFlowFile, exchange.url.toExternalForm(), true);
+        }
+
+        exchange.request = httpRequest;
+        exchange.startNanos = System.nanoTime();
+        return httpRequest;
+    }
+
+    private void processResponse(final ProcessContext context, final ProcessSession session, final RequestExchange exchange, final Response responseHttp) throws IOException {
+        final boolean putToAttribute = context.getProperty(RESPONSE_BODY_ATTRIBUTE_NAME).isSet();
+        final int maxAttributeSize = context.getProperty(RESPONSE_BODY_ATTRIBUTE_SIZE).asInteger();
+        final URL url = exchange.url;
+
+        logResponse(getLogger(), url, responseHttp);
+
+        // store the status code and message
+        int statusCode = responseHttp.code();
+        String statusMessage = responseHttp.message();
+
+        // Create a map of the status attributes that are always written to the request and response FlowFiles
+        Map<String, String> statusAttributes = new HashMap<>();
+        statusAttributes.put(STATUS_CODE, String.valueOf(statusCode));
+        statusAttributes.put(STATUS_MESSAGE, statusMessage);
+        statusAttributes.put(REQUEST_URL, url.toExternalForm());
+        statusAttributes.put(REQUEST_DURATION, Long.toString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - exchange.startNanos)));
+        statusAttributes.put(RESPONSE_URL, responseHttp.request().url().toString());
+        statusAttributes.put(TRANSACTION_ID, exchange.txId.toString());
+
+        if (exchange.requestFlowFile != null) {
+            exchange.requestFlowFile = session.putAllAttributes(exchange.requestFlowFile, statusAttributes);
+        }
+
+        // If the property to add the response headers to the request flowfile is true then add them
+        if (context.getProperty(RESPONSE_HEADER_REQUEST_ATTRIBUTES_ENABLED).asBoolean() && exchange.requestFlowFile != null) {
+            // write the response headers as attributes
+            // this will overwrite any existing flowfile attributes
+            exchange.requestFlowFile = session.putAllAttributes(exchange.requestFlowFile, convertAttributesFromHeaders(responseHttp));
+        }
+
+        boolean outputBodyToRequestAttribute = (!isSuccess(statusCode) || putToAttribute) && exchange.requestFlowFile != null;
+        boolean outputBodyToResponseContent = (isSuccess(statusCode) && !putToAttribute) || context.getProperty(RESPONSE_GENERATION_REQUIRED).asBoolean();
+        ResponseBody responseBody = responseHttp.body();
+        boolean bodyExists = responseBody != null && !context.getProperty(RESPONSE_BODY_IGNORED).asBoolean();
+
+        InputStream responseBodyStream = null;
+        SoftLimitBoundedByteArrayOutputStream outputStreamToRequestAttribute = null;
+        TeeInputStream teeInputStream = null;
+        try {
+            responseBodyStream = bodyExists ? responseBody.byteStream() : null;
+            if (responseBodyStream != null && outputBodyToRequestAttribute && outputBodyToResponseContent) {
+                outputStreamToRequestAttribute = new SoftLimitBoundedByteArrayOutputStream(maxAttributeSize);
+                teeInputStream = new TeeInputStream(responseBodyStream, outputStreamToRequestAttribute);
+            }
+
+            if (outputBodyToResponseContent) {
+                /*
+                 * If successful and putting to response flowfile, store the response body as the flowfile payload
+                 * we include additional flowfile attributes including the response headers and the status codes.
+                 */
+
+                // clone the flowfile to capture the response
+                if (exchange.requestFlowFile != null) {
+                    exchange.responseFlowFile = session.create(exchange.requestFlowFile);
+                } else {
+                    exchange.responseFlowFile = session.create();
                 }
 
-                boolean outputBodyToRequestAttribute = (!isSuccess(statusCode) || putToAttribute) && requestFlowFile != null;
-                boolean outputBodyToResponseContent = (isSuccess(statusCode) && !putToAttribute) || context.getProperty(RESPONSE_GENERATION_REQUIRED).asBoolean();
-                ResponseBody responseBody = responseHttp.body();
-                boolean bodyExists = responseBody != null && !context.getProperty(RESPONSE_BODY_IGNORED).asBoolean();
-
-                InputStream responseBodyStream = null;
-                SoftLimitBoundedByteArrayOutputStream outputStreamToRequestAttribute = null;
-                TeeInputStream teeInputStream = null;
-                try {
-                    responseBodyStream = bodyExists ? responseBody.byteStream() : null;
-                    if (responseBodyStream != null && outputBodyToRequestAttribute && outputBodyToResponseContent) {
-                        outputStreamToRequestAttribute = new SoftLimitBoundedByteArrayOutputStream(maxAttributeSize);
-                        teeInputStream = new TeeInputStream(responseBodyStream, outputStreamToRequestAttribute);
-                    }
+                // write attributes to response flowfile
+                exchange.responseFlowFile = session.putAllAttributes(exchange.responseFlowFile, statusAttributes);
 
-                    if (outputBodyToResponseContent) {
-                        /*
-                         * If successful and putting to response flowfile, store the response body as the flowfile payload
-                         * we include additional flowfile attributes including the response headers and the status codes.
-                         */
-
-                        // clone the flowfile to capture the response
-                        if (requestFlowFile != null) {
-                            responseFlowFile = session.create(requestFlowFile);
-                        } else {
-                            responseFlowFile = session.create();
-                        }
-
-                        // write attributes to response flowfile
-                        responseFlowFile = session.putAllAttributes(responseFlowFile, statusAttributes);
-
-                        // write the response headers as attributes
-                        // this will overwrite any existing flowfile attributes
-                        responseFlowFile = session.putAllAttributes(responseFlowFile, convertAttributesFromHeaders(responseHttp));
-
-                        // update FlowFile's filename attribute with an extracted value from the remote URL
-                        if (FlowFileNamingStrategy.URL_PATH.equals(getFlowFileNamingStrategy(context)) && HttpMethod.GET.name().equals(httpRequest.method())) {
-                            String fileName = getFileNameFromUrl(url);
-                            if (fileName != null) {
-                                responseFlowFile = session.putAttribute(responseFlowFile, CoreAttributes.FILENAME.key(), fileName);
-                            }
-                        }
-
-                        // transfer the message body to the payload
-                        // can potentially be null in edge cases
-                        if (bodyExists) {
-                            // write content type attribute to response flowfile if it is available
-                            final MediaType contentType = responseBody.contentType();
-                            if (contentType != null) {
-                                responseFlowFile = session.putAttribute(responseFlowFile, CoreAttributes.MIME_TYPE.key(), contentType.toString());
-                            }
-                            if (teeInputStream != null) {
-                                responseFlowFile = session.importFrom(teeInputStream, responseFlowFile);
-                            } else {
-                                responseFlowFile = session.importFrom(responseBodyStream, responseFlowFile);
-                            }
-
-                            // emit provenance event
-                            final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
-                            if (requestFlowFile != null) {
-                                session.getProvenanceReporter().fetch(responseFlowFile, url.toExternalForm(), millis);
-                            } else {
-                                session.getProvenanceReporter().receive(responseFlowFile, url.toExternalForm(), millis);
-                            }
-                        }
-                    }
+                // write the response headers as attributes
+                // this will overwrite any existing flowfile attributes
+                exchange.responseFlowFile = session.putAllAttributes(exchange.responseFlowFile, convertAttributesFromHeaders(responseHttp));
 
-                    // if not successful and request flowfile is not null, store the response body into a flowfile attribute
-                    if (outputBodyToRequestAttribute && bodyExists) {
-                        String attributeKey = context.getProperty(RESPONSE_BODY_ATTRIBUTE_NAME).evaluateAttributeExpressions(requestFlowFile).getValue();
-                        if (attributeKey == null) {
-                            attributeKey = RESPONSE_BODY;
-                        }
-                        byte[] outputBuffer;
-                        int size;
-
-                        if (outputStreamToRequestAttribute != null) {
-                            outputBuffer = outputStreamToRequestAttribute.getBuffer();
-                            size = outputStreamToRequestAttribute.size();
-                        } else {
-                            outputBuffer = new byte[maxAttributeSize];
-                            size = StreamUtils.fillBuffer(responseBodyStream, outputBuffer, false);
-                        }
-                        String bodyString = new String(outputBuffer, 0, size, getCharsetFromMediaType(responseBody.contentType()));
-                        requestFlowFile = session.putAttribute(requestFlowFile, attributeKey, bodyString);
-
-                        final long processingDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
-                        final String eventDetails = String.format("Response Body Attribute Added [%s] Processing Duration [%d ms]", attributeKey, processingDuration);
-                        session.getProvenanceReporter().modifyAttributes(requestFlowFile, eventDetails);
+                // update FlowFile's filename attribute with an extracted value from the remote URL
+                if (FlowFileNamingStrategy.URL_PATH.equals(getFlowFileNamingStrategy(context)) && HttpMethod.GET.name().equals(exchange.request.method())) {
+                    String fileName = getFileNameFromUrl(url);
+                    if (fileName != null) {
+                        exchange.responseFlowFile = session.putAttribute(exchange.responseFlowFile, CoreAttributes.FILENAME.key(), fileName);
                     }
-                } finally {
-                    if (outputStreamToRequestAttribute != null) {
-                        outputStreamToRequestAttribute.close();
+                }
+
+                // transfer the message body to the payload
+                // can potentially be null in edge cases
+                if (bodyExists) {
+                    // write content type attribute to response flowfile if it is available
+                    final MediaType contentType = responseBody.contentType();
+                    if (contentType != null) {
+                        exchange.responseFlowFile = session.putAttribute(exchange.responseFlowFile, CoreAttributes.MIME_TYPE.key(), contentType.toString());
                     }
                     if (teeInputStream != null) {
-                        teeInputStream.close();
-                    } else if (responseBodyStream != null) {
-                        responseBodyStream.close();
+                        exchange.responseFlowFile = session.importFrom(teeInputStream, exchange.responseFlowFile);
+                    } else {
+                        exchange.responseFlowFile = session.importFrom(responseBodyStream, exchange.responseFlowFile);
+                    }
+
+                    // emit provenance event
+                    final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - exchange.startNanos);
+                    if (exchange.requestFlowFile != null) {
+                        session.getProvenanceReporter().fetch(exchange.responseFlowFile, url.toExternalForm(), millis);
+                    } else {
+                        session.getProvenanceReporter().receive(exchange.responseFlowFile, url.toExternalForm(), millis);
                     }
                 }
+            }
 
-                route(requestFlowFile, responseFlowFile, session, context, statusCode);
+            // if not successful and request flowfile is not null, store the response body into a flowfile attribute
+            if (outputBodyToRequestAttribute && bodyExists) {
+                String attributeKey = context.getProperty(RESPONSE_BODY_ATTRIBUTE_NAME).evaluateAttributeExpressions(exchange.requestFlowFile).getValue();
+                if (attributeKey == null) {
+                    attributeKey = RESPONSE_BODY;
+                }
+                byte[] outputBuffer;
+                int size;
+
+                if (outputStreamToRequestAttribute != null) {
+                    outputBuffer = outputStreamToRequestAttribute.getBuffer();
+                    size = outputStreamToRequestAttribute.size();
+                } else {
+                    outputBuffer = new byte[maxAttributeSize];
+                    size = StreamUtils.fillBuffer(responseBodyStream, outputBuffer, false);
+                }
+                String bodyString = new String(outputBuffer, 0, size, getCharsetFromMediaType(responseBody.contentType()));
+                exchange.requestFlowFile = session.putAttribute(exchange.requestFlowFile, attributeKey, bodyString);
 
+                final long processingDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - exchange.startNanos);
+                final String eventDetails = String.format("Response Body Attribute Added [%s] Processing Duration [%d ms]", attributeKey, processingDuration);
+                session.getProvenanceReporter().modifyAttributes(exchange.requestFlowFile, eventDetails);
             }
-        } catch (final Exception e) {
-            if (requestFlowFile == null) {
-                logger.error("Request Processing failed", e);
-                context.yield();
-            } else {
-                logger.error("Request Processing failed: {}", requestFlowFile, e);
-                requestFlowFile = session.penalize(requestFlowFile);
-                requestFlowFile = session.putAttribute(requestFlowFile, EXCEPTION_CLASS, e.getClass().getName());
-                requestFlowFile = session.putAttribute(requestFlowFile, EXCEPTION_MESSAGE, e.getMessage());
-                session.transfer(requestFlowFile, FAILURE);
+        } finally {
+            if (outputStreamToRequestAttribute != null) {
+                outputStreamToRequestAttribute.close();
             }
-
-            if (responseFlowFile != null) {
-                session.remove(responseFlowFile);
+            if (teeInputStream != null) {
+                teeInputStream.close();
+            } else if (responseBodyStream != null) {
+                responseBodyStream.close();
             }
         }
+
+        route(exchange.requestFlowFile, exchange.responseFlowFile, session, context, statusCode);
+    }
+
+    private void processFailure(final ProcessContext context, final ProcessSession session, final RequestExchange exchange, final Exception e) {
+        final ComponentLog logger = getLogger();
+        FlowFile requestFlowFile = exchange.requestFlowFile;
+        if (requestFlowFile == null) {
+            logger.error("Request Processing failed", e);
+            context.yield();
+        } else {
+            logger.error("Request Processing failed: {}", requestFlowFile, e);
+            requestFlowFile = session.penalize(requestFlowFile);
+            requestFlowFile = session.putAttribute(requestFlowFile, EXCEPTION_CLASS, e.getClass().getName());
+            requestFlowFile = session.putAttribute(requestFlowFile, EXCEPTION_MESSAGE, e.getMessage());
+            session.transfer(requestFlowFile, FAILURE);
+        }
+
+        if (exchange.responseFlowFile != null) {
+            session.remove(exchange.responseFlowFile);
+        }
     }
 
     private Request configureRequest(final ProcessContext context, final ProcessSession session, final FlowFile requestFlowFile, URL url) {
@@ -1306,4 +1479,20 @@ public class InvokeHTTP extends AbstractProcessor {
         final String method = context.getProperty(HTTP_METHOD).evaluateAttributeExpressions(flowFile).getValue().toUpperCase();
         return trimToEmpty(method);
     }
+
+    /**
+     * Current state of a request and the FlowFiles associated with it, updated as the request proceeds
+     */
+    private static class RequestExchange {
+        private final UUID txId = UUID.randomUUID();
+        private FlowFile requestFlowFile;
+        private FlowFile responseFlowFile;
+        private URL url;
+        private Request request;
+        private long startNanos;
+
+        private RequestExchange(final FlowFile requestFlowFile) {
+            this.requestFlowFile = requestFlowFile;
+        }
+    }
 }
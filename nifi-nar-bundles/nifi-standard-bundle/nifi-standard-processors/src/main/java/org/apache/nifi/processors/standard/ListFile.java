@@ -44,6 +44,7 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processor.util.list.AbstractListProcessor;
 import org.apache.nifi.processor.util.list.ListedEntityTracker;
+import org.apache.nifi.processors.standard.util.DirectoryListingIndex;
 import org.apache.nifi.processors.standard.util.FileInfo;
 import org.apache.nifi.scheduling.SchedulingStrategy;
 import org.apache.nifi.serialization.record.RecordSchema;
@@ -52,6 +53,8 @@ import org.apache.nifi.util.Tuple;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileStore;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
@@ -67,6 +70,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -77,11 +81,17 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -267,6 +277,32 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         .defaultValue("3 mins")
         .build();
 
+    public static final PropertyDescriptor DIRECTORY_LISTING_THREADS = new Builder()
+        .name("directory-listing-threads")
+        .displayName("Directory Listing Threads")
+        .description("The number of threads to use for listing directories. If greater than 1 and '" + RECURSE.getDisplayName() + "' is true, subdirectories are listed in parallel, " +
+            "which can significantly reduce the time taken to list a large directory tree, especially on remote file shares where each disk access has high latency. " +
+            "Files are then not listed in any particular order.")
+        .required(true)
+        .addValidator(POSITIVE_INTEGER_VALIDATOR)
+        .expressionLanguageSupported(ENVIRONMENT)
+        .defaultValue("1")
+        .build();
+
+    public static final PropertyDescriptor LISTING_INDEX_DIRECTORY = new Builder()
+        .name("listing-index-directory")
+        .displayName("Listing Index Directory")
+        .description("A local directory in which the Processor stores an index of the directories that it has listed. For each directory, the index holds the directory's last " +
+            "modification time, the number of files that it contains, the newest last modification time of those files and the names of its subdirectories. On subsequent listings, " +
+            "the files of a directory whose last modification time has not changed are not listed again if all of them were already older than the timestamp from which files are " +
+            "being listed; its subdirectories are still visited. The index is only used when the Listing Strategy is based on timestamps. " +
+            "This should only be configured if files are not modified in place after they have been written, for instance because they are written under a temporary name " +
+            "and then renamed, since modifying the content of a file does not update the last modification time of its directory.")
+        .required(false)
+        .addValidator(StandardValidators.createDirectoryExistsValidator(true, true))
+        .expressionLanguageSupported(ENVIRONMENT)
+        .build();
+
 
     private List<PropertyDescriptor> properties;
     private Set<Relationship> relationships;
@@ -277,6 +313,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
     private volatile boolean includeFileAttributes;
     private volatile PerformanceTracker performanceTracker;
     private volatile long performanceLoggingTimestamp = System.currentTimeMillis();
+    private volatile DirectoryListingIndex listingIndex;
 
     public static final String FILE_CREATION_TIME_ATTRIBUTE = "file.creationTime";
     public static final String FILE_LAST_MODIFY_TIME_ATTRIBUTE = "file.lastModifiedTime";
@@ -312,6 +349,8 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         properties.add(MAX_TRACKED_FILES);
         properties.add(MAX_DISK_OPERATION_TIME);
         properties.add(MAX_LISTING_TIME);
+        properties.add(DIRECTORY_LISTING_THREADS);
+        properties.add(LISTING_INDEX_DIRECTORY);
         this.properties = Collections.unmodifiableList(properties);
 
         final Set<Relationship> relationships = new HashSet<>();
@@ -340,6 +379,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
     @OnScheduled
     public void onScheduled(final ProcessContext context) {
         includeFileAttributes = context.getProperty(INCLUDE_FILE_ATTRIBUTES).asBoolean();
+        listingIndex = null;
 
         final long maxDiskOperationMillis = context.getProperty(MAX_DISK_OPERATION_TIME).evaluateAttributeExpressions().asTimePeriod(TimeUnit.MILLISECONDS);
         final long maxListingMillis = context.getProperty(MAX_LISTING_TIME).evaluateAttributeExpressions().asTimePeriod(TimeUnit.MILLISECONDS);
@@ -517,13 +557,13 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         final Boolean recurse = context.getProperty(RECURSE).asBoolean();
         final Map<Path, BasicFileAttributes> lastModifiedMap = new HashMap<>();
 
+        final long maxDiskOperationMillis = context.getProperty(MAX_DISK_OPERATION_TIME).evaluateAttributeExpressions().asTimePeriod(TimeUnit.MILLISECONDS);
         final BiPredicate<Path, BasicFileAttributes> fileFilter;
         final PerformanceTracker performanceTracker;
         if (listingMode == ListingMode.EXECUTION) {
             performanceTracker = this.performanceTracker;
             fileFilter = createFileFilter(context, performanceTracker, applyFilters, basePath);
         } else {
-            final long maxDiskOperationMillis = context.getProperty(MAX_DISK_OPERATION_TIME).evaluateAttributeExpressions().asTimePeriod(TimeUnit.MILLISECONDS);
             performanceTracker = new UntrackedPerformanceTracker(getLogger(), maxDiskOperationMillis);
             fileFilter = createFileFilter(context, performanceTracker, applyFilters, basePath);
         }
@@ -577,6 +617,28 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             }
         };
 
+        final int listingThreads = recurse ? context.getProperty(DIRECTORY_LISTING_THREADS).evaluateAttributeExpressions().asInteger() : 1;
+        final Path indexFile = listingMode == ListingMode.EXECUTION ? getListingIndexFile(context) : null;
+        if (listingThreads > 1 || indexFile != null) {
+            // Each listing thread collects its own timing information rather than contending for the shared Performance Tracker
+            final boolean trackPerformance = listingMode == ListingMode.EXECUTION && context.getProperty(TRACK_PERFORMANCE).asBoolean();
+            final ParallelListingPerformanceTracker listingPerformanceTracker = new ParallelListingPerformanceTracker(performanceTracker, trackPerformance, getLogger(),
+                maxDiskOperationMillis);
+            final BiPredicate<Path, BasicFileAttributes> listingFileFilter = createFileFilter(context, listingPerformanceTracker, applyFilters, basePath);
+            final BiPredicate<Path, BasicFileAttributes> concurrentMatcher = (path, attributes) -> {
+                if (!isScheduled() && listingMode == ListingMode.EXECUTION) {
+                    throw new ProcessorStoppedException();
+                }
+
+                final boolean matchesFilters = (minTimestamp == null || attributes.lastModifiedTime().toMillis() >= minTimestamp)
+                        && listingFileFilter.test(path, attributes);
+                return !applyFilters || matchesFilters;
+            };
+
+            final ParallelDirectoryListing listing = new ParallelDirectoryListing(basePath, maxDepth, minTimestamp, concurrentMatcher, listingPerformanceTracker, indexFile);
+            return listing.perform(listingThreads);
+        }
+
         try {
             final long start = System.currentTimeMillis();
             final List<FileInfo> result = new LinkedList<>();
@@ -646,6 +708,254 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         }
     }
 
+    private Path getListingIndexFile(final ProcessContext context) {
+        final String indexDirectory = context.getProperty(LISTING_INDEX_DIRECTORY).evaluateAttributeExpressions().getValue();
+        if (indexDirectory == null) {
+            return null;
+        }
+
+        return new File(indexDirectory, getIdentifier() + ".listing-index").toPath();
+    }
+
+    /**
+     * Lists a directory tree by listing each directory in its own task, so that subdirectories are listed in parallel by a bounded pool of threads.
+     * If an index file is provided, the files of any directory that has not changed since the previous listing, and whose files are all older than
+     * the minimum timestamp, are not listed again. Only the subdirectories of such a directory are visited. As with a sequential walk of the
+     * directory tree, the listing stops if a file or directory cannot be visited for any reason other than being denied access to it.
+     */
+    private class ParallelDirectoryListing {
+        private final Path basePath;
+        private final int maxDepth;
+        private final Long minTimestamp;
+        private final BiPredicate<Path, BasicFileAttributes> matcher;
+        private final ParallelListingPerformanceTracker performanceTracker;
+        private final Path indexFile;
+        private final DirectoryListingIndex previousIndex;
+        private final DirectoryListingIndex updatedIndex = new DirectoryListingIndex();
+        private final Queue<FileInfo> results = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger skippedDirectories = new AtomicInteger(0);
+        private final AtomicInteger skippedFiles = new AtomicInteger(0);
+        private final AtomicBoolean terminated = new AtomicBoolean(false);
+
+        ParallelDirectoryListing(final Path basePath, final int maxDepth, final Long minTimestamp, final BiPredicate<Path, BasicFileAttributes> matcher,
+                                 final ParallelListingPerformanceTracker performanceTracker, final Path indexFile) {
+            this.basePath = basePath;
+            this.maxDepth = maxDepth;
+            this.minTimestamp = minTimestamp;
+            this.matcher = matcher;
+            this.performanceTracker = performanceTracker;
+            this.indexFile = indexFile;
+            this.previousIndex = indexFile == null ? null : getPreviousIndex(indexFile);
+        }
+
+        private DirectoryListingIndex getPreviousIndex(final Path indexFile) {
+            final DirectoryListingIndex index = listingIndex;
+            if (index != null) {
+                return index;
+            }
+
+            try {
+                return DirectoryListingIndex.load(indexFile);
+            } catch (final IOException e) {
+                getLogger().warn("Failed to read Directory Listing Index from {}; all directories will be listed", indexFile, e);
+                return new DirectoryListingIndex();
+            }
+        }
+
+        List<FileInfo> perform(final int listingThreads) throws IOException {
+            final long start = System.currentTimeMillis();
+            final ForkJoinPool pool = new ForkJoinPool(listingThreads);
+
+            try {
+                final BasicFileAttributes baseAttributes = Files.readAttributes(basePath, BasicFileAttributes.class);
+                pool.invoke(ForkJoinTask.adapt(() -> listDirectory(basePath, baseAttributes, 0, Collections.emptyList())));
+            } catch (final ProcessorStoppedException pse) {
+                getLogger().info("Processor was stopped so will not complete listing of Files");
+                return Collections.emptyList();
+            } finally {
+                pool.shutdownNow();
+                performanceTracker.completeActiveDirectory();
+                performanceTracker.complete();
+
+                if (TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - performanceLoggingTimestamp) >= 5) {
+                    logPerformance();
+                }
+            }
+
+            if (indexFile != null) {
+                try {
+                    updatedIndex.save(indexFile);
+                } catch (final IOException e) {
+                    getLogger().warn("Failed to write Directory Listing Index to {}", indexFile, e);
+                }
+                listingIndex = updatedIndex;
+            }
+
+            final long millis = System.currentTimeMillis() - start;
+            getLogger().debug("Took {} milliseconds to perform listing and gather {} entries using {} threads; skipped {} files in {} unchanged directories",
+                millis, results.size(), listingThreads, skippedFiles.get(), skippedDirectories.get());
+            return new ArrayList<>(results);
+        }
+
+        private void listDirectory(final Path directory, final BasicFileAttributes attributes, final int depth, final List<Object> ancestorKeys) {
+            if (terminated.get()) {
+                return;
+            }
+
+            if (!Files.isReadable(directory)) {
+                getLogger().debug("The following directory is not readable: {}", directory);
+                return;
+            }
+
+            final String relativePath = basePath.relativize(directory).toString();
+            performanceTracker.setActiveDirectory(relativePath);
+
+            final List<Object> directoryKeys = new ArrayList<>(ancestorKeys);
+            directoryKeys.add(getDirectoryKey(directory, attributes));
+
+            final long lastModified = attributes.lastModifiedTime().toMillis();
+            final DirectoryListingIndex.DirectoryEntry previousEntry = previousIndex == null ? null : previousIndex.getEntry(directory);
+            final List<ForkJoinTask<?>> subdirectoryTasks = new ArrayList<>();
+
+            if (isUnchanged(previousEntry, lastModified)) {
+                updatedIndex.putEntry(directory, previousEntry);
+                skippedDirectories.incrementAndGet();
+                skippedFiles.addAndGet(previousEntry.getFileCount());
+
+                if (depth + 1 < maxDepth) {
+                    for (final String subdirectoryName : previousEntry.getSubdirectories()) {
+                        final Path subdirectory = directory.resolve(subdirectoryName);
+                        try {
+                            final BasicFileAttributes subdirectoryAttributes = Files.readAttributes(subdirectory, BasicFileAttributes.class);
+                            addSubdirectoryTask(subdirectory, subdirectoryAttributes, depth, directoryKeys, subdirectoryTasks);
+                        } catch (final IOException e) {
+                            getLogger().debug("Failed to retrieve attributes of directory {}", subdirectory, e);
+                        }
+                    }
+                }
+            } else {
+                final long indexedTimestamp = System.currentTimeMillis();
+                final List<String> subdirectories = new ArrayList<>();
+                int fileCount = 0;
+                long latestFileTimestamp = Long.MIN_VALUE;
+                boolean complete = true;
+                long lastTimestamp = System.currentTimeMillis();
+
+                try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                    for (final Path path : stream) {
+                        if (terminated.get()) {
+                            complete = false;
+                            break;
+                        }
+
+                        final BasicFileAttributes pathAttributes;
+                        try {
+                            pathAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+                        } catch (final AccessDeniedException e) {
+                            getLogger().debug("The following file is not readable: {}", path);
+                            complete = false;
+                            continue;
+                        } catch (final IOException e) {
+                            getLogger().error("Error during visiting file {}: {}", path, e.getMessage(), e);
+                            terminated.set(true);
+                            complete = false;
+                            break;
+                        }
+
+                        final long now = System.currentTimeMillis();
+                        final long timeToList = now - lastTimestamp;
+                        lastTimestamp = now;
+
+                        if (pathAttributes.isDirectory()) {
+                            subdirectories.add(path.getFileName().toString());
+                            if (depth + 1 < maxDepth) {
+                                addSubdirectoryTask(path, pathAttributes, depth, directoryKeys, subdirectoryTasks);
+                            }
+                            continue;
+                        }
+
+                        fileCount++;
+                        latestFileTimestamp = Math.max(latestFileTimestamp, pathAttributes.lastModifiedTime().toMillis());
+
+                        final String filename = path.getFileName().toString();
+                        performanceTracker.acceptOperation(DiskOperation.RETRIEVE_NEXT_FILE_FROM_OS, relativePath, filename, timeToList);
+
+                        final TimedOperationKey operationKey = performanceTracker.beginOperation(DiskOperation.FILTER, relativePath, filename);
+                        final boolean matches;
+                        try {
+                            matches = matcher.test(path, pathAttributes);
+                        } finally {
+                            performanceTracker.completeOperation(operationKey);
+                        }
+
+                        if (matches) {
+                            final File file = path.toFile();
+                            results.add(new FileInfo.Builder()
+                                .directory(false)
+                                .filename(file.getName())
+                                .fullPathFileName(file.getAbsolutePath())
+                                .lastModifiedTime(pathAttributes.lastModifiedTime().toMillis())
+                                .size(pathAttributes.size())
+                                .build());
+                        }
+                    }
+                } catch (final DirectoryIteratorException e) {
+                    getLogger().error("Error during visiting directory {}: {}", directory, e.getMessage(), e);
+                    complete = false;
+                } catch (final AccessDeniedException e) {
+                    getLogger().debug("The following file is not readable: {}", directory);
+                    complete = false;
+                } catch (final IOException e) {
+                    getLogger().error("Error during visiting file {}: {}", directory, e.getMessage(), e);
+                    terminated.set(true);
+                    complete = false;
+                }
+
+                // Only directories that were listed completely can be skipped during the next listing
+                if (complete) {
+                    updatedIndex.putEntry(directory, new DirectoryListingIndex.DirectoryEntry(lastModified, indexedTimestamp, fileCount, latestFileTimestamp, subdirectories));
+                }
+            }
+
+            ForkJoinTask.invokeAll(subdirectoryTasks);
+        }
+
+        private boolean isUnchanged(final DirectoryListingIndex.DirectoryEntry previousEntry, final long lastModified) {
+            if (previousEntry == null || minTimestamp == null) {
+                return false;
+            }
+
+            // Last modification times may have a granularity as coarse as one second, so the directory may have changed after it was
+            // indexed without its last modification time changing, unless the index was created at least a second later.
+            return previousEntry.getLastModified() == lastModified
+                && previousEntry.getIndexedTimestamp() - lastModified > 1000L
+                && previousEntry.getLatestFileTimestamp() < minTimestamp;
+        }
+
+        private void addSubdirectoryTask(final Path subdirectory, final BasicFileAttributes attributes, final int depth, final List<Object> ancestorKeys,
+                                         final List<ForkJoinTask<?>> subdirectoryTasks) {
+            if (ancestorKeys.contains(getDirectoryKey(subdirectory, attributes))) {
+                getLogger().warn("Will not list directory {} because it is a symbolic link to one of its parent directories", subdirectory);
+                return;
+            }
+
+            subdirectoryTasks.add(ForkJoinTask.adapt(() -> listDirectory(subdirectory, attributes, depth + 1, ancestorKeys)));
+        }
+
+        private Object getDirectoryKey(final Path directory, final BasicFileAttributes attributes) {
+            final Object fileKey = attributes.fileKey();
+            if (fileKey != null) {
+                return fileKey;
+            }
+
+            try {
+                return directory.toRealPath();
+            } catch (final IOException e) {
+                return directory.toAbsolutePath().normalize();
+            }
+        }
+    }
+
     @Override
     protected String getListingContainerName(final ProcessContext context) {
         return String.format("%s Directory [%s]", context.getProperty(DIRECTORY_LOCATION).getValue(), getPath(context));
@@ -762,6 +1072,10 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             return new TimingInfo(directory, filename, this, logger, maxDiskOperationMillis);
         }
 
+        @Override
+        public void addTimingInfo(final Collection<TimingInfo> timingInfo) {
+        }
+
         @Override
         public OperationStatistics getOperationStatistics(final DiskOperation operation) {
             return OperationStatistics.EMPTY;
@@ -874,6 +1188,15 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             return timingInfo;
         }
 
+        @Override
+        public synchronized void addTimingInfo(final Collection<TimingInfo> timingInfo) {
+            for (final TimingInfo info : timingInfo) {
+                final String directory = info.getDirectory();
+                final String canonicalDirectory = directoryCanonicalization.computeIfAbsent(directory, key -> directory);
+                directoryToTimingInfo.put(new Tuple<>(canonicalDirectory, info.getFilename()), info);
+            }
+        }
+
         @Override
         public void setActiveOperation(final TimedOperationKey activeOperation) {
             this.activeOperation = activeOperation;
@@ -1014,6 +1337,143 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         }
     }
 
+    /**
+     * A PerformanceTracker for a listing that is performed by multiple threads. Each thread collects the timing information for the files that it lists
+     * without synchronizing with the other threads, and the timing information is added to the underlying tracker when the listing is complete. The
+     * active operation and directory are tracked by the underlying tracker so that they can be monitored while the listing is performed. If performance
+     * is not tracked, timing information is not collected and operations are passed directly to the underlying tracker.
+     */
+    private static final class ParallelListingPerformanceTracker implements PerformanceTracker {
+        private final PerformanceTracker tracker;
+        private final boolean trackPerformance;
+        private final ComponentLog logger;
+        private final long maxDiskOperationMillis;
+        private final Queue<Map<Tuple<String, String>, TimingInfo>> threadTimingInfo = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Map<Tuple<String, String>, TimingInfo>> timingInfo;
+
+        public ParallelListingPerformanceTracker(final PerformanceTracker tracker, final boolean trackPerformance, final ComponentLog logger, final long maxDiskOperationMillis) {
+            this.tracker = tracker;
+            this.trackPerformance = trackPerformance;
+            this.logger = logger;
+            this.maxDiskOperationMillis = maxDiskOperationMillis;
+            this.timingInfo = ThreadLocal.withInitial(() -> {
+                final Map<Tuple<String, String>, TimingInfo> map = new HashMap<>();
+                threadTimingInfo.add(map);
+                return map;
+            });
+        }
+
+        /**
+         * Adds the timing information collected by all threads to the underlying tracker. Must be called only after all threads have finished listing.
+         */
+        public void complete() {
+            Map<Tuple<String, String>, TimingInfo> map;
+            while ((map = threadTimingInfo.poll()) != null) {
+                tracker.addTimingInfo(map.values());
+            }
+        }
+
+        @Override
+        public TimedOperationKey beginOperation(final DiskOperation operation, final String directory, final String filename) {
+            if (!trackPerformance) {
+                return tracker.beginOperation(operation, directory, filename);
+            }
+
+            return new TimedOperationKey(operation, directory, filename, System.currentTimeMillis());
+        }
+
+        @Override
+        public void completeOperation(final TimedOperationKey operationKey) {
+            if (!trackPerformance) {
+                tracker.completeOperation(operationKey);
+                return;
+            }
+
+            final TimingInfo timingInfo = getTimingInfo(operationKey.getDirectory(), operationKey.getFilename());
+            timingInfo.accept(operationKey.getOperation(), System.currentTimeMillis() - operationKey.getStartTime());
+        }
+
+        @Override
+        public void acceptOperation(final DiskOperation operation, final String directory, final String filename, final long millis) {
+            if (!trackPerformance) {
+                tracker.acceptOperation(operation, directory, filename, millis);
+                return;
+            }
+
+            getTimingInfo(directory, filename).accept(operation, millis);
+        }
+
+        @Override
+        public TimingInfo getTimingInfo(final String directory, final String filename) {
+            if (!trackPerformance) {
+                return tracker.getTimingInfo(directory, filename);
+            }
+
+            final Tuple<String, String> key = new Tuple<>(directory, filename);
+            return timingInfo.get().computeIfAbsent(key, k -> new TimingInfo(directory, filename, tracker, logger, maxDiskOperationMillis));
+        }
+
+        @Override
+        public void addTimingInfo(final Collection<TimingInfo> timingInfo) {
+            tracker.addTimingInfo(timingInfo);
+        }
+
+        @Override
+        public OperationStatistics getOperationStatistics(final DiskOperation operation) {
+            return tracker.getOperationStatistics(operation);
+        }
+
+        @Override
+        public void setActiveOperation(final TimedOperationKey operationKey) {
+            tracker.setActiveOperation(operationKey);
+        }
+
+        @Override
+        public void completeActiveOperation() {
+            tracker.completeActiveOperation();
+        }
+
+        @Override
+        public TimedOperationKey getActiveOperation() {
+            return tracker.getActiveOperation();
+        }
+
+        @Override
+        public void purgeTimingInfo(final long cutoff) {
+            tracker.purgeTimingInfo(cutoff);
+        }
+
+        @Override
+        public long getEarliestTimestamp() {
+            return tracker.getEarliestTimestamp();
+        }
+
+        @Override
+        public void setActiveDirectory(final String directory) {
+            tracker.setActiveDirectory(directory);
+        }
+
+        @Override
+        public void completeActiveDirectory() {
+            tracker.completeActiveDirectory();
+        }
+
+        @Override
+        public String getActiveDirectory() {
+            return tracker.getActiveDirectory();
+        }
+
+        @Override
+        public long getActiveDirectoryStartTime() {
+            return tracker.getActiveDirectoryStartTime();
+        }
+
+        @Override
+        public int getTrackedFileCount() {
+            return tracker.getTrackedFileCount();
+        }
+    }
+
     /**
      * Provides a mechanism for timing how long a particular operation takes to complete, logging if it takes longer than the configured threshold.
      */
@@ -1121,6 +1581,8 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
 
         TimingInfo getTimingInfo(String directory, String filename);
 
+        void addTimingInfo(Collection<TimingInfo> timingInfo);
+
         OperationStatistics getOperationStatistics(DiskOperation operation);
 
         void setActiveOperation(TimedOperationKey operationKey);
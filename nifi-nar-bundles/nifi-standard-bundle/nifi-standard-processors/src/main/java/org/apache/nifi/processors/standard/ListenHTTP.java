@@ -258,6 +258,28 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
             .defaultValue("200")
             .build();
 
+    public static final PropertyDescriptor NON_BLOCKING_READS = new PropertyDescriptor.Builder()
+            .name("non-blocking-reads")
+            .displayName("Non-Blocking Reads")
+            .description("Read request bodies using asynchronous Servlet reads, releasing server threads while waiting for data from clients. "
+                    + "Request bodies are written to FlowFile content as data arrives and the response is returned after the session is committed. "
+                    + "Applies to requests that are not multipart, FlowFile packaged, or gzip compressed, when neither a Record Reader nor "
+                    + "Max Data to Receive per Second is configured. Other requests are read using blocking reads.")
+            .required(true)
+            .allowableValues("true", "false")
+            .defaultValue("false")
+            .build();
+
+    public static final PropertyDescriptor RETRY_AFTER = new PropertyDescriptor.Builder()
+            .name("retry-after")
+            .displayName("Retry After")
+            .description("The duration returned in the Retry-After header of HTTP 503 Service Unavailable responses, "
+                    + "which are sent when the outgoing connection is full and back pressure is applied.")
+            .required(true)
+            .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+            .defaultValue("1 sec")
+            .build();
+
     public static final PropertyDescriptor RECORD_READER = new PropertyDescriptor.Builder()
             .name("record-reader")
             .displayName("Record Reader")
@@ -291,6 +313,8 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
             MULTIPART_REQUEST_MAX_SIZE,
             MULTIPART_READ_BUFFER_SIZE,
             MAX_THREAD_POOL_SIZE,
+            NON_BLOCKING_READS,
+            RETRY_AFTER,
             RECORD_READER,
             RECORD_WRITER
     ));
@@ -313,6 +337,8 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
     public static final String CONTEXT_ATTRIBUTE_MULTIPART_REQUEST_MAX_SIZE = "multipartRequestMaxSize";
     public static final String CONTEXT_ATTRIBUTE_MULTIPART_READ_BUFFER_SIZE = "multipartReadBufferSize";
     public static final String CONTEXT_ATTRIBUTE_PORT = "port";
+    public static final String CONTEXT_ATTRIBUTE_NON_BLOCKING_READS = "nonBlockingReads";
+    public static final String CONTEXT_ATTRIBUTE_RETRY_AFTER = "retryAfter";
 
     private volatile Server server = null;
     private final ConcurrentMap<String, FlowFileEntryTimeWrapper> flowFileMap = new ConcurrentHashMap<>();
@@ -400,6 +426,8 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
         long requestMaxSize = context.getProperty(MULTIPART_REQUEST_MAX_SIZE).asDataSize(DataUnit.B).longValue();
         int readBufferSize = context.getProperty(MULTIPART_READ_BUFFER_SIZE).asDataSize(DataUnit.B).intValue();
         int maxThreadPoolSize = context.getProperty(MAX_THREAD_POOL_SIZE).asInteger();
+        final boolean nonBlockingReads = context.getProperty(NON_BLOCKING_READS).asBoolean();
+        final long retryAfterSeconds = context.getProperty(RETRY_AFTER).asTimePeriod(TimeUnit.SECONDS);
         throttlerRef.set(streamThrottler);
 
         final PropertyValue clientAuthenticationProperty = context.getProperty(CLIENT_AUTHENTICATION);
@@ -466,6 +494,8 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
         contextHandler.setAttribute(CONTEXT_ATTRIBUTE_MULTIPART_REQUEST_MAX_SIZE, requestMaxSize);
         contextHandler.setAttribute(CONTEXT_ATTRIBUTE_MULTIPART_READ_BUFFER_SIZE, readBufferSize);
         contextHandler.setAttribute(CONTEXT_ATTRIBUTE_PORT, port);
+        contextHandler.setAttribute(CONTEXT_ATTRIBUTE_NON_BLOCKING_READS, nonBlockingReads);
+        contextHandler.setAttribute(CONTEXT_ATTRIBUTE_RETRY_AFTER, retryAfterSeconds);
 
         if (context.getProperty(HEADERS_AS_ATTRIBUTES_REGEX).isSet()) {
             contextHandler.setAttribute(CONTEXT_ATTRIBUTE_HEADER_PATTERN, Pattern.compile(context.getProperty(HEADERS_AS_ATTRIBUTES_REGEX).getValue()));
@@ -45,6 +45,7 @@ import org.apache.nifi.processor.ProcessorInitializationContext;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processor.util.listen.ListenerProperties;
 import org.apache.nifi.security.util.ClientAuth;
 import org.apache.nifi.ssl.RestrictedSSLContextService;
 import org.apache.nifi.ssl.SSLContextService;
@@ -195,6 +196,10 @@ public class ListenSyslog extends AbstractSyslogProcessor {
             .defaultValue(Boolean.FALSE.toString())
             .dependsOn(PROTOCOL, TCP_VALUE)
             .build();
+    public static final PropertyDescriptor RECEIVE_BATCH_SIZE = new PropertyDescriptor.Builder()
+            .fromPropertyDescriptor(ListenerProperties.RECEIVE_BATCH_SIZE)
+            .dependsOn(PROTOCOL, TCP_VALUE)
+            .build();
 
     public static final Relationship REL_SUCCESS = new Relationship.Builder()
         .name("success")
@@ -232,6 +237,7 @@ public class ListenSyslog extends AbstractSyslogProcessor {
         descriptors.add(MAX_CONNECTIONS);
         descriptors.add(MAX_BATCH_SIZE);
         descriptors.add(MESSAGE_DELIMITER);
+        descriptors.add(RECEIVE_BATCH_SIZE);
         descriptors.add(PARSE_MESSAGES);
         descriptors.add(CHARSET);
         this.descriptors = Collections.unmodifiableList(descriptors);
@@ -268,6 +274,11 @@ public class ListenSyslog extends AbstractSyslogProcessor {
             results.add(new ValidationResult.Builder().subject("Parse Messages").input("true").valid(false)
                 .explanation("Cannot set Parse Messages to 'true' if Batch Size is greater than 1").build());
         }
+        final boolean tcpProtocol = TCP_VALUE.getValue().equals(validationContext.getProperty(PROTOCOL).getValue());
+        if (tcpProtocol && validationContext.getProperty(RECEIVE_BATCH_SIZE).asDataSize(DataUnit.B) > 0 && validationContext.getProperty(PARSE_MESSAGES).asBoolean()) {
+            results.add(new ValidationResult.Builder().subject("Parse Messages").input("true").valid(false)
+                .explanation("Cannot set Parse Messages to 'true' if Receive Batch Size is greater than 0 B").build());
+        }
 
         return results;
     }
@@ -288,8 +299,9 @@ public class ListenSyslog extends AbstractSyslogProcessor {
         syslogEvents = new LinkedBlockingQueue<>(maxMessageQueueSize);
 
         final InetAddress address = getListenAddress(networkInterfaceName);
+        final int receiveBatchSize = TransportProtocol.TCP == transportProtocol ? context.getProperty(RECEIVE_BATCH_SIZE).asDataSize(DataUnit.B).intValue() : 0;
         final ByteArrayMessageNettyEventServerFactory factory = new ByteArrayMessageNettyEventServerFactory(getLogger(),
-                address, port, transportProtocol, messageDemarcatorBytes, receiveBufferSize, syslogEvents, FilteringStrategy.EMPTY);
+                address, port, transportProtocol, messageDemarcatorBytes, receiveBufferSize, syslogEvents, FilteringStrategy.EMPTY, receiveBatchSize);
         factory.setShutdownQuietPeriod(ShutdownQuietPeriod.QUICK.getDuration());
         factory.setThreadNamePrefix(String.format("%s[%s]", ListenSyslog.class.getSimpleName(), getIdentifier()));
         final int maxConnections = context.getProperty(MAX_CONNECTIONS).asLong().intValue();
@@ -35,6 +35,7 @@ import org.apache.nifi.event.transport.configuration.BufferAllocator;
 import org.apache.nifi.event.transport.configuration.TransportProtocol;
 import org.apache.nifi.event.transport.message.ByteArrayMessage;
 import org.apache.nifi.event.transport.netty.ByteArrayMessageNettyEventServerFactory;
+import org.apache.nifi.event.transport.netty.FilteringStrategy;
 import org.apache.nifi.event.transport.netty.NettyEventServerFactory;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.processor.AbstractProcessor;
@@ -174,6 +175,7 @@ public class ListenTCP extends AbstractProcessor {
         descriptors.add(ListenerProperties.WORKER_THREADS);
         descriptors.add(ListenerProperties.MAX_BATCH_SIZE);
         descriptors.add(ListenerProperties.MESSAGE_DELIMITER);
+        descriptors.add(ListenerProperties.RECEIVE_BATCH_SIZE);
         descriptors.add(IDLE_CONNECTION_TIMEOUT);
         // Deprecated
         descriptors.add(MAX_RECV_THREAD_POOL_SIZE);
@@ -202,7 +204,9 @@ public class ListenTCP extends AbstractProcessor {
         errorEvents = new LinkedBlockingQueue<>();
         final String msgDemarcator = getMessageDemarcator(context);
         messageDemarcatorBytes = msgDemarcator.getBytes(charset);
-        final NettyEventServerFactory eventFactory = new ByteArrayMessageNettyEventServerFactory(getLogger(), address, port, TransportProtocol.TCP, messageDemarcatorBytes, bufferSize, events);
+        final int receiveBatchSize = context.getProperty(ListenerProperties.RECEIVE_BATCH_SIZE).asDataSize(DataUnit.B).intValue();
+        final NettyEventServerFactory eventFactory = new ByteArrayMessageNettyEventServerFactory(getLogger(), address, port, TransportProtocol.TCP,
+                messageDemarcatorBytes, bufferSize, events, FilteringStrategy.DISABLED, receiveBatchSize);
 
         final SSLContextService sslContextService = context.getProperty(SSL_CONTEXT_SERVICE).asControllerService(SSLContextService.class);
         if (sslContextService != null) {
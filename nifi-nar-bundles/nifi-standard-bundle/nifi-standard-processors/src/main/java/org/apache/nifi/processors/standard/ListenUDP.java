@@ -33,6 +33,7 @@ import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processor.util.listen.AbstractListenEventBatchingProcessor;
+import org.apache.nifi.processor.util.listen.ListenerProperties;
 import org.apache.nifi.processor.util.listen.dispatcher.ByteBufferPool;
 import org.apache.nifi.processor.util.listen.dispatcher.ByteBufferSource;
 import org.apache.nifi.processor.util.listen.dispatcher.ChannelDispatcher;
@@ -89,7 +90,8 @@ public class ListenUDP extends AbstractListenEventBatchingProcessor<StandardEven
     protected List<PropertyDescriptor> getAdditionalProperties() {
         return Arrays.asList(
                 SENDING_HOST,
-                SENDING_HOST_PORT
+                SENDING_HOST_PORT,
+                ListenerProperties.RECEIVE_SOCKETS
         );
     }
 
@@ -125,9 +127,10 @@ public class ListenUDP extends AbstractListenEventBatchingProcessor<StandardEven
         final String sendingHost = context.getProperty(SENDING_HOST).evaluateAttributeExpressions().getValue();
         final Integer sendingHostPort = context.getProperty(SENDING_HOST_PORT).evaluateAttributeExpressions().asInteger();
         final Integer bufferSize = context.getProperty(RECV_BUFFER_SIZE).asDataSize(DataUnit.B).intValue();
-        final ByteBufferSource byteBufferSource = new ByteBufferPool(context.getMaxConcurrentTasks(), bufferSize);
+        final int receiveSockets = context.getProperty(ListenerProperties.RECEIVE_SOCKETS).asInteger();
+        final ByteBufferSource byteBufferSource = new ByteBufferPool(Math.max(context.getMaxConcurrentTasks(), receiveSockets), bufferSize);
         final EventFactory<StandardEvent> eventFactory = new StandardEventFactory();
-        return new DatagramChannelDispatcher<>(eventFactory, byteBufferSource, events, getLogger(), sendingHost, sendingHostPort);
+        return new DatagramChannelDispatcher<>(eventFactory, byteBufferSource, events, getLogger(), sendingHost, sendingHostPort, receiveSockets);
     }
 
     @Override
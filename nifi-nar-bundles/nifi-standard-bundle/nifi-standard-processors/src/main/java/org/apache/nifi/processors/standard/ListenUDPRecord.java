@@ -39,6 +39,7 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processor.util.listen.AbstractListenEventProcessor;
+import org.apache.nifi.processor.util.listen.ListenerProperties;
 import org.apache.nifi.processor.util.listen.dispatcher.ByteBufferPool;
 import org.apache.nifi.processor.util.listen.dispatcher.ByteBufferSource;
 import org.apache.nifi.processor.util.listen.dispatcher.ChannelDispatcher;
@@ -162,7 +163,8 @@ public class ListenUDPRecord extends AbstractListenEventProcessor<StandardEvent>
                 RECORD_READER,
                 RECORD_WRITER,
                 SENDING_HOST,
-                SENDING_HOST_PORT
+                SENDING_HOST_PORT,
+                ListenerProperties.RECEIVE_SOCKETS
         );
     }
 
@@ -215,9 +217,10 @@ public class ListenUDPRecord extends AbstractListenEventProcessor<StandardEvent>
         final String sendingHost = context.getProperty(SENDING_HOST).evaluateAttributeExpressions().getValue();
         final Integer sendingHostPort = context.getProperty(SENDING_HOST_PORT).evaluateAttributeExpressions().asInteger();
         final Integer bufferSize = context.getProperty(RECV_BUFFER_SIZE).asDataSize(DataUnit.B).intValue();
-        final ByteBufferSource byteBufferSource = new ByteBufferPool(context.getMaxConcurrentTasks(), bufferSize);
+        final int receiveSockets = context.getProperty(ListenerProperties.RECEIVE_SOCKETS).asInteger();
+        final ByteBufferSource byteBufferSource = new ByteBufferPool(Math.max(context.getMaxConcurrentTasks(), receiveSockets), bufferSize);
         final EventFactory<StandardEvent> eventFactory = new StandardEventFactory();
-        return new DatagramChannelDispatcher<>(eventFactory, byteBufferSource, events, getLogger(), sendingHost, sendingHostPort);
+        return new DatagramChannelDispatcher<>(eventFactory, byteBufferSource, events, getLogger(), sendingHost, sendingHostPort, receiveSockets);
     }
 
     @Override
@@ -68,6 +68,7 @@ import org.apache.nifi.processors.standard.merge.AttributeStrategy;
 import org.apache.nifi.processors.standard.merge.AttributeStrategyUtil;
 import org.apache.nifi.stream.io.NonCloseableOutputStream;
 import org.apache.nifi.stream.io.StreamUtils;
+import org.apache.nifi.util.FlowFileIndexedPackagerV3;
 import org.apache.nifi.util.FlowFilePackager;
 import org.apache.nifi.util.FlowFilePackagerV1;
 import org.apache.nifi.util.FlowFilePackagerV2;
@@ -128,6 +129,9 @@ import java.util.zip.ZipOutputStream;
         + "This attribute must be present on all FlowFiles with the same value for the fragment.identifier attribute. All FlowFiles in the same "
         + "bundle must have the same value for this attribute. The value of this attribute will be used for the filename of the completed merged "
         + "FlowFile."),
+    @ReadsAttribute(attribute = "original.fragment.*", description = "Applicable only if the <Merge Strategy> property is set to Defragment. "
+        + "Fragment attributes that the FlowFiles had before they were split again, such as original.fragment.identifier. When present, they "
+        + "replace the fragment attributes of the merged FlowFile."),
     @ReadsAttribute(attribute = "tar.permissions", description = "Applicable only if the <Merge Format> property is set to TAR. The value of this "
         + "attribute must be 3 characters; each character must be in the range 0 to 7 (inclusive) and indicates the file permissions that should "
         + "be used for the FlowFile's TAR entry. If this attribute is missing or has an invalid value, the default value of 644 will be used") })
@@ -241,6 +245,7 @@ public class MergeContent extends BinFiles {
     public static final String MERGE_FORMAT_TAR_VALUE = "TAR";
     public static final String MERGE_FORMAT_ZIP_VALUE = "ZIP";
     public static final String MERGE_FORMAT_FLOWFILE_STREAM_V3_VALUE = "FlowFile Stream, v3";
+    public static final String MERGE_FORMAT_FLOWFILE_STREAM_V3_INDEXED_VALUE = "FlowFile Stream, v3 Indexed";
     public static final String MERGE_FORMAT_FLOWFILE_STREAM_V2_VALUE = "FlowFile Stream, v2";
     public static final String MERGE_FORMAT_FLOWFILE_TAR_V1_VALUE = "FlowFile Tar, v1";
     public static final String MERGE_FORMAT_CONCAT_VALUE = "Binary Concatenation";
@@ -263,6 +268,12 @@ public class MergeContent extends BinFiles {
         MERGE_FORMAT_FLOWFILE_STREAM_V3_VALUE,
         MERGE_FORMAT_FLOWFILE_STREAM_V3_VALUE,
         "A bin of FlowFiles will be combined into a single Version 3 FlowFile Stream");
+    public static final AllowableValue MERGE_FORMAT_FLOWFILE_STREAM_V3_INDEXED = new AllowableValue(
+        MERGE_FORMAT_FLOWFILE_STREAM_V3_INDEXED_VALUE,
+        MERGE_FORMAT_FLOWFILE_STREAM_V3_INDEXED_VALUE,
+        "A bin of FlowFiles will be combined into a single Version 3 Indexed FlowFile Stream, in which the content of the FlowFiles is concatenated "
+            + "and followed by an index of the attributes, offset and length of each FlowFile. The bundle is created without parsing the content "
+            + "of the FlowFiles, and UnpackContent can split it by referencing the existing content rather than copying it.");
     public static final AllowableValue MERGE_FORMAT_FLOWFILE_STREAM_V2 = new AllowableValue(
         MERGE_FORMAT_FLOWFILE_STREAM_V2_VALUE,
         MERGE_FORMAT_FLOWFILE_STREAM_V2_VALUE,
@@ -300,7 +311,8 @@ public class MergeContent extends BinFiles {
         .required(true)
         .name("Merge Format")
         .description("Determines the format that will be used to merge the content.")
-        .allowableValues(MERGE_FORMAT_TAR, MERGE_FORMAT_ZIP, MERGE_FORMAT_FLOWFILE_STREAM_V3, MERGE_FORMAT_FLOWFILE_STREAM_V2, MERGE_FORMAT_FLOWFILE_TAR_V1, MERGE_FORMAT_CONCAT, MERGE_FORMAT_AVRO)
+        .allowableValues(MERGE_FORMAT_TAR, MERGE_FORMAT_ZIP, MERGE_FORMAT_FLOWFILE_STREAM_V3, MERGE_FORMAT_FLOWFILE_STREAM_V3_INDEXED,
+            MERGE_FORMAT_FLOWFILE_STREAM_V2, MERGE_FORMAT_FLOWFILE_TAR_V1, MERGE_FORMAT_CONCAT, MERGE_FORMAT_AVRO)
         .defaultValue(MERGE_FORMAT_CONCAT.getValue())
         .build();
 
@@ -513,6 +525,9 @@ public class MergeContent extends BinFiles {
             case MERGE_FORMAT_FLOWFILE_STREAM_V3_VALUE:
                 merger = new FlowFileStreamMerger(new FlowFilePackagerV3(), StandardFlowFileMediaType.VERSION_3.getMediaType());
                 break;
+            case MERGE_FORMAT_FLOWFILE_STREAM_V3_INDEXED_VALUE:
+                merger = new IndexedFlowFileStreamMerger();
+                break;
             case MERGE_FORMAT_FLOWFILE_STREAM_V2_VALUE:
                 merger = new FlowFileStreamMerger(new FlowFilePackagerV2(), StandardFlowFileMediaType.VERSION_2.getMediaType());
                 break;
@@ -565,6 +580,10 @@ public class MergeContent extends BinFiles {
 
         bundleAttributes.put(REASON_FOR_MERGING, bin.getEvictionReason().name());
 
+        if (MERGE_STRATEGY_DEFRAGMENT.getValue().equals(context.getProperty(MERGE_STRATEGY).getValue())) {
+            FragmentAttributes.restoreOriginalAttributes(bundleAttributes);
+        }
+
         bundle = binSession.putAllAttributes(bundle, bundleAttributes);
 
         final String inputDescription = contents.size() < 10 ? contents.toString() : contents.size() + " FlowFiles";
@@ -946,6 +965,43 @@ public class MergeContent extends BinFiles {
         }
     }
 
+    private class IndexedFlowFileStreamMerger implements MergeBin {
+
+        @Override
+        public FlowFile merge(final Bin bin, final ProcessContext context) {
+            final ProcessSession session = bin.getSession();
+            final List<FlowFile> contents = bin.getContents();
+
+            // The content of each FlowFile is concatenated as-is, so only the index needs to be built here
+            final FlowFileIndexedPackagerV3 packager = new FlowFileIndexedPackagerV3();
+            for (final FlowFile flowFile : contents) {
+                packager.addFlowFile(new HashMap<>(flowFile.getAttributes()), flowFile.getSize());
+            }
+
+            FlowFile bundle = session.create(contents);
+            try {
+                bundle = session.merge(contents, bundle, null, packager.getIndex(), null);
+            } catch (final Exception e) {
+                removeFlowFileFromSession(session, bundle, context);
+                throw new ProcessException("Failed to create FlowFile Stream, v3 Indexed bundle", e);
+            }
+
+            bundle = session.putAttribute(bundle, CoreAttributes.FILENAME.key(), createFilename(contents) + ".pkg");
+            session.getProvenanceReporter().join(contents, bundle);
+            return bundle;
+        }
+
+        @Override
+        public String getMergedContentType() {
+            return StandardFlowFileMediaType.VERSION_3_INDEXED.getMediaType();
+        }
+
+        @Override
+        public List<FlowFile> getUnmergedFlowFiles() {
+            return Collections.emptyList();
+        }
+    }
+
     private class ZipMerge implements MergeBin {
 
         private final int compressionLevel;
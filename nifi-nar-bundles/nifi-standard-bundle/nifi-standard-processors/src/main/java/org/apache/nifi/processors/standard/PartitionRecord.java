@@ -41,7 +41,9 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathResult;
 import org.apache.nifi.record.path.util.RecordPathCache;
+import org.apache.nifi.record.path.util.RecordPathGroup;
 import org.apache.nifi.record.path.validation.RecordPathValidator;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
@@ -224,6 +226,10 @@ public class PartitionRecord extends AbstractProcessor {
             return;
         }
 
+        // Evaluate the RecordPaths as a group so that any prefixes that they have in common are evaluated only once per Record
+        final List<String> propertyNames = new ArrayList<>(recordPaths.keySet());
+        final RecordPathGroup recordPathGroup = new RecordPathGroup(propertyNames.stream().map(recordPaths::get).collect(Collectors.toList()));
+
         final Map<RecordValueMap, RecordSetWriter> writerMap = new HashMap<>();
 
         try (final InputStream in = session.read(flowFile)) {
@@ -237,11 +243,11 @@ public class PartitionRecord extends AbstractProcessor {
                 final Map<String, List<ValueWrapper>> recordMap = new HashMap<>();
 
                 // Evaluate all of the RecordPath's for this Record
-                for (final Map.Entry<String, RecordPath> entry : recordPaths.entrySet()) {
-                    final String propName = entry.getKey();
-                    final RecordPath recordPath = entry.getValue();
+                final List<RecordPathResult> results = recordPathGroup.evaluate(record);
+                for (int i = 0; i < propertyNames.size(); i++) {
+                    final String propName = propertyNames.get(i);
 
-                    final Stream<FieldValue> fieldValueStream = recordPath.evaluate(record).getSelectedFields();
+                    final Stream<FieldValue> fieldValueStream = results.get(i).getSelectedFields();
                     final List<ValueWrapper> fieldValues = fieldValueStream
                         .map(fieldVal -> new ValueWrapper(fieldVal.getValue()))
                         .collect(Collectors.toList());
@@ -345,6 +345,34 @@ public class PutDatabaseRecord extends AbstractProcessor {
             .expressionLanguageSupported(FLOWFILE_ATTRIBUTES)
             .build();
 
+    static final AllowableValue INSERT_STRATEGY_BATCH = new AllowableValue("Batch Statements", "Batch Statements",
+            "Each record is bound to a single-row INSERT statement which is added to a JDBC batch. Some drivers can rewrite such batches into more efficient "
+            + "requests themselves, for example MySQL Connector/J with the 'rewriteBatchedStatements=true' connection URL property.");
+    static final AllowableValue INSERT_STRATEGY_MULTI_ROW = new AllowableValue("Multi-Row Insert", "Multi-Row Insert",
+            "Records are bound to INSERT statements covering many rows at once (such as a multi-row VALUES clause or Oracle INSERT ALL), as generated by the "
+            + "selected Database Type. This reduces the number of statements the database has to parse and execute. Only applies to INSERT statements.");
+
+    static final PropertyDescriptor INSERT_STRATEGY = new Builder()
+            .name("put-db-record-insert-strategy")
+            .displayName("Insert Strategy")
+            .description("Specifies how records are bound to statements when the Statement Type is INSERT. Other statement types always use Batch Statements.")
+            .allowableValues(INSERT_STRATEGY_BATCH, INSERT_STRATEGY_MULTI_ROW)
+            .defaultValue(INSERT_STRATEGY_BATCH.getValue())
+            .required(true)
+            .build();
+
+    static final PropertyDescriptor RECORDS_PER_TRANSACTION = new Builder()
+            .name("put-db-record-records-per-transaction")
+            .displayName("Records Per Transaction")
+            .description("Specifies the number of records after which the database transaction is committed, checked whenever a batch is executed. Zero means "
+                    + "all records of a FlowFile are written in a single transaction. Committing in smaller transactions reduces the load on the database for "
+                    + "large FlowFiles, but records committed before a failure are not rolled back, so this cannot be used together with Rollback On Failure.")
+            .defaultValue("0")
+            .required(true)
+            .addValidator(StandardValidators.NON_NEGATIVE_INTEGER_VALIDATOR)
+            .expressionLanguageSupported(FLOWFILE_ATTRIBUTES)
+            .build();
+
     static final PropertyDescriptor DB_TYPE;
 
     protected static final Map<String, DatabaseAdapter> dbAdapters;
@@ -399,6 +427,8 @@ public class PutDatabaseRecord extends AbstractProcessor {
         pds.add(RollbackOnFailure.ROLLBACK_ON_FAILURE);
         pds.add(TABLE_SCHEMA_CACHE_SIZE);
         pds.add(MAX_BATCH_SIZE);
+        pds.add(INSERT_STRATEGY);
+        pds.add(RECORDS_PER_TRANSACTION);
 
         propDescriptors = Collections.unmodifiableList(pds);
     }
@@ -434,6 +464,26 @@ public class PutDatabaseRecord extends AbstractProcessor {
             );
         }
 
+        if (INSERT_STRATEGY_MULTI_ROW.getValue().equals(validationContext.getProperty(INSERT_STRATEGY).getValue()) && !databaseAdapter.supportsMultiRowInsert()) {
+            validationResults.add(new ValidationResult.Builder()
+                .subject(INSERT_STRATEGY.getDisplayName())
+                .valid(false)
+                .explanation(databaseAdapter.getName() + " does not support " + INSERT_STRATEGY_MULTI_ROW.getDisplayName())
+                .build()
+            );
+        }
+
+        final String recordsPerTransaction = validationContext.getProperty(RECORDS_PER_TRANSACTION).getValue();
+        final boolean rollbackOnFailure = validationContext.getProperty(RollbackOnFailure.ROLLBACK_ON_FAILURE).asBoolean();
+        if (rollbackOnFailure && !"0".equals(recordsPerTransaction)) {
+            validationResults.add(new ValidationResult.Builder()
+                .subject(RECORDS_PER_TRANSACTION.getDisplayName())
+                .valid(false)
+                .explanation(RECORDS_PER_TRANSACTION.getDisplayName() + " cannot be set when " + RollbackOnFailure.ROLLBACK_ON_FAILURE.getDisplayName() + " is true")
+                .build()
+            );
+        }
+
         return validationResults;
     }
 
@@ -603,6 +653,8 @@ public class PutDatabaseRecord extends AbstractProcessor {
         final String tableName = context.getProperty(TABLE_NAME).evaluateAttributeExpressions(flowFile).getValue();
         final String updateKeys = context.getProperty(UPDATE_KEYS).evaluateAttributeExpressions(flowFile).getValue();
         final int maxBatchSize = context.getProperty(MAX_BATCH_SIZE).evaluateAttributeExpressions(flowFile).asInteger();
+        final int recordsPerTransaction = context.getProperty(RECORDS_PER_TRANSACTION).evaluateAttributeExpressions(flowFile).asInteger();
+        final boolean multiRowInsert = INSERT_STRATEGY_MULTI_ROW.getValue().equals(context.getProperty(INSERT_STRATEGY).getValue());
         final int timeoutMillis = context.getProperty(QUERY_TIMEOUT).evaluateAttributeExpressions().asTimePeriod(TimeUnit.MILLISECONDS).intValue();
 
         // Ensure the table name has been set, the generated SQL statements (and TableSchema cache) will need it
@@ -641,8 +693,9 @@ public class PutDatabaseRecord extends AbstractProcessor {
         final Map<String, PreparedSqlAndColumns> preparedSql = new HashMap<>();
         int currentBatchSize = 0;
         int batchIndex = 0;
+        int uncommittedRecords = 0;
         Record outerRecord;
-        PreparedStatement lastPreparedStatement = null;
+        PreparedSqlAndColumns lastPreparedSqlAndColumns = null;
 
         try {
             while ((outerRecord = recordReader.nextRecord()) != null) {
@@ -688,7 +741,12 @@ public class PutDatabaseRecord extends AbstractProcessor {
                             }
                         }
 
-                        preparedSqlAndColumns = new PreparedSqlAndColumns(sqlHolder, preparedStatement);
+                        if (multiRowInsert && INSERT_TYPE.equalsIgnoreCase(statementType)) {
+                            final MultiRowInsert multiRowInserter = new MultiRowInsert(con, fqTableName, sqlHolder.getColumnNames(), maxBatchSize, timeoutMillis);
+                            preparedSqlAndColumns = new PreparedSqlAndColumns(sqlHolder, preparedStatement, multiRowInserter);
+                        } else {
+                            preparedSqlAndColumns = new PreparedSqlAndColumns(sqlHolder, preparedStatement);
+                        }
                         preparedSql.put(statementType, preparedSqlAndColumns);
                     }
 
@@ -696,16 +754,20 @@ public class PutDatabaseRecord extends AbstractProcessor {
                     final List<Integer> fieldIndexes = preparedSqlAndColumns.getSqlAndIncludedColumns().getFieldIndexes();
                     final String sql = preparedSqlAndColumns.getSqlAndIncludedColumns().getSql();
 
-                    if (currentBatchSize > 0 && ps != lastPreparedStatement && lastPreparedStatement != null) {
+                    final MultiRowInsert multiRowInserter = preparedSqlAndColumns.getMultiRowInsert();
+
+                    if (currentBatchSize > 0 && preparedSqlAndColumns != lastPreparedSqlAndColumns && lastPreparedSqlAndColumns != null) {
                         batchIndex++;
                         log.debug("Executing query {} because Statement Type changed between Records for {}; fieldIndexes: {}; batch index: {}; batch size: {}",
                             sql, flowFile, fieldIndexes, batchIndex, currentBatchSize);
-                        lastPreparedStatement.executeBatch();
+                        lastPreparedSqlAndColumns.executeBatch();
 
                         session.adjustCounter("Batches Executed", 1, false);
+                        uncommittedRecords = commitIfNecessary(con, uncommittedRecords + currentBatchSize, recordsPerTransaction);
                         currentBatchSize = 0;
                     }
-                    lastPreparedStatement = ps;
+                    lastPreparedSqlAndColumns = preparedSqlAndColumns;
+                    final BoundValue[] row = multiRowInserter == null ? null : new BoundValue[fieldIndexes.size()];
 
                     final Object[] values = currentRecord.getValues();
                     final List<DataType> dataTypes = currentRecord.getSchema().getDataTypes();
@@ -792,35 +854,54 @@ public class PutDatabaseRecord extends AbstractProcessor {
                             for (int j = 0; j < timesToAddObjects; j++) {
                                 setParameter(ps, i + (fieldIndexes.size() * j) + 1, currentValue, fieldSqlType, sqlType);
                             }
+                        } else if (row != null) {
+                            row[i] = new BoundValue(currentValue, fieldSqlType, sqlType);
                         } else {
                             setParameter(ps, i + 1, currentValue, fieldSqlType, sqlType);
                         }
                     }
 
-                    ps.addBatch();
+                    if (row != null) {
+                        multiRowInserter.addRow(row);
+                    } else {
+                        ps.addBatch();
+                    }
                     session.adjustCounter(statementType + " updates performed", 1, false);
                     if (++currentBatchSize == maxBatchSize) {
                         batchIndex++;
                         log.debug("Executing query {} because batch reached max size for {}; fieldIndexes: {}; batch index: {}; batch size: {}",
                             sql, flowFile, fieldIndexes, batchIndex, currentBatchSize);
                         session.adjustCounter("Batches Executed", 1, false);
-                        ps.executeBatch();
+                        preparedSqlAndColumns.executeBatch();
+                        uncommittedRecords = commitIfNecessary(con, uncommittedRecords + currentBatchSize, recordsPerTransaction);
                         currentBatchSize = 0;
                     }
                 }
             }
 
             if (currentBatchSize > 0) {
-                lastPreparedStatement.executeBatch();
+                lastPreparedSqlAndColumns.executeBatch();
                 session.adjustCounter("Batches Executed", 1, false);
             }
         } finally {
             for (final PreparedSqlAndColumns preparedSqlAndColumns : preparedSql.values()) {
-                preparedSqlAndColumns.getPreparedStatement().close();
+                preparedSqlAndColumns.close();
             }
         }
     }
 
+    /**
+     * Commits the current transaction once the number of records written since the last commit reaches the configured
+     * Records Per Transaction, returning the number of records that remain uncommitted.
+     */
+    private int commitIfNecessary(final Connection connection, final int uncommittedRecords, final int recordsPerTransaction) throws SQLException {
+        if (recordsPerTransaction > 0 && uncommittedRecords >= recordsPerTransaction && !connection.getAutoCommit()) {
+            connection.commit();
+            return 0;
+        }
+        return uncommittedRecords;
+    }
+
     private void setParameter(PreparedStatement ps, int index, Object value, int fieldSqlType, int sqlType) throws IOException {
         if (sqlType == Types.BLOB) {
             // Convert Byte[] or String (anything that has been converted to byte[]) into BLOB
@@ -1056,6 +1137,7 @@ public class PutDatabaseRecord extends AbstractProcessor {
         // iterate over all of the fields in the record, building the SQL statement by adding the column names
         List<String> fieldNames = recordSchema.getFieldNames();
         final List<Integer> includedColumns = new ArrayList<>();
+        final List<String> columnNames = new ArrayList<>();
         if (fieldNames != null) {
             int fieldCount = fieldNames.size();
             AtomicInteger fieldsFound = new AtomicInteger(0);
@@ -1075,13 +1157,14 @@ public class PutDatabaseRecord extends AbstractProcessor {
                         sqlBuilder.append(", ");
                     }
 
+                    final String columnName;
                     if (settings.escapeColumnNames) {
-                        sqlBuilder.append(tableSchema.getQuotedIdentifierString())
-                                .append(desc.getColumnName())
-                                .append(tableSchema.getQuotedIdentifierString());
+                        columnName = tableSchema.getQuotedIdentifierString() + desc.getColumnName() + tableSchema.getQuotedIdentifierString();
                     } else {
-                        sqlBuilder.append(desc.getColumnName());
+                        columnName = desc.getColumnName();
                     }
+                    sqlBuilder.append(columnName);
+                    columnNames.add(columnName);
                     includedColumns.add(i);
                 } else {
                     // User is ignoring unmapped fields, but log at debug level just in case
@@ -1100,7 +1183,7 @@ public class PutDatabaseRecord extends AbstractProcessor {
                         + (settings.translateFieldNames ? "Normalized " : "") + "Columns: " + String.join(",", tableSchema.getColumns().keySet()));
             }
         }
-        return new SqlAndIncludedColumns(sqlBuilder.toString(), includedColumns);
+        return new SqlAndIncludedColumns(sqlBuilder.toString(), includedColumns, columnNames);
     }
 
     SqlAndIncludedColumns generateUpsert(final RecordSchema recordSchema, final String tableName, final String updateKeys,
@@ -1490,6 +1573,7 @@ public class PutDatabaseRecord extends AbstractProcessor {
     static class SqlAndIncludedColumns {
         private final String sql;
         private final List<Integer> fieldIndexes;
+        private final List<String> columnNames;
 
         /**
          * Constructor
@@ -1498,8 +1582,20 @@ public class PutDatabaseRecord extends AbstractProcessor {
          * @param fieldIndexes A List of record indexes. The index of the list is the location of the record field in the SQL prepared statement
          */
         public SqlAndIncludedColumns(final String sql, final List<Integer> fieldIndexes) {
+            this(sql, fieldIndexes, null);
+        }
+
+        /**
+         * Constructor
+         *
+         * @param sql          The prepared SQL statement (including parameters notated by ? )
+         * @param fieldIndexes A List of record indexes. The index of the list is the location of the record field in the SQL prepared statement
+         * @param columnNames  The (possibly quoted) column names in the same order as the field indexes, or null if not applicable to the statement
+         */
+        public SqlAndIncludedColumns(final String sql, final List<Integer> fieldIndexes, final List<String> columnNames) {
             this.sql = sql;
             this.fieldIndexes = fieldIndexes;
+            this.columnNames = columnNames;
         }
 
         public String getSql() {
@@ -1509,15 +1605,25 @@ public class PutDatabaseRecord extends AbstractProcessor {
         public List<Integer> getFieldIndexes() {
             return fieldIndexes;
         }
+
+        public List<String> getColumnNames() {
+            return columnNames;
+        }
     }
 
     static class PreparedSqlAndColumns {
         private final SqlAndIncludedColumns sqlAndIncludedColumns;
         private final PreparedStatement preparedStatement;
+        private final MultiRowInsert multiRowInsert;
 
         public PreparedSqlAndColumns(final SqlAndIncludedColumns sqlAndIncludedColumns, final PreparedStatement preparedStatement) {
+            this(sqlAndIncludedColumns, preparedStatement, null);
+        }
+
+        public PreparedSqlAndColumns(final SqlAndIncludedColumns sqlAndIncludedColumns, final PreparedStatement preparedStatement, final MultiRowInsert multiRowInsert) {
             this.sqlAndIncludedColumns = sqlAndIncludedColumns;
             this.preparedStatement = preparedStatement;
+            this.multiRowInsert = multiRowInsert;
         }
 
         public SqlAndIncludedColumns getSqlAndIncludedColumns() {
@@ -1527,6 +1633,131 @@ public class PutDatabaseRecord extends AbstractProcessor {
         public PreparedStatement getPreparedStatement() {
             return preparedStatement;
         }
+
+        public MultiRowInsert getMultiRowInsert() {
+            return multiRowInsert;
+        }
+
+        public void executeBatch() throws SQLException, IOException {
+            if (multiRowInsert == null) {
+                preparedStatement.executeBatch();
+            } else {
+                multiRowInsert.executeBatch();
+            }
+        }
+
+        public void close() throws SQLException {
+            try {
+                preparedStatement.close();
+            } finally {
+                if (multiRowInsert != null) {
+                    multiRowInsert.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * A value bound to a single column of a buffered row, along with the SQL types needed to set it as a statement parameter
+     */
+    private static class BoundValue {
+        private final Object value;
+        private final int fieldSqlType;
+        private final int sqlType;
+
+        BoundValue(final Object value, final int fieldSqlType, final int sqlType) {
+            this.value = value;
+            this.fieldSqlType = fieldSqlType;
+            this.sqlType = sqlType;
+        }
+    }
+
+    /**
+     * Buffers rows for an INSERT and binds them to statements covering many rows at once, as generated by
+     * {@link DatabaseAdapter#getMultiRowInsertStatement(String, List, int)}. Full statements are added to a JDBC batch,
+     * any remaining rows are written with a statement sized to fit when the batch is executed.
+     */
+    class MultiRowInsert {
+        private final Connection connection;
+        private final String tableName;
+        private final List<String> columnNames;
+        private final int rowsPerStatement;
+        private final int timeoutMillis;
+        private final List<BoundValue[]> pendingRows = new ArrayList<>();
+        private PreparedStatement fullStatement;
+        private int batchedStatements;
+
+        MultiRowInsert(final Connection connection, final String tableName, final List<String> columnNames, final int maxBatchSize, final int timeoutMillis) {
+            this.connection = connection;
+            this.tableName = tableName;
+            this.columnNames = columnNames;
+            this.timeoutMillis = timeoutMillis;
+
+            int rows = Math.min(databaseAdapter.getMaxRowsPerMultiRowInsert(), databaseAdapter.getMaxParametersPerStatement() / columnNames.size());
+            if (maxBatchSize > 0) {
+                rows = Math.min(rows, maxBatchSize);
+            }
+            this.rowsPerStatement = Math.max(1, rows);
+        }
+
+        void addRow(final BoundValue[] row) throws SQLException, IOException {
+            pendingRows.add(row);
+            if (pendingRows.size() == rowsPerStatement) {
+                if (fullStatement == null) {
+                    fullStatement = prepare(rowsPerStatement);
+                }
+                bind(fullStatement);
+                fullStatement.addBatch();
+                batchedStatements++;
+            }
+        }
+
+        void executeBatch() throws SQLException, IOException {
+            if (batchedStatements > 0) {
+                fullStatement.executeBatch();
+                batchedStatements = 0;
+            }
+
+            if (!pendingRows.isEmpty()) {
+                try (final PreparedStatement remainderStatement = prepare(pendingRows.size())) {
+                    bind(remainderStatement);
+                    remainderStatement.executeUpdate();
+                }
+            }
+        }
+
+        void close() throws SQLException {
+            if (fullStatement != null) {
+                fullStatement.close();
+            }
+        }
+
+        private PreparedStatement prepare(final int rowCount) throws SQLException {
+            final String sql = databaseAdapter.getMultiRowInsertStatement(tableName, columnNames, rowCount);
+            final PreparedStatement statement = connection.prepareStatement(sql);
+            try {
+                statement.setQueryTimeout(timeoutMillis); // timeout in seconds
+            } catch (final SQLException se) {
+                // If the driver doesn't support query timeout, then assume it is "infinite". Allow a timeout of zero only
+                if (timeoutMillis > 0) {
+                    statement.close();
+                    throw se;
+                }
+            }
+            return statement;
+        }
+
+        private void bind(final PreparedStatement statement) throws IOException {
+            final int columnCount = columnNames.size();
+            for (int row = 0; row < pendingRows.size(); row++) {
+                final BoundValue[] values = pendingRows.get(row);
+                for (int i = 0; i < columnCount; i++) {
+                    final BoundValue boundValue = values[i];
+                    setParameter(statement, row * columnCount + i + 1, boundValue.value, boundValue.fieldSqlType, boundValue.sqlType);
+                }
+            }
+            pendingRows.clear();
+        }
     }
 
     private static class RecordPathStatementType implements Function<Record, String> {
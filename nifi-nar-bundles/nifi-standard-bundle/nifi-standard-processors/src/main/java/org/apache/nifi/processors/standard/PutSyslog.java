@@ -42,6 +42,7 @@ import org.apache.nifi.components.PropertyValue;
 import org.apache.nifi.components.ValidationContext;
 import org.apache.nifi.components.ValidationResult;
 import org.apache.nifi.event.transport.EventSender;
+import org.apache.nifi.event.transport.LoadBalancingEventSender;
 import org.apache.nifi.event.transport.configuration.TransportProtocol;
 import org.apache.nifi.event.transport.configuration.LineEnding;
 import org.apache.nifi.event.transport.netty.StringNettyEventSenderFactory;
@@ -72,7 +73,9 @@ public class PutSyslog extends AbstractSyslogProcessor {
 
     public static final PropertyDescriptor HOSTNAME = new PropertyDescriptor.Builder()
             .name("Hostname")
-            .description("The IP address or hostname of the Syslog server.")
+            .description("The IP address or hostname of the Syslog server. Multiple comma-separated hostnames distribute sending across servers using "
+                    + "round-robin selection. Servers that fail are skipped for 30 seconds before being attempted again. Messages are sent to "
+                    + "another server only when connecting fails, otherwise they are routed to failure.")
             .addValidator(StandardValidators.NON_EMPTY_VALIDATOR)
             .defaultValue("localhost")
             .required(true)
@@ -91,7 +94,8 @@ public class PutSyslog extends AbstractSyslogProcessor {
             .build();
     public static final PropertyDescriptor BATCH_SIZE = new PropertyDescriptor
             .Builder().name("Batch Size")
-            .description("The number of incoming FlowFiles to process in a single execution of this processor.")
+            .description("The number of incoming FlowFiles to process in a single execution of this processor. Messages for valid FlowFiles "
+                    + "in a batch are written to one connection and flushed together, and are transferred to success or failure together.")
             .required(true)
             .defaultValue("25")
             .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
@@ -246,34 +250,52 @@ public class PutSyslog extends AbstractSyslogProcessor {
         if (flowFiles.isEmpty()) {
             context.yield();
         } else {
+            final List<FlowFile> validFlowFiles = new ArrayList<>(flowFiles.size());
+            final List<String> syslogMessages = new ArrayList<>(flowFiles.size());
             for (final FlowFile flowFile : flowFiles) {
-                final StopWatch timer = new StopWatch(true);
                 final String syslogMessage = getSyslogMessage(context, flowFile);
                 if (isValid(syslogMessage)) {
-                    try {
-                        eventSender.sendEvent(syslogMessage);
-                        timer.stop();
+                    validFlowFiles.add(flowFile);
+                    syslogMessages.add(syslogMessage);
+                } else {
+                    getLogger().debug("Syslog Message Invalid {}", flowFile);
+                    session.transfer(flowFile, REL_INVALID);
+                }
+            }
 
-                        final long duration = timer.getDuration(TimeUnit.MILLISECONDS);
-                        session.getProvenanceReporter().send(flowFile, transitUri, duration, true);
+            if (!syslogMessages.isEmpty()) {
+                final StopWatch timer = new StopWatch(true);
+                try {
+                    eventSender.sendEvents(syslogMessages);
+                    timer.stop();
 
+                    final long duration = timer.getDuration(TimeUnit.MILLISECONDS);
+                    for (final FlowFile flowFile : validFlowFiles) {
+                        session.getProvenanceReporter().send(flowFile, transitUri, duration, true);
                         getLogger().debug("Send Completed {}", flowFile);
-                        session.transfer(flowFile, REL_SUCCESS);
-                    } catch (final Exception e) {
-                        getLogger().error("Send Failed {}", flowFile, e);
-                        session.transfer(flowFile, REL_FAILURE);
                     }
-                } else {
-                    getLogger().debug("Syslog Message Invalid {}", flowFile);
-                    session.transfer(flowFile, REL_INVALID);
+                    session.transfer(validFlowFiles, REL_SUCCESS);
+                } catch (final Exception e) {
+                    getLogger().error("Send Failed {}", validFlowFiles, e);
+                    session.transfer(validFlowFiles, REL_FAILURE);
                 }
             }
         }
     }
 
     protected EventSender<String> getEventSender(final ProcessContext context) {
+        final String hostnames = context.getProperty(HOSTNAME).evaluateAttributeExpressions().getValue();
+        final List<EventSender<String>> eventSenders = new ArrayList<>();
+        for (final String hostname : hostnames.split(",")) {
+            if (!hostname.isBlank()) {
+                eventSenders.add(getEventSender(context, hostname.trim()));
+            }
+        }
+        return eventSenders.size() == 1 ? eventSenders.get(0) : new LoadBalancingEventSender<>(eventSenders);
+    }
+
+    private EventSender<String> getEventSender(final ProcessContext context, final String hostname) {
         final TransportProtocol protocol = TransportProtocol.valueOf(context.getProperty(PROTOCOL).getValue());
-        final String hostname = context.getProperty(HOSTNAME).evaluateAttributeExpressions().getValue();
         final int port = context.getProperty(PORT).evaluateAttributeExpressions().asInteger();
         final Charset charset = Charset.forName(context.getProperty(CHARSET).evaluateAttributeExpressions().getValue());
 
@@ -34,6 +34,7 @@ import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.ProcessSessionFactory;
 import org.apache.nifi.processor.exception.ProcessException;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processor.util.put.AbstractPutEventProcessor;
 import org.apache.nifi.processors.standard.property.TransmissionStrategy;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
@@ -50,6 +51,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -87,6 +89,18 @@ public class PutTCP extends AbstractPutEventProcessor<InputStream> {
             .dependsOn(TRANSMISSION_STRATEGY, TransmissionStrategy.FLOWFILE_ORIENTED.getValue())
             .build();
 
+    static final PropertyDescriptor BATCH_SIZE = new PropertyDescriptor.Builder()
+            .name("Batch Size")
+            .displayName("Batch Size")
+            .description("The maximum number of FlowFiles to send in a single execution of this processor. FlowFiles in a batch are written to one "
+                    + "connection and flushed together, reducing the number of socket writes for small FlowFiles. FlowFiles in a batch are "
+                    + "transferred to success or failure together. When Connection Per FlowFile is enabled, each FlowFile is sent on a separate connection.")
+            .required(true)
+            .defaultValue("1")
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .dependsOn(TRANSMISSION_STRATEGY, TransmissionStrategy.FLOWFILE_ORIENTED.getValue())
+            .build();
+
     static final PropertyDescriptor RECORD_READER = new PropertyDescriptor.Builder()
             .name("Record Reader")
             .displayName("Record Reader")
@@ -111,6 +125,7 @@ public class PutTCP extends AbstractPutEventProcessor<InputStream> {
             TRANSMISSION_STRATEGY,
             DEPENDENT_OUTGOING_MESSAGE_DELIMITER,
             DEPENDENT_CHARSET,
+            BATCH_SIZE,
             RECORD_READER,
             RECORD_WRITER
     ));
@@ -123,12 +138,20 @@ public class PutTCP extends AbstractPutEventProcessor<InputStream> {
     @Override
     public void onTrigger(final ProcessContext context, final ProcessSessionFactory sessionFactory) throws ProcessException {
         final ProcessSession session = sessionFactory.createSession();
+        final TransmissionStrategy transmissionStrategy = TransmissionStrategy.valueOf(context.getProperty(TRANSMISSION_STRATEGY).getValue());
+        if (TransmissionStrategy.FLOWFILE_ORIENTED == transmissionStrategy) {
+            final int batchSize = context.getProperty(BATCH_SIZE).asInteger();
+            if (batchSize > 1) {
+                sendFlowFiles(context, session, batchSize);
+                return;
+            }
+        }
+
         final FlowFile flowFile = session.get();
         if (flowFile == null) {
             return;
         }
 
-        final TransmissionStrategy transmissionStrategy = TransmissionStrategy.valueOf(context.getProperty(TRANSMISSION_STRATEGY).getValue());
         final StopWatch stopWatch = new StopWatch(true);
         try {
             final int recordCount;
@@ -163,17 +186,54 @@ public class PutTCP extends AbstractPutEventProcessor<InputStream> {
     }
 
     private void sendFlowFile(final ProcessContext context, final ProcessSession session, final FlowFile flowFile) {
-        session.read(flowFile, inputStream -> {
-            InputStream inputStreamEvent = inputStream;
+        session.read(flowFile, inputStream -> eventSender.sendEvent(getInputStreamEvent(context, flowFile, inputStream)));
+    }
+
+    private void sendFlowFiles(final ProcessContext context, final ProcessSession session, final int batchSize) {
+        final List<FlowFile> flowFiles = session.get(batchSize);
+        if (flowFiles.isEmpty()) {
+            return;
+        }
+
+        final StopWatch stopWatch = new StopWatch(true);
+        final List<InputStream> inputStreamEvents = new ArrayList<>(flowFiles.size());
+        try {
+            try {
+                for (final FlowFile flowFile : flowFiles) {
+                    inputStreamEvents.add(getInputStreamEvent(context, flowFile, session.read(flowFile)));
+                }
+                eventSender.sendEvents(inputStreamEvents);
+            } finally {
+                for (final InputStream inputStreamEvent : inputStreamEvents) {
+                    inputStreamEvent.close();
+                }
+            }
 
-            final String delimiter = getOutgoingMessageDelimiter(context, flowFile);
-            if (delimiter != null) {
-                final Charset charSet = Charset.forName(context.getProperty(CHARSET).getValue());
-                inputStreamEvent = new DelimitedInputStream(inputStream, delimiter.getBytes(charSet));
+            final long transmissionMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS);
+            for (final FlowFile flowFile : flowFiles) {
+                final FlowFile processedFlowFile = session.putAttribute(flowFile, RECORD_COUNT_TRANSMITTED, Integer.toString(0));
+                session.getProvenanceReporter().send(processedFlowFile, transitUri, transmissionMillis);
+                session.transfer(processedFlowFile, REL_SUCCESS);
+            }
+            session.commitAsync();
+        } catch (final Exception e) {
+            getLogger().error("Send Failed {}", flowFiles, e);
+            for (final FlowFile flowFile : flowFiles) {
+                session.transfer(session.penalize(flowFile), REL_FAILURE);
             }
+            session.commitAsync();
+            context.yield();
+        }
+    }
 
-            eventSender.sendEvent(inputStreamEvent);
-        });
+    private InputStream getInputStreamEvent(final ProcessContext context, final FlowFile flowFile, final InputStream inputStream) {
+        final String delimiter = getOutgoingMessageDelimiter(context, flowFile);
+        if (delimiter == null) {
+            return inputStream;
+        }
+
+        final Charset charSet = Charset.forName(context.getProperty(CHARSET).getValue());
+        return new DelimitedInputStream(inputStream, delimiter.getBytes(charSet));
     }
 
     private int sendRecords(final ProcessContext context, final ProcessSession session, final FlowFile flowFile) {
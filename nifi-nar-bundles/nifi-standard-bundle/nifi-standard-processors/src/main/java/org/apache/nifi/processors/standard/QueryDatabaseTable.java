@@ -112,6 +112,8 @@ public class QueryDatabaseTable extends AbstractQueryDatabaseTable {
         pds.add(MAX_ROWS_PER_FLOW_FILE);
         pds.add(OUTPUT_BATCH_SIZE);
         pds.add(MAX_FRAGMENTS);
+        pds.add(PARTITION_COUNT);
+        pds.add(PARTITION_COLUMN);
         pds.add(NORMALIZE_NAMES_FOR_AVRO);
         pds.add(TRANS_ISOLATION_LEVEL);
         pds.add(USE_AVRO_LOGICAL_TYPES);
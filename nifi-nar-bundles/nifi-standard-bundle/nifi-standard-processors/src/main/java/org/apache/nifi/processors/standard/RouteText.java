@@ -50,18 +50,22 @@ import org.apache.nifi.processor.io.InputStreamCallback;
 import org.apache.nifi.processor.io.OutputStreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.stream.io.util.LineDemarcator;
+import org.apache.nifi.util.search.regex.MultiPatternMatcher;
+import org.apache.nifi.util.search.regex.MultiPatternMatcher.MatchMode;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
@@ -242,17 +246,18 @@ public class RouteText extends AbstractProcessor {
     final static int PATTERNS_CACHE_MAXIMUM_ENTRIES = 1024;
 
     /**
-     * LRU cache for the compiled patterns. The size of the cache is determined by the value of
+     * LRU cache for the compiled patterns, keyed by the regular expressions of all properties, so that every line is evaluated
+     * against all of the patterns in a single pass. The size of the cache is determined by the value of
      * {@link #PATTERNS_CACHE_MAXIMUM_ENTRIES}.
      */
-    final ConcurrentMap<String, Pattern> patternsCache = Caffeine.newBuilder()
+    final ConcurrentMap<List<String>, MultiPatternMatcher> patternsCache = Caffeine.newBuilder()
             .maximumSize(PATTERNS_CACHE_MAXIMUM_ENTRIES)
-            .<String, Pattern>build()
+            .<List<String>, MultiPatternMatcher>build()
             .asMap();
 
-    private Pattern cachedCompiledPattern(final String regex, final boolean ignoreCase) {
-        return patternsCache.computeIfAbsent(regex,
-                r -> ignoreCase ? Pattern.compile(r, Pattern.CASE_INSENSITIVE) : Pattern.compile(r));
+    private MultiPatternMatcher cachedCompiledPatterns(final List<String> regexes, final boolean ignoreCase, final String matchStrategy) {
+        final MatchMode matchMode = matchesRegularExpressionValue.equals(matchStrategy) ? MatchMode.FULL_MATCH : MatchMode.FIND;
+        return patternsCache.computeIfAbsent(regexes, r -> MultiPatternMatcher.compile(r, ignoreCase, matchMode));
     }
 
     @Override
@@ -295,7 +300,7 @@ public class RouteText extends AbstractProcessor {
 
     @Override
     public void onPropertyModified(final PropertyDescriptor descriptor, final String oldValue, final String newValue) {
-        if (descriptor.equals(IGNORE_CASE) && !newValue.equals(oldValue)) {
+        if ((descriptor.equals(IGNORE_CASE) || descriptor.equals(MATCH_STRATEGY)) && !Objects.equals(newValue, oldValue)) {
             patternsCache.clear();
         }
 
@@ -422,20 +427,30 @@ public class RouteText extends AbstractProcessor {
         final boolean usePropValue = matchStrategy.equals(satisfiesExpression);
 
         // Build up a Map of Relationship to object, where the object is the
-        // thing that each line is compared against
+        // thing that each line is compared against. For regular expressions, the object
+        // is the index of the pattern within the MultiPatternMatcher.
         final Map<Relationship, Object> propValueMap;
+        final MultiPatternMatcher multiPatternMatcher;
         final Map<Relationship, PropertyValue> propMap = this.propertyMap;
         if (usePropValue) {
             // If we are using an Expression Language we want a Map where the value is the
             // PropertyValue, so we can just use the 'propMap' - no need to copy it.
             propValueMap = (Map) propMap;
+            multiPatternMatcher = null;
         } else {
             propValueMap = new HashMap<>(propMap.size());
+            final List<String> regexes = new ArrayList<>(propMap.size());
             for (final Map.Entry<Relationship, PropertyValue> entry : propMap.entrySet()) {
                 final String value = entry.getValue().evaluateAttributeExpressions(originalFlowFile).getValue();
 
-                propValueMap.put(entry.getKey(), compileRegex ? cachedCompiledPattern(value, ignoreCase) : value);
+                if (compileRegex) {
+                    propValueMap.put(entry.getKey(), regexes.size());
+                    regexes.add(value);
+                } else {
+                    propValueMap.put(entry.getKey(), value);
+                }
             }
+            multiPatternMatcher = compileRegex ? cachedCompiledPatterns(regexes, ignoreCase, matchStrategy) : null;
         }
 
         final Map<Relationship, Map<Group, FlowFile>> flowFileMap = new HashMap<>();
@@ -478,9 +493,14 @@ public class RouteText extends AbstractProcessor {
                         variables.put("line", line);
                         variables.put("lineNo", String.valueOf(++lineCount));
 
+                        // Evaluate all regular expressions against the line at once
+                        final BitSet matchingPatterns = multiPatternMatcher == null ? null : multiPatternMatcher.match(matchLine);
+
                         int propertiesThatMatchedLine = 0;
                         for (final Map.Entry<Relationship, Object> entry : propValueMap.entrySet()) {
-                            boolean lineMatchesProperty = lineMatches(matchLine, entry.getValue(), matchStrategy, ignoreCase, originalFlowFile, variables);
+                            final boolean lineMatchesProperty = matchingPatterns == null
+                                ? lineMatches(matchLine, entry.getValue(), matchStrategy, ignoreCase, originalFlowFile, variables)
+                                : matchingPatterns.get((Integer) entry.getValue());
                             if (lineMatchesProperty) {
                                 propertiesThatMatchedLine++;
                             }
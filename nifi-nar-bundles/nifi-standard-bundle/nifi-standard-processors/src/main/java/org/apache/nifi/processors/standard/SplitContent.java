@@ -16,7 +16,6 @@
  */
 package org.apache.nifi.processors.standard;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -60,7 +59,7 @@ import org.apache.nifi.processor.ProcessorInitializationContext;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.io.InputStreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
-import org.apache.nifi.util.NaiveSearchRingBuffer;
+import org.apache.nifi.stream.io.util.DelimiterScanner;
 import org.apache.nifi.util.Tuple;
 
 @SideEffectFree
@@ -90,6 +89,8 @@ public class SplitContent extends AbstractProcessor {
     static final AllowableValue TRAILING_POSITION = new AllowableValue("Trailing", "Trailing", "Keep the Byte Sequence at the end of the first split if <Keep Byte Sequence> is true");
     static final AllowableValue LEADING_POSITION = new AllowableValue("Leading", "Leading", "Keep the Byte Sequence at the beginning of the second split if <Keep Byte Sequence> is true");
 
+    static final int SCAN_BUFFER_SIZE = 65536;
+
     public static final PropertyDescriptor FORMAT = new PropertyDescriptor.Builder()
             .name("Byte Sequence Format")
             .description("Specifies how the <Byte Sequence> property should be interpreted")
@@ -215,41 +216,49 @@ public class SplitContent extends AbstractProcessor {
 
         final List<Tuple<Long, Long>> splits = new ArrayList<>();
 
-        final NaiveSearchRingBuffer buffer = new NaiveSearchRingBuffer(byteSequence);
         session.read(flowFile, new InputStreamCallback() {
             @Override
-            public void process(final InputStream rawIn) throws IOException {
-                long bytesRead = 0L;
+            public void process(final InputStream in) throws IOException {
                 long startOffset = 0L;
 
-                try (final InputStream in = new BufferedInputStream(rawIn)) {
-                    while (true) {
-                        final int nextByte = in.read();
-                        if (nextByte == -1) {
-                            return;
+                // scan in bulk; bufferOffset is the position of buffer[0] within the content and any
+                // unmatched tail that may begin a byte sequence spanning two reads is carried over
+                final byte[] buffer = new byte[Math.max(SCAN_BUFFER_SIZE, byteSequence.length * 2)];
+                long bufferOffset = 0L;
+                int bufferLength = 0;
+
+                int len;
+                while ((len = in.read(buffer, bufferLength, buffer.length - bufferLength)) != -1) {
+                    bufferLength += len;
+
+                    int searchIndex = 0;
+                    int matchIndex;
+                    while ((matchIndex = DelimiterScanner.indexOf(buffer, searchIndex, bufferLength, byteSequence)) >= 0) {
+                        searchIndex = matchIndex + byteSequence.length;
+                        final long bytesRead = bufferOffset + searchIndex;
+
+                        long splitLength;
+
+                        if (keepTrailingSequence) {
+                            splitLength = bytesRead - startOffset;
+                        } else {
+                            splitLength = bytesRead - startOffset - byteSequence.length;
                         }
 
-                        bytesRead++;
-                        boolean matched = buffer.addAndCompare((byte) (nextByte & 0xFF));
-                        if (matched) {
-                            long splitLength;
-
-                            if (keepTrailingSequence) {
-                                splitLength = bytesRead - startOffset;
-                            } else {
-                                splitLength = bytesRead - startOffset - byteSequence.length;
-                            }
-
-                            if (keepLeadingSequence && startOffset > 0) {
-                                splitLength += byteSequence.length;
-                            }
-
-                            final long splitStart = (keepLeadingSequence && startOffset > 0) ? startOffset - byteSequence.length : startOffset;
-                            splits.add(new Tuple<>(splitStart, splitLength));
-                            startOffset = bytesRead;
-                            buffer.clear();
+                        if (keepLeadingSequence && startOffset > 0) {
+                            splitLength += byteSequence.length;
                         }
+
+                        final long splitStart = (keepLeadingSequence && startOffset > 0) ? startOffset - byteSequence.length : startOffset;
+                        splits.add(new Tuple<>(splitStart, splitLength));
+                        startOffset = bytesRead;
                     }
+
+                    // retain only the bytes that could still be the beginning of a byte sequence
+                    final int retainFrom = Math.max(searchIndex, bufferLength - byteSequence.length + 1);
+                    bufferLength -= retainFrom;
+                    System.arraycopy(buffer, retainFrom, buffer, 0, bufferLength);
+                    bufferOffset += retainFrom;
                 }
             }
         });
@@ -154,6 +154,8 @@ public class SplitText extends AbstractProcessor {
             .description("If a file cannot be split for some reason, the original file will be routed to this destination and nothing will be routed elsewhere")
             .build();
 
+    private static final int DEMARCATOR_BUFFER_SIZE = 65536;
+
     private static final List<PropertyDescriptor> properties;
     private static final Set<Relationship> relationships;
 
@@ -212,7 +214,7 @@ public class SplitText extends AbstractProcessor {
         processSession.read(sourceFlowFile, new InputStreamCallback() {
             @Override
             public void process(InputStream in) throws IOException {
-                TextLineDemarcator demarcator = new TextLineDemarcator(in);
+                TextLineDemarcator demarcator = new TextLineDemarcator(in, DEMARCATOR_BUFFER_SIZE);
                 SplitInfo splitInfo = null;
                 long startOffset = 0;
 
@@ -53,6 +53,8 @@ import org.apache.nifi.processor.io.InputStreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processors.standard.util.FileInfo;
 import org.apache.nifi.stream.io.StreamUtils;
+import org.apache.nifi.util.FlowFileIndexEntry;
+import org.apache.nifi.util.FlowFileIndexedUnpackagerV3;
 import org.apache.nifi.util.FlowFileUnpackager;
 import org.apache.nifi.util.FlowFileUnpackagerV1;
 import org.apache.nifi.util.FlowFileUnpackagerV2;
@@ -75,19 +77,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
 @SideEffectFree
 @SupportsBatching
 @InputRequirement(Requirement.INPUT_REQUIRED)
-@Tags({"Unpack", "un-merge", "tar", "zip", "archive", "flowfile-stream", "flowfile-stream-v3"})
+@Tags({"Unpack", "un-merge", "tar", "zip", "archive", "flowfile-stream", "flowfile-stream-v3", "flowfile-stream-v3-indexed"})
 @CapabilityDescription("Unpacks the content of FlowFiles that have been packaged with one of several different Packaging Formats, emitting one to many "
         + "FlowFiles for each input FlowFile. Supported formats are TAR, ZIP, and FlowFile Stream packages.")
 @ReadsAttribute(attribute = "mime.type", description = "If the <Packaging Format> property is set to use mime.type attribute, this attribute is used "
         + "to determine the FlowFile's MIME Type. In this case, if the attribute is set to application/tar, the TAR Packaging Format will be used. If "
-        + "the attribute is set to application/zip, the ZIP Packaging Format will be used. If the attribute is set to application/flowfile-v3 or "
-        + "application/flowfile-v2 or application/flowfile-v1, the appropriate FlowFile Packaging Format will be used. If this attribute is missing, "
+        + "the attribute is set to application/zip, the ZIP Packaging Format will be used. If the attribute is set to application/flowfile-v3-indexed, "
+        + "application/flowfile-v3, application/flowfile-v2 or application/flowfile-v1, the appropriate FlowFile Packaging Format will be used. If this attribute is missing, "
         + "the FlowFile will be routed to 'failure'. Otherwise, if the attribute's value is not one of those mentioned above, the FlowFile will be "
         + "routed to 'success' without being unpacked. Use the File Filter property only extract files matching a specific regular expression.")
 @WritesAttributes({
@@ -118,6 +121,7 @@ public class UnpackContent extends AbstractProcessor {
     public static final String TAR_FORMAT_NAME = "tar";
     public static final String ZIP_FORMAT_NAME = "zip";
     public static final String FLOWFILE_STREAM_FORMAT_V3_NAME = "flowfile-stream-v3";
+    public static final String FLOWFILE_STREAM_FORMAT_V3_INDEXED_NAME = "flowfile-stream-v3-indexed";
     public static final String FLOWFILE_STREAM_FORMAT_V2_NAME = "flowfile-stream-v2";
     public static final String FLOWFILE_TAR_FORMAT_NAME = "flowfile-tar-v1";
 
@@ -139,7 +143,7 @@ public class UnpackContent extends AbstractProcessor {
             .required(true)
             .allowableValues(PackageFormat.AUTO_DETECT_FORMAT.toString(), PackageFormat.TAR_FORMAT.toString(),
                     PackageFormat.ZIP_FORMAT.toString(), PackageFormat.FLOWFILE_STREAM_FORMAT_V3.toString(),
-                    PackageFormat.FLOWFILE_STREAM_FORMAT_V2.toString(), PackageFormat.FLOWFILE_TAR_FORMAT.toString())
+                    PackageFormat.FLOWFILE_STREAM_FORMAT_V3_INDEXED.toString(), PackageFormat.FLOWFILE_STREAM_FORMAT_V2.toString(), PackageFormat.FLOWFILE_TAR_FORMAT.toString())
             .defaultValue(PackageFormat.AUTO_DETECT_FORMAT.toString())
             .build();
 
@@ -294,6 +298,10 @@ public class UnpackContent extends AbstractProcessor {
             unpacker = new FlowFileStreamUnpacker(new FlowFileUnpackagerV3());
             addFragmentAttrs = false;
             break;
+        case FLOWFILE_STREAM_FORMAT_V3_INDEXED:
+            unpacker = new IndexedFlowFileStreamUnpacker();
+            addFragmentAttrs = false;
+            break;
         case FLOWFILE_TAR_FORMAT:
             unpacker = new FlowFileStreamUnpacker(new FlowFileUnpackagerV1());
             addFragmentAttrs = false;
@@ -583,6 +591,43 @@ public class UnpackContent extends AbstractProcessor {
         }
     }
 
+    /**
+     * Unpacks FlowFile Stream, v3 Indexed bundles. The index at the end of the bundle locates the content of each
+     * FlowFile, so each unpacked FlowFile references its range of the bundle's content rather than a copy of it.
+     */
+    private static class IndexedFlowFileStreamUnpacker extends Unpacker {
+
+        private final FlowFileIndexedUnpackagerV3 unpackager = new FlowFileIndexedUnpackagerV3();
+
+        @Override
+        public void unpack(final ProcessSession session, final FlowFile source, final List<FlowFile> unpacked) {
+            final long bundleSize = source.getSize();
+            final AtomicLong indexOffset = new AtomicLong();
+            session.read(source, in -> indexOffset.set(unpackager.readIndexOffset(in, bundleSize)));
+
+            final List<FlowFileIndexEntry> entries = new ArrayList<>();
+            session.read(source, in -> entries.addAll(unpackager.readIndex(in, indexOffset.get(), bundleSize)));
+
+            for (final FlowFileIndexEntry entry : entries) {
+                final Map<String, String> attributes = entry.getAttributes();
+
+                // Remove the UUID from the attributes because we don't want to use the same UUID for this FlowFile.
+                attributes.remove(CoreAttributes.UUID.key());
+
+                if (!attributes.containsKey(CoreAttributes.MIME_TYPE.key())) {
+                    attributes.put(CoreAttributes.MIME_TYPE.key(), OCTET_STREAM);
+                }
+
+                FlowFile unpackedFile = session.clone(source, entry.getOffset(), entry.getLength());
+                try {
+                    unpackedFile = session.putAllAttributes(unpackedFile, attributes);
+                } finally {
+                    unpacked.add(unpackedFile);
+                }
+            }
+        }
+    }
+
     private static void mapAttributes(final Map<String, String> attributes, final String oldKey, final String newKey) {
         if (!attributes.containsKey(newKey) && attributes.containsKey(oldKey)) {
             attributes.put(newKey, attributes.get(oldKey));
@@ -624,6 +669,7 @@ public class UnpackContent extends AbstractProcessor {
         X_TAR_FORMAT(TAR_FORMAT_NAME, "application/x-tar"),
         ZIP_FORMAT(ZIP_FORMAT_NAME, "application/zip"),
         FLOWFILE_STREAM_FORMAT_V3(FLOWFILE_STREAM_FORMAT_V3_NAME, StandardFlowFileMediaType.VERSION_3.getMediaType()),
+        FLOWFILE_STREAM_FORMAT_V3_INDEXED(FLOWFILE_STREAM_FORMAT_V3_INDEXED_NAME, StandardFlowFileMediaType.VERSION_3_INDEXED.getMediaType()),
         FLOWFILE_STREAM_FORMAT_V2(FLOWFILE_STREAM_FORMAT_V2_NAME, StandardFlowFileMediaType.VERSION_2.getMediaType()),
         FLOWFILE_TAR_FORMAT(FLOWFILE_TAR_FORMAT_NAME, StandardFlowFileMediaType.VERSION_1.getMediaType());
 
@@ -658,6 +704,8 @@ public class UnpackContent extends AbstractProcessor {
                 return ZIP_FORMAT;
             case FLOWFILE_STREAM_FORMAT_V3_NAME:
                 return FLOWFILE_STREAM_FORMAT_V3;
+            case FLOWFILE_STREAM_FORMAT_V3_INDEXED_NAME:
+                return FLOWFILE_STREAM_FORMAT_V3_INDEXED;
             case FLOWFILE_STREAM_FORMAT_V2_NAME:
                 return FLOWFILE_STREAM_FORMAT_V2;
             case FLOWFILE_TAR_FORMAT_NAME:
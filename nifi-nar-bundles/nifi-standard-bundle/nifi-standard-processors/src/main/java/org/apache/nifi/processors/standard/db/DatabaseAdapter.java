@@ -120,6 +120,56 @@ public interface DatabaseAdapter {
         throw new UnsupportedOperationException("UPSERT is not supported for " + getName());
     }
 
+    /**
+     * Tells whether this adapter supports inserting multiple rows with a single INSERT statement, which most databases execute
+     * considerably faster than a batch of single-row statements.
+     *
+     * @return true if multi-row INSERT is supported, false otherwise
+     */
+    default boolean supportsMultiRowInsert() {
+        return false;
+    }
+
+    /**
+     * Returns the maximum number of rows that may be inserted by a single multi-row INSERT statement.
+     *
+     * @return the maximum number of rows per statement
+     */
+    default int getMaxRowsPerMultiRowInsert() {
+        return 1000;
+    }
+
+    /**
+     * Returns the maximum number of parameters that a single prepared statement may have, which limits the number of rows
+     * per multi-row INSERT statement for tables with many columns.
+     *
+     * @return the maximum number of parameters per statement
+     */
+    default int getMaxParametersPerStatement() {
+        return Short.MAX_VALUE;
+    }
+
+    /**
+     * Returns an SQL INSERT statement that inserts the given number of rows, each of which has one parameter for each of the given columns.
+     * <br /><br />
+     * The default implementation uses the ANSI multi-row VALUES clause - use together with {@link #supportsMultiRowInsert()}!
+     *
+     * @param table       The name of the table into which to insert the rows.
+     * @param columnNames The name of the columns in the table to add values to.
+     * @param rowCount    The number of rows that the statement inserts.
+     * @return A String containing the parameterized jdbc SQL statement.
+     * The parameters are ordered by row, and within each row in the same order as the provided column list.
+     */
+    default String getMultiRowInsertStatement(String table, List<String> columnNames, int rowCount) {
+        if (!supportsMultiRowInsert()) {
+            throw new UnsupportedOperationException("Multi-row INSERT is not supported for " + getName());
+        }
+
+        final String rowParameters = "(" + String.join(",", Collections.nCopies(columnNames.size(), "?")) + ")";
+        return "INSERT INTO " + table + " (" + String.join(", ", columnNames) + ") VALUES "
+                + String.join(",", Collections.nCopies(rowCount, rowParameters));
+    }
+
     /**
      * <p>Returns a bare identifier string by removing wrapping escape characters
      * from identifier strings such as table and column names.</p>
@@ -84,4 +84,9 @@ public class GenericDatabaseAdapter implements DatabaseAdapter {
         }
         return query.toString();
     }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
 }
@@ -133,4 +133,15 @@ public class MSSQLDatabaseAdapter implements DatabaseAdapter {
                 .append(String.join(", ", columnsAndDatatypes))
                 .toString());
     }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
+    @Override
+    public int getMaxParametersPerStatement() {
+        // SQL Server allows at most 2100 parameters per request
+        return 2099;
+    }
 }
@@ -253,4 +253,13 @@ public class Oracle12DatabaseAdapter implements DatabaseAdapter {
         }
     }
 
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
+    @Override
+    public String getMultiRowInsertStatement(String table, List<String> columnNames, int rowCount) {
+        return OracleDatabaseAdapter.getInsertAllStatement(table, columnNames, rowCount);
+    }
 }
@@ -174,4 +174,24 @@ public class OracleDatabaseAdapter implements DatabaseAdapter {
                 return JDBCType.valueOf(sqlType).getName();
         }
     }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
+    @Override
+    public String getMultiRowInsertStatement(String table, List<String> columnNames, int rowCount) {
+        return getInsertAllStatement(table, columnNames, rowCount);
+    }
+
+    /**
+     * Builds an INSERT ALL statement with one INTO clause per row, as Oracle does not support multiple rows in the VALUES clause.
+     * Shared with {@link Oracle12DatabaseAdapter}.
+     */
+    static String getInsertAllStatement(String table, List<String> columnNames, int rowCount) {
+        final String intoClause = "INTO " + table + " (" + String.join(", ", columnNames) + ") VALUES ("
+                + String.join(",", Collections.nCopies(columnNames.size(), "?")) + ")";
+        return "INSERT ALL " + String.join(" ", Collections.nCopies(rowCount, intoClause)) + " SELECT 1 FROM DUAL";
+    }
 }
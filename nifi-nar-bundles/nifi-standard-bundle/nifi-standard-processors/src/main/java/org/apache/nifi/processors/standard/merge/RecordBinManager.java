@@ -34,24 +34,28 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
 public class RecordBinManager {
 
+    // ConcurrentHashMap does not allow null keys, so this key is used for the group whose identifier is null
+    private static final Object NULL_GROUP = new Object();
+
     private final ProcessContext context;
     private final ProcessSessionFactory sessionFactory;
     private final ComponentLog logger;
     private final int maxBinCount;
 
     private final AtomicLong maxBinAgeNanos = new AtomicLong(Long.MAX_VALUE);
-    private final Map<String, List<RecordBin>> groupBinMap = new HashMap<>(); // guarded by lock
-    private final Lock lock = new ReentrantLock();
+    // Updates to the List of bins for a group are made atomically via compute methods, which lock only the affected part of the map,
+    // so that threads adding to bins of different groups do not contend with one another
+    private final ConcurrentMap<Object, List<RecordBin>> groupBinMap = new ConcurrentHashMap<>();
 
     private final AtomicInteger binCount = new AtomicInteger(0);
 
@@ -68,18 +72,13 @@ public class RecordBinManager {
      * Must be called only when there are no active threads modifying the bins.
      */
     public void purge() {
-        lock.lock();
-        try {
-            for (final List<RecordBin> binList : groupBinMap.values()) {
-                for (final RecordBin bin : binList) {
-                    bin.rollback();
-                }
+        for (final List<RecordBin> binList : groupBinMap.values()) {
+            for (final RecordBin bin : binList) {
+                bin.rollback();
             }
-            groupBinMap.clear();
-            binCount.set(0);
-        } finally {
-            lock.unlock();
         }
+        groupBinMap.clear();
+        binCount.set(0);
     }
 
 
@@ -111,19 +110,13 @@ public class RecordBinManager {
      */
     public void add(final String groupIdentifier, final FlowFile flowFile, final RecordReader reader, final ProcessSession session, final boolean block) throws IOException {
 
-        final List<RecordBin> currentBins;
-        lock.lock();
-        try {
-            // Create a new List<RecordBin> if none exists for this Group ID. We use a CopyOnWriteArrayList here because
-            // we need to traverse the list in a couple of places and just below here, we call bin.offer() (which is very expensive)
-            // while traversing the List, so we don't want to do this within a synchronized block. If we end up seeing poor performance
-            // from this, we could look at instead using a Synchronized List and instead of calling bin.offer() while iterating allow for some
-            // sort of bin.tryLock() and have that lock only if the flowfile should be added. Then if it returns true, we can stop iterating
-            // and perform the expensive part and then ensure that we always unlock
-            currentBins = groupBinMap.computeIfAbsent(groupIdentifier, grpId -> new CopyOnWriteArrayList<>());
-        } finally {
-            lock.unlock();
-        }
+        final Object groupKey = getGroupKey(groupIdentifier);
+
+        // The List<RecordBin> for each Group ID is a CopyOnWriteArrayList because we need to traverse the list in a couple of places
+        // and just below here, we call bin.offer() (which is very expensive) while traversing the List, so we don't want to do this
+        // while holding any lock. If no List exists for this Group ID, we do not create one here; otherwise, an empty List would be
+        // left behind for every group whose first FlowFile immediately completes its bin.
+        final List<RecordBin> currentBins = groupBinMap.getOrDefault(groupKey, Collections.emptyList());
 
         RecordBin acceptedBin = null;
         for (final RecordBin bin : currentBins) {
@@ -139,7 +132,7 @@ public class RecordBinManager {
         // We have to do this outside of our for-loop above in order to avoid a concurrent modification Exception.
         if (acceptedBin != null) {
             if (acceptedBin.isComplete()) {
-                removeBins(groupIdentifier, Collections.singletonList(acceptedBin));
+                removeBins(groupKey, Collections.singletonList(acceptedBin));
             }
 
             return;
@@ -159,19 +152,15 @@ public class RecordBinManager {
         if (!bin.isComplete()) {
             final int updatedBinCount = binCount.incrementAndGet();
 
-            lock.lock();
-            try {
-                // We have already obtained the list of RecordBins from this Map above. However, we released
-                // the lock in order to avoid blocking while writing to a Bin. Because of this, it is possible
-                // that another thread may have already come in and removed this List from the Map, if all
-                // Bins in the List have been completed. As a result, we must now obtain the write lock again
-                // and obtain the List (or a new one), and then update that. This ensures that we never lose
-                // track of a Bin. If we don't lose this, we could completely lose a Bin.
-                final List<RecordBin> bins = groupBinMap.computeIfAbsent(groupIdentifier, grpId -> new CopyOnWriteArrayList<>());
-                bins.add(bin);
-            } finally {
-                lock.unlock();
-            }
+            // We have already obtained the list of RecordBins from this Map above. However, it is possible
+            // that another thread may have already come in and removed this List from the Map, if all
+            // Bins in the List have been completed. As a result, we must now atomically obtain the List
+            // (or a new one), and then update that. This ensures that we never lose track of a Bin.
+            groupBinMap.compute(groupKey, (key, bins) -> {
+                final List<RecordBin> updatedBins = bins == null ? new CopyOnWriteArrayList<>() : bins;
+                updatedBins.add(bin);
+                return updatedBins;
+            });
 
             if (updatedBinCount > maxBinCount) {
                 completeOldestBin();
@@ -208,27 +197,24 @@ public class RecordBinManager {
 
     public void completeOldestBin() throws IOException {
         RecordBin oldestBin = null;
+        Object oldestBinGroup = null;
 
-        lock.lock();
-        try {
-            String oldestBinGroup = null;
-
-            for (final Map.Entry<String, List<RecordBin>> group : groupBinMap.entrySet()) {
-                for (final RecordBin bin : group.getValue()) {
-                    if (oldestBin == null || bin.isOlderThan(oldestBin)) {
-                        oldestBin = bin;
-                        oldestBinGroup = group.getKey();
-                    }
+        for (final Map.Entry<Object, List<RecordBin>> group : groupBinMap.entrySet()) {
+            for (final RecordBin bin : group.getValue()) {
+                if (oldestBin == null || bin.isOlderThan(oldestBin)) {
+                    oldestBin = bin;
+                    oldestBinGroup = group.getKey();
                 }
             }
+        }
 
-            if (oldestBin == null) {
-                return;
-            }
+        if (oldestBin == null) {
+            return;
+        }
 
-            removeBins(oldestBinGroup, Collections.singletonList(oldestBin));
-        } finally {
-            lock.unlock();
+        // If another thread has removed the bin in the meantime, that thread is responsible for completing it
+        if (removeBins(oldestBinGroup, Collections.singletonList(oldestBin)) == 0) {
+            return;
         }
 
         logger.debug("Completing Bin " + oldestBin + " because the maximum number of bins has been exceeded");
@@ -250,28 +236,23 @@ public class RecordBinManager {
     }
 
     private int handleCompletedBins(final Predicate<RecordBin> completionTest, final String completionReason) throws IOException {
-        final Map<String, List<RecordBin>> completedBinMap = new HashMap<>();
-
-        lock.lock();
-        try {
-            for (final Map.Entry<String, List<RecordBin>> entry : groupBinMap.entrySet()) {
-                final String key = entry.getKey();
-                final List<RecordBin> bins = entry.getValue();
-
-                for (final RecordBin bin : bins) {
-                    if (completionTest.test(bin)) {
-                        final List<RecordBin> expiredBinsForKey = completedBinMap.computeIfAbsent(key, ignore -> new ArrayList<>());
-                        expiredBinsForKey.add(bin);
-                    }
+        final Map<Object, List<RecordBin>> completedBinMap = new HashMap<>();
+
+        for (final Map.Entry<Object, List<RecordBin>> entry : groupBinMap.entrySet()) {
+            final Object key = entry.getKey();
+            final List<RecordBin> bins = entry.getValue();
+
+            for (final RecordBin bin : bins) {
+                if (completionTest.test(bin)) {
+                    final List<RecordBin> expiredBinsForKey = completedBinMap.computeIfAbsent(key, ignore -> new ArrayList<>());
+                    expiredBinsForKey.add(bin);
                 }
             }
-        } finally {
-            lock.unlock();
         }
 
         int completed = 0;
-        for (final Map.Entry<String, List<RecordBin>> entry : completedBinMap.entrySet()) {
-            final String key = entry.getKey();
+        for (final Map.Entry<Object, List<RecordBin>> entry : completedBinMap.entrySet()) {
+            final Object key = entry.getKey();
             final List<RecordBin> completeBins = entry.getValue();
 
             for (final RecordBin bin : completeBins) {
@@ -287,25 +268,24 @@ public class RecordBinManager {
     }
 
 
-    private void removeBins(final String key, final List<RecordBin> bins) {
-        lock.lock();
-        try {
-            final List<RecordBin> list = groupBinMap.get(key);
-            if (list != null) {
-                final int initialSize = list.size();
-                list.removeAll(bins);
+    private int removeBins(final Object key, final List<RecordBin> bins) {
+        final AtomicInteger removedCount = new AtomicInteger(0);
+        groupBinMap.computeIfPresent(key, (groupKey, list) -> {
+            final int initialSize = list.size();
+            list.removeAll(bins);
 
-                // Determine how many items were removed from the list and
-                // update our binCount to keep track of this.
-                final int removedCount = initialSize - list.size();
-                binCount.addAndGet(-removedCount);
+            // Determine how many items were removed from the list and
+            // update our binCount to keep track of this.
+            removedCount.set(initialSize - list.size());
+            binCount.addAndGet(-removedCount.get());
 
-                if (list.isEmpty()) {
-                    groupBinMap.remove(key);
-                }
-            }
-        } finally {
-            lock.unlock();
-        }
+            return list.isEmpty() ? null : list;
+        });
+
+        return removedCount.get();
+    }
+
+    private static Object getGroupKey(final String groupIdentifier) {
+        return groupIdentifier == null ? NULL_GROUP : groupIdentifier;
     }
 }
@@ -24,6 +24,7 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.cert.X509Certificate;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,9 +40,11 @@ import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 import javax.servlet.AsyncContext;
 import javax.servlet.MultipartConfigElement;
+import javax.servlet.ReadListener;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -99,6 +102,8 @@ public class ListenHTTPServlet extends HttpServlet {
     public static final String PROTOCOL_VERSION_HEADER = "x-nifi-transfer-protocol-version";
     public static final String PROTOCOL_VERSION = "3";
     protected static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    protected static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final int NON_BLOCKING_READ_BUFFER_SIZE = 65536;
 
     private final AtomicLong filesReceived = new AtomicLong(0L);
     private final AtomicBoolean spaceAvailable = new AtomicBoolean(true);
@@ -116,6 +121,8 @@ public class ListenHTTPServlet extends HttpServlet {
     private long multipartRequestMaxSize;
     private int multipartReadBufferSize;
     private int port;
+    private boolean nonBlockingReads;
+    private long retryAfterSeconds;
     private RecordReaderFactory readerFactory;
     private RecordSetWriterFactory writerFactory;
 
@@ -136,6 +143,8 @@ public class ListenHTTPServlet extends HttpServlet {
         this.multipartRequestMaxSize = (long) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_MULTIPART_REQUEST_MAX_SIZE);
         this.multipartReadBufferSize = (int) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_MULTIPART_READ_BUFFER_SIZE);
         this.port = (int) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_PORT);
+        this.nonBlockingReads = (boolean) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_NON_BLOCKING_READS);
+        this.retryAfterSeconds = (long) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_RETRY_AFTER);
         this.readerFactory = processContext.getProperty(ListenHTTP.RECORD_READER).asControllerService(RecordReaderFactory.class);
         this.writerFactory = processContext.getProperty(ListenHTTP.RECORD_WRITER).asControllerService(RecordSetWriterFactory.class);
     }
@@ -187,6 +196,7 @@ public class ListenHTTPServlet extends HttpServlet {
                     if (logger.isDebugEnabled()) {
                         logger.debug("Received request from " + request.getRemoteHost() + " but no space available; Indicating Service Unavailable");
                     }
+                    response.setHeader(RETRY_AFTER_HEADER, String.valueOf(retryAfterSeconds));
                     response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
                     return;
                 } else {
@@ -237,6 +247,14 @@ public class ListenHTTPServlet extends HttpServlet {
             final boolean createHold = Boolean.parseBoolean(request.getHeader(FLOWFILE_CONFIRMATION_HEADER));
             final String contentType = request.getContentType();
 
+            if (isNonBlockingReadSupported(contentType, contentGzipped)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Received request from " + request.getRemoteHost() + ", createHold=" + createHold + ", content-type=" + contentType + ", non-blocking");
+                }
+                readRequestNonBlocking(request, response, session, foundSubject, foundIssuer, createHold);
+                return;
+            }
+
             final InputStream unthrottled = contentGzipped ? new GZIPInputStream(request.getInputStream()) : request.getInputStream();
 
             final InputStream in = (streamThrottler == null) ? unthrottled : streamThrottler.newThrottledInputStream(unthrottled);
@@ -261,6 +279,34 @@ public class ListenHTTPServlet extends HttpServlet {
         }
     }
 
+    private boolean isNonBlockingReadSupported(final String contentType, final boolean contentGzipped) {
+        return nonBlockingReads
+                && !contentGzipped
+                && streamThrottler == null
+                && !isRecordProcessing()
+                && getFlowFileUnpackager(contentType) == null
+                && !StringUtils.contains(contentType, "multipart/form-data");
+    }
+
+    private void readRequestNonBlocking(final HttpServletRequest request, final HttpServletResponse response, final ProcessSession session,
+                                        final String foundSubject, final String foundIssuer, final boolean createHold) throws IOException {
+        final AsyncContext asyncContext = request.startAsync();
+        // the connection idle timeout applies while waiting for data so the asynchronous operation does not need a timeout
+        asyncContext.setTimeout(0);
+        try {
+            final ServletInputStream in = request.getInputStream();
+            final FlowFile flowFile = session.create();
+            final OutputStream out = session.write(flowFile);
+            in.setReadListener(new RequestReadListener(request, response, session, foundSubject, foundIssuer, createHold, asyncContext, in, flowFile, out));
+        } catch (final Throwable t) {
+            try {
+                handleException(request, response, session, foundSubject, foundIssuer, t);
+            } finally {
+                asyncContext.complete();
+            }
+        }
+    }
+
     private void deleteMultiPartFiles(final HttpServletRequest request) {
         try {
             for (final Part part : request.getParts()) {
@@ -408,6 +454,9 @@ public class ListenHTTPServlet extends HttpServlet {
             response.addHeader(LOCATION_HEADER_NAME, ackUri);
             response.addHeader(LOCATION_URI_INTENT_NAME, LOCATION_URI_INTENT_VALUE);
             response.getOutputStream().write(ackUri.getBytes(StandardCharsets.UTF_8));
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().complete();
+            }
             if (logger.isDebugEnabled()) {
                 logger.debug("Ingested {} from Remote Host: [{}] Port [{}] SubjectDN [{}] IssuerDN [{}]; placed hold on these {} files with ID {}",
                         flowFileSet, request.getRemoteHost(), request.getRemotePort(), foundSubject, foundIssuer, flowFileSet.size(), uuid);
@@ -418,7 +467,7 @@ public class ListenHTTPServlet extends HttpServlet {
 
             session.transfer(flowFileSet, ListenHTTP.RELATIONSHIP_SUCCESS);
 
-            final AsyncContext asyncContext = request.startAsync();
+            final AsyncContext asyncContext = request.isAsyncStarted() ? request.getAsyncContext() : request.startAsync();
             session.commitAsync(() -> {
                         response.setStatus(this.returnCode);
                         asyncContext.complete();
@@ -504,4 +553,82 @@ public class ListenHTTPServlet extends HttpServlet {
     private boolean isRecordProcessing() {
         return readerFactory != null && writerFactory != null;
     }
+
+    /**
+     * Writes request body data to FlowFile content as it becomes available, without blocking the server thread,
+     * and transfers the FlowFile once all data has been read.
+     */
+    private class RequestReadListener implements ReadListener {
+        private final byte[] buffer = new byte[NON_BLOCKING_READ_BUFFER_SIZE];
+        private final long startNanos = System.nanoTime();
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final ProcessSession session;
+        private final String foundSubject;
+        private final String foundIssuer;
+        private final boolean createHold;
+        private final AsyncContext asyncContext;
+        private final ServletInputStream in;
+        private final OutputStream out;
+        private FlowFile flowFile;
+
+        private RequestReadListener(final HttpServletRequest request, final HttpServletResponse response, final ProcessSession session,
+                                    final String foundSubject, final String foundIssuer, final boolean createHold, final AsyncContext asyncContext,
+                                    final ServletInputStream in, final FlowFile flowFile, final OutputStream out) {
+            this.request = request;
+            this.response = response;
+            this.session = session;
+            this.foundSubject = foundSubject;
+            this.foundIssuer = foundIssuer;
+            this.createHold = createHold;
+            this.asyncContext = asyncContext;
+            this.in = in;
+            this.flowFile = flowFile;
+            this.out = out;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            while (in.isReady()) {
+                final int read = in.read(buffer);
+                if (read < 0) {
+                    return;
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            try {
+                out.close();
+                final long transferMillis = TimeUnit.MILLISECONDS.convert(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+                final String nameVal = request.getHeader(CoreAttributes.FILENAME.key());
+                if (StringUtils.isNotBlank(nameVal)) {
+                    flowFile = session.putAttribute(flowFile, CoreAttributes.FILENAME.key(), nameVal);
+                }
+                flowFile = saveRequestDetailsAsAttributes(request, session, foundSubject, foundIssuer, flowFile);
+                final String details = String.format("Remote DN=%s, Issuer DN=%s", foundSubject, foundIssuer);
+                session.getProvenanceReporter().receive(flowFile, request.getRequestURL().toString(), null, details, transferMillis);
+
+                proceedFlow(request, response, session, foundSubject, foundIssuer, createHold, Collections.singleton(flowFile));
+            } catch (final Throwable t) {
+                onError(t);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            IOUtils.closeQuietly(out);
+            try {
+                handleException(request, response, session, foundSubject, foundIssuer, t);
+            } catch (final IOException e) {
+                logger.debug("Failed to send error response to Remote Host [{}]", request.getRemoteHost(), e);
+            } finally {
+                asyncContext.complete();
+            }
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.sql;
+
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.RecordSet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A RecordSet that reads the records of another RecordSet on a separate thread, handing them over through a bounded buffer. This allows the
+ * rows of a JDBC ResultSet to be fetched and converted to Records while previously read Records are being serialized by a RecordSetWriter
+ * on the calling thread. Records are handed over in chunks to keep the cost of the buffer low relative to the cost of each Record.
+ * <p>
+ * The source RecordSet is only accessed by the reading thread until the end of the source has been reached, a failure occurs, or this
+ * RecordSet is closed; {@link #close()} waits for the reading thread to stop so the source may safely be used or closed afterwards.
+ */
+public class PipelinedRecordSet implements RecordSet, Closeable {
+    private static final int MAX_CHUNK_SIZE = 256;
+    private static final List<Record> END_OF_RECORDS = new ArrayList<>(0);
+
+    private final RecordSet source;
+    private final int chunkSize;
+    private final BlockingQueue<List<Record>> buffer;
+    private final CountDownLatch readerFinished = new CountDownLatch(1);
+
+    private volatile boolean closed = false;
+    private volatile Throwable failure;
+
+    private List<Record> currentChunk;
+    private int currentIndex;
+    private boolean finished = false;
+
+    /**
+     * @param source the RecordSet to read from
+     * @param bufferSize the approximate maximum number of Records that have been read but not yet returned by {@link #next()}
+     * @param executor the executor used to run the reading thread
+     */
+    public PipelinedRecordSet(final RecordSet source, final int bufferSize, final Executor executor) {
+        this.source = source;
+        this.chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, bufferSize / 4));
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize / chunkSize));
+        executor.execute(this::readRecords);
+    }
+
+    @Override
+    public RecordSchema getSchema() throws IOException {
+        return source.getSchema();
+    }
+
+    @Override
+    public Record next() throws IOException {
+        if (currentChunk != null && currentIndex < currentChunk.size()) {
+            return currentChunk.get(currentIndex++);
+        }
+        if (finished) {
+            return null;
+        }
+
+        final List<Record> chunk;
+        try {
+            chunk = buffer.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for records", e);
+        }
+
+        if (chunk == END_OF_RECORDS) {
+            finished = true;
+            currentChunk = null;
+            final Throwable readFailure = failure;
+            if (readFailure instanceof IOException) {
+                throw (IOException) readFailure;
+            } else if (readFailure != null) {
+                throw new IOException("Failed to read records", readFailure);
+            }
+            return null;
+        }
+
+        currentChunk = chunk;
+        currentIndex = 1;
+        return chunk.get(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        buffer.clear();
+        try {
+            readerFinished.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for records to stop being read", e);
+        }
+    }
+
+    private void readRecords() {
+        try {
+            List<Record> chunk = new ArrayList<>(chunkSize);
+            Record record;
+            while (!closed && (record = source.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    if (!offer(chunk)) {
+                        return;
+                    }
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                offer(chunk);
+            }
+        } catch (final Throwable t) {
+            failure = t;
+        } finally {
+            if (failure != null || !offer(END_OF_RECORDS)) {
+                // Discard any buffered records so the end of the records, and any failure, is seen without waiting for them to be consumed
+                buffer.clear();
+                buffer.offer(END_OF_RECORDS);
+            }
+            readerFinished.countDown();
+        }
+    }
+
+    private boolean offer(final List<Record> chunk) {
+        try {
+            while (!closed) {
+                if (buffer.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        }
+        return false;
+    }
+}
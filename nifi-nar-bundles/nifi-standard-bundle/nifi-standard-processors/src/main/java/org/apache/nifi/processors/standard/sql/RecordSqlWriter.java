@@ -39,6 +39,7 @@ import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.nifi.util.db.JdbcCommon.AvroConversionOptions;
@@ -51,16 +52,34 @@ public class RecordSqlWriter implements SqlWriter {
     private final JdbcCommon.AvroConversionOptions options;
     private final int maxRowsPerFlowFile;
     private final Map<String, String> originalAttributes;
+    private final int pipelineBufferSize;
+    private final Executor pipelineExecutor;
+    private final long fetchBufferBytes;
     private ResultSetRecordSet fullRecordSet;
     private RecordSchema writeSchema;
     private String mimeType;
 
     public RecordSqlWriter(RecordSetWriterFactory recordSetWriterFactory, AvroConversionOptions options, int maxRowsPerFlowFile, Map<String, String> originalAttributes) {
+        this(recordSetWriterFactory, options, maxRowsPerFlowFile, originalAttributes, 0, null, 0);
+    }
+
+    /**
+     * @param pipelineBufferSize the number of records that may be read from the ResultSet ahead of the Record Writer on a separate thread, or zero
+     *                           to read and write records on the calling thread
+     * @param pipelineExecutor the executor that runs the reading thread if pipelineBufferSize is greater than zero
+     * @param fetchBufferBytes the approximate number of bytes of rows to fetch from the database at a time, used to adjust the fetch size of the
+     *                         ResultSet from the observed width of its rows, or zero to leave the fetch size unchanged
+     */
+    public RecordSqlWriter(RecordSetWriterFactory recordSetWriterFactory, AvroConversionOptions options, int maxRowsPerFlowFile, Map<String, String> originalAttributes,
+                           int pipelineBufferSize, Executor pipelineExecutor, long fetchBufferBytes) {
         this.recordSetWriterFactory = recordSetWriterFactory;
         this.writeResultRef = new AtomicReference<>();
         this.maxRowsPerFlowFile = maxRowsPerFlowFile;
         this.options = options;
         this.originalAttributes = originalAttributes;
+        this.pipelineBufferSize = pipelineExecutor == null ? 0 : pipelineBufferSize;
+        this.pipelineExecutor = pipelineExecutor;
+        this.fetchBufferBytes = fetchBufferBytes;
     }
 
     @Override
@@ -70,7 +89,8 @@ public class RecordSqlWriter implements SqlWriter {
             if (fullRecordSet == null) {
                 final Schema avroSchema = JdbcCommon.createSchema(resultSet, options);
                 final RecordSchema recordAvroSchema = AvroTypeUtil.createSchema(avroSchema);
-                fullRecordSet = new ResultSetRecordSetWithCallback(resultSet, recordAvroSchema, callback, options.getDefaultPrecision(), options.getDefaultScale(), options.isUseLogicalTypes());
+                fullRecordSet = new ResultSetRecordSetWithCallback(resultSet, recordAvroSchema, callback, options.getDefaultPrecision(), options.getDefaultScale(),
+                        options.isUseLogicalTypes(), fetchBufferBytes, logger);
                 writeSchema = recordSetWriterFactory.getSchema(originalAttributes, fullRecordSet.getSchema());
             }
             recordSet = (maxRowsPerFlowFile > 0) ? fullRecordSet.limit(maxRowsPerFlowFile) : fullRecordSet;
@@ -79,7 +99,13 @@ public class RecordSqlWriter implements SqlWriter {
             throw new ProcessException(e);
         }
         try (final RecordSetWriter resultSetWriter = recordSetWriterFactory.createWriter(logger, writeSchema, outputStream, Collections.emptyMap())) {
-            writeResultRef.set(resultSetWriter.write(recordSet));
+            if (pipelineBufferSize > 0) {
+                try (final PipelinedRecordSet pipelinedRecordSet = new PipelinedRecordSet(recordSet, pipelineBufferSize, pipelineExecutor)) {
+                    writeResultRef.set(resultSetWriter.write(pipelinedRecordSet));
+                }
+            } else {
+                writeResultRef.set(resultSetWriter.write(recordSet));
+            }
             if (mimeType == null) {
                 mimeType = resultSetWriter.getMimeType();
             }
@@ -131,13 +157,22 @@ public class RecordSqlWriter implements SqlWriter {
     }
 
     private static class ResultSetRecordSetWithCallback extends ResultSetRecordSet {
+        private static final int FETCH_SIZE_SAMPLE_ROWS = 100;
+        private static final int MIN_FETCH_SIZE = 10;
+        private static final int MAX_FETCH_SIZE = 100_000;
 
         private final ResultSetRowCallback callback;
+        private final long fetchBufferBytes;
+        private final ComponentLog logger;
+        private int sampledRows = 0;
+        private long sampledBytes = 0;
 
-        ResultSetRecordSetWithCallback(ResultSet rs, RecordSchema readerSchema, ResultSetRowCallback callback,
-                                       final int defaultPrecision, final int defaultScale, final boolean useLogicalTypes) throws SQLException {
+        ResultSetRecordSetWithCallback(ResultSet rs, RecordSchema readerSchema, ResultSetRowCallback callback, final int defaultPrecision, final int defaultScale,
+                                       final boolean useLogicalTypes, final long fetchBufferBytes, final ComponentLog logger) throws SQLException {
             super(rs, readerSchema, defaultPrecision, defaultScale, useLogicalTypes);
             this.callback = callback;
+            this.fetchBufferBytes = fetchBufferBytes;
+            this.logger = logger;
         }
 
         @Override
@@ -149,6 +184,9 @@ public class RecordSqlWriter implements SqlWriter {
                     if (callback != null) {
                         callback.processRow(rs);
                     }
+                    if (fetchBufferBytes > 0 && sampledRows < FETCH_SIZE_SAMPLE_ROWS) {
+                        sampleRowWidth(rs, record);
+                    }
                     setMoreRows(rs.next());
                     return record;
                 } else {
@@ -158,5 +196,50 @@ public class RecordSqlWriter implements SqlWriter {
                 throw new IOException("Could not obtain next record from ResultSet", e);
             }
         }
+
+        /**
+         * Estimates the width of the first rows of the ResultSet and, once enough rows have been seen, sets the fetch size so that
+         * each round trip to the database returns approximately the configured number of bytes.
+         */
+        private void sampleRowWidth(final ResultSet rs, final Record record) {
+            for (final Object value : record.getValues()) {
+                sampledBytes += estimateSize(value);
+            }
+
+            if (++sampledRows == FETCH_SIZE_SAMPLE_ROWS) {
+                final long averageRowBytes = Math.max(1, sampledBytes / sampledRows);
+                final int fetchSize = (int) Math.max(MIN_FETCH_SIZE, Math.min(MAX_FETCH_SIZE, fetchBufferBytes / averageRowBytes));
+                try {
+                    rs.setFetchSize(fetchSize);
+                    logger.debug("Set fetch size to {} for an average row width of {} bytes", fetchSize, averageRowBytes);
+                } catch (final SQLException se) {
+                    // Not all drivers support this, just log the error (at debug level) and move on
+                    logger.debug("Cannot set fetch size to {} due to {}", fetchSize, se.getLocalizedMessage(), se);
+                }
+            }
+        }
+
+        private static long estimateSize(final Object value) {
+            if (value == null) {
+                return 1;
+            } else if (value instanceof CharSequence) {
+                return 2L * ((CharSequence) value).length();
+            } else if (value instanceof byte[]) {
+                return ((byte[]) value).length;
+            } else if (value instanceof Object[]) {
+                long size = 0;
+                for (final Object element : (Object[]) value) {
+                    size += estimateSize(element);
+                }
+                return size;
+            } else if (value instanceof Record) {
+                long size = 0;
+                for (final Object fieldValue : ((Record) value).getValues()) {
+                    size += estimateSize(fieldValue);
+                }
+                return size;
+            }
+            return 16;
+        }
     }
 }
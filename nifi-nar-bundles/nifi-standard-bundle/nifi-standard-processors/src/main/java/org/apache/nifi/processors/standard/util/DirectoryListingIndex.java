@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the directories that were visited during a listing of a directory tree. For each directory, the index records the directory's last
+ * modification time, the number of files that it contained, the newest last modification time of those files and the names of its subdirectories.
+ * Because adding, removing or renaming an entry in a directory updates the last modification time of the directory, a directory whose last modification
+ * time is unchanged still contains the same entries, which allows the files of that directory to be skipped without listing the directory again.
+ * The index is thread-safe and may be populated concurrently.
+ */
+public class DirectoryListingIndex {
+    private static final int ENCODING_VERSION = 1;
+
+    private final Map<String, DirectoryEntry> entries = new ConcurrentHashMap<>();
+
+    public DirectoryEntry getEntry(final Path directory) {
+        return entries.get(directory.toString());
+    }
+
+    public void putEntry(final Path directory, final DirectoryEntry entry) {
+        entries.put(directory.toString(), entry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Reads an index that was previously written by {@link #save(Path)}. If the file does not exist, an empty index is returned.
+     *
+     * @param indexFile the file to read the index from
+     * @return the index
+     * @throws IOException if unable to read the index
+     */
+    public static DirectoryListingIndex load(final Path indexFile) throws IOException {
+        final DirectoryListingIndex index = new DirectoryListingIndex();
+        if (!Files.exists(indexFile)) {
+            return index;
+        }
+
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            final int version = in.readInt();
+            if (version != ENCODING_VERSION) {
+                throw new IOException("Cannot read Directory Listing Index " + indexFile + " with encoding version " + version + "; only version " + ENCODING_VERSION + " is supported");
+            }
+
+            final int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                final String directory = in.readUTF();
+                final long lastModified = in.readLong();
+                final long indexedTimestamp = in.readLong();
+                final int fileCount = in.readInt();
+                final long latestFileTimestamp = in.readLong();
+
+                final int subdirectoryCount = in.readInt();
+                final List<String> subdirectories = new ArrayList<>(subdirectoryCount);
+                for (int j = 0; j < subdirectoryCount; j++) {
+                    subdirectories.add(in.readUTF());
+                }
+
+                index.entries.put(directory, new DirectoryEntry(lastModified, indexedTimestamp, fileCount, latestFileTimestamp, subdirectories));
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Writes the index to the given file. The index is first written to a temporary file, which then replaces the given file, so that a failure
+     * while writing does not leave a partially written index behind.
+     *
+     * @param indexFile the file to write the index to
+     * @throws IOException if unable to write the index
+     */
+    public void save(final Path indexFile) throws IOException {
+        final Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(ENCODING_VERSION);
+            out.writeInt(entries.size());
+
+            for (final Map.Entry<String, DirectoryEntry> mapEntry : entries.entrySet()) {
+                final DirectoryEntry entry = mapEntry.getValue();
+                out.writeUTF(mapEntry.getKey());
+                out.writeLong(entry.getLastModified());
+                out.writeLong(entry.getIndexedTimestamp());
+                out.writeInt(entry.getFileCount());
+                out.writeLong(entry.getLatestFileTimestamp());
+
+                final List<String> subdirectories = entry.getSubdirectories();
+                out.writeInt(subdirectories.size());
+                for (final String subdirectory : subdirectories) {
+                    out.writeUTF(subdirectory);
+                }
+            }
+        }
+
+        Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static class DirectoryEntry {
+        private final long lastModified;
+        private final long indexedTimestamp;
+        private final int fileCount;
+        private final long latestFileTimestamp;
+        private final List<String> subdirectories;
+
+        public DirectoryEntry(final long lastModified, final long indexedTimestamp, final int fileCount, final long latestFileTimestamp, final List<String> subdirectories) {
+            this.lastModified = lastModified;
+            this.indexedTimestamp = indexedTimestamp;
+            this.fileCount = fileCount;
+            this.latestFileTimestamp = latestFileTimestamp;
+            this.subdirectories = Collections.unmodifiableList(subdirectories);
+        }
+
+        /**
+         * @return the last modification time of the directory when it was indexed
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return the time at which the directory was listed
+         */
+        public long getIndexedTimestamp() {
+            return indexedTimestamp;
+        }
+
+        /**
+         * @return the number of entries in the directory that are not directories
+         */
+        public int getFileCount() {
+            return fileCount;
+        }
+
+        /**
+         * @return the newest last modification time of any file in the directory, or {@link Long#MIN_VALUE} if the directory contained no files
+         */
+        public long getLatestFileTimestamp() {
+            return latestFileTimestamp;
+        }
+
+        /**
+         * @return the names of the subdirectories of the directory
+         */
+        public List<String> getSubdirectories() {
+            return subdirectories;
+        }
+    }
+}
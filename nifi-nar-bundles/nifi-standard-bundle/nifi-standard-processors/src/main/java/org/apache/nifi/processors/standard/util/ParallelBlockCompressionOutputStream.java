@@ -0,0 +1,395 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * <p>
+ * An OutputStream that splits the data written to it into fixed-size blocks and compresses the blocks concurrently using the
+ * given ExecutorService, writing the compressed blocks to the underlying stream in order. The result is a single stream that
+ * any standard decompressor can read:
+ * </p>
+ *
+ * <ul>
+ *     <li>For gzip and zlib, each block is compressed as a raw deflate segment that is primed with the last 32 KB of the
+ *     preceding block and ends on a byte boundary, in the same way as pigz. The segments form a single deflate stream, and the
+ *     checksum is computed sequentially as blocks are submitted.</li>
+ *     <li>For formats whose specification allows concatenated streams, such as bzip2, xz and LZ4 frames, each block is compressed
+ *     as a complete stream.</li>
+ * </ul>
+ *
+ * <p>
+ * At most the configured number of blocks are compressed or awaiting write at any time, which bounds the memory used to
+ * approximately twice that number multiplied by the block size.
+ * </p>
+ */
+public class ParallelBlockCompressionOutputStream extends OutputStream {
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private final OutputStream out;
+    private final BlockCompressor compressor;
+    private final ExecutorService executor;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+    private byte[] block;
+    private int blockLength = 0;
+    private byte[] dictionary = null;
+    private long blockCount = 0;
+    private boolean closed = false;
+
+    public ParallelBlockCompressionOutputStream(final OutputStream out, final BlockCompressor compressor, final ExecutorService executor,
+                                                final int blockSize, final int maxPendingBlocks) throws IOException {
+        if (blockSize < DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Block size must be at least " + DICTIONARY_SIZE + " bytes");
+        }
+
+        this.out = out;
+        this.compressor = compressor;
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = Math.max(1, maxPendingBlocks);
+        this.block = new byte[blockSize];
+
+        compressor.writeHeader(out);
+    }
+
+    /**
+     * Creates a stream that produces gzip-formatted output
+     */
+    public static ParallelBlockCompressionOutputStream gzip(final OutputStream out, final int compressionLevel, final ExecutorService executor,
+                                                           final int blockSize, final int maxPendingBlocks) throws IOException {
+        return new ParallelBlockCompressionOutputStream(out, new DeflateBlockCompressor(compressionLevel, true), executor, blockSize, maxPendingBlocks);
+    }
+
+    /**
+     * Creates a stream that produces zlib-formatted output, as written by {@link java.util.zip.DeflaterOutputStream}
+     */
+    public static ParallelBlockCompressionOutputStream zlib(final OutputStream out, final int compressionLevel, final ExecutorService executor,
+                                                           final int blockSize, final int maxPendingBlocks) throws IOException {
+        return new ParallelBlockCompressionOutputStream(out, new DeflateBlockCompressor(compressionLevel, false), executor, blockSize, maxPendingBlocks);
+    }
+
+    /**
+     * Creates a stream that compresses each block into a complete stream created by the given factory. This is only valid for
+     * formats in which concatenated streams are decompressed as a single stream.
+     */
+    public static ParallelBlockCompressionOutputStream concatenated(final OutputStream out, final CompressionStreamFactory streamFactory, final ExecutorService executor,
+                                                                   final int blockSize, final int maxPendingBlocks) throws IOException {
+        return new ParallelBlockCompressionOutputStream(out, new ConcatenatedStreamBlockCompressor(streamFactory), executor, blockSize, maxPendingBlocks);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        if (blockLength == blockSize) {
+            submitBlock(false);
+        }
+        block[blockLength++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            // A full block is only submitted once more data arrives, so that the final block is always known to be the last
+            if (blockLength == blockSize) {
+                submitBlock(false);
+            }
+
+            final int toCopy = Math.min(remaining, blockSize - blockLength);
+            System.arraycopy(b, offset, block, blockLength, toCopy);
+            blockLength += toCopy;
+            offset += toCopy;
+            remaining -= toCopy;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeCompletedBlocks();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (blockLength > 0 || blockCount == 0 || compressor.isFinalBlockRequired()) {
+                submitBlock(true);
+            }
+            while (!pendingBlocks.isEmpty()) {
+                writeNextBlock();
+            }
+            compressor.writeTrailer(out);
+            out.flush();
+        } finally {
+            for (final Future<byte[]> pending : pendingBlocks) {
+                pending.cancel(true);
+            }
+            pendingBlocks.clear();
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+    }
+
+    private void submitBlock(final boolean last) throws IOException {
+        final byte[] data = block;
+        final int length = blockLength;
+        final byte[] blockDictionary = dictionary;
+
+        compressor.update(data, 0, length);
+        if (compressor.isDictionarySupported() && !last) {
+            dictionary = Arrays.copyOfRange(data, Math.max(0, length - DICTIONARY_SIZE), length);
+        }
+
+        while (pendingBlocks.size() >= maxPendingBlocks) {
+            writeNextBlock();
+        }
+        pendingBlocks.add(executor.submit(() -> compressor.compress(data, length, blockDictionary, last)));
+        blockCount++;
+
+        if (!last) {
+            block = new byte[blockSize];
+            blockLength = 0;
+        }
+
+        writeCompletedBlocks();
+    }
+
+    private void writeCompletedBlocks() throws IOException {
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone()) {
+            writeNextBlock();
+        }
+    }
+
+    private void writeNextBlock() throws IOException {
+        final Future<byte[]> next = pendingBlocks.removeFirst();
+        try {
+            out.write(next.get());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for block to be compressed");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to compress block", cause);
+        }
+    }
+
+    /**
+     * Creates an OutputStream that compresses the data written to it into the given stream
+     */
+    public interface CompressionStreamFactory {
+        OutputStream create(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Compresses individual blocks and writes the framing that surrounds them. The {@link #compress(byte[], int, byte[], boolean)}
+     * method is invoked concurrently; all other methods are invoked by the thread writing to the stream.
+     */
+    public interface BlockCompressor {
+        void writeHeader(OutputStream out) throws IOException;
+
+        /**
+         * Updates any state, such as a checksum, that depends on the uncompressed data, in the order that blocks appear
+         */
+        void update(byte[] data, int offset, int length);
+
+        byte[] compress(byte[] data, int length, byte[] dictionary, boolean last) throws IOException;
+
+        void writeTrailer(OutputStream out) throws IOException;
+
+        /**
+         * @return whether each block should be primed with the trailing bytes of the preceding block
+         */
+        boolean isDictionarySupported();
+
+        /**
+         * @return whether a final block must be compressed even if it contains no data, in order to terminate the stream
+         */
+        boolean isFinalBlockRequired();
+    }
+
+    private static class DeflateBlockCompressor implements BlockCompressor {
+        private static final byte[] GZIP_HEADER = new byte[] {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+        private final int compressionLevel;
+        private final boolean gzip;
+        private final Checksum checksum;
+        private long uncompressedLength = 0;
+
+        DeflateBlockCompressor(final int compressionLevel, final boolean gzip) {
+            this.compressionLevel = compressionLevel;
+            this.gzip = gzip;
+            this.checksum = gzip ? new CRC32() : new Adler32();
+        }
+
+        @Override
+        public void writeHeader(final OutputStream out) throws IOException {
+            if (gzip) {
+                out.write(GZIP_HEADER);
+                return;
+            }
+
+            // Same header as zlib writes: 32K window, deflate method, and the level flags for the compression level
+            final int levelFlags = compressionLevel < 2 ? 0 : compressionLevel < 6 ? 1 : compressionLevel == 6 ? 2 : 3;
+            int header = (0x78 << 8) | (levelFlags << 6);
+            header += 31 - (header % 31);
+            out.write(header >> 8);
+            out.write(header & 0xFF);
+        }
+
+        @Override
+        public void update(final byte[] data, final int offset, final int length) {
+            checksum.update(data, offset, length);
+            uncompressedLength += length;
+        }
+
+        @Override
+        public byte[] compress(final byte[] data, final int length, final byte[] dictionary, final boolean last) {
+            final Deflater deflater = new Deflater(compressionLevel, true);
+            try {
+                if (dictionary != null) {
+                    deflater.setDictionary(dictionary);
+                }
+                deflater.setInput(data, 0, length);
+
+                final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, length / 2));
+                final byte[] buffer = new byte[65536];
+                if (last) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        final int compressedLength = deflater.deflate(buffer);
+                        compressed.write(buffer, 0, compressedLength);
+                    }
+                } else {
+                    // Sync flush ends the segment on a byte boundary so that the next segment can be appended
+                    int compressedLength;
+                    do {
+                        compressedLength = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                        compressed.write(buffer, 0, compressedLength);
+                    } while (compressedLength == buffer.length);
+                }
+
+                return compressed.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public void writeTrailer(final OutputStream out) throws IOException {
+            final long checksumValue = checksum.getValue();
+            if (gzip) {
+                writeIntLittleEndian(out, checksumValue);
+                writeIntLittleEndian(out, uncompressedLength);
+            } else {
+                out.write((int) (checksumValue >> 24) & 0xFF);
+                out.write((int) (checksumValue >> 16) & 0xFF);
+                out.write((int) (checksumValue >> 8) & 0xFF);
+                out.write((int) checksumValue & 0xFF);
+            }
+        }
+
+        private static void writeIntLittleEndian(final OutputStream out, final long value) throws IOException {
+            out.write((int) value & 0xFF);
+            out.write((int) (value >> 8) & 0xFF);
+            out.write((int) (value >> 16) & 0xFF);
+            out.write((int) (value >> 24) & 0xFF);
+        }
+
+        @Override
+        public boolean isDictionarySupported() {
+            return true;
+        }
+
+        @Override
+        public boolean isFinalBlockRequired() {
+            return true;
+        }
+    }
+
+    private static class ConcatenatedStreamBlockCompressor implements BlockCompressor {
+        private final CompressionStreamFactory streamFactory;
+
+        ConcatenatedStreamBlockCompressor(final CompressionStreamFactory streamFactory) {
+            this.streamFactory = streamFactory;
+        }
+
+        @Override
+        public void writeHeader(final OutputStream out) {
+        }
+
+        @Override
+        public void update(final byte[] data, final int offset, final int length) {
+        }
+
+        @Override
+        public byte[] compress(final byte[] data, final int length, final byte[] dictionary, final boolean last) throws IOException {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, length / 2));
+            try (final OutputStream compressionOut = streamFactory.create(compressed)) {
+                compressionOut.write(data, 0, length);
+            }
+            return compressed.toByteArray();
+        }
+
+        @Override
+        public void writeTrailer(final OutputStream out) {
+        }
+
+        @Override
+        public boolean isDictionarySupported() {
+            return false;
+        }
+
+        @Override
+        public boolean isFinalBlockRequired() {
+            return false;
+        }
+    }
+}
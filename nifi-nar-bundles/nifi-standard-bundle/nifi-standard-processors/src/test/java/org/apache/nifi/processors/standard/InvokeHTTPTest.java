@@ -19,6 +19,7 @@ package org.apache.nifi.processors.standard;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
 import okio.Buffer;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,6 +49,7 @@ import org.mockito.Answers;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
+import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.Proxy;
 import java.net.URI;
@@ -330,6 +332,91 @@ public class InvokeHTTPTest {
         assertRelationshipStatusCodeEquals(InvokeHTTP.RESPONSE, HTTP_OK);
     }
 
+    @Test
+    public void testRunGetHttp200SuccessRequestConcurrency() {
+        final int requests = 4;
+        runner.setProperty(InvokeHTTP.REQUEST_CONCURRENCY, Integer.toString(requests));
+        setUrlProperty();
+
+        for (int i = 0; i < requests; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HTTP_OK).setBody(FLOW_FILE_CONTENT));
+            runner.enqueue(FLOW_FILE_CONTENT);
+        }
+        runner.run();
+
+        assertEquals(requests, mockWebServer.getRequestCount());
+        runner.assertTransferCount(InvokeHTTP.ORIGINAL, requests);
+        runner.assertTransferCount(InvokeHTTP.RESPONSE, requests);
+        runner.assertTransferCount(InvokeHTTP.FAILURE, 0);
+        assertRelationshipStatusCodeEquals(InvokeHTTP.RESPONSE, HTTP_OK);
+        getResponseFlowFile().assertContentEquals(FLOW_FILE_CONTENT);
+        runner.assertQueueEmpty();
+    }
+
+    @Test
+    public void testRunGetHttp500RetryRequestConcurrency() {
+        final int requests = 2;
+        runner.setProperty(InvokeHTTP.REQUEST_CONCURRENCY, Integer.toString(requests));
+        setUrlProperty();
+
+        for (int i = 0; i < requests; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HTTP_INTERNAL_ERROR));
+            runner.enqueue(FLOW_FILE_CONTENT);
+        }
+        runner.run();
+
+        assertEquals(requests, mockWebServer.getRequestCount());
+        runner.assertAllFlowFilesTransferred(InvokeHTTP.RETRY, requests);
+        assertRelationshipStatusCodeEquals(InvokeHTTP.RETRY, HTTP_INTERNAL_ERROR);
+        runner.assertPenalizeCount(requests);
+        runner.assertQueueEmpty();
+    }
+
+    @Test
+    public void testRunConnectionFailedRequestConcurrency() throws IOException {
+        runner.setProperty(InvokeHTTP.REQUEST_CONCURRENCY, "2");
+        setUrlProperty();
+        mockWebServer.shutdown();
+
+        runner.enqueue(FLOW_FILE_CONTENT);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(InvokeHTTP.FAILURE, 1);
+        final MockFlowFile flowFile = getFailureFlowFile();
+        flowFile.assertAttributeEquals(InvokeHTTP.EXCEPTION_CLASS, ConnectException.class.getName());
+        runner.assertPenalizeCount(1);
+        runner.assertQueueEmpty();
+    }
+
+    @Test
+    public void testRunStoppedRequestInFlightRequestConcurrency() throws InterruptedException {
+        runner.setProperty(InvokeHTTP.REQUEST_CONCURRENCY, "2");
+        // Disable the read timeout so that the request is still in flight when stopping gives up waiting
+        runner.setProperty(InvokeHTTP.SOCKET_CONNECT_TIMEOUT, "1 secs");
+        runner.setProperty(InvokeHTTP.SOCKET_WRITE_TIMEOUT, "1 secs");
+        runner.setProperty(InvokeHTTP.SOCKET_READ_TIMEOUT, "0 secs");
+        setUrlProperty();
+
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        runner.enqueue(FLOW_FILE_CONTENT);
+        runner.run();
+
+        // Canceled calls roll back the session from the callback, which may complete after stopping returns
+        final long expiration = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (runner.getQueueSize().getObjectCount() == 0 && System.currentTimeMillis() < expiration) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(1, runner.getQueueSize().getObjectCount());
+        runner.assertTransferCount(InvokeHTTP.ORIGINAL, 0);
+        runner.assertTransferCount(InvokeHTTP.RESPONSE, 0);
+        runner.assertTransferCount(InvokeHTTP.FAILURE, 0);
+        runner.assertTransferCount(InvokeHTTP.RETRY, 0);
+        runner.assertTransferCount(InvokeHTTP.NO_RETRY, 0);
+        assertTrue(runner.getProvenanceEvents().isEmpty());
+    }
+
     @Test
     public void testRunGetHttp200SuccessProxyHostPortConfigured() throws InterruptedException, InitializationException {
         final String mockWebServerUrl = getMockWebServerUrl();
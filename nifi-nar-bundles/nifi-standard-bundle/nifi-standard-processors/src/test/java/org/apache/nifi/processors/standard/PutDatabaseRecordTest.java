@@ -1409,6 +1409,65 @@ public class PutDatabaseRecordTest {
         verify(spyStmt.get(), times(1)).executeBatch();
     }
 
+    @Test
+    void testInsertMultiRow() throws InitializationException, ProcessException, SQLException {
+        recreateTable(createPersons);
+        final MockRecordParser parser = new MockRecordParser();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+
+        parser.addSchemaField("id", RecordFieldType.INT);
+        parser.addSchemaField("name", RecordFieldType.STRING);
+        parser.addSchemaField("code", RecordFieldType.INT);
+
+        for (int i = 1; i < 12; i++) {
+            parser.addRecord(i, String.format("rec%s", i), 100 + i);
+        }
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE);
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, "PERSONS");
+        runner.setProperty(PutDatabaseRecord.MAX_BATCH_SIZE, "5");
+        runner.setProperty(PutDatabaseRecord.INSERT_STRATEGY, PutDatabaseRecord.INSERT_STRATEGY_MULTI_ROW);
+        runner.setProperty(PutDatabaseRecord.RECORDS_PER_TRANSACTION, "5");
+
+        runner.enqueue(new byte[0]);
+        runner.run();
+
+        runner.assertTransferCount(PutDatabaseRecord.REL_SUCCESS, 1);
+        assertEquals(11, getTableSize());
+
+        final Connection conn = dbcp.getConnection();
+        final Statement stmt = conn.createStatement();
+        final ResultSet rs = stmt.executeQuery("SELECT id, name, code FROM PERSONS ORDER BY id");
+        for (int i = 1; i < 12; i++) {
+            assertTrue(rs.next());
+            assertEquals(i, rs.getInt(1));
+            assertEquals("rec" + i, rs.getString(2));
+            assertEquals(100 + i, rs.getInt(3));
+        }
+        assertFalse(rs.next());
+
+        stmt.close();
+        conn.close();
+    }
+
+    @Test
+    void testRecordsPerTransactionWithRollbackOnFailureInvalid() throws InitializationException {
+        final MockRecordParser parser = new MockRecordParser();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE);
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, "PERSONS");
+        runner.setProperty(PutDatabaseRecord.RECORDS_PER_TRANSACTION, "100");
+        runner.assertValid();
+
+        runner.setProperty(RollbackOnFailure.ROLLBACK_ON_FAILURE, "true");
+        runner.assertNotValid();
+    }
+
     @Test
     void testGenerateTableName() throws Exception {
         final List<RecordField> fields = Arrays.asList(new RecordField("id", RecordFieldType.INT.getDataType()),
@@ -43,6 +43,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -503,6 +504,118 @@ public class QueryDatabaseTableRecordTest {
         runner.clearTransferState();
     }
 
+    @Test
+    public void testParallelPartitions() throws SQLException {
+
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_QUERY_DB_TABLE");
+        } catch (final SQLException sqle) {
+            // Ignore this error, probably a "table does not exist" since Derby doesn't yet support DROP IF EXISTS [DERBY-4842]
+        }
+
+        stmt.execute("create table TEST_QUERY_DB_TABLE (id integer not null, name varchar(100))");
+        for (int i = 0; i < 100; i++) {
+            stmt.execute("insert into TEST_QUERY_DB_TABLE (id, name) VALUES (" + i + ", 'name" + i + "')");
+        }
+
+        runner.setProperty(QueryDatabaseTableRecord.TABLE_NAME, "TEST_QUERY_DB_TABLE");
+        runner.setIncomingConnection(false);
+        runner.setProperty(QueryDatabaseTableRecord.MAX_VALUE_COLUMN_NAMES, "ID");
+        runner.setProperty(QueryDatabaseTableRecord.PARTITION_COUNT, "4");
+
+        runner.run();
+        runner.assertAllFlowFilesTransferred(QueryDatabaseTableRecord.REL_SUCCESS, 4);
+        int rowCount = 0;
+        for (final MockFlowFile flowFile : runner.getFlowFilesForRelationship(QueryDatabaseTableRecord.REL_SUCCESS)) {
+            flowFile.assertAttributeEquals("maxvalue.id", "99");
+            flowFile.assertAttributeEquals(QueryDatabaseTableRecord.FRAGMENT_COUNT, "4");
+            rowCount += Integer.parseInt(flowFile.getAttribute(QueryDatabaseTableRecord.RESULT_ROW_COUNT));
+        }
+        assertEquals(100, rowCount);
+        runner.getStateManager().assertStateEquals("test_query_db_table" + AbstractDatabaseFetchProcessor.NAMESPACE_DELIMITER + "id", "99", Scope.CLUSTER);
+        runner.clearTransferState();
+
+        // Run again, this time no flowfiles/rows should be transferred
+        runner.run();
+        runner.assertAllFlowFilesTransferred(QueryDatabaseTableRecord.REL_SUCCESS, 0);
+
+        // Add fewer new rows than partitions, each new row is fetched exactly once
+        stmt.execute("insert into TEST_QUERY_DB_TABLE (id, name) VALUES (100, 'name100')");
+        stmt.execute("insert into TEST_QUERY_DB_TABLE (id, name) VALUES (101, 'name101')");
+        runner.run();
+        runner.assertAllFlowFilesTransferred(QueryDatabaseTableRecord.REL_SUCCESS, 2);
+        for (final MockFlowFile flowFile : runner.getFlowFilesForRelationship(QueryDatabaseTableRecord.REL_SUCCESS)) {
+            flowFile.assertAttributeEquals(QueryDatabaseTableRecord.RESULT_ROW_COUNT, "1");
+            flowFile.assertAttributeEquals("maxvalue.id", "101");
+        }
+        runner.clearTransferState();
+    }
+
+    @Test
+    public void testParallelPartitionsFailure() throws SQLException {
+
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_QUERY_DB_TABLE");
+        } catch (final SQLException sqle) {
+            // Ignore this error, probably a "table does not exist" since Derby doesn't yet support DROP IF EXISTS [DERBY-4842]
+        }
+
+        stmt.execute("create table TEST_QUERY_DB_TABLE (id integer not null, val varchar(100))");
+        for (int i = 0; i < 100; i++) {
+            stmt.execute("insert into TEST_QUERY_DB_TABLE (id, val) VALUES (" + i + ", '" + i + "')");
+        }
+        // Converting this value fails only when fetching the last of the four ranges
+        stmt.execute("update TEST_QUERY_DB_TABLE set val = 'invalid' where id = 80");
+
+        runner.setProperty(QueryDatabaseTableRecord.TABLE_NAME, "TEST_QUERY_DB_TABLE");
+        runner.setProperty(QueryDatabaseTableRecord.COLUMN_NAMES, "id, CAST(val AS INTEGER) AS num");
+        runner.setIncomingConnection(false);
+        runner.setProperty(QueryDatabaseTableRecord.MAX_VALUE_COLUMN_NAMES, "ID");
+        runner.setProperty(QueryDatabaseTableRecord.PARTITION_COUNT, "4");
+
+        final String stateKey = "test_query_db_table" + AbstractDatabaseFetchProcessor.NAMESPACE_DELIMITER + "id";
+        runner.run();
+        runner.assertTransferCount(QueryDatabaseTableRecord.REL_SUCCESS, 0);
+        runner.getStateManager().assertStateNotSet(stateKey, Scope.CLUSTER);
+
+        // Failing to update the maximum values must not transfer the FlowFiles of any range
+        stmt.execute("update TEST_QUERY_DB_TABLE set val = '80' where id = 80");
+        runner.getStateManager().setFailOnStateSet(Scope.CLUSTER, true);
+        runner.run();
+        runner.assertTransferCount(QueryDatabaseTableRecord.REL_SUCCESS, 0);
+        runner.getStateManager().assertStateNotSet(stateKey, Scope.CLUSTER);
+
+        // All rows are fetched once every range succeeds and the maximum values can be updated
+        runner.getStateManager().setFailOnStateSet(Scope.CLUSTER, false);
+        runner.run();
+        runner.assertAllFlowFilesTransferred(QueryDatabaseTableRecord.REL_SUCCESS, 4);
+        int rowCount = 0;
+        for (final MockFlowFile flowFile : runner.getFlowFilesForRelationship(QueryDatabaseTableRecord.REL_SUCCESS)) {
+            rowCount += Integer.parseInt(flowFile.getAttribute(QueryDatabaseTableRecord.RESULT_ROW_COUNT));
+        }
+        assertEquals(100, rowCount);
+        runner.getStateManager().assertStateEquals(stateKey, "99", Scope.CLUSTER);
+        runner.clearTransferState();
+    }
+
+    @Test
+    public void testGetPartitionClauses() {
+        assertEquals(Collections.singletonList(null), AbstractQueryDatabaseTable.getPartitionClauses("id", null, null, 4));
+        assertEquals(Collections.singletonList(null), AbstractQueryDatabaseTable.getPartitionClauses("id", BigDecimal.TEN, BigDecimal.TEN, 4));
+        assertEquals(Arrays.asList("(id < 25 OR id IS NULL)", "id >= 25 AND id < 50", "id >= 50 AND id < 75", "id >= 75"),
+                AbstractQueryDatabaseTable.getPartitionClauses("id", BigDecimal.ZERO, BigDecimal.valueOf(99), 4));
+        assertEquals(Arrays.asList("(id < 1 OR id IS NULL)", "id >= 1"),
+                AbstractQueryDatabaseTable.getPartitionClauses("id", BigDecimal.ZERO, BigDecimal.ONE, 4));
+    }
+
     @Test
     public void testTimestampNanos() throws SQLException {
 
@@ -22,11 +22,20 @@ import org.apache.nifi.util.TestRunner;
 import org.apache.nifi.util.TestRunners;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestCompressContent {
@@ -407,4 +416,66 @@ public class TestCompressContent {
         flowFile.assertContentEquals(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
         flowFile.assertAttributeEquals("filename", "SampleFile.txt");
     }
+
+    @Test
+    public void testParallelCompressRoundTrip() throws IOException {
+        final byte[] sample = Files.readAllBytes(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (int i = 0; i < 20; i++) {
+            content.write(sample);
+        }
+        final byte[] uncompressed = content.toByteArray();
+
+        for (final String format : new String[] {CompressContent.COMPRESSION_FORMAT_GZIP, CompressContent.COMPRESSION_FORMAT_DEFLATE, CompressContent.COMPRESSION_FORMAT_BZIP2,
+            CompressContent.COMPRESSION_FORMAT_XZ_LZMA2, CompressContent.COMPRESSION_FORMAT_LZ4_FRAMED, CompressContent.COMPRESSION_FORMAT_ZSTD}) {
+
+            final TestRunner compressRunner = TestRunners.newTestRunner(CompressContent.class);
+            compressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_COMPRESS);
+            compressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, format);
+            compressRunner.setProperty(CompressContent.COMPRESSION_THREADS, "4");
+            compressRunner.setProperty(CompressContent.COMPRESSION_BLOCK_SIZE, "64 KB");
+
+            compressRunner.enqueue(uncompressed);
+            compressRunner.run();
+            compressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+            final byte[] compressed = compressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0).toByteArray();
+
+            final TestRunner decompressRunner = TestRunners.newTestRunner(CompressContent.class);
+            decompressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_DECOMPRESS);
+            decompressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, format);
+
+            decompressRunner.enqueue(compressed);
+            decompressRunner.run();
+            decompressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+            decompressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0).assertContentEquals(uncompressed);
+        }
+    }
+
+    @Test
+    public void testParallelGzipCompressIsSingleStream() throws IOException {
+        final byte[] sample = Files.readAllBytes(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (int i = 0; i < 10; i++) {
+            content.write(sample);
+        }
+
+        final TestRunner runner = TestRunners.newTestRunner(CompressContent.class);
+        runner.setProperty(CompressContent.MODE, CompressContent.MODE_COMPRESS);
+        runner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_GZIP);
+        runner.setProperty(CompressContent.COMPRESSION_THREADS, "3");
+        runner.setProperty(CompressContent.COMPRESSION_BLOCK_SIZE, "64 KB");
+
+        runner.enqueue(content.toByteArray());
+        runner.run();
+        runner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+
+        final byte[] compressed = runner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0).toByteArray();
+        try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(content.toByteArray(), in.readAllBytes());
+        }
+
+        // The trailer of a single gzip member holds the length of all of the uncompressed content
+        final int trailerLength = ByteBuffer.wrap(compressed, compressed.length - 4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        assertEquals(content.size(), trailerLength);
+    }
 }
@@ -88,6 +88,41 @@ public class TestConvertRecord {
         out.assertContentEquals("header\nJohn Doe,48\nJane Doe,47\nJimmy Doe,14\n");
     }
 
+    @Test
+    public void testSuccessfulConversionWithParallelProcessing() throws InitializationException {
+        final MockRecordParser readerService = new MockRecordParser();
+        final MockRecordWriter writerService = new MockRecordWriter("header", false);
+
+        final TestRunner runner = TestRunners.newTestRunner(ConvertRecord.class);
+        runner.addControllerService("reader", readerService);
+        runner.enableControllerService(readerService);
+        runner.addControllerService("writer", writerService);
+        runner.enableControllerService(writerService);
+
+        runner.setProperty(ConvertRecord.RECORD_READER, "reader");
+        runner.setProperty(ConvertRecord.RECORD_WRITER, "writer");
+        runner.setProperty(ConvertRecord.PROCESSING_THREADS, "4");
+        runner.setProperty(ConvertRecord.PROCESSING_BATCH_SIZE, "7");
+
+        readerService.addSchemaField("name", RecordFieldType.STRING);
+        readerService.addSchemaField("age", RecordFieldType.INT);
+
+        final StringBuilder expected = new StringBuilder("header\n");
+        for (int i = 0; i < 100; i++) {
+            readerService.addRecord("Name " + i, i);
+            expected.append("Name ").append(i).append(",").append(i).append("\n");
+        }
+
+        runner.enqueue("");
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(ConvertRecord.REL_SUCCESS, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(ConvertRecord.REL_SUCCESS).get(0);
+
+        out.assertAttributeEquals("record.count", "100");
+        out.assertContentEquals(expected.toString());
+    }
+
     @Test
     public void testDropEmpty() throws InitializationException {
         final MockRecordParser readerService = new MockRecordParser();
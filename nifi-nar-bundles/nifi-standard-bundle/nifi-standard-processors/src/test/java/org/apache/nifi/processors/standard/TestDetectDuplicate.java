@@ -27,6 +27,7 @@ import org.apache.nifi.reporting.InitializationException;
 import org.apache.nifi.state.MockStateManager;
 import org.apache.nifi.util.MockComponentLog;
 import org.apache.nifi.util.MockControllerServiceInitializationContext;
+import org.apache.nifi.util.MockFlowFile;
 import org.apache.nifi.util.TestRunner;
 import org.apache.nifi.util.TestRunners;
 import org.junit.jupiter.api.Test;
@@ -137,6 +138,36 @@ public class TestDetectDuplicate {
         runner.assertTransferCount(DetectDuplicate.REL_FAILURE, 0);
     }
 
+    @Test
+    public void testDuplicateBatch() throws InitializationException {
+        final TestRunner runner = TestRunners.newTestRunner(DetectDuplicate.class);
+        final DistributedMapCacheClientImpl client = createClient();
+        final Map<String, String> clientProperties = new HashMap<>();
+        clientProperties.put(DistributedMapCacheClientService.HOSTNAME.getName(), "localhost");
+        runner.addControllerService("client", client, clientProperties);
+        runner.setProperty(DetectDuplicate.DISTRIBUTED_CACHE_SERVICE, "client");
+        runner.setProperty(DetectDuplicate.FLOWFILE_DESCRIPTION, "${description}");
+        runner.setProperty(DetectDuplicate.BATCH_SIZE, "10");
+        runner.enableControllerService(client);
+
+        for (int i = 0; i < 3; i++) {
+            final Map<String, String> props = new HashMap<>();
+            props.put("hash.value", "1000");
+            props.put("description", "flowfile-" + i);
+            runner.enqueue(new byte[]{}, props);
+        }
+        runner.enqueue(new byte[]{});
+
+        runner.run();
+        runner.assertTransferCount(DetectDuplicate.REL_NON_DUPLICATE, 1);
+        runner.assertTransferCount(DetectDuplicate.REL_DUPLICATE, 2);
+        runner.assertTransferCount(DetectDuplicate.REL_FAILURE, 1);
+        runner.getFlowFilesForRelationship(DetectDuplicate.REL_NON_DUPLICATE).get(0).assertAttributeEquals("description", "flowfile-0");
+        for (final MockFlowFile flowFile : runner.getFlowFilesForRelationship(DetectDuplicate.REL_DUPLICATE)) {
+            flowFile.assertAttributeEquals(DetectDuplicate.ORIGINAL_DESCRIPTION_ATTRIBUTE_NAME, "flowfile-0");
+        }
+    }
+
     @Test
     public void testDuplicateNoCacheWithAgeOff() throws InitializationException, InterruptedException {
 
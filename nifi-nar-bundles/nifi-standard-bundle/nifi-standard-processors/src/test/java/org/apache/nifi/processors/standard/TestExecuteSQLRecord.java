@@ -384,6 +384,48 @@ public class TestExecuteSQLRecord {
         lastFlowFile.assertAttributeEquals(AbstractExecuteSQL.RESULTSET_INDEX, "0");
     }
 
+    @Test
+    public void testMaxRowsPerFlowFileWithPipeline() throws Exception {
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_NULL_INT");
+        } catch (final SQLException sqle) {
+        }
+
+        stmt.execute("create table TEST_NULL_INT (id integer not null, val1 integer, val2 integer, constraint my_pk primary key (id))");
+
+        for (int i = 0; i < 1000; i++) {
+            stmt.execute("insert into TEST_NULL_INT (id, val1, val2) VALUES (" + i + ", 1, 1)");
+        }
+
+        runner.setIncomingConnection(false);
+        runner.setProperty(AbstractExecuteSQL.MAX_ROWS_PER_FLOW_FILE, "300");
+        runner.setProperty(AbstractExecuteSQL.SQL_SELECT_QUERY, "SELECT * FROM TEST_NULL_INT ORDER BY id");
+        runner.setProperty(ExecuteSQLRecord.PIPELINE_BUFFER_SIZE, "64");
+        runner.setProperty(ExecuteSQLRecord.FETCH_BUFFER_SIZE, "64 KB");
+        MockRecordWriter recordWriter = new MockRecordWriter(null, true, -1);
+        runner.addControllerService("writer", recordWriter);
+        runner.setProperty(ExecuteSQLRecord.RECORD_WRITER_FACTORY, "writer");
+        runner.enableControllerService(recordWriter);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(AbstractExecuteSQL.REL_SUCCESS, 4);
+        final List<MockFlowFile> flowFiles = runner.getFlowFilesForRelationship(AbstractExecuteSQL.REL_SUCCESS);
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            expected.append('"').append(i).append("\",\"1\",\"1\"\n");
+            if (i % 300 == 299 || i == 999) {
+                final MockFlowFile flowFile = flowFiles.get(i / 300);
+                flowFile.assertAttributeEquals("record.count", i == 999 ? "100" : "300");
+                flowFile.assertContentEquals(expected.toString());
+                expected.setLength(0);
+            }
+        }
+    }
+
     @Test
     public void testInsertStatementCreatesFlowFile() throws Exception {
         // remove previous test database, if any
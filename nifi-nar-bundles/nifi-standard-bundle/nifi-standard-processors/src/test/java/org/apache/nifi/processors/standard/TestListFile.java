@@ -734,6 +734,117 @@ public class TestListFile {
         assertEquals(1, successFiles2.size());
     }
 
+    @Test
+    public void testRecurseWithParallelListing() throws Exception {
+        final long now = getTestModifiedTime();
+        final List<String> expectedFilenames = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            final File subdir = new File(TESTDIR + "/subdir" + i + "/nested");
+            assertTrue(subdir.mkdirs());
+
+            for (final File directory : Arrays.asList(subdir.getParentFile(), subdir)) {
+                final File file = new File(directory, directory.getName() + i + ".txt");
+                assertTrue(file.createNewFile());
+                assertTrue(file.setLastModified(now));
+                expectedFilenames.add(file.getName());
+            }
+        }
+
+        runner.setProperty(ListFile.DIRECTORY, testDir.getAbsolutePath());
+        runner.setProperty(ListFile.RECURSE, "true");
+        runner.setProperty(ListFile.DIRECTORY_LISTING_THREADS, "4");
+        assertVerificationOutcome(Outcome.SUCCESSFUL, "Successfully listed .* Found 8 objects.  Of those, 8 match the filter.");
+        runNext();
+
+        runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 8);
+        final List<String> listedFilenames = runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS).stream()
+            .map(flowFile -> flowFile.getAttribute(CoreAttributes.FILENAME.key()))
+            .sorted()
+            .collect(Collectors.toList());
+        Collections.sort(expectedFilenames);
+        assertEquals(expectedFilenames, listedFilenames);
+
+        final MockFlowFile nestedFlowFile = runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS).stream()
+            .filter(flowFile -> flowFile.getAttribute(CoreAttributes.FILENAME.key()).equals("nested2.txt"))
+            .findFirst()
+            .get();
+        nestedFlowFile.assertAttributeEquals(CoreAttributes.PATH.key(), "subdir2" + File.separator + "nested" + File.separator);
+
+        runNext();
+        runner.assertTransferCount(ListFile.REL_SUCCESS, 0);
+    }
+
+    @Test
+    public void testParallelListingTracksPerformance() throws Exception {
+        final long now = getTestModifiedTime();
+
+        for (int i = 0; i < 4; i++) {
+            final File subdir = new File(TESTDIR + "/subdir" + i);
+            assertTrue(subdir.mkdirs());
+
+            for (int j = 0; j < 2; j++) {
+                final File file = new File(subdir, "file" + j + ".txt");
+                assertTrue(file.createNewFile());
+                assertTrue(file.setLastModified(now));
+            }
+        }
+
+        runner.setProperty(ListFile.DIRECTORY, testDir.getAbsolutePath());
+        runner.setProperty(ListFile.RECURSE, "true");
+        runner.setProperty(ListFile.DIRECTORY_LISTING_THREADS, "4");
+        runner.setProperty(ListFile.TRACK_PERFORMANCE, "true");
+        runNext();
+
+        runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 8);
+        assertEquals(8, processor.getPerformanceTracker().getTrackedFileCount());
+    }
+
+    @Test
+    public void testListingIndexSkipsUnchangedDirectories() throws Exception {
+        final File indexDir = new File("target/test/data/listing-index");
+        deleteDirectory(indexDir);
+
+        final File unchangedDir = new File(TESTDIR + "/unchanged");
+        assertTrue(unchangedDir.mkdirs());
+        final File unchangedFile = new File(unchangedDir, "unchanged.txt");
+        assertTrue(unchangedFile.createNewFile());
+        assertTrue(unchangedFile.setLastModified(time5millis));
+        assertTrue(unchangedDir.setLastModified(time5millis));
+
+        final File changedDir = new File(TESTDIR + "/changed");
+        assertTrue(changedDir.mkdirs());
+        final File existingFile = new File(changedDir, "existing.txt");
+        assertTrue(existingFile.createNewFile());
+        assertTrue(existingFile.setLastModified(time4millis));
+        assertTrue(changedDir.setLastModified(time5millis));
+
+        runner.setProperty(ListFile.DIRECTORY, testDir.getAbsolutePath());
+        runner.setProperty(ListFile.LISTING_INDEX_DIRECTORY, indexDir.getAbsolutePath());
+        runNext();
+        runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 2);
+        assertTrue(new File(indexDir, processor.getIdentifier() + ".listing-index").exists());
+
+        // Updating the timestamp of a file does not change its directory, so the file is not listed again when the index is used
+        assertTrue(unchangedFile.setLastModified(time1millis));
+
+        final File newFile = new File(changedDir, "new.txt");
+        assertTrue(newFile.createNewFile());
+        assertTrue(newFile.setLastModified(time2millis));
+
+        runNext();
+        runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 1);
+        runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS).get(0).assertAttributeEquals(CoreAttributes.FILENAME.key(), "new.txt");
+
+        // Without the index, the updated file is found
+        runner.removeProperty(ListFile.LISTING_INDEX_DIRECTORY);
+        runNext();
+        runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 1);
+        runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS).get(0).assertAttributeEquals(CoreAttributes.FILENAME.key(), "unchanged.txt");
+
+        deleteDirectory(indexDir);
+    }
+
     @Test
     public void testReadable() throws Exception {
         final long now = getTestModifiedTime();
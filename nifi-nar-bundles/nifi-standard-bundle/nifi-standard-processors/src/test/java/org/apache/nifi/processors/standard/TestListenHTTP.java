@@ -212,6 +212,34 @@ public class TestListenHTTP {
         testPOSTRequestsReceived(HttpServletResponse.SC_NO_CONTENT, false, false);
     }
 
+    @Test
+    public void testPOSTRequestsReceivedNonBlockingReads() throws Exception {
+        runner.setProperty(ListenHTTP.BASE_PATH, HTTP_BASE_PATH);
+        runner.setProperty(ListenHTTP.NON_BLOCKING_READS, Boolean.TRUE.toString());
+
+        testPOSTRequestsReceived(HttpServletResponse.SC_OK, false, false);
+    }
+
+    @Test
+    public void testPOSTRequestServiceUnavailableRetryAfter() throws Exception {
+        runner.setProperty(ListenHTTP.BASE_PATH, HTTP_BASE_PATH);
+        runner.setProperty(ListenHTTP.RETRY_AFTER, "5 sec");
+        runner.setRelationshipUnavailable(RELATIONSHIP_SUCCESS);
+
+        final int port = startWebServer();
+
+        final OkHttpClient okHttpClient = getOkHttpClient(false, false);
+        final RequestBody requestBody = RequestBody.create(String.class.getSimpleName().getBytes(StandardCharsets.UTF_8), APPLICATION_OCTET_STREAM);
+        final Request request = new Request.Builder().url(buildUrl(false, port)).post(requestBody).build();
+
+        try (final Response response = okHttpClient.newCall(request).execute()) {
+            assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, response.code());
+            assertEquals("5", response.header("Retry-After"));
+        }
+
+        runner.assertTransferCount(RELATIONSHIP_SUCCESS, 0);
+    }
+
     @Test
     public void testPOSTRequestsReceivedWithEL() throws Exception {
         runner.setProperty(ListenHTTP.PORT, HTTP_SERVER_PORT_EL);
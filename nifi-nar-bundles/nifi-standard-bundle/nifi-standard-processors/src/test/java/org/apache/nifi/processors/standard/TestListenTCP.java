@@ -121,6 +121,25 @@ public class TestListenTCP {
         mockFlowFile2.assertContentEquals("This is message 4\nThis is message 5");
     }
 
+    @Test
+    public void testRunReceiveBatching() throws Exception {
+        runner.setProperty(ListenerProperties.RECEIVE_BATCH_SIZE, "1 KB");
+        // one event per FlowFile so that the number of FlowFiles is the number of queued events
+        runner.setProperty(ListenerProperties.MAX_BATCH_SIZE, "1");
+
+        final List<String> messages = new ArrayList<>();
+        messages.add("This is message 1\n");
+        messages.add("This is message 2\n");
+        messages.add("This is message 3\n");
+
+        run(messages, messages.size(), null);
+
+        // Messages sent in a single write are combined into one event instead of queued as separate events
+        runner.assertTransferCount(ListenTCP.REL_SUCCESS, 1);
+        final MockFlowFile mockFlowFile = runner.getFlowFilesForRelationship(ListenTCP.REL_SUCCESS).get(0);
+        mockFlowFile.assertContentEquals("This is message 1\nThis is message 2\nThis is message 3");
+    }
+
     @Test
     public void testRunClientAuthRequired() throws Exception {
         final String expectedDistinguishedName = "CN=localhost";
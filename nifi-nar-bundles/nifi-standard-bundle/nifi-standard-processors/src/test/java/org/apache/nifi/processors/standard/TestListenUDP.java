@@ -43,7 +43,9 @@ import java.nio.channels.DatagramChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -108,6 +110,40 @@ public class TestListenUDP {
         verifyProvenance(maxQueueSize);
     }
 
+    @Test
+    public void testReceiveSockets() throws IOException {
+        runner.setProperty(ListenerProperties.RECEIVE_SOCKETS, "4");
+
+        final List<String> messages = getMessages(20);
+        runner.run(1, false, true);
+        final int port = ((ListenUDP) runner.getProcessor()).getListeningPort();
+
+        try {
+            // send from multiple sockets so that datagrams are distributed across receive sockets
+            final InetSocketAddress destination = new InetSocketAddress(LOCALHOST, port);
+            final List<DatagramSocket> sockets = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                if (i % 5 == 0) {
+                    sockets.add(new DatagramSocket());
+                }
+                final byte[] buffer = messages.get(i).getBytes(StandardCharsets.UTF_8);
+                sockets.get(sockets.size() - 1).send(new DatagramPacket(buffer, buffer.length, destination));
+            }
+            sockets.forEach(DatagramSocket::close);
+
+            runner.run(messages.size(), false, false);
+            runner.assertAllFlowFilesTransferred(ListenUDP.REL_SUCCESS, messages.size());
+        } finally {
+            runner.shutdown();
+        }
+
+        final Set<String> contents = runner.getFlowFilesForRelationship(ListenUDP.REL_SUCCESS).stream()
+                .map(MockFlowFile::getContent)
+                .collect(Collectors.toSet());
+        assertEquals(Set.copyOf(messages), contents);
+        verifyProvenance(messages.size());
+    }
+
     @Test
     public void testBatchingSingleSender() throws IOException, InterruptedException {
         final String delimiter = "NN";
@@ -31,6 +31,7 @@ import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.nifi.components.ValidationResult;
 import org.apache.nifi.flowfile.attributes.CoreAttributes;
+import org.apache.nifi.flowfile.attributes.FragmentAttributes;
 import org.apache.nifi.flowfile.attributes.StandardFlowFileMediaType;
 import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processors.standard.merge.AttributeStrategyUtil;
@@ -45,8 +46,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -842,6 +845,37 @@ public class TestMergeContent {
         merged.assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), StandardFlowFileMediaType.VERSION_3.getMediaType());
     }
 
+    @Test
+    public void testFlowFileStreamV3Indexed() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new MergeContent());
+        runner.setProperty(MergeContent.MAX_BIN_AGE, "1 sec");
+        runner.setProperty(MergeContent.MIN_ENTRIES, "2");
+        runner.setProperty(MergeContent.MAX_ENTRIES, "2");
+        runner.setProperty(MergeContent.MERGE_FORMAT, MergeContent.MERGE_FORMAT_FLOWFILE_STREAM_V3_INDEXED);
+
+        runner.enqueue("Hello".getBytes(StandardCharsets.UTF_8), Collections.singletonMap("greeting", "first"));
+        runner.enqueue("World".getBytes(StandardCharsets.UTF_8), Collections.singletonMap("greeting", "second"));
+        runner.run();
+
+        runner.assertTransferCount(MergeContent.REL_MERGED, 1);
+        runner.assertTransferCount(MergeContent.REL_FAILURE, 0);
+        runner.assertTransferCount(MergeContent.REL_ORIGINAL, 2);
+
+        final MockFlowFile merged = runner.getFlowFilesForRelationship(MergeContent.REL_MERGED).get(0);
+        merged.assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), StandardFlowFileMediaType.VERSION_3_INDEXED.getMediaType());
+
+        final TestRunner unpackRunner = TestRunners.newTestRunner(new UnpackContent());
+        unpackRunner.enqueue(merged);
+        unpackRunner.run();
+
+        unpackRunner.assertTransferCount(UnpackContent.REL_SUCCESS, 2);
+        final List<MockFlowFile> unpacked = unpackRunner.getFlowFilesForRelationship(UnpackContent.REL_SUCCESS);
+        unpacked.get(0).assertContentEquals("Hello");
+        unpacked.get(0).assertAttributeEquals("greeting", "first");
+        unpacked.get(1).assertContentEquals("World");
+        unpacked.get(1).assertAttributeEquals("greeting", "second");
+    }
+
     @Test
     public void testDefragment() throws IOException {
         final TestRunner runner = TestRunners.newTestRunner(new MergeContent());
@@ -868,6 +902,40 @@ public class TestMergeContent {
         assembled.assertContentEquals("A Man A Plan A Canal Panama".getBytes("UTF-8"));
     }
 
+    @Test
+    public void testDefragmentRestoresOriginalFragmentAttributes() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new MergeContent());
+        runner.setProperty(MergeContent.MERGE_STRATEGY, MergeContent.MERGE_STRATEGY_DEFRAGMENT);
+        runner.setProperty(MergeContent.MAX_BIN_AGE, "1 min");
+
+        final Map<String, String> original = new HashMap<>();
+        original.put(MergeContent.FRAGMENT_ID_ATTRIBUTE, "parent");
+        original.put(MergeContent.FRAGMENT_COUNT_ATTRIBUTE, "5");
+        original.put(MergeContent.FRAGMENT_INDEX_ATTRIBUTE, "2");
+        original.put(CoreAttributes.FILENAME.key(), "fragment.txt");
+
+        final Map<String, String> attributes = FragmentAttributes.preserveOriginalAttributes(original);
+        attributes.put(MergeContent.FRAGMENT_ID_ATTRIBUTE, "chunk");
+        attributes.put(MergeContent.FRAGMENT_COUNT_ATTRIBUTE, "2");
+        attributes.put(MergeContent.SEGMENT_ORIGINAL_FILENAME, "fragment.txt");
+        attributes.put(MergeContent.FRAGMENT_INDEX_ATTRIBUTE, "1");
+        runner.enqueue("A Man ".getBytes("UTF-8"), attributes);
+        attributes.put(MergeContent.FRAGMENT_INDEX_ATTRIBUTE, "2");
+        runner.enqueue("A Plan".getBytes("UTF-8"), attributes);
+
+        runner.run();
+
+        runner.assertTransferCount(MergeContent.REL_MERGED, 1);
+        final MockFlowFile assembled = runner.getFlowFilesForRelationship(MergeContent.REL_MERGED).get(0);
+        assembled.assertContentEquals("A Man A Plan".getBytes("UTF-8"));
+        assembled.assertAttributeEquals(CoreAttributes.FILENAME.key(), "fragment.txt");
+        assembled.assertAttributeEquals(MergeContent.FRAGMENT_ID_ATTRIBUTE, "parent");
+        assembled.assertAttributeEquals(MergeContent.FRAGMENT_COUNT_ATTRIBUTE, "5");
+        assembled.assertAttributeEquals(MergeContent.FRAGMENT_INDEX_ATTRIBUTE, "2");
+        assembled.assertAttributeNotExists(MergeContent.SEGMENT_ORIGINAL_FILENAME);
+        assembled.assertAttributeNotExists(FragmentAttributes.ORIGINAL_PREFIX + MergeContent.FRAGMENT_ID_ATTRIBUTE);
+    }
+
     @Test
     public void testDefragmentWithFragmentCountOnLastFragmentOnly() throws IOException {
         final TestRunner runner = TestRunners.newTestRunner(new MergeContent());
@@ -34,10 +34,13 @@ import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestMergeRecord {
     private TestRunner runner;
@@ -506,6 +509,49 @@ public class TestMergeRecord {
         assertEquals(5, ((MergeRecord) runner.getProcessor()).getBinCount());
     }
 
+    @Test
+    public void testConcurrentMergeSameAndDifferentGroups() {
+        final int groups = 16;
+        final int maxRecords = 10;
+        final int flowFileCount = 800;
+        runner.setProperty(MergeRecord.MIN_RECORDS, "1");
+        runner.setProperty(MergeRecord.MAX_RECORDS, String.valueOf(maxRecords));
+        runner.setProperty(MergeRecord.MAX_BIN_COUNT, "8");
+        runner.setProperty(MergeRecord.CORRELATION_ATTRIBUTE_NAME, "correlationId");
+
+        // more groups than bins so that the oldest bins are completed while other threads add to them
+        final Map<String, String> attrs = new HashMap<>();
+        for (int i = 0; i < flowFileCount; i++) {
+            attrs.put("correlationId", String.valueOf(i % groups));
+            runner.enqueue("Name, Age\nJohn, " + i, attrs);
+        }
+
+        runner.setThreadCount(8);
+        runner.run(8, false, true);
+        runner.setThreadCount(1);
+        runner.run(1, true, false);
+
+        runner.assertTransferCount(MergeRecord.REL_ORIGINAL, flowFileCount);
+        runner.assertTransferCount(MergeRecord.REL_FAILURE, 0);
+        assertEquals(0, ((MergeRecord) runner.getProcessor()).getBinCount());
+
+        final Set<Integer> mergedAges = new HashSet<>();
+        for (final MockFlowFile merged : runner.getFlowFilesForRelationship(MergeRecord.REL_MERGED)) {
+            final String[] lines = merged.getContent().split("\n");
+            final int recordCount = lines.length - 1;
+            merged.assertAttributeEquals("record.count", String.valueOf(recordCount));
+            assertTrue(recordCount <= maxRecords, "Record Count " + recordCount);
+
+            final int group = Integer.parseInt(lines[1].split(",")[1]) % groups;
+            for (int i = 1; i < lines.length; i++) {
+                final int age = Integer.parseInt(lines[i].split(",")[1]);
+                assertEquals(group, age % groups, "Records from different groups merged");
+                assertTrue(mergedAges.add(age), "Record merged more than once " + age);
+            }
+        }
+        assertEquals(flowFileCount, mergedAges.size());
+    }
+
     @Test
     public void testDefragmentOldestBinFailsWhenTooManyBins() {
         runner.setProperty(MergeRecord.MAX_BIN_COUNT, "5");
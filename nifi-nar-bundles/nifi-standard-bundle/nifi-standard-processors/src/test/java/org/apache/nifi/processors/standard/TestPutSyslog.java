@@ -135,6 +135,23 @@ public class TestPutSyslog {
         assertSyslogMessageSuccess(VERSION_SYSLOG_MESSAGE, attributes);
     }
 
+    @Test
+    public void testRunSuccessBatch() throws InterruptedException {
+        final int flowFiles = 3;
+        for (int i = 0; i < flowFiles; i++) {
+            runner.enqueue(SYSLOG_MESSAGE);
+        }
+        runner.run();
+
+        for (int i = 0; i < flowFiles; i++) {
+            final ByteArrayMessage message = messages.poll(POLL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(message, "Message not received");
+            assertEquals(SYSLOG_MESSAGE, new String(message.getMessage(), CHARSET));
+        }
+        runner.assertAllFlowFilesTransferred(PutSyslog.REL_SUCCESS, flowFiles);
+        assertEquals(flowFiles, runner.getProvenanceEvents().size());
+    }
+
     @Test
     public void testRunInvalid() {
         runner.setProperty(PutSyslog.MSG_PRIORITY, Integer.toString(Integer.MAX_VALUE));
@@ -186,6 +186,23 @@ public class TestPutTCP {
         assertMessagesReceived(VALID_FILES);
     }
 
+    @Test
+    public void testRunSuccessBatchSize() throws Exception {
+        createTestServer(OUTGOING_MESSAGE_DELIMITER);
+        configureProperties(TCP_SERVER_ADDRESS, OUTGOING_MESSAGE_DELIMITER, false);
+        runner.setProperty(PutTCP.BATCH_SIZE, Integer.toString(VALID_FILES.length));
+        sendTestData(VALID_FILES);
+        assertMessagesReceived(VALID_FILES);
+    }
+
+    @Test
+    public void testRunSuccessMultipleHostnames() throws Exception {
+        createTestServer(OUTGOING_MESSAGE_DELIMITER);
+        configureProperties(String.format("%s,%s", TCP_SERVER_ADDRESS, TCP_SERVER_ADDRESS), OUTGOING_MESSAGE_DELIMITER, false);
+        sendTestData(VALID_FILES);
+        assertMessagesReceived(VALID_FILES);
+    }
+
     @Test
     public void testRunSuccessConnectionPerFlowFile() throws Exception {
         createTestServer(OUTGOING_MESSAGE_DELIMITER);
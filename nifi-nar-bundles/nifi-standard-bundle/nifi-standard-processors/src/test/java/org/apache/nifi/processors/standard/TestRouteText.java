@@ -426,6 +426,28 @@ public class TestRouteText {
         outUnmatched.assertContentEquals("not match".getBytes("UTF-8"));
     }
 
+    @Test
+    public void testMultipleContainRegularExpressions() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.CONTAINS_REGULAR_EXPRESSION);
+        runner.setProperty("error", "ERROR|FATAL");
+        runner.setProperty("number", "\\d{3,}");
+        runner.setProperty("backreference", "(o)\\1d");
+
+        runner.enqueue("ERROR 500\nINFO ok\nFATAL boom\nall good 42\nmissing 404".getBytes("UTF-8"));
+        runner.run();
+
+        runner.assertTransferCount("error", 1);
+        runner.assertTransferCount("number", 1);
+        runner.assertTransferCount("backreference", 1);
+        runner.assertTransferCount("unmatched", 1);
+        runner.assertTransferCount("original", 1);
+        runner.getFlowFilesForRelationship("error").get(0).assertContentEquals("ERROR 500\nFATAL boom\n".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("number").get(0).assertContentEquals("ERROR 500\nmissing 404".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("backreference").get(0).assertContentEquals("all good 42\n".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("INFO ok\n".getBytes("UTF-8"));
+    }
+
     /* ------------------------------------------------------ */
 
     @Test
@@ -22,6 +22,7 @@ import org.apache.nifi.util.TestRunners;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.apache.nifi.processors.standard.SplitContent.FRAGMENT_COUNT;
@@ -338,6 +339,39 @@ public class TestSplitContent {
         splits.get(1).assertContentEquals(new byte[]{1, 2, 3, 4});
     }
 
+    @Test
+    public void testSequenceSpanningScanBuffer() {
+        final TestRunner runner = TestRunners.newTestRunner(new SplitContent());
+        runner.setProperty(SplitContent.KEEP_SEQUENCE, "false");
+        runner.setProperty(SplitContent.BYTE_SEQUENCE.getName(), "FFFFFFFF");
+
+        // the first sequence starts two bytes before the end of the first buffer read, the second one lies in the following read
+        final int firstSequenceOffset = SplitContent.SCAN_BUFFER_SIZE - 2;
+        final int secondSequenceOffset = SplitContent.SCAN_BUFFER_SIZE + 10000;
+        final byte[] input = new byte[SplitContent.SCAN_BUFFER_SIZE * 2];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (byte) (i % 100);
+        }
+        Arrays.fill(input, firstSequenceOffset, firstSequenceOffset + 4, (byte) 0xFF);
+        Arrays.fill(input, secondSequenceOffset, secondSequenceOffset + 4, (byte) 0xFF);
+
+        runner.enqueue(input);
+        runner.run();
+
+        runner.assertTransferCount(SplitContent.REL_ORIGINAL, 1);
+        runner.getFlowFilesForRelationship(SplitContent.REL_ORIGINAL).get(0).assertAttributeEquals(FRAGMENT_COUNT, "3");
+        runner.assertTransferCount(SplitContent.REL_SPLITS, 3);
+
+        runner.assertQueueEmpty();
+        final List<MockFlowFile> splits = runner.getFlowFilesForRelationship(SplitContent.REL_SPLITS);
+        splits.get(0).assertContentEquals(Arrays.copyOfRange(input, 0, firstSequenceOffset));
+        splits.get(1).assertContentEquals(Arrays.copyOfRange(input, firstSequenceOffset + 4, secondSequenceOffset));
+        splits.get(2).assertContentEquals(Arrays.copyOfRange(input, secondSequenceOffset + 4, input.length));
+        splits.get(0).assertAttributeEquals(FRAGMENT_INDEX, "1");
+        splits.get(1).assertAttributeEquals(FRAGMENT_INDEX, "2");
+        splits.get(2).assertAttributeEquals(FRAGMENT_INDEX, "3");
+    }
+
     @Test
     public void testSmallSplitsThenMerge() throws IOException {
         final TestRunner runner = TestRunners.newTestRunner(new SplitContent());
@@ -20,13 +20,16 @@ import net.lingala.zip4j.io.outputstream.ZipOutputStream;
 import net.lingala.zip4j.model.ZipParameters;
 import net.lingala.zip4j.model.enums.EncryptionMethod;
 import org.apache.nifi.flowfile.attributes.CoreAttributes;
+import org.apache.nifi.util.FlowFileIndexedPackagerV3;
 import org.apache.nifi.util.MockFlowFile;
 import org.apache.nifi.util.TestRunner;
 import org.apache.nifi.util.TestRunners;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -39,6 +42,7 @@ import java.util.UUID;
 import static org.apache.nifi.processors.standard.SplitContent.FRAGMENT_COUNT;
 import static org.apache.nifi.processors.standard.SplitContent.FRAGMENT_ID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestUnpackContent {
@@ -326,6 +330,54 @@ public class TestUnpackContent {
         }
     }
 
+    @Test
+    public void testFlowFileStreamV3Indexed() throws IOException {
+        final FlowFileIndexedPackagerV3 packager = new FlowFileIndexedPackagerV3();
+        final ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+        final byte[] first = "first content".getBytes(StandardCharsets.UTF_8);
+        final byte[] second = "second content".getBytes(StandardCharsets.UTF_8);
+        final Map<String, String> firstAttributes = new HashMap<>();
+        firstAttributes.put(CoreAttributes.FILENAME.key(), "first.txt");
+        firstAttributes.put(CoreAttributes.UUID.key(), UUID.randomUUID().toString());
+        final Map<String, String> secondAttributes = new HashMap<>();
+        secondAttributes.put(CoreAttributes.FILENAME.key(), "second.txt");
+        secondAttributes.put(CoreAttributes.MIME_TYPE.key(), "text/plain");
+        packager.packageFlowFile(new ByteArrayInputStream(first), bundle, firstAttributes, first.length);
+        packager.packageFlowFile(new ByteArrayInputStream(second), bundle, secondAttributes, second.length);
+        packager.writeIndex(bundle);
+
+        final TestRunner runner = TestRunners.newTestRunner(new UnpackContent());
+        runner.setProperty(UnpackContent.PACKAGING_FORMAT, UnpackContent.PackageFormat.FLOWFILE_STREAM_FORMAT_V3_INDEXED.toString());
+        runner.enqueue(bundle.toByteArray());
+
+        runner.run();
+
+        runner.assertTransferCount(UnpackContent.REL_SUCCESS, 2);
+        runner.assertTransferCount(UnpackContent.REL_ORIGINAL, 1);
+        runner.getFlowFilesForRelationship(UnpackContent.REL_ORIGINAL).get(0).assertAttributeEquals(FRAGMENT_COUNT, "2");
+        runner.assertTransferCount(UnpackContent.REL_FAILURE, 0);
+
+        final List<MockFlowFile> unpacked = runner.getFlowFilesForRelationship(UnpackContent.REL_SUCCESS);
+        unpacked.get(0).assertContentEquals(first);
+        unpacked.get(0).assertAttributeEquals(CoreAttributes.FILENAME.key(), "first.txt");
+        unpacked.get(0).assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), UnpackContent.OCTET_STREAM);
+        assertNotEquals(firstAttributes.get(CoreAttributes.UUID.key()), unpacked.get(0).getAttribute(CoreAttributes.UUID.key()));
+        unpacked.get(1).assertContentEquals(second);
+        unpacked.get(1).assertAttributeEquals(CoreAttributes.FILENAME.key(), "second.txt");
+        unpacked.get(1).assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), "text/plain");
+    }
+
+    @Test
+    public void testFlowFileStreamV3IndexedInvalid() {
+        final TestRunner runner = TestRunners.newTestRunner(new UnpackContent());
+        runner.setProperty(UnpackContent.PACKAGING_FORMAT, UnpackContent.PackageFormat.FLOWFILE_STREAM_FORMAT_V3_INDEXED.toString());
+        runner.enqueue("not an indexed bundle".getBytes(StandardCharsets.UTF_8));
+
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(UnpackContent.REL_FAILURE, 1);
+    }
+
     @Test
     public void testFlowFileStreamV2() throws IOException {
         final TestRunner runner = TestRunners.newTestRunner(new UnpackContent());
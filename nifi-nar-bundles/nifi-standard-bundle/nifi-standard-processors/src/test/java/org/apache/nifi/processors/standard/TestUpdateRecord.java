@@ -160,6 +160,33 @@ public class TestUpdateRecord {
         out.assertContentEquals("header\n1,John Doe,35\n2,Jane Doe,36\n3,John Smith,37\n4,Jane Smith,38\n");
     }
 
+    @Test
+    public void testLiteralReplacementRowIndexWithParallelProcessing() throws InitializationException {
+        readerService = new MockRecordParser();
+        readerService.addSchemaField("id", RecordFieldType.LONG);
+        readerService.addSchemaField("name", RecordFieldType.STRING);
+        runner.addControllerService("reader", readerService);
+        runner.enableControllerService(readerService);
+
+        runner.setProperty(UpdateRecord.REPLACEMENT_VALUE_STRATEGY, UpdateRecord.LITERAL_VALUES);
+        runner.setProperty(UpdateRecord.PROCESSING_THREADS, "4");
+        runner.setProperty(UpdateRecord.PROCESSING_BATCH_SIZE, "3");
+        runner.setProperty("/id", "${record.index}");
+
+        runner.enqueue("");
+
+        final StringBuilder expected = new StringBuilder("header\n");
+        for (int i = 1; i <= 50; i++) {
+            readerService.addRecord(null, "Name " + i);
+            expected.append(i).append(",Name ").append(i).append("\n");
+        }
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(UpdateRecord.REL_SUCCESS, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(UpdateRecord.REL_SUCCESS).get(0);
+        out.assertContentEquals(expected.toString());
+    }
+
     @Test
     public void testReplaceWithMissingRecordPath() throws InitializationException {
         readerService = new MockRecordParser();
@@ -165,4 +165,13 @@ public class TestOracle12DatabaseAdapter {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testMultiRowInsertStatement() {
+        assertTrue(db.supportsMultiRowInsert());
+
+        String sql = db.getMultiRowInsertStatement("database.tablename", Arrays.asList("col1", "col2"), 2);
+        String expected = "INSERT ALL INTO database.tablename (col1, col2) VALUES (?,?) INTO database.tablename (col1, col2) VALUES (?,?) SELECT 1 FROM DUAL";
+        assertEquals(expected, sql);
+    }
+
 }
@@ -16,11 +16,14 @@
  */
 package org.apache.nifi.processors.standard.db.impl;
 
+import java.util.Arrays;
+
 import org.apache.nifi.processors.standard.db.DatabaseAdapter;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestOracleDatabaseAdapter {
 
@@ -102,4 +105,13 @@ public class TestOracleDatabaseAdapter {
         String expected4 = "SELECT some(set),of(columns),that,might,contain,methods,a.* FROM database.tablename";
         assertEquals(expected4, sql4);
     }
+
+    @Test
+    public void testMultiRowInsertStatement() {
+        assertTrue(db.supportsMultiRowInsert());
+
+        String sql = db.getMultiRowInsertStatement("database.tablename", Arrays.asList("col1", "col2"), 2);
+        String expected = "INSERT ALL INTO database.tablename (col1, col2) VALUES (?,?) INTO database.tablename (col1, col2) VALUES (?,?) SELECT 1 FROM DUAL";
+        assertEquals(expected, sql);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.sql;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.ListRecordSet;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.RecordSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPipelinedRecordSet {
+
+    private static final RecordSchema SCHEMA = new SimpleRecordSchema(Collections.singletonList(new RecordField("id", RecordFieldType.INT.getDataType())));
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRecordsReturnedInOrder() throws IOException {
+        final List<Record> records = createRecords(10_000);
+
+        try (final PipelinedRecordSet recordSet = new PipelinedRecordSet(new ListRecordSet(SCHEMA, records), 16, executor)) {
+            assertEquals(SCHEMA, recordSet.getSchema());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(i, recordSet.next().getAsInt("id"));
+            }
+            assertNull(recordSet.next());
+            assertNull(recordSet.next());
+        }
+    }
+
+    @Test
+    public void testEmptyRecordSet() throws IOException {
+        try (final PipelinedRecordSet recordSet = new PipelinedRecordSet(new ListRecordSet(SCHEMA, Collections.emptyList()), 16, executor)) {
+            assertNull(recordSet.next());
+        }
+    }
+
+    @Test
+    public void testFailureReportedAfterPrecedingRecords() throws IOException {
+        final RecordSet source = new FailingRecordSet(createRecords(5), new IOException("Intentional failure"));
+
+        try (final PipelinedRecordSet recordSet = new PipelinedRecordSet(source, 100, executor)) {
+            final IOException e = assertThrows(IOException.class, () -> {
+                while (recordSet.next() != null) {
+                    // consume records until the failure is reported
+                }
+            });
+            assertEquals("Intentional failure", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCloseStopsReading() throws IOException {
+        final List<Record> records = createRecords(100_000);
+        final AtomicInteger recordsRead = new AtomicInteger();
+        final RecordSet source = new ListRecordSet(SCHEMA, records) {
+            @Override
+            public Record next() {
+                recordsRead.incrementAndGet();
+                return super.next();
+            }
+        };
+
+        final PipelinedRecordSet recordSet = new PipelinedRecordSet(source, 8, executor);
+        assertEquals(0, recordSet.next().getAsInt("id"));
+        recordSet.close();
+
+        final int readAtClose = recordsRead.get();
+        assertTrue(readAtClose < records.size());
+        assertEquals(readAtClose, recordsRead.get());
+    }
+
+    private static List<Record> createRecords(final int count) {
+        final List<Record> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(new MapRecord(SCHEMA, Collections.singletonMap("id", i)));
+        }
+        return records;
+    }
+
+    private static class FailingRecordSet implements RecordSet {
+        private final RecordSet records;
+        private final IOException failure;
+
+        FailingRecordSet(final List<Record> records, final IOException failure) {
+            this.records = new ListRecordSet(SCHEMA, records);
+            this.failure = failure;
+        }
+
+        @Override
+        public RecordSchema getSchema() {
+            return SCHEMA;
+        }
+
+        @Override
+        public Record next() throws IOException {
+            final Record record = records.next();
+            if (record == null) {
+                throw failure;
+            }
+            return record;
+        }
+    }
+}
@@ -20,6 +20,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -61,4 +63,29 @@ public class CacheClientSerde {
         }
         return bytesValues;
     }
+
+    /**
+     * Serialize the keys and values of a map, preserving the iteration order of the map entries.
+     *
+     * @param keysAndValues   the map entries to be serialized
+     * @param keySerializer   the serializer for the map keys
+     * @param valueSerializer the serializer for the map values
+     * @param bytesKeys       container for the byte stream representations of the map keys
+     * @param bytesValues     container for the byte stream representations of the map values
+     * @param <K>             the key type
+     * @param <V>             the value type
+     * @throws IOException on serialization failure
+     */
+    public static <K, V> void serialize(final Map<K, V> keysAndValues, final Serializer<K> keySerializer, final Serializer<V> valueSerializer,
+                                        final List<byte[]> bytesKeys, final List<byte[]> bytesValues) throws IOException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        for (final Map.Entry<K, V> entry : keysAndValues.entrySet()) {
+            keySerializer.serialize(entry.getKey(), os);
+            bytesKeys.add(os.toByteArray());
+            os.reset();
+            valueSerializer.serialize(entry.getValue(), os);
+            bytesValues.add(os.toByteArray());
+            os.reset();
+        }
+    }
 }
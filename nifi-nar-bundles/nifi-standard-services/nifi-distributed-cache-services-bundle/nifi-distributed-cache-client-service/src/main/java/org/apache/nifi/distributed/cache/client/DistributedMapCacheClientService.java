@@ -26,6 +26,7 @@ import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.AbstractControllerService;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.distributed.cache.client.adapter.AtomicCacheEntryInboundAdapter;
+import org.apache.nifi.distributed.cache.client.adapter.MapBooleanInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapValuesInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.SetInboundAdapter;
@@ -107,7 +108,7 @@ public class DistributedMapCacheClientService extends AbstractControllerService
     public void onEnabled(final ConfigurationContext context) {
         getLogger().debug("Enabling Map Cache Client Service [{}]", context.getName());
         this.versionNegotiatorFactory  = new StandardVersionNegotiatorFactory(
-                ProtocolVersion.V3.value(), ProtocolVersion.V2.value(), ProtocolVersion.V1.value());
+                ProtocolVersion.V4.value(), ProtocolVersion.V3.value(), ProtocolVersion.V2.value(), ProtocolVersion.V1.value());
         this.cacheClient = new NettyDistributedMapCacheClient(
                 context.getProperty(HOSTNAME).getValue(),
                 context.getProperty(PORT).asInteger(),
@@ -142,12 +143,43 @@ public class DistributedMapCacheClientService extends AbstractControllerService
         cacheClient.put(bytesKey, bytesValue);
     }
 
+    @Override
+    public <K, V> void putAll(final Map<K, V> keysAndValues, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        if (keysAndValues.isEmpty()) {
+            return;
+        }
+        final List<byte[]> bytesKeys = new ArrayList<>(keysAndValues.size());
+        final List<byte[]> bytesValues = new ArrayList<>(keysAndValues.size());
+        CacheClientSerde.serialize(keysAndValues, keySerializer, valueSerializer, bytesKeys, bytesValues);
+        try {
+            cacheClient.putAll(bytesKeys, bytesValues);
+        } catch (final UnsupportedOperationException e) {
+            // Remote cache server does not support bulk operations
+            AtomicDistributedMapCacheClient.super.putAll(keysAndValues, keySerializer, valueSerializer);
+        }
+    }
+
     @Override
     public <K> boolean containsKey(final K key, final Serializer<K> keySerializer) throws IOException {
         final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
         return cacheClient.containsKey(bytesKey);
     }
 
+    @Override
+    public <K> Map<K, Boolean> containsKeys(final Set<K> keys, final Serializer<K> keySerializer) throws IOException {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        final Collection<byte[]> bytesKeys = CacheClientSerde.serialize(keys, keySerializer);
+        final MapBooleanInboundAdapter<K> inboundAdapter = new MapBooleanInboundAdapter<>(keys, new HashMap<>());
+        try {
+            return cacheClient.containsKeys(bytesKeys, inboundAdapter);
+        } catch (final UnsupportedOperationException e) {
+            // Remote cache server does not support bulk operations
+            return AtomicDistributedMapCacheClient.super.containsKeys(keys, keySerializer);
+        }
+    }
+
     @Override
     public <K, V> V getAndPutIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer, final Deserializer<V> valueDeserializer) throws IOException {
         final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
@@ -156,6 +188,25 @@ public class DistributedMapCacheClientService extends AbstractControllerService
         return cacheClient.getAndPutIfAbsent(bytesKey, bytesValue, inboundAdapter);
     }
 
+    @Override
+    public <K, V> Map<K, V> getAndPutAllIfAbsent(final Map<K, V> keysAndValues, final Serializer<K> keySerializer, final Serializer<V> valueSerializer,
+                                                final Deserializer<V> valueDeserializer) throws IOException {
+        if (keysAndValues.isEmpty()) {
+            return new HashMap<>();
+        }
+        final List<byte[]> bytesKeys = new ArrayList<>(keysAndValues.size());
+        final List<byte[]> bytesValues = new ArrayList<>(keysAndValues.size());
+        CacheClientSerde.serialize(keysAndValues, keySerializer, valueSerializer, bytesKeys, bytesValues);
+        final MapValuesInboundAdapter<K, V> inboundAdapter =
+                new MapValuesInboundAdapter<>(keysAndValues.keySet(), valueDeserializer, new HashMap<>());
+        try {
+            return cacheClient.getAndPutAllIfAbsent(bytesKeys, bytesValues, inboundAdapter);
+        } catch (final UnsupportedOperationException e) {
+            // Remote cache server does not support bulk operations
+            return AtomicDistributedMapCacheClient.super.getAndPutAllIfAbsent(keysAndValues, keySerializer, valueSerializer, valueDeserializer);
+        }
+    }
+
     @Override
     public <K, V> V get(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
         final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
@@ -168,7 +219,12 @@ public class DistributedMapCacheClientService extends AbstractControllerService
         Collection<byte[]> bytesKeys = CacheClientSerde.serialize(keys, keySerializer);
         final MapValuesInboundAdapter<K, V> inboundAdapter =
                 new MapValuesInboundAdapter<>(keys, valueDeserializer, new HashMap<>());
-        return cacheClient.subMap(bytesKeys, inboundAdapter);
+        try {
+            return cacheClient.subMap(bytesKeys, inboundAdapter);
+        } catch (final UnsupportedOperationException e) {
+            // Remote cache server does not support bulk operations
+            return AtomicDistributedMapCacheClient.super.subMap(keys, keySerializer, valueDeserializer);
+        }
     }
 
     @Override
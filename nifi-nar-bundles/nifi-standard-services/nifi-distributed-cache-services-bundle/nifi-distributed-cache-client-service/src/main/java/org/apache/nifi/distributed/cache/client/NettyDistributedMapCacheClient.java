@@ -19,6 +19,7 @@ package org.apache.nifi.distributed.cache.client;
 import org.apache.nifi.distributed.cache.client.adapter.AtomicCacheEntryInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.BooleanInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.LongInboundAdapter;
+import org.apache.nifi.distributed.cache.client.adapter.MapBooleanInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapValuesInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.OutboundAdapter;
@@ -33,6 +34,7 @@ import org.apache.nifi.ssl.SSLContextService;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -109,6 +111,26 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
         }
     }
 
+    /**
+     * Adds the specified keys and values to the cache, overwriting any values that are
+     * currently set, using a single request.
+     *
+     * @param keys   the keys to set
+     * @param values the values to associate with the keys, in the same order as the keys
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    public void putAll(final List<byte[]> keys, final List<byte[]> values) throws IOException {
+        final OutboundAdapter outboundAdapter = new OutboundAdapter()
+                .minimumVersion(ProtocolVersion.V4.value())
+                .write(MapOperation.PUT_ALL.value());
+        writeKeysAndValues(outboundAdapter, keys, values);
+        final BooleanInboundAdapter inboundAdapter = new BooleanInboundAdapter();
+        invoke(outboundAdapter, inboundAdapter);
+        if (!inboundAdapter.getResult()) {
+            throw new IOException("Server indicated 'putAll' operation failed");
+        }
+    }
+
     /**
      * Determines if the given value is present in the cache and if so returns
      * <code>true</code>, else returns <code>false</code>
@@ -127,6 +149,24 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
         return inboundAdapter.getResult();
     }
 
+    /**
+     * Determines which of the given keys are present in the cache, using a single request.
+     *
+     * @param <K>          the key type
+     * @param keys         the keys to lookup in the map
+     * @param mapAdapter   the reader used to deserialize the service result
+     * @return a map indicating whether each of the given keys is present in the cache
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    public <K> Map<K, Boolean> containsKeys(final Collection<byte[]> keys, final MapBooleanInboundAdapter<K> mapAdapter) throws IOException {
+        final OutboundAdapter outboundAdapter = new OutboundAdapter()
+                .minimumVersion(ProtocolVersion.V4.value())
+                .write(MapOperation.CONTAINS_KEYS.value())
+                .write(keys);
+        invoke(outboundAdapter, mapAdapter);
+        return mapAdapter.getResult();
+    }
+
     /**
      * Adds the specified key and value to the cache, if they are not already
      * present. If a value already exists in the cache for the given
@@ -150,6 +190,30 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
         return valueAdapter.getResult();
     }
 
+    /**
+     * Adds each of the specified keys and values to the cache, if the key is not already present, using a single
+     * request.  Entries are applied in order, so a key repeated in the request observes the value added for its
+     * earlier occurrence.
+     *
+     * @param <K>        the key type
+     * @param <V>        the value type
+     * @param keys       the keys to add to the map
+     * @param values     the values to add to the map if and only if the corresponding key is absent
+     * @param mapAdapter the reader used to deserialize the service result
+     * @return a map of the values that already existed in the cache for the given keys; a <code>null</code> value
+     * indicates that the key and its value were added to the cache
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    public <K, V> Map<K, V> getAndPutAllIfAbsent(final List<byte[]> keys, final List<byte[]> values,
+                                                final MapValuesInboundAdapter<K, V> mapAdapter) throws IOException {
+        final OutboundAdapter outboundAdapter = new OutboundAdapter()
+                .minimumVersion(ProtocolVersion.V4.value())
+                .write(MapOperation.GET_AND_PUT_ALL_IF_ABSENT.value());
+        writeKeysAndValues(outboundAdapter, keys, values);
+        invoke(outboundAdapter, mapAdapter);
+        return mapAdapter.getResult();
+    }
+
     /**
      * Returns the value in the cache for the given key, if one exists;
      * otherwise returns <code>null</code>
@@ -328,4 +392,11 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
         }
         closeChannelPool();
     }
+
+    private void writeKeysAndValues(final OutboundAdapter outboundAdapter, final List<byte[]> keys, final List<byte[]> values) throws IOException {
+        outboundAdapter.write(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            outboundAdapter.write(keys.get(i)).write(values.get(i));
+        }
+    }
 }
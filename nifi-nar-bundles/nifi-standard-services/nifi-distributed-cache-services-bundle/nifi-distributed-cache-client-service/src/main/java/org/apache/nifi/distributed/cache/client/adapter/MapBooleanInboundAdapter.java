@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client.adapter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link InboundAdapter} where the service response payload is expected to be
+ * a sequence of {@link Boolean} values, one for each key provided by the caller.  These are to be reassembled
+ * into a map using the keys provided by the caller.
+ *
+ * @param <K> the expected type of the service keys
+ */
+public class MapBooleanInboundAdapter<K> implements InboundAdapter {
+
+    /**
+     * An iterator used to traverse the caller-supplied keys, in order to reassemble the service map.
+     */
+    private final Iterator<K> iteratorKeys;
+
+    /**
+     * Container for bytes queued from the service response {@link io.netty.channel.Channel}.
+     */
+    private final ByteBuf byteBuf;
+
+    /**
+     * The reassembled map resulting from the service call.
+     */
+    private final Map<K, Boolean> result;
+
+    /**
+     * Constructor.
+     *
+     * @param keys   the map keys requested by the caller
+     * @param result container for the map entries reconstituted from the service response
+     */
+    public MapBooleanInboundAdapter(final Set<K> keys, final Map<K, Boolean> result) {
+        this.iteratorKeys = keys.iterator();
+        this.byteBuf = Unpooled.buffer();
+        this.result = result;
+    }
+
+    /**
+     * @return the service method response map
+     */
+    public Map<K, Boolean> getResult() {
+        return result;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return (!iteratorKeys.hasNext());
+    }
+
+    @Override
+    public void queue(final byte[] bytes) {
+        byteBuf.writeBytes(bytes);
+    }
+
+    @Override
+    public void dequeue() {
+        while (iteratorKeys.hasNext() && byteBuf.readableBytes() >= 1) {
+            final byte b = byteBuf.readByte();
+            result.put(iteratorKeys.next(), b != 0);
+        }
+    }
+}
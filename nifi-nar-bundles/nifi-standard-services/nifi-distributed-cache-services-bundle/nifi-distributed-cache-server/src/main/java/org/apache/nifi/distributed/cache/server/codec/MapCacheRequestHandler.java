@@ -62,11 +62,17 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
 
         if (MapOperation.CLOSE == cacheOperation) {
             log.debug("Map Cache Operation [{}] received", cacheOperation);
+            channelHandlerContext.flush();
             channelHandlerContext.close();
         } else if (MapOperation.CONTAINS_KEY == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final boolean success = mapCache.containsKey(key);
             writeResult(channelHandlerContext, cacheOperation, success);
+        } else if (MapOperation.CONTAINS_KEYS == cacheOperation) {
+            for (final byte[] key : mapCacheRequest.getKeys()) {
+                final boolean success = mapCache.containsKey(ByteBuffer.wrap(key));
+                writeResult(channelHandlerContext, cacheOperation, success);
+            }
         } else if (MapOperation.GET == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final ByteBuffer cached = mapCache.get(key);
@@ -77,6 +83,14 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
             final MapPutResult result = mapCache.putIfAbsent(key, value);
             final ByteBuffer cached = result.isSuccessful() ? null : result.getExisting().getValue();
             writeBytes(channelHandlerContext, cacheOperation, cached);
+        } else if (MapOperation.GET_AND_PUT_ALL_IF_ABSENT == cacheOperation) {
+            final List<byte[]> keys = mapCacheRequest.getKeys();
+            final List<byte[]> values = mapCacheRequest.getValues();
+            for (int i = 0; i < keys.size(); i++) {
+                final MapPutResult result = mapCache.putIfAbsent(ByteBuffer.wrap(keys.get(i)), ByteBuffer.wrap(values.get(i)));
+                final ByteBuffer cached = result.isSuccessful() ? null : result.getExisting().getValue();
+                writeBytes(channelHandlerContext, cacheOperation, cached);
+            }
         } else if (MapOperation.FETCH == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final MapCacheRecord mapCacheRecord = mapCache.fetch(key);
@@ -92,6 +106,15 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
             final ByteBuffer value = ByteBuffer.wrap(mapCacheRequest.getValue());
             final MapPutResult result = mapCache.put(key, value);
             writeResult(channelHandlerContext, cacheOperation, result.isSuccessful());
+        } else if (MapOperation.PUT_ALL == cacheOperation) {
+            final List<byte[]> keys = mapCacheRequest.getKeys();
+            final List<byte[]> values = mapCacheRequest.getValues();
+            boolean success = true;
+            for (int i = 0; i < keys.size(); i++) {
+                final MapPutResult result = mapCache.put(ByteBuffer.wrap(keys.get(i)), ByteBuffer.wrap(values.get(i)));
+                success &= result.isSuccessful();
+            }
+            writeResult(channelHandlerContext, cacheOperation, success);
         } else if (MapOperation.PUT_IF_ABSENT == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final ByteBuffer value = ByteBuffer.wrap(mapCacheRequest.getValue());
@@ -141,22 +164,34 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
         }
     }
 
+    /**
+     * Flush responses written for all requests decoded from the bytes read, so that pipelined and bulk requests
+     * are answered with a single network write
+     *
+     * @param channelHandlerContext Channel Handler Context
+     */
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext channelHandlerContext) {
+        channelHandlerContext.flush();
+        channelHandlerContext.fireChannelReadComplete();
+    }
+
     private void writeResult(final ChannelHandlerContext channelHandlerContext, final CacheOperation cacheOperation, final boolean success) {
         log.debug("Map Cache Operation [{}] Success [{}]", cacheOperation, success);
         final CacheOperationResult cacheOperationResult = new CacheOperationResult(success);
-        channelHandlerContext.writeAndFlush(cacheOperationResult);
+        channelHandlerContext.write(cacheOperationResult);
     }
 
     private void writeRemoved(final ChannelHandlerContext channelHandlerContext, final CacheOperation cacheOperation, final long size) {
         final MapRemoveResponse mapRemoveResponse = new MapRemoveResponse(size);
         log.debug("Map Cache Operation [{}] Size [{}]", cacheOperation, size);
-        channelHandlerContext.writeAndFlush(mapRemoveResponse);
+        channelHandlerContext.write(mapRemoveResponse);
     }
 
     private void writeSize(final ChannelHandlerContext channelHandlerContext, final CacheOperation cacheOperation, final int size) {
         final MapSizeResponse mapSizeResponse = new MapSizeResponse(size);
         log.debug("Map Cache Operation [{}] Size [{}]", cacheOperation, size);
-        channelHandlerContext.writeAndFlush(mapSizeResponse);
+        channelHandlerContext.write(mapSizeResponse);
     }
 
     private void writeBytes(final ChannelHandlerContext channelHandlerContext, final CacheOperation cacheOperation, final ByteBuffer buffer) {
@@ -164,7 +199,7 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
         final int length = bytes == null ? 0 : bytes.length;
         final MapValueResponse mapValueResponse = new MapValueResponse(length, bytes);
         log.debug("Map Cache Operation [{}] Length [{}]", cacheOperation, length);
-        channelHandlerContext.writeAndFlush(mapValueResponse);
+        channelHandlerContext.write(mapValueResponse);
     }
 
     private void writeMapCacheRecord(final ChannelHandlerContext channelHandlerContext, final CacheOperation cacheOperation, final MapCacheRecord mapCacheRecord) {
@@ -173,6 +208,6 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
         final int length = value == null ? 0 : value.length;
         final MapValueResponse mapValueResponse = new MapValueResponse(length, value, revision);
         log.debug("Map Cache Operation [{}] Length [{}]", cacheOperation, length);
-        channelHandlerContext.writeAndFlush(mapValueResponse);
+        channelHandlerContext.write(mapValueResponse);
     }
 }
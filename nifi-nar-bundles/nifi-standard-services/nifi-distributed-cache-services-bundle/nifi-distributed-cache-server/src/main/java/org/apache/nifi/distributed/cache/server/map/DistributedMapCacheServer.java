@@ -18,15 +18,19 @@ package org.apache.nifi.distributed.cache.server.map;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.SeeAlso;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.distributed.cache.server.CacheServer;
 import org.apache.nifi.distributed.cache.server.DistributedCacheServer;
 import org.apache.nifi.distributed.cache.server.EvictionPolicy;
 import org.apache.nifi.processor.DataUnit;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.ssl.SSLContextService;
 
 @Tags({"distributed", "cluster", "map", "cache", "server", "key/value"})
@@ -35,6 +39,37 @@ import org.apache.nifi.ssl.SSLContextService;
 @SeeAlso(classNames = {"org.apache.nifi.distributed.cache.client.DistributedMapCacheClientService", "org.apache.nifi.ssl.StandardSSLContextService"})
 public class DistributedMapCacheServer extends DistributedCacheServer {
 
+    public static final PropertyDescriptor CACHE_SHARDS = new PropertyDescriptor.Builder()
+        .name("cache-shards")
+        .displayName("Cache Shards")
+        .description("The number of independent shards that cache entries are partitioned across. With a single shard, eviction follows the configured"
+            + " Eviction Strategy exactly, but all writes are serialized. With more than one shard, reads do not acquire locks, writes only lock the shard"
+            + " that owns the key, and eviction approximates the Eviction Strategy within each shard using a CLOCK algorithm. The Maximum Cache Entries"
+            + " are divided evenly across shards, so a shard may evict before the cache as a whole is full.")
+        .required(true)
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .defaultValue("1")
+        .build();
+
+    public static final PropertyDescriptor PERSISTENCE_SNAPSHOT_INTERVAL = new PropertyDescriptor.Builder()
+        .name("persistence-snapshot-interval")
+        .displayName("Persistence Snapshot Interval")
+        .description("If specified along with a Persistence Directory, the cache is persisted as a snapshot of all entries written at this interval,"
+            + " along with a journal of changes made since the latest snapshot, instead of a write-ahead log. On startup the latest snapshot is"
+            + " memory-mapped and loaded directly into the cache before the journal is replayed. Entries persisted using the write-ahead log"
+            + " are not migrated when this property is set for an existing Persistence Directory.")
+        .required(false)
+        .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+        .build();
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        final List<PropertyDescriptor> properties = super.getSupportedPropertyDescriptors();
+        properties.add(CACHE_SHARDS);
+        properties.add(PERSISTENCE_SNAPSHOT_INTERVAL);
+        return properties;
+    }
+
     @Override
     protected CacheServer createCacheServer(final ConfigurationContext context) {
         final int port = context.getProperty(PORT).asInteger();
@@ -43,6 +78,9 @@ public class DistributedMapCacheServer extends DistributedCacheServer {
         final int maxSize = context.getProperty(MAX_CACHE_ENTRIES).asInteger();
         final String evictionPolicyName = context.getProperty(EVICTION_POLICY).getValue();
         final int maxReadSize = context.getProperty(MAX_READ_SIZE).asDataSize(DataUnit.B).intValue();
+        final int shardCount = context.getProperty(CACHE_SHARDS).asInteger();
+        final Long snapshotInterval = context.getProperty(PERSISTENCE_SNAPSHOT_INTERVAL).asTimePeriod(TimeUnit.MILLISECONDS);
+        final long snapshotIntervalMillis = snapshotInterval == null ? 0 : snapshotInterval;
 
         final SSLContext sslContext;
         if (sslContextService == null) {
@@ -69,7 +107,7 @@ public class DistributedMapCacheServer extends DistributedCacheServer {
         try {
             final File persistenceDir = persistencePath == null ? null : new File(persistencePath);
 
-            return createMapCacheServer(port, maxSize, sslContext, evictionPolicy, persistenceDir, maxReadSize);
+            return createMapCacheServer(port, maxSize, sslContext, evictionPolicy, persistenceDir, maxReadSize, shardCount, snapshotIntervalMillis);
         } catch (final Exception e) {
             throw new RuntimeException(e);
         }
@@ -81,7 +119,9 @@ public class DistributedMapCacheServer extends DistributedCacheServer {
             final SSLContext sslContext,
             final EvictionPolicy evictionPolicy,
             final File persistenceDir,
-            final int maxReadSize
+            final int maxReadSize,
+            final int shardCount,
+            final long snapshotIntervalMillis
     ) throws IOException {
         return new StandardMapCacheServer(
                 getLogger(),
@@ -91,7 +131,9 @@ public class DistributedMapCacheServer extends DistributedCacheServer {
                 maxSize,
                 evictionPolicy,
                 persistenceDir,
-                maxReadSize
+                maxReadSize,
+                shardCount,
+                snapshotIntervalMillis
         );
     }
 }
@@ -18,6 +18,7 @@ package org.apache.nifi.distributed.cache.server.map;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -44,5 +45,13 @@ public interface MapCache {
 
     Set<ByteBuffer> keySet() throws IOException;
 
+    /**
+     * Get a point-in-time copy of all records in the cache without recording a hit for any record
+     *
+     * @return Collection of Map Cache Records
+     * @throws IOException Thrown on failure to read records
+     */
+    Collection<MapCacheRecord> records() throws IOException;
+
     void shutdown() throws IOException;
 }
@@ -178,6 +178,11 @@ public class PersistentMapCache implements MapCache {
         return wrapped.keySet();
     }
 
+    @Override
+    public Collection<MapCacheRecord> records() throws IOException {
+        return wrapped.records();
+    }
+
     @Override
     public void shutdown() throws IOException {
         wali.shutdown();
@@ -0,0 +1,432 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.apache.nifi.distributed.cache.server.EvictionPolicy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Map Cache that partitions entries by key hash across a number of independent shards. Reads do not acquire any lock,
+ * while writes only lock the shard that owns the key. Each shard evicts using a CLOCK sweep over a fixed size ring,
+ * which approximates the configured {@link EvictionPolicy} in constant amortized time:
+ * <ul>
+ *     <li>FIFO evicts the entry under the clock hand</li>
+ *     <li>LRU uses a single reference bit that is set on access and cleared by the clock hand</li>
+ *     <li>LFU uses a saturating frequency counter that is incremented on access and decremented by the clock hand</li>
+ * </ul>
+ * The maximum number of entries is divided across shards, so eviction may occur in a full shard before the cache as a
+ * whole reaches its maximum size.
+ */
+public class ShardedMapCache implements MapCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedMapCache.class);
+
+    private static final int MAX_FREQUENCY = 15;
+
+    private final String serviceIdentifier;
+    private final EvictionPolicy evictionPolicy;
+    private final Shard[] shards;
+
+    public ShardedMapCache(final String serviceIdentifier, final int maxSize, final EvictionPolicy evictionPolicy, final int shardCount) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum Size must be greater than 0");
+        }
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard Count must be greater than 0");
+        }
+
+        this.serviceIdentifier = serviceIdentifier;
+        this.evictionPolicy = evictionPolicy;
+
+        final int shardsRequired = Math.min(shardCount, maxSize);
+        this.shards = new Shard[shardsRequired];
+        for (int i = 0; i < shardsRequired; i++) {
+            final int capacity = maxSize / shardsRequired + (i < maxSize % shardsRequired ? 1 : 0);
+            shards[i] = new Shard(capacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ShardedMapCache[service id=" + serviceIdentifier + ", shards=" + shards.length + "]";
+    }
+
+    @Override
+    public MapPutResult putIfAbsent(final ByteBuffer key, final ByteBuffer value) {
+        final Shard shard = getShard(key);
+        shard.lock.lock();
+        try {
+            final Entry entry = shard.entries.get(key);
+            if (entry == null) {
+                return shard.put(key, value, null);
+            }
+
+            hit(entry);
+            return new MapPutResult(false, entry.record, entry.record, null);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public MapPutResult put(final ByteBuffer key, final ByteBuffer value) {
+        final Shard shard = getShard(key);
+        shard.lock.lock();
+        try {
+            return shard.put(key, value, shard.entries.get(key));
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(final ByteBuffer key) {
+        return lookup(key) != null;
+    }
+
+    @Override
+    public ByteBuffer get(final ByteBuffer key) {
+        final MapCacheRecord record = lookup(key);
+        return record == null ? null : record.getValue();
+    }
+
+    @Override
+    public Map<ByteBuffer, ByteBuffer> subMap(final List<ByteBuffer> keys) {
+        if (keys == null) {
+            return null;
+        }
+        final Map<ByteBuffer, ByteBuffer> results = new HashMap<>(keys.size());
+        for (final ByteBuffer key : keys) {
+            results.put(key, get(key));
+        }
+        return results;
+    }
+
+    @Override
+    public ByteBuffer remove(final ByteBuffer key) {
+        final Shard shard = getShard(key);
+        shard.lock.lock();
+        try {
+            final Entry entry = shard.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            shard.remove(entry);
+            return entry.record.getValue();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<ByteBuffer, ByteBuffer> removeByPattern(final String regex) {
+        final Pattern pattern = Pattern.compile(regex);
+        final Map<ByteBuffer, ByteBuffer> removedMap = new HashMap<>();
+        for (final Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                final Iterator<Entry> entries = shard.entries.values().iterator();
+                while (entries.hasNext()) {
+                    final Entry entry = entries.next();
+                    final MapCacheRecord record = entry.record;
+                    // Key must be backed by something that array() returns a byte[] that can be converted into a String via the default charset
+                    if (pattern.matcher(new String(record.getKey().array())).matches()) {
+                        entries.remove();
+                        shard.release(entry);
+                        removedMap.put(record.getKey(), record.getValue());
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return removedMap;
+    }
+
+    @Override
+    public MapCacheRecord fetch(final ByteBuffer key) {
+        return lookup(key);
+    }
+
+    @Override
+    public MapPutResult replace(final MapCacheRecord inputRecord) {
+        final ByteBuffer key = inputRecord.getKey();
+        final Shard shard = getShard(key);
+        shard.lock.lock();
+        try {
+            final Entry existing = shard.entries.get(key);
+            if (existing != null) {
+                hit(existing);
+                if (inputRecord.getRevision() != existing.record.getRevision()) {
+                    // The key has been updated by other operation.
+                    return new MapPutResult(false, inputRecord, existing.record, null);
+                }
+            }
+
+            return shard.put(key, inputRecord.getValue(), existing);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<ByteBuffer> keySet() {
+        final Set<ByteBuffer> keys = new HashSet<>();
+        for (final Shard shard : shards) {
+            keys.addAll(shard.entries.keySet());
+        }
+        return keys;
+    }
+
+    @Override
+    public Collection<MapCacheRecord> records() {
+        final List<MapCacheRecord> records = new ArrayList<>();
+        for (final Shard shard : shards) {
+            for (final Entry entry : shard.entries.values()) {
+                records.add(entry.record);
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public void shutdown() {
+        if (logger.isDebugEnabled()) {
+            for (final ShardStatistics statistics : getShardStatistics()) {
+                logger.debug("{} {}", this, statistics);
+            }
+        }
+    }
+
+    /**
+     * @return point-in-time statistics for each shard of the cache, in shard order
+     */
+    public List<ShardStatistics> getShardStatistics() {
+        final List<ShardStatistics> statistics = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            final Shard shard = shards[i];
+            statistics.add(new ShardStatistics(i, shard.entries.size(), shard.capacity, shard.hits.sum(), shard.misses.sum(), shard.evictions.sum()));
+        }
+        return Collections.unmodifiableList(statistics);
+    }
+
+    private MapCacheRecord lookup(final ByteBuffer key) {
+        final Shard shard = getShard(key);
+        final Entry entry = shard.entries.get(key);
+        if (entry == null) {
+            shard.misses.increment();
+            return null;
+        }
+
+        shard.hits.increment();
+        hit(entry);
+        return entry.record;
+    }
+
+    private void hit(final Entry entry) {
+        entry.record.hit();
+        switch (evictionPolicy) {
+            case LRU:
+                entry.weight = 1;
+                break;
+            case LFU:
+                Entry.WEIGHT_UPDATER.getAndUpdate(entry, weight -> Math.min(weight + 1, MAX_FREQUENCY));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Shard getShard(final ByteBuffer key) {
+        final int hash = key.hashCode();
+        // Spread the high bits since ByteBuffer hash codes are weak in the low bits for short keys
+        final int spread = hash ^ (hash >>> 16);
+        return shards[Math.floorMod(spread, shards.length)];
+    }
+
+    private final class Shard {
+        private final Lock lock = new ReentrantLock();
+        private final Map<ByteBuffer, Entry> entries;
+        private final int capacity;
+        private final Entry[] ring;
+        private final int[] freeSlots;
+        private int freeSlotCount;
+        private int hand;
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        private Shard(final int capacity) {
+            this.capacity = capacity;
+            this.entries = new ConcurrentHashMap<>(capacity);
+            this.ring = new Entry[capacity];
+            this.freeSlots = new int[capacity];
+            for (int i = 0; i < capacity; i++) {
+                freeSlots[i] = capacity - 1 - i;
+            }
+            this.freeSlotCount = capacity;
+        }
+
+        // called only while holding the shard lock
+        private MapPutResult put(final ByteBuffer key, final ByteBuffer value, final Entry existing) {
+            final MapCacheRecord evicted;
+            final long revision;
+            final int slot;
+            if (existing == null) {
+                revision = 0;
+                if (freeSlotCount == 0) {
+                    final Entry victim = evict();
+                    evicted = victim.record;
+                    slot = victim.slot;
+                } else {
+                    evicted = null;
+                    slot = freeSlots[--freeSlotCount];
+                }
+            } else {
+                evicted = null;
+                revision = existing.record.getRevision() + 1;
+                slot = existing.slot;
+            }
+
+            final MapCacheRecord record = new MapCacheRecord(key, value, revision);
+            final Entry entry = new Entry(record, slot, evictionPolicy == EvictionPolicy.LRU ? 1 : 0);
+            ring[slot] = entry;
+            entries.put(key, entry);
+
+            return new MapPutResult(true, record, existing == null ? null : existing.record, evicted);
+        }
+
+        // called only while holding the shard lock
+        private void remove(final Entry entry) {
+            entries.remove(entry.record.getKey());
+            release(entry);
+        }
+
+        // called only while holding the shard lock
+        private void release(final Entry entry) {
+            ring[entry.slot] = null;
+            freeSlots[freeSlotCount++] = entry.slot;
+        }
+
+        // called only while holding the shard lock and when every slot of the ring is occupied
+        private Entry evict() {
+            while (true) {
+                final Entry candidate = ring[hand];
+                hand = (hand + 1) % capacity;
+
+                if (evictionPolicy == EvictionPolicy.FIFO || candidate.weight == 0) {
+                    entries.remove(candidate.record.getKey());
+                    ring[candidate.slot] = null;
+                    evictions.increment();
+
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Evicting value {} from cache", new String(candidate.record.getValue().array(), StandardCharsets.UTF_8));
+                    }
+                    return candidate;
+                }
+
+                Entry.WEIGHT_UPDATER.getAndUpdate(candidate, weight -> Math.max(weight - 1, 0));
+            }
+        }
+    }
+
+    private static final class Entry {
+        private static final AtomicIntegerFieldUpdater<Entry> WEIGHT_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "weight");
+
+        private final MapCacheRecord record;
+        private final int slot;
+        private volatile int weight;
+
+        private Entry(final MapCacheRecord record, final int slot, final int weight) {
+            this.record = record;
+            this.slot = slot;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Point-in-time statistics for a single shard of the cache
+     */
+    public static final class ShardStatistics {
+        private final int shard;
+        private final int size;
+        private final int capacity;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        private ShardStatistics(final int shard, final int size, final int capacity, final long hits, final long misses, final long evictions) {
+            this.shard = shard;
+            this.size = size;
+            this.capacity = capacity;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public int getShard() {
+            return shard;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        @Override
+        public String toString() {
+            return "ShardStatistics[shard=" + shard + ", size=" + size + ", capacity=" + capacity
+                    + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+        }
+    }
+}
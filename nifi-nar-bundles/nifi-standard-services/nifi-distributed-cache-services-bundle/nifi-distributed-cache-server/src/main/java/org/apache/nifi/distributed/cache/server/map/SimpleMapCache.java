@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -284,6 +285,16 @@ public class SimpleMapCache implements MapCache {
         }
     }
 
+    @Override
+    public Collection<MapCacheRecord> records() {
+        readLock.lock();
+        try {
+            return new ArrayList<>(cache.values());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     @Override
     public void shutdown() throws IOException {
     }
@@ -0,0 +1,467 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Map Cache persisted as periodic snapshots of the entire cache along with a journal of updates applied since the
+ * latest snapshot. Each snapshot rolls the journal to a new generation, writes every record of the wrapped cache to a
+ * new snapshot file, and then removes journals that the snapshot covers. Since journal updates are idempotent, records
+ * updated while the snapshot is being written are reconciled by replaying the journal on restore.
+ * <p>
+ * On restore the latest snapshot is memory-mapped and records are loaded directly into the wrapped cache, without
+ * building an intermediate collection of recovered records, followed by replay of the remaining journals.
+ */
+public class SnapshotMapCache implements MapCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotMapCache.class);
+
+    static final String SNAPSHOT_FILE_NAME = "snapshot.bin";
+
+    private static final String SNAPSHOT_PARTIAL_FILE_NAME = "snapshot.bin.partial";
+
+    private static final Pattern JOURNAL_FILE_PATTERN = Pattern.compile("journal\\.(\\d+)\\.bin");
+
+    private static final int SNAPSHOT_MAGIC = 0x4E69466D;
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final int UPDATE_DELETE = 0;
+
+    private static final int UPDATE_CREATE = 1;
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final long MAX_MAPPED_REGION_SIZE = Integer.MAX_VALUE;
+
+    private final String serviceIdentifier;
+    private final File persistencePath;
+    private final MapCache wrapped;
+    private final long snapshotIntervalMillis;
+
+    private final AtomicLong modifications = new AtomicLong(0L);
+
+    private final Object journalLock = new Object();
+    private DataOutputStream journal;
+    private long journalGeneration;
+
+    private volatile ScheduledExecutorService snapshotExecutor;
+
+    public SnapshotMapCache(final String serviceIdentifier, final File persistencePath, final MapCache cacheToWrap, final long snapshotIntervalMillis) {
+        this.serviceIdentifier = serviceIdentifier;
+        this.persistencePath = persistencePath;
+        this.wrapped = cacheToWrap;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotMapCache[service id=" + serviceIdentifier + "]";
+    }
+
+    synchronized void restore() throws IOException {
+        if (!persistencePath.exists() && !persistencePath.mkdirs()) {
+            throw new IOException("Failed to create Persistence Directory " + persistencePath);
+        }
+
+        final long started = System.nanoTime();
+        final File snapshotFile = new File(persistencePath, SNAPSHOT_FILE_NAME);
+        final long firstJournalGeneration = snapshotFile.exists() ? loadSnapshot(snapshotFile) : 0L;
+
+        long replayed = 0;
+        long lastJournalGeneration = firstJournalGeneration - 1;
+        for (final Map.Entry<Long, File> journalFile : getJournalFiles().entrySet()) {
+            final long generation = journalFile.getKey();
+            if (generation >= firstJournalGeneration) {
+                replayed += replayJournal(journalFile.getValue());
+                lastJournalGeneration = generation;
+            }
+        }
+
+        // Updates replayed from journals are consolidated by the next snapshot
+        modifications.set(replayed);
+
+        synchronized (journalLock) {
+            journalGeneration = lastJournalGeneration + 1;
+            journal = openJournal(journalGeneration);
+        }
+
+        logger.info("{} restored from {} in {} ms with {} journal updates replayed", this, persistencePath,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), replayed);
+
+        final ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = defaultThreadFactory.newThread(runnable);
+            thread.setName(this + " Snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotExecutor.scheduleWithFixedDelay(this::snapshotIfModified, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write a snapshot of all records in the cache and remove journals that the snapshot covers
+     *
+     * @throws IOException Thrown on failure to write the snapshot
+     */
+    synchronized void snapshot() throws IOException {
+        final long snapshotGeneration;
+        final long modificationsCovered;
+        synchronized (journalLock) {
+            journal.close();
+            journalGeneration++;
+            journal = openJournal(journalGeneration);
+            snapshotGeneration = journalGeneration;
+            modificationsCovered = modifications.getAndSet(0L);
+        }
+
+        try {
+            final Collection<MapCacheRecord> records = wrapped.records();
+            final File partialFile = new File(persistencePath, SNAPSHOT_PARTIAL_FILE_NAME);
+            try (final FileChannel channel = FileChannel.open(partialFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(snapshotGeneration);
+                out.writeInt(records.size());
+                for (final MapCacheRecord record : records) {
+                    writeBytes(out, record.getKey());
+                    writeBytes(out, record.getValue());
+                }
+                out.flush();
+                channel.force(true);
+            }
+
+            final File snapshotFile = new File(persistencePath, SNAPSHOT_FILE_NAME);
+            Files.move(partialFile.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("{} wrote snapshot of {} records covering journals before generation {}", this, records.size(), snapshotGeneration);
+        } catch (final IOException | RuntimeException e) {
+            // Journals are retained so that the previous snapshot remains recoverable
+            modifications.addAndGet(modificationsCovered);
+            throw e;
+        }
+
+        for (final Map.Entry<Long, File> journalFile : getJournalFiles().entrySet()) {
+            if (journalFile.getKey() < snapshotGeneration && !journalFile.getValue().delete()) {
+                logger.warn("{} failed to delete journal {} covered by snapshot", this, journalFile.getValue());
+            }
+        }
+    }
+
+    private void snapshotIfModified() {
+        if (modifications.get() == 0) {
+            return;
+        }
+
+        try {
+            snapshot();
+        } catch (final Exception e) {
+            logger.warn("{} failed to write snapshot to {}", this, persistencePath, e);
+        }
+    }
+
+    @Override
+    public MapPutResult putIfAbsent(final ByteBuffer key, final ByteBuffer value) throws IOException {
+        final MapPutResult putResult = wrapped.putIfAbsent(key, value);
+        journalPut(key, value, putResult);
+        return putResult;
+    }
+
+    @Override
+    public MapPutResult put(final ByteBuffer key, final ByteBuffer value) throws IOException {
+        final MapPutResult putResult = wrapped.put(key, value);
+        journalPut(key, value, putResult);
+        return putResult;
+    }
+
+    @Override
+    public boolean containsKey(final ByteBuffer key) throws IOException {
+        return wrapped.containsKey(key);
+    }
+
+    @Override
+    public ByteBuffer get(final ByteBuffer key) throws IOException {
+        return wrapped.get(key);
+    }
+
+    @Override
+    public Map<ByteBuffer, ByteBuffer> subMap(final List<ByteBuffer> keys) throws IOException {
+        return wrapped.subMap(keys);
+    }
+
+    @Override
+    public ByteBuffer remove(final ByteBuffer key) throws IOException {
+        final ByteBuffer removed = wrapped.remove(key);
+        if (removed != null) {
+            synchronized (journalLock) {
+                writeUpdate(UPDATE_DELETE, key, null);
+                journal.flush();
+            }
+            modifications.incrementAndGet();
+        }
+        return removed;
+    }
+
+    @Override
+    public Map<ByteBuffer, ByteBuffer> removeByPattern(final String regex) throws IOException {
+        final Map<ByteBuffer, ByteBuffer> removed = wrapped.removeByPattern(regex);
+        if (removed != null && !removed.isEmpty()) {
+            synchronized (journalLock) {
+                for (final ByteBuffer key : removed.keySet()) {
+                    writeUpdate(UPDATE_DELETE, key, null);
+                }
+                journal.flush();
+            }
+            modifications.addAndGet(removed.size());
+        }
+        return removed;
+    }
+
+    @Override
+    public MapCacheRecord fetch(final ByteBuffer key) throws IOException {
+        return wrapped.fetch(key);
+    }
+
+    @Override
+    public MapPutResult replace(final MapCacheRecord record) throws IOException {
+        final MapPutResult putResult = wrapped.replace(record);
+        journalPut(record.getKey(), record.getValue(), putResult);
+        return putResult;
+    }
+
+    @Override
+    public Set<ByteBuffer> keySet() throws IOException {
+        return wrapped.keySet();
+    }
+
+    @Override
+    public Collection<MapCacheRecord> records() throws IOException {
+        return wrapped.records();
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        final ScheduledExecutorService executor = snapshotExecutor;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(snapshotIntervalMillis, TimeUnit.MILLISECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+
+        try {
+            // Write a final snapshot so that the next restore does not need to replay journals
+            if (journal != null) {
+                snapshotIfModified();
+            }
+        } finally {
+            synchronized (journalLock) {
+                if (journal != null) {
+                    journal.close();
+                    journal = null;
+                }
+            }
+            wrapped.shutdown();
+        }
+    }
+
+    private void journalPut(final ByteBuffer key, final ByteBuffer value, final MapPutResult putResult) throws IOException {
+        if (putResult.isSuccessful()) {
+            synchronized (journalLock) {
+                writeUpdate(UPDATE_CREATE, key, value);
+
+                final MapCacheRecord evicted = putResult.getEvicted();
+                if (evicted != null) {
+                    writeUpdate(UPDATE_DELETE, evicted.getKey(), null);
+                }
+                journal.flush();
+            }
+            modifications.incrementAndGet();
+        }
+    }
+
+    // called only while holding the journal lock
+    private void writeUpdate(final int updateType, final ByteBuffer key, final ByteBuffer value) throws IOException {
+        journal.write(updateType);
+        writeBytes(journal, key);
+        if (updateType == UPDATE_CREATE) {
+            writeBytes(journal, value);
+        }
+    }
+
+    private DataOutputStream openJournal(final long generation) throws IOException {
+        final File journalFile = new File(persistencePath, "journal." + generation + ".bin");
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile, true), BUFFER_SIZE));
+    }
+
+    private Map<Long, File> getJournalFiles() {
+        final Map<Long, File> journalFiles = new TreeMap<>();
+        final File[] files = persistencePath.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                final Matcher matcher = JOURNAL_FILE_PATTERN.matcher(file.getName());
+                if (matcher.matches()) {
+                    journalFiles.put(Long.parseLong(matcher.group(1)), file);
+                }
+            }
+        }
+        return journalFiles;
+    }
+
+    private long loadSnapshot(final File snapshotFile) throws IOException {
+        try (final FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+            final MappedSnapshotReader reader = new MappedSnapshotReader(channel);
+            final int magic = reader.readInt();
+            if (magic != SNAPSHOT_MAGIC) {
+                throw new IOException("Snapshot " + snapshotFile + " is not a Map Cache snapshot");
+            }
+            final int version = reader.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Snapshot " + snapshotFile + " version " + version + " not supported");
+            }
+
+            final long generation = reader.readLong();
+            final int records = reader.readInt();
+            for (int i = 0; i < records; i++) {
+                final ByteBuffer key = ByteBuffer.wrap(reader.readBytes());
+                final ByteBuffer value = ByteBuffer.wrap(reader.readBytes());
+                wrapped.put(key, value);
+            }
+            return generation;
+        }
+    }
+
+    private long replayJournal(final File journalFile) throws IOException {
+        long updates = 0;
+        try (final InputStream fileInputStream = new FileInputStream(journalFile);
+             final DataInputStream in = new DataInputStream(new BufferedInputStream(fileInputStream, BUFFER_SIZE))) {
+            int updateType;
+            while ((updateType = in.read()) >= 0) {
+                try {
+                    final ByteBuffer key = ByteBuffer.wrap(readBytes(in));
+                    if (updateType == UPDATE_CREATE) {
+                        wrapped.put(key, ByteBuffer.wrap(readBytes(in)));
+                    } else {
+                        wrapped.remove(key);
+                    }
+                    updates++;
+                } catch (final EOFException e) {
+                    logger.warn("{} found incomplete update at end of journal {}", this, journalFile);
+                    break;
+                }
+            }
+        }
+        return updates;
+    }
+
+    private static void writeBytes(final DataOutputStream out, final ByteBuffer buffer) throws IOException {
+        final byte[] bytes = buffer.array();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Reader for snapshot files that maps successive regions of the file into memory, so that snapshots larger than
+     * the maximum size of a single mapping can be read
+     */
+    private static class MappedSnapshotReader {
+        private final FileChannel channel;
+        private final long size;
+        private long regionPosition;
+        private MappedByteBuffer region;
+
+        private MappedSnapshotReader(final FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        private int readInt() throws IOException {
+            ensureReadable(Integer.BYTES);
+            return region.getInt();
+        }
+
+        private long readLong() throws IOException {
+            ensureReadable(Long.BYTES);
+            return region.getLong();
+        }
+
+        private byte[] readBytes() throws IOException {
+            final int length = readInt();
+            ensureReadable(length);
+            final byte[] bytes = new byte[length];
+            region.get(bytes);
+            return bytes;
+        }
+
+        private void ensureReadable(final int length) throws IOException {
+            if (region != null && region.remaining() >= length) {
+                return;
+            }
+
+            final long position = region == null ? 0 : regionPosition + region.position();
+            if (length < 0 || size - position < length) {
+                throw new EOFException("Snapshot truncated at position " + position);
+            }
+            regionPosition = position;
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, MAX_MAPPED_REGION_SIZE));
+        }
+    }
+}
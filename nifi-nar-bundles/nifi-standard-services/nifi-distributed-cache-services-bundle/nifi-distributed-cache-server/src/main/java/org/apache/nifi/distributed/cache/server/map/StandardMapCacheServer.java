@@ -58,15 +58,53 @@ public class StandardMapCacheServer extends EventCacheServer {
             final EvictionPolicy evictionPolicy,
             final File persistencePath,
             final int maxReadLength
+    ) throws IOException {
+        this(log, identifier, sslContext, port, maxCacheEntries, evictionPolicy, persistencePath, maxReadLength, 1);
+    }
+
+    public StandardMapCacheServer(
+            final ComponentLog log,
+            final String identifier,
+            final SSLContext sslContext,
+            final int port,
+            final int maxCacheEntries,
+            final EvictionPolicy evictionPolicy,
+            final File persistencePath,
+            final int maxReadLength,
+            final int shardCount
+    ) throws IOException {
+        this(log, identifier, sslContext, port, maxCacheEntries, evictionPolicy, persistencePath, maxReadLength, shardCount, 0);
+    }
+
+    public StandardMapCacheServer(
+            final ComponentLog log,
+            final String identifier,
+            final SSLContext sslContext,
+            final int port,
+            final int maxCacheEntries,
+            final EvictionPolicy evictionPolicy,
+            final File persistencePath,
+            final int maxReadLength,
+            final int shardCount,
+            final long snapshotIntervalMillis
     ) throws IOException {
         super(log, port);
 
-        final MapCache simpleCache = new SimpleMapCache(identifier, maxCacheEntries, evictionPolicy);
+        final MapCache memoryCache;
+        if (shardCount > 1) {
+            memoryCache = new ShardedMapCache(identifier, maxCacheEntries, evictionPolicy, shardCount);
+        } else {
+            memoryCache = new SimpleMapCache(identifier, maxCacheEntries, evictionPolicy);
+        }
 
         if (persistencePath == null) {
-            this.cache = simpleCache;
+            this.cache = memoryCache;
+        } else if (snapshotIntervalMillis > 0) {
+            final SnapshotMapCache snapshotCache = new SnapshotMapCache(identifier, persistencePath, memoryCache, snapshotIntervalMillis);
+            snapshotCache.restore();
+            this.cache = snapshotCache;
         } else {
-            final PersistentMapCache persistentCache = new PersistentMapCache(identifier, persistencePath, simpleCache);
+            final PersistentMapCache persistentCache = new PersistentMapCache(identifier, persistencePath, memoryCache);
             persistentCache.restore();
             this.cache = persistentCache;
         }
@@ -116,6 +154,7 @@ public class StandardMapCacheServer extends EventCacheServer {
 
     protected VersionNegotiator createVersionNegotiator() {
         return new StandardVersionNegotiator(
+                ProtocolVersion.V4.value(),
                 ProtocolVersion.V3.value(),
                 ProtocolVersion.V2.value(),
                 ProtocolVersion.V1.value()
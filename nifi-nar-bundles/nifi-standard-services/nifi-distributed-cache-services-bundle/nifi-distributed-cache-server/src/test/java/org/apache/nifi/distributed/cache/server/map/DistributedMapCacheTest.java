@@ -35,6 +35,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -156,6 +157,34 @@ public class DistributedMapCacheTest {
         }
     }
 
+    @Test
+    public void testBulkOperations() throws IOException {
+        final String key = "keyBulk";
+        final String value = "valueBulk";
+        final Map<String, String> keysAndValues = new LinkedHashMap<>();
+        for (int i = 0; (i < 3); ++i) {
+            keysAndValues.put(key + i, value + i);
+        }
+        client.putAll(keysAndValues, serializer, serializer);
+
+        final Set<String> keys = new LinkedHashSet<>(Arrays.asList("keyBulk0", "keyBulk2", "keyBulk3"));
+        final Map<String, Boolean> containsKeys = client.containsKeys(keys, serializer);
+        assertEquals(3, containsKeys.size());
+        assertTrue(containsKeys.get("keyBulk0"));
+        assertTrue(containsKeys.get("keyBulk2"));
+        assertFalse(containsKeys.get("keyBulk3"));
+
+        final Map<String, String> putIfAbsent = new LinkedHashMap<>();
+        putIfAbsent.put("keyBulk1", "valueBulkUpdated");
+        putIfAbsent.put("keyBulk3", "valueBulk3");
+        final Map<String, String> originals = client.getAndPutAllIfAbsent(putIfAbsent, serializer, serializer, deserializer);
+        assertEquals(2, originals.size());
+        assertEquals("valueBulk1", originals.get("keyBulk1"));
+        assertNull(originals.get("keyBulk3"));
+        assertEquals("valueBulk1", client.get("keyBulk1", serializer, deserializer));
+        assertEquals("valueBulk3", client.get("keyBulk3", serializer, deserializer));
+    }
+
     @Test
     public void testRemoveByPatternAndGet() throws IOException {
         final String key = "keyRemoveByPatternAndGet";
@@ -236,8 +236,8 @@ public class TestDistributedMapServerAndClient {
         // Create a server that only supports protocol version 1.
         server = new DistributedMapCacheServer() {
             @Override
-            protected CacheServer createMapCacheServer(int port, int maxSize, SSLContext sslContext, EvictionPolicy evictionPolicy, File persistenceDir, int maxReadSize) throws IOException {
-                return new StandardMapCacheServer(getLogger(), getIdentifier(), sslContext, port, maxSize, evictionPolicy, persistenceDir, maxReadSize) {
+            protected CacheServer createMapCacheServer(int port, int maxSize, SSLContext sslContext, EvictionPolicy evictionPolicy, File persistenceDir, int maxReadSize, int shardCount, long snapshotIntervalMillis) throws IOException {
+                return new StandardMapCacheServer(getLogger(), getIdentifier(), sslContext, port, maxSize, evictionPolicy, persistenceDir, maxReadSize, shardCount, snapshotIntervalMillis) {
                     @Override
                     protected StandardVersionNegotiator createVersionNegotiator() {
                         return new StandardVersionNegotiator(ProtocolVersion.V1.value());
@@ -273,6 +273,16 @@ public class TestDistributedMapServerAndClient {
 
             assertTrue(client.containsKey(key, stringSerializer));
 
+            // Bulk operations should fall back to individual requests
+            final Map<String, String> keysAndValues = new HashMap<>();
+            keysAndValues.put(key, "value2");
+            keysAndValues.put(key + "-bulk", "value3");
+            client.putAll(keysAndValues, stringSerializer, stringSerializer);
+            final Map<String, Boolean> containsKeys = client.containsKeys(keysAndValues.keySet(), stringSerializer);
+            assertTrue(containsKeys.get(key));
+            assertTrue(containsKeys.get(key + "-bulk"));
+            assertEquals("value2", client.getAndPutAllIfAbsent(keysAndValues, stringSerializer, stringSerializer, stringDeserializer).get(key));
+
             assertThrows(UnsupportedOperationException.class, () -> client.fetch(key, stringSerializer, stringDeserializer));
 
             AtomicCacheEntry<String, String, Long> entry = new AtomicCacheEntry<>(key, "value2", 0L);
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import org.apache.nifi.distributed.cache.server.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestShardedMapCache {
+
+    @Test
+    public void testBasicOperations() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 16, EvictionPolicy.FIFO, 4);
+
+        final ByteBuffer key1 = toBuffer("key1");
+        final ByteBuffer key2 = toBuffer("key2");
+
+        assertNull(cache.get(key1));
+        assertNull(cache.fetch(key1));
+
+        MapPutResult putResult = cache.put(key1, toBuffer("value1-0"));
+        assertTrue(putResult.isSuccessful());
+        assertNull(putResult.getExisting());
+        assertNull(putResult.getEvicted());
+        assertEquals(0, putResult.getRecord().getRevision());
+
+        putResult = cache.put(key1, toBuffer("value1-1"));
+        assertTrue(putResult.isSuccessful());
+        assertEquals(1, putResult.getRecord().getRevision());
+        assertEquals("value1-0", toString(putResult.getExisting().getValue()));
+
+        putResult = cache.putIfAbsent(key1, toBuffer("value1-2"));
+        assertFalse(putResult.isSuccessful());
+        assertEquals("value1-1", toString(putResult.getExisting().getValue()));
+
+        putResult = cache.putIfAbsent(key2, toBuffer("value2-0"));
+        assertTrue(putResult.isSuccessful());
+        assertTrue(cache.containsKey(key2));
+        assertEquals(2, cache.keySet().size());
+
+        final Map<ByteBuffer, ByteBuffer> results = cache.subMap(Arrays.asList(key1, key2, toBuffer("key3")));
+        assertEquals(3, results.size());
+        assertEquals("value1-1", toString(results.get(key1)));
+        assertNull(results.get(toBuffer("key3")));
+
+        assertEquals("value2-0", toString(cache.remove(key2)));
+        assertNull(cache.remove(key2));
+        assertFalse(cache.containsKey(key2));
+
+        putResult = cache.put(key2, toBuffer("value2-1"));
+        assertEquals(0, putResult.getRecord().getRevision(), "Revision should start from 0");
+    }
+
+    @Test
+    public void testOptimisticLock() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 4, EvictionPolicy.LRU, 2);
+        final ByteBuffer key = toBuffer("key1");
+
+        MapPutResult putResult = cache.replace(new MapCacheRecord(key, toBuffer("valueC1-0")));
+        assertTrue(putResult.isSuccessful(), "Replace should succeed if there's no existing key.");
+
+        putResult = cache.replace(new MapCacheRecord(key, toBuffer("valueC2-0")));
+        assertFalse(putResult.isSuccessful(), "Replace should fail.");
+
+        final MapCacheRecord fetched = cache.fetch(key);
+        assertEquals(0, fetched.getRevision());
+
+        putResult = cache.replace(new MapCacheRecord(key, toBuffer("valueC1-1"), fetched.getRevision()));
+        assertTrue(putResult.isSuccessful(), "Replace should succeed since revision matched.");
+        assertEquals(1, putResult.getRecord().getRevision());
+
+        putResult = cache.replace(new MapCacheRecord(key, toBuffer("valueC2-1"), fetched.getRevision()));
+        assertFalse(putResult.isSuccessful(), "Replace should fail.");
+    }
+
+    @Test
+    public void testEvictionFifo() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 2, EvictionPolicy.FIFO, 1);
+
+        cache.put(toBuffer("key1"), toBuffer("value1"));
+        cache.put(toBuffer("key2"), toBuffer("value2"));
+        cache.get(toBuffer("key1"));
+
+        final MapPutResult putResult = cache.put(toBuffer("key3"), toBuffer("value3"));
+        assertNotNull(putResult.getEvicted(), "The first key should be evicted");
+        assertEquals("key1", toString(putResult.getEvicted().getKey()));
+    }
+
+    @Test
+    public void testEvictionLru() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 3, EvictionPolicy.LRU, 1);
+
+        cache.put(toBuffer("key1"), toBuffer("value1"));
+        cache.put(toBuffer("key2"), toBuffer("value2"));
+        cache.put(toBuffer("key3"), toBuffer("value3"));
+
+        // The first eviction sweep clears every reference bit, so the oldest entry is evicted
+        MapPutResult putResult = cache.put(toBuffer("key4"), toBuffer("value4"));
+        assertEquals("key1", toString(putResult.getEvicted().getKey()));
+
+        // Recently accessed entries keep their reference bit and are passed over
+        cache.get(toBuffer("key2"));
+        putResult = cache.put(toBuffer("key5"), toBuffer("value5"));
+        assertEquals("key3", toString(putResult.getEvicted().getKey()));
+        assertTrue(cache.containsKey(toBuffer("key2")));
+    }
+
+    @Test
+    public void testEvictionLfu() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 3, EvictionPolicy.LFU, 1);
+
+        cache.put(toBuffer("key1"), toBuffer("value1"));
+        cache.put(toBuffer("key2"), toBuffer("value2"));
+        cache.put(toBuffer("key3"), toBuffer("value3"));
+        for (int i = 0; i < 3; i++) {
+            cache.get(toBuffer("key1"));
+            cache.get(toBuffer("key3"));
+        }
+        cache.get(toBuffer("key2"));
+
+        MapPutResult putResult = cache.put(toBuffer("key4"), toBuffer("value4"));
+        assertEquals("key2", toString(putResult.getEvicted().getKey()));
+
+        putResult = cache.put(toBuffer("key5"), toBuffer("value5"));
+        assertEquals("key4", toString(putResult.getEvicted().getKey()));
+        assertTrue(cache.containsKey(toBuffer("key1")));
+        assertTrue(cache.containsKey(toBuffer("key3")));
+    }
+
+    @Test
+    public void testRemoveByPattern() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 100, EvictionPolicy.LFU, 8);
+        for (int i = 0; i < 20; i++) {
+            cache.put(toBuffer("key" + i), toBuffer("value" + i));
+            cache.put(toBuffer("other" + i), toBuffer("value" + i));
+        }
+
+        final Map<ByteBuffer, ByteBuffer> removed = cache.removeByPattern("key.*");
+        assertEquals(20, removed.size());
+        assertEquals(20, cache.keySet().size());
+
+        // Freed slots are reused without eviction
+        for (int i = 0; i < 20; i++) {
+            assertNull(cache.put(toBuffer("key" + i), toBuffer("value" + i)).getEvicted());
+        }
+    }
+
+    @Test
+    public void testConcurrentAccessRespectsCapacity() throws Exception {
+        final int maxSize = 1000;
+        final ShardedMapCache cache = new ShardedMapCache("service-id", maxSize, EvictionPolicy.LRU, 8);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        final ByteBuffer key = toBuffer("key" + (i * 4 + offset));
+                        cache.put(key, toBuffer("value"));
+                        cache.get(key);
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(maxSize, cache.keySet().size());
+
+        long evictions = 0;
+        long lookups = 0;
+        int capacity = 0;
+        for (final ShardedMapCache.ShardStatistics statistics : cache.getShardStatistics()) {
+            evictions += statistics.getEvictions();
+            lookups += statistics.getHits() + statistics.getMisses();
+            capacity += statistics.getCapacity();
+        }
+        assertEquals(maxSize, capacity);
+        assertEquals(20000 - maxSize, evictions);
+        assertEquals(20000, lookups);
+    }
+
+    private static ByteBuffer toBuffer(final String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toString(final ByteBuffer buffer) {
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import org.apache.nifi.distributed.cache.server.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSnapshotMapCache {
+
+    private static final long SNAPSHOT_INTERVAL = 60000;
+
+    @TempDir
+    Path persistencePath;
+
+    @Test
+    public void testRestoreFromSnapshot() throws Exception {
+        final SnapshotMapCache cache = createCache();
+        cache.put(toBuffer("key1"), toBuffer("value1"));
+        cache.put(toBuffer("key2"), toBuffer("value2"));
+        cache.put(toBuffer("key1"), toBuffer("value1-1"));
+        cache.remove(toBuffer("key2"));
+        cache.shutdown();
+
+        assertTrue(new File(persistencePath.toFile(), SnapshotMapCache.SNAPSHOT_FILE_NAME).exists());
+
+        final SnapshotMapCache restored = createCache();
+        assertEquals("value1-1", toString(restored.get(toBuffer("key1"))));
+        assertFalse(restored.containsKey(toBuffer("key2")));
+        assertEquals(1, restored.keySet().size());
+        restored.shutdown();
+    }
+
+    @Test
+    public void testRestoreReplaysJournalAfterSnapshot() throws Exception {
+        final SnapshotMapCache cache = createCache();
+        cache.put(toBuffer("key1"), toBuffer("value1"));
+        cache.put(toBuffer("key2"), toBuffer("value2"));
+        cache.snapshot();
+
+        cache.put(toBuffer("key3"), toBuffer("value3"));
+        cache.remove(toBuffer("key1"));
+
+        // Restore without shutting down the first cache to simulate updates written only to the journal
+        final SnapshotMapCache restored = createCache();
+        assertNull(restored.get(toBuffer("key1")));
+        assertEquals("value2", toString(restored.get(toBuffer("key2"))));
+        assertEquals("value3", toString(restored.get(toBuffer("key3"))));
+        restored.shutdown();
+        cache.shutdown();
+    }
+
+    @Test
+    public void testRestoreRemovesEvictedEntries() throws Exception {
+        final SnapshotMapCache cache = new SnapshotMapCache("service-id", persistencePath.toFile(),
+                new SimpleMapCache("service-id", 2, EvictionPolicy.FIFO), SNAPSHOT_INTERVAL);
+        cache.restore();
+        cache.put(toBuffer("key1"), toBuffer("value1"));
+        cache.put(toBuffer("key2"), toBuffer("value2"));
+        cache.put(toBuffer("key3"), toBuffer("value3"));
+        cache.shutdown();
+
+        final SnapshotMapCache restored = createCache();
+        assertFalse(restored.containsKey(toBuffer("key1")));
+        assertEquals(2, restored.keySet().size());
+        restored.shutdown();
+    }
+
+    private SnapshotMapCache createCache() throws Exception {
+        final SnapshotMapCache cache = new SnapshotMapCache("service-id", persistencePath.toFile(),
+                new SimpleMapCache("service-id", 100, EvictionPolicy.LRU), SNAPSHOT_INTERVAL);
+        cache.restore();
+        return cache;
+    }
+
+    private static ByteBuffer toBuffer(final String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toString(final ByteBuffer buffer) {
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+}
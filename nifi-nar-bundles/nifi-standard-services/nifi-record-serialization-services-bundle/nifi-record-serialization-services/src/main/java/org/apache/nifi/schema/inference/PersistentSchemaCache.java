@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.apache.nifi.annotation.documentation.CapabilityDescription;
+import org.apache.nifi.annotation.documentation.SeeAlso;
+import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
+import org.apache.nifi.annotation.lifecycle.OnEnabled;
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.PropertyDescriptor.Builder;
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.distributed.cache.client.Deserializer;
+import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
+import org.apache.nifi.distributed.cache.client.Serializer;
+import org.apache.nifi.expression.ExpressionLanguageScope;
+import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.serialization.RecordSchemaCacheService;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@CapabilityDescription("Provides a Schema Cache that evicts elements based on a Least-Recently-Used algorithm and persists cached schemas to a local directory so that they survive "
+    + "a restart of NiFi. If a Distributed Map Cache Client is configured, each cached schema is also published to the distributed cache, so that a schema cached on one node "
+    + "of a cluster can be retrieved by every other node without having to infer it again.")
+@Tags({"record", "schema", "cache", "persistent", "distributed", "cluster"})
+@SeeAlso(VolatileSchemaCache.class)
+public class PersistentSchemaCache extends AbstractControllerService implements RecordSchemaCacheService {
+
+    static final PropertyDescriptor MAX_SIZE = new Builder()
+        .fromPropertyDescriptor(VolatileSchemaCache.MAX_SIZE)
+        .description("The maximum number of Schemas to cache in memory and on local disk.")
+        .build();
+
+    static final PropertyDescriptor CACHE_DIRECTORY = new Builder()
+        .name("cache-directory")
+        .displayName("Cache Directory")
+        .description("The local directory in which cached schemas are stored. The directory will be created if it does not already exist.")
+        .required(true)
+        .addValidator(StandardValidators.NON_EMPTY_VALIDATOR)
+        .expressionLanguageSupported(ExpressionLanguageScope.ENVIRONMENT)
+        .defaultValue("./schema-cache")
+        .build();
+
+    static final PropertyDescriptor DISTRIBUTED_CACHE_SERVICE = new Builder()
+        .name("distributed-cache-service")
+        .displayName("Distributed Cache Service")
+        .description("If specified, every cached schema is also stored in this Distributed Map Cache, and schemas that are not found locally are retrieved from it. "
+            + "This allows all nodes in a cluster to share the schemas that any one of them has cached.")
+        .required(false)
+        .identifiesControllerService(DistributedMapCacheClient.class)
+        .build();
+
+    private static final String DISTRIBUTED_CACHE_KEY_PREFIX = "nifi.schema.cache.";
+    private static final String SCHEMA_FILE_EXTENSION = ".schema";
+    private static final Base64.Encoder FILENAME_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder FILENAME_DECODER = Base64.getUrlDecoder();
+
+    private static final Serializer<String> STRING_SERIALIZER = (value, output) -> output.write(value.getBytes(StandardCharsets.UTF_8));
+    private static final Serializer<byte[]> BYTES_SERIALIZER = (value, output) -> output.write(value);
+    private static final Deserializer<byte[]> BYTES_DESERIALIZER = input -> input == null || input.length == 0 ? null : input;
+
+    private final AtomicLong memoryHits = new AtomicLong(0L);
+    private final AtomicLong diskHits = new AtomicLong(0L);
+    private final AtomicLong distributedHits = new AtomicLong(0L);
+    private final AtomicLong misses = new AtomicLong(0L);
+
+    private volatile Cache<String, RecordSchema> cache;
+    private volatile Path cacheDirectory;
+    private volatile DistributedMapCacheClient distributedCache;
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        final List<PropertyDescriptor> properties = new ArrayList<>();
+        properties.add(MAX_SIZE);
+        properties.add(CACHE_DIRECTORY);
+        properties.add(DISTRIBUTED_CACHE_SERVICE);
+        return properties;
+    }
+
+    @OnEnabled
+    public void setup(final ConfigurationContext context) throws IOException {
+        final int maxSize = context.getProperty(MAX_SIZE).evaluateAttributeExpressions().asInteger();
+        cacheDirectory = new File(context.getProperty(CACHE_DIRECTORY).evaluateAttributeExpressions().getValue()).toPath();
+        Files.createDirectories(cacheDirectory);
+
+        distributedCache = context.getProperty(DISTRIBUTED_CACHE_SERVICE).asControllerService(DistributedMapCacheClient.class);
+
+        cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .removalListener((String identifier, RecordSchema schema, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    deleteSchemaFile(identifier);
+                }
+            })
+            .build();
+
+        purgeLeastRecentlyUsedFiles(maxSize);
+
+        memoryHits.set(0L);
+        diskHits.set(0L);
+        distributedHits.set(0L);
+        misses.set(0L);
+    }
+
+    @OnDisabled
+    public void shutdown() {
+        getLogger().info("Schema Cache statistics: {} retrieved from memory, {} retrieved from local disk, {} retrieved from distributed cache, {} not found",
+            memoryHits.get(), diskHits.get(), distributedHits.get(), misses.get());
+
+        if (cache != null) {
+            // Invalidate without eviction so that the persisted schemas remain available after the service is enabled again
+            cache.asMap().clear();
+        }
+    }
+
+    @Override
+    public String cacheSchema(final RecordSchema schema) {
+        final String identifier = createIdentifier(schema);
+        final RecordSchema existingSchema = cache.asMap().putIfAbsent(identifier, schema);
+
+        if (existingSchema == null) {
+            persist(identifier, schema);
+            getLogger().debug("Successfully cached schema with ID {} (no existing schema with this ID)", identifier);
+            return identifier;
+        }
+
+        if (existingSchema.equals(schema)) {
+            getLogger().debug("Successfully cached schema with ID {} (existing schema with this ID was equal)", identifier);
+            return identifier;
+        }
+
+        // Schemas hashed to same value but do not equal one another. Append a randomly generated UUID
+        // and add that to the cache.
+        final String updatedIdentifier = identifier + "-" + UUID.randomUUID();
+        cache.put(updatedIdentifier, schema);
+        persist(updatedIdentifier, schema);
+
+        getLogger().debug("Schema with ID {} conflicted with new Schema. Resolved by using generated identifier {}", identifier, updatedIdentifier);
+        return updatedIdentifier;
+    }
+
+    @Override
+    public Optional<RecordSchema> getSchema(final String schemaIdentifier) {
+        final RecordSchema cachedSchema = cache.getIfPresent(schemaIdentifier);
+        if (cachedSchema != null) {
+            memoryHits.incrementAndGet();
+            return Optional.of(cachedSchema);
+        }
+
+        final RecordSchema localSchema = readSchemaFile(schemaIdentifier);
+        if (localSchema != null) {
+            diskHits.incrementAndGet();
+            cache.asMap().putIfAbsent(schemaIdentifier, localSchema);
+            return Optional.of(localSchema);
+        }
+
+        final RecordSchema distributedSchema = fetchDistributed(schemaIdentifier);
+        if (distributedSchema != null) {
+            distributedHits.incrementAndGet();
+            if (cache.asMap().putIfAbsent(schemaIdentifier, distributedSchema) == null) {
+                writeSchemaFile(schemaIdentifier, distributedSchema);
+            }
+            return Optional.of(distributedSchema);
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    protected String createIdentifier(final RecordSchema schema) {
+        return VolatileSchemaCache.createSchemaIdentifier(schema);
+    }
+
+    long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    long getDiskHits() {
+        return diskHits.get();
+    }
+
+    long getDistributedHits() {
+        return distributedHits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    private void persist(final String identifier, final RecordSchema schema) {
+        if (schema.isRecursive()) {
+            getLogger().debug("Schema with ID {} is recursive and will be cached in memory only", identifier);
+            return;
+        }
+
+        writeSchemaFile(identifier, schema);
+
+        final DistributedMapCacheClient client = distributedCache;
+        if (client == null) {
+            return;
+        }
+
+        try {
+            client.putIfAbsent(DISTRIBUTED_CACHE_KEY_PREFIX + identifier, RecordSchemaSerializer.serialize(schema), STRING_SERIALIZER, BYTES_SERIALIZER);
+        } catch (final Exception e) {
+            getLogger().warn("Failed to publish schema with ID {} to Distributed Cache", identifier, e);
+        }
+    }
+
+    private RecordSchema fetchDistributed(final String identifier) {
+        final DistributedMapCacheClient client = distributedCache;
+        if (client == null) {
+            return null;
+        }
+
+        try {
+            final byte[] serialized = client.get(DISTRIBUTED_CACHE_KEY_PREFIX + identifier, STRING_SERIALIZER, BYTES_DESERIALIZER);
+            return serialized == null ? null : RecordSchemaSerializer.deserialize(serialized);
+        } catch (final Exception e) {
+            getLogger().warn("Failed to retrieve schema with ID {} from Distributed Cache", identifier, e);
+            return null;
+        }
+    }
+
+    private Path getSchemaFile(final String identifier) {
+        return cacheDirectory.resolve(FILENAME_ENCODER.encodeToString(identifier.getBytes(StandardCharsets.UTF_8)) + SCHEMA_FILE_EXTENSION);
+    }
+
+    private void writeSchemaFile(final String identifier, final RecordSchema schema) {
+        final Path schemaFile = getSchemaFile(identifier);
+        if (Files.exists(schemaFile)) {
+            return;
+        }
+
+        final Path tempFile = cacheDirectory.resolve(schemaFile.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.write(tempFile, RecordSchemaSerializer.serialize(schema));
+            Files.move(tempFile, schemaFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            getLogger().warn("Failed to write schema with ID {} to {}", identifier, schemaFile, e);
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (final IOException ignored) {
+                // The temporary file will be removed the next time the service is enabled
+            }
+        }
+    }
+
+    private RecordSchema readSchemaFile(final String identifier) {
+        final Path schemaFile = getSchemaFile(identifier);
+        if (!Files.exists(schemaFile)) {
+            return null;
+        }
+
+        try {
+            final RecordSchema schema = RecordSchemaSerializer.deserialize(Files.readAllBytes(schemaFile));
+            // Update the modification time so that the file is treated as recently used when purging the directory
+            Files.setLastModifiedTime(schemaFile, FileTime.fromMillis(System.currentTimeMillis()));
+            return schema;
+        } catch (final IOException e) {
+            getLogger().warn("Failed to read schema with ID {} from {}", identifier, schemaFile, e);
+            return null;
+        }
+    }
+
+    private void deleteSchemaFile(final String identifier) {
+        try {
+            Files.deleteIfExists(getSchemaFile(identifier));
+        } catch (final IOException e) {
+            getLogger().warn("Failed to delete evicted schema with ID {} from {}", identifier, cacheDirectory, e);
+        }
+    }
+
+    private void purgeLeastRecentlyUsedFiles(final int maxSize) throws IOException {
+        final List<Path> schemaFiles;
+        try (final Stream<Path> files = Files.list(cacheDirectory)) {
+            schemaFiles = files.filter(file -> {
+                final String filename = file.getFileName().toString();
+                if (filename.endsWith(".tmp")) {
+                    deleteQuietly(file);
+                    return false;
+                }
+                return filename.endsWith(SCHEMA_FILE_EXTENSION) && isValidFilename(filename);
+            }).collect(Collectors.toList());
+        }
+
+        if (schemaFiles.size() <= maxSize) {
+            return;
+        }
+
+        schemaFiles.sort(Comparator.comparingLong(this::getLastModified).reversed());
+        for (final Path schemaFile : schemaFiles.subList(maxSize, schemaFiles.size())) {
+            deleteQuietly(schemaFile);
+        }
+
+        getLogger().debug("Removed {} least recently used schemas from {}", schemaFiles.size() - maxSize, cacheDirectory);
+    }
+
+    private boolean isValidFilename(final String filename) {
+        try {
+            FILENAME_DECODER.decode(filename.substring(0, filename.length() - SCHEMA_FILE_EXTENSION.length()));
+            return true;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private long getLastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (final IOException e) {
+            return 0L;
+        }
+    }
+
+    private void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            getLogger().warn("Failed to delete {}", file, e);
+        }
+    }
+}
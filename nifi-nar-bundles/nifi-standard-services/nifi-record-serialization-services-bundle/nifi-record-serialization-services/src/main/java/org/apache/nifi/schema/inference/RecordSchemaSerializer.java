@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.ChoiceDataType;
+import org.apache.nifi.serialization.record.type.DecimalDataType;
+import org.apache.nifi.serialization.record.type.EnumDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serializes a Record Schema into a compact binary form so that it can be stored on disk or in a distributed cache.
+ * Unlike converting the schema to an Avro Schema, field names and data types are preserved exactly. Default values are not retained.
+ */
+class RecordSchemaSerializer {
+    private static final int ENCODING_VERSION = 1;
+
+    static byte[] serialize(final RecordSchema schema) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(baos)) {
+            out.writeInt(ENCODING_VERSION);
+            writeSchema(schema, out);
+        }
+
+        return baos.toByteArray();
+    }
+
+    static RecordSchema deserialize(final byte[] serialized) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized))) {
+            final int version = in.readInt();
+            if (version != ENCODING_VERSION) {
+                throw new IOException("Cannot deserialize Record Schema with encoding version " + version + "; only version " + ENCODING_VERSION + " is supported");
+            }
+
+            return readSchema(in);
+        }
+    }
+
+    private static void writeSchema(final RecordSchema schema, final DataOutputStream out) throws IOException {
+        final List<RecordField> fields = schema.getFields();
+        out.writeInt(fields.size());
+
+        for (final RecordField field : fields) {
+            out.writeUTF(field.getFieldName());
+            out.writeBoolean(field.isNullable());
+
+            final Set<String> aliases = field.getAliases();
+            out.writeInt(aliases.size());
+            for (final String alias : aliases) {
+                out.writeUTF(alias);
+            }
+
+            writeDataType(field.getDataType(), out);
+        }
+    }
+
+    private static void writeDataType(final DataType dataType, final DataOutputStream out) throws IOException {
+        final RecordFieldType fieldType = dataType.getFieldType();
+        out.writeUTF(fieldType.name());
+
+        switch (fieldType) {
+            case ARRAY:
+                final ArrayDataType arrayDataType = (ArrayDataType) dataType;
+                out.writeBoolean(arrayDataType.isElementsNullable());
+                writeDataType(arrayDataType.getElementType(), out);
+                break;
+            case MAP:
+                final MapDataType mapDataType = (MapDataType) dataType;
+                out.writeBoolean(mapDataType.isValuesNullable());
+                writeDataType(mapDataType.getValueType(), out);
+                break;
+            case CHOICE:
+                final List<DataType> subTypes = ((ChoiceDataType) dataType).getPossibleSubTypes();
+                out.writeInt(subTypes.size());
+                for (final DataType subType : subTypes) {
+                    writeDataType(subType, out);
+                }
+                break;
+            case RECORD:
+                final RecordSchema childSchema = ((RecordDataType) dataType).getChildSchema();
+                out.writeBoolean(childSchema != null);
+                if (childSchema != null) {
+                    writeSchema(childSchema, out);
+                }
+                break;
+            case DECIMAL:
+                final DecimalDataType decimalDataType = (DecimalDataType) dataType;
+                out.writeInt(decimalDataType.getPrecision());
+                out.writeInt(decimalDataType.getScale());
+                break;
+            case ENUM:
+                final List<String> enums = ((EnumDataType) dataType).getEnums();
+                out.writeInt(enums.size());
+                for (final String symbol : enums) {
+                    out.writeUTF(symbol);
+                }
+                break;
+            default:
+                final String format = dataType.getFormat();
+                out.writeBoolean(format != null);
+                if (format != null) {
+                    out.writeUTF(format);
+                }
+                break;
+        }
+    }
+
+    private static RecordSchema readSchema(final DataInputStream in) throws IOException {
+        final int fieldCount = in.readInt();
+        final List<RecordField> fields = new ArrayList<>(fieldCount);
+
+        for (int i = 0; i < fieldCount; i++) {
+            final String fieldName = in.readUTF();
+            final boolean nullable = in.readBoolean();
+
+            final int aliasCount = in.readInt();
+            final Set<String> aliases = new HashSet<>(aliasCount);
+            for (int j = 0; j < aliasCount; j++) {
+                aliases.add(in.readUTF());
+            }
+
+            final DataType dataType = readDataType(in);
+            fields.add(new RecordField(fieldName, dataType, aliases, nullable));
+        }
+
+        return new SimpleRecordSchema(fields);
+    }
+
+    private static DataType readDataType(final DataInputStream in) throws IOException {
+        final String typeName = in.readUTF();
+        final RecordFieldType fieldType;
+        try {
+            fieldType = RecordFieldType.valueOf(typeName);
+        } catch (final IllegalArgumentException e) {
+            throw new IOException("Cannot deserialize Record Schema because it contains unknown field type " + typeName, e);
+        }
+
+        switch (fieldType) {
+            case ARRAY: {
+                final boolean elementsNullable = in.readBoolean();
+                return RecordFieldType.ARRAY.getArrayDataType(readDataType(in), elementsNullable);
+            }
+            case MAP: {
+                final boolean valuesNullable = in.readBoolean();
+                return RecordFieldType.MAP.getMapDataType(readDataType(in), valuesNullable);
+            }
+            case CHOICE: {
+                final int subTypeCount = in.readInt();
+                final List<DataType> subTypes = new ArrayList<>(subTypeCount);
+                for (int i = 0; i < subTypeCount; i++) {
+                    subTypes.add(readDataType(in));
+                }
+                return RecordFieldType.CHOICE.getChoiceDataType(subTypes);
+            }
+            case RECORD: {
+                final RecordSchema childSchema = in.readBoolean() ? readSchema(in) : null;
+                return RecordFieldType.RECORD.getRecordDataType(childSchema);
+            }
+            case DECIMAL: {
+                final int precision = in.readInt();
+                final int scale = in.readInt();
+                return RecordFieldType.DECIMAL.getDecimalDataType(precision, scale);
+            }
+            case ENUM: {
+                final int enumCount = in.readInt();
+                final List<String> enums = new ArrayList<>(enumCount);
+                for (int i = 0; i < enumCount; i++) {
+                    enums.add(in.readUTF());
+                }
+                return RecordFieldType.ENUM.getEnumDataType(enums);
+            }
+            default: {
+                final String format = in.readBoolean() ? in.readUTF() : null;
+                return fieldType.getDataType(format);
+            }
+        }
+    }
+}
@@ -111,6 +111,10 @@ public class VolatileSchemaCache extends AbstractControllerService implements Re
     }
 
     protected String createIdentifier(final RecordSchema schema) {
+        return createSchemaIdentifier(schema);
+    }
+
+    static String createSchemaIdentifier(final RecordSchema schema) {
         final MessageDigest digest;
         try {
             digest = MessageDigest.getInstance("SHA-256");
@@ -130,7 +134,7 @@ public class VolatileSchemaCache extends AbstractControllerService implements Re
         return ENCODER.encodeToString(digestBytes);
     }
 
-    private void computeHash(final RecordSchema schema, final MessageDigest digest) {
+    private static void computeHash(final RecordSchema schema, final MessageDigest digest) {
         for (final RecordField field : schema.getFields()) {
             digest.update(field.getFieldName().getBytes(StandardCharsets.UTF_8));
 
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.distributed.cache.client.Deserializer;
+import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
+import org.apache.nifi.distributed.cache.client.Serializer;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.util.MockConfigurationContext;
+import org.apache.nifi.util.MockControllerServiceInitializationContext;
+import org.apache.nifi.util.MockControllerServiceLookup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPersistentSchemaCache {
+    private static final String DISTRIBUTED_CACHE_ID = "distributed-cache";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testSchemaRetrievedFromDiskAfterRestart() throws Exception {
+        final RecordSchema schema = createComplexSchema();
+        final Path cacheDirectory = tempDir.resolve("cache");
+
+        final PersistentSchemaCache firstCache = createCache(cacheDirectory, 100, null);
+        final String identifier = firstCache.cacheSchema(schema);
+        assertEquals(schema, firstCache.getSchema(identifier).get());
+        assertEquals(1, firstCache.getMemoryHits());
+        firstCache.shutdown();
+
+        final PersistentSchemaCache secondCache = createCache(cacheDirectory, 100, null);
+        assertEquals(identifier, secondCache.cacheSchema(schema));
+
+        final PersistentSchemaCache thirdCache = createCache(cacheDirectory, 100, null);
+        final Optional<RecordSchema> restored = thirdCache.getSchema(identifier);
+        assertTrue(restored.isPresent());
+        assertEquals(schema, restored.get());
+        assertEquals(1, thirdCache.getDiskHits());
+
+        assertEquals(restored.get(), thirdCache.getSchema(identifier).get());
+        assertEquals(1, thirdCache.getMemoryHits());
+    }
+
+    @Test
+    public void testSchemaSharedThroughDistributedCache() throws Exception {
+        final RecordSchema schema = createComplexSchema();
+        final DistributedMapCacheClient distributedCache = new MockDistributedMapCacheClient();
+
+        final PersistentSchemaCache firstNode = createCache(tempDir.resolve("node1"), 100, distributedCache);
+        final PersistentSchemaCache secondNode = createCache(tempDir.resolve("node2"), 100, distributedCache);
+
+        final String identifier = firstNode.cacheSchema(schema);
+        final Optional<RecordSchema> sharedSchema = secondNode.getSchema(identifier);
+        assertTrue(sharedSchema.isPresent());
+        assertEquals(schema, sharedSchema.get());
+        assertEquals(1, secondNode.getDistributedHits());
+
+        // The schema retrieved from the distributed cache is also persisted locally
+        final PersistentSchemaCache restartedSecondNode = createCache(tempDir.resolve("node2"), 100, null);
+        assertEquals(schema, restartedSecondNode.getSchema(identifier).get());
+        assertEquals(1, restartedSecondNode.getDiskHits());
+    }
+
+    @Test
+    public void testUnknownIdentifier() throws Exception {
+        final PersistentSchemaCache cache = createCache(tempDir, 100, new MockDistributedMapCacheClient());
+        assertFalse(cache.getSchema("unknown").isPresent());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedFilesPurgedOnEnable() throws Exception {
+        final PersistentSchemaCache cache = createCache(tempDir, 100, null);
+        for (int i = 0; i < 5; i++) {
+            cache.cacheSchema(new SimpleRecordSchema(Collections.singletonList(new RecordField("field" + i, RecordFieldType.STRING.getDataType()))));
+        }
+        assertEquals(5, countSchemaFiles());
+
+        createCache(tempDir, 2, null);
+        assertEquals(2, countSchemaFiles());
+    }
+
+    private long countSchemaFiles() throws IOException {
+        try (final Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".schema")).count();
+        }
+    }
+
+    private PersistentSchemaCache createCache(final Path cacheDirectory, final int maxSize, final DistributedMapCacheClient distributedCache) throws Exception {
+        final Map<PropertyDescriptor, String> properties = new HashMap<>();
+        properties.put(PersistentSchemaCache.MAX_SIZE, String.valueOf(maxSize));
+        properties.put(PersistentSchemaCache.CACHE_DIRECTORY, cacheDirectory.toString());
+
+        final MockControllerServiceLookup serviceLookup = new MockControllerServiceLookup() { };
+        if (distributedCache != null) {
+            serviceLookup.addControllerService(distributedCache, DISTRIBUTED_CACHE_ID);
+            properties.put(PersistentSchemaCache.DISTRIBUTED_CACHE_SERVICE, DISTRIBUTED_CACHE_ID);
+        }
+
+        final ConfigurationContext configContext = new MockConfigurationContext(properties, serviceLookup, null);
+        final PersistentSchemaCache cache = new PersistentSchemaCache();
+        cache.initialize(new MockControllerServiceInitializationContext(cache, "id"));
+        cache.setup(configContext);
+        return cache;
+    }
+
+    private RecordSchema createComplexSchema() {
+        final RecordSchema childSchema = new SimpleRecordSchema(Arrays.asList(
+            new RecordField("id", RecordFieldType.INT.getDataType(), false),
+            new RecordField("amount", RecordFieldType.DECIMAL.getDecimalDataType(10, 2))));
+
+        final DataType choiceType = RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.STRING.getDataType(), RecordFieldType.LONG.getDataType());
+
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("name-with-dashes", RecordFieldType.STRING.getDataType(), Collections.singleton("name")));
+        fields.add(new RecordField("created", RecordFieldType.TIMESTAMP.getDataType("yyyy-MM-dd HH:mm:ss")));
+        fields.add(new RecordField("child", RecordFieldType.RECORD.getRecordDataType(childSchema)));
+        fields.add(new RecordField("children", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.RECORD.getRecordDataType(childSchema), false)));
+        fields.add(new RecordField("attributes", RecordFieldType.MAP.getMapDataType(choiceType)));
+        fields.add(new RecordField("status", RecordFieldType.ENUM.getEnumDataType(Arrays.asList("ACTIVE", "INACTIVE"))));
+        return new SimpleRecordSchema(fields);
+    }
+
+    private static class MockDistributedMapCacheClient extends AbstractControllerService implements DistributedMapCacheClient {
+        private final Map<Object, Object> storage = new ConcurrentHashMap<>();
+
+        @Override
+        public <K, V> boolean putIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) {
+            return storage.putIfAbsent(key, value) == null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> V getAndPutIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer, final Deserializer<V> valueDeserializer) {
+            return (V) storage.putIfAbsent(key, value);
+        }
+
+        @Override
+        public <K> boolean containsKey(final K key, final Serializer<K> keySerializer) {
+            return storage.containsKey(key);
+        }
+
+        @Override
+        public <K, V> void put(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) {
+            storage.put(key, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> V get(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) {
+            return (V) storage.get(key);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public <K> boolean remove(final K key, final Serializer<K> serializer) {
+            return storage.remove(key) != null;
+        }
+
+        @Override
+        public long removeByPattern(final String regex) {
+            return 0;
+        }
+    }
+}